@@ -0,0 +1,183 @@
+/*
+ * This file is part of the ONT API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright (c) 2023, owl.cs group.
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package com.github.owlcs.ontapi;
+
+import org.apache.jena.graph.Node;
+import org.apache.jena.graph.Triple;
+import org.apache.jena.ontapi.model.OntClass;
+import org.apache.jena.ontapi.model.OntDataProperty;
+import org.apache.jena.ontapi.model.OntModel;
+import org.apache.jena.ontapi.model.OntObjectProperty;
+import org.apache.jena.riot.Lang;
+import org.apache.jena.riot.RDFParser;
+import org.apache.jena.riot.system.StreamRDF;
+import org.apache.jena.riot.system.StreamRDFBase;
+import org.apache.jena.sparql.core.Quad;
+import org.apache.jena.vocabulary.OWL;
+import org.apache.jena.vocabulary.RDF;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLDataProperty;
+import org.semanticweb.owlapi.model.OWLIndividual;
+import org.semanticweb.owlapi.model.OWLIndividualAxiom;
+import org.semanticweb.owlapi.model.OWLObjectProperty;
+
+import java.io.InputStream;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * A streaming reader of instance data (ABox) against a fixed TBox ontology.
+ * The reader parses an RDF source incrementally and emits individual axioms triple by triple,
+ * without building any graph, so the memory consumption does not depend on the size of the input:
+ * <ul>
+ * <li>{@code a rdf:type C} produces {@link org.semanticweb.owlapi.model.OWLClassAssertionAxiom},
+ * if {@code C} is a named class from the TBox</li>
+ * <li>{@code a P b} produces {@link org.semanticweb.owlapi.model.OWLObjectPropertyAssertionAxiom},
+ * if {@code P} is a named object property from the TBox, and {@code b} is not a literal</li>
+ * <li>{@code a P "v"} produces {@link org.semanticweb.owlapi.model.OWLDataPropertyAssertionAxiom},
+ * if {@code P} is a datatype property from the TBox, and {@code "v"} is a literal</li>
+ * </ul>
+ * All the other triples (including assertions with anonymous class expressions and axiom annotations,
+ * which require the whole graph to be recognized) are passed to the optional handler.
+ * The entities of the TBox (taking into account the imports closure) are collected once, at the creation time.
+ * A blank node in the data produces an anonymous individual with the same label,
+ * so the blank node labelling of the parser matters.
+ *
+ * @since 4.0.1
+ */
+public class ABoxStreamReader {
+    protected final DataFactory factory;
+    protected final Map<String, OWLClass> classes;
+    protected final Map<String, OWLObjectProperty> objectProperties;
+    protected final Map<String, OWLDataProperty> dataProperties;
+    protected final Consumer<Triple> unrecognized;
+
+    /**
+     * Creates a reader for the given TBox.
+     *
+     * @param tbox         {@link Ontology}, not {@code null}
+     * @param unrecognized {@link Consumer} to handle the triples that do not produce any axiom,
+     *                     or {@code null} to skip them silently
+     */
+    public ABoxStreamReader(Ontology tbox, Consumer<Triple> unrecognized) {
+        this(Objects.requireNonNull(tbox, "Null TBox").asGraphModel(),
+                (DataFactory) tbox.getOWLOntologyManager().getOWLDataFactory(), unrecognized);
+    }
+
+    /**
+     * Creates a reader for the given TBox model.
+     *
+     * @param tbox         {@link OntModel}, not {@code null}
+     * @param factory      {@link DataFactory} to produce axioms, not {@code null}
+     * @param unrecognized {@link Consumer} to handle the triples that do not produce any axiom,
+     *                     or {@code null} to skip them silently
+     */
+    public ABoxStreamReader(OntModel tbox, DataFactory factory, Consumer<Triple> unrecognized) {
+        this.factory = Objects.requireNonNull(factory, "Null data factory");
+        this.unrecognized = unrecognized == null ? t -> {
+        } : unrecognized;
+        Objects.requireNonNull(tbox, "Null TBox");
+        this.classes = collect(Stream.concat(tbox.classes().map(OntClass.Named::getURI), Stream.of(OWL.Thing.getURI())),
+                factory::getOWLClass);
+        this.objectProperties = collect(tbox.objectProperties().map(OntObjectProperty.Named::getURI),
+                factory::getOWLObjectProperty);
+        this.dataProperties = collect(tbox.dataProperties().map(OntDataProperty::getURI), factory::getOWLDataProperty);
+    }
+
+    private static <X> Map<String, X> collect(Stream<String> uris, Function<IRI, X> factory) {
+        return uris.distinct().collect(Collectors.toUnmodifiableMap(Function.identity(), u -> factory.apply(IRI.create(u))));
+    }
+
+    /**
+     * Parses the input stream and passes each recognized axiom to the consumer.
+     * The stream is not closed.
+     *
+     * @param input    {@link InputStream}, not {@code null}
+     * @param lang     {@link Lang} of the input, not {@code null}
+     * @param consumer {@link Consumer} to accept axioms, not {@code null}
+     */
+    public void read(InputStream input, Lang lang, Consumer<? super OWLIndividualAxiom> consumer) {
+        RDFParser.source(input).lang(lang).parse(asStreamRDF(consumer));
+    }
+
+    /**
+     * Creates a {@link StreamRDF} sink, that translates incoming triples into axioms.
+     * Can be used with any Jena parser.
+     * Only triples and quads from the default graph are processed.
+     *
+     * @param consumer {@link Consumer} to accept axioms, not {@code null}
+     * @return {@link StreamRDF}
+     */
+    public StreamRDF asStreamRDF(Consumer<? super OWLIndividualAxiom> consumer) {
+        Objects.requireNonNull(consumer);
+        return new StreamRDFBase() {
+            @Override
+            public void triple(Triple triple) {
+                OWLIndividualAxiom res = translate(triple);
+                if (res != null) {
+                    consumer.accept(res);
+                } else {
+                    unrecognized.accept(triple);
+                }
+            }
+
+            @Override
+            public void quad(Quad quad) {
+                if (quad.isTriple() || quad.isDefaultGraph()) {
+                    triple(quad.asTriple());
+                }
+            }
+        };
+    }
+
+    /**
+     * Translates the single triple into an individual axiom.
+     *
+     * @param triple {@link Triple}, not {@code null}
+     * @return {@link OWLIndividualAxiom} or {@code null} if the triple is not an assertion against the TBox
+     */
+    public OWLIndividualAxiom translate(Triple triple) {
+        Node s = triple.getSubject();
+        Node p = triple.getPredicate();
+        Node o = triple.getObject();
+        if (s.isLiteral() || !p.isURI()) {
+            return null;
+        }
+        if (RDF.type.asNode().equals(p)) {
+            OWLClass c = o.isURI() ? classes.get(o.getURI()) : null;
+            return c == null ? null : factory.getOWLClassAssertionAxiom(c, individual(s));
+        }
+        String uri = p.getURI();
+        if (o.isLiteral()) {
+            OWLDataProperty d = dataProperties.get(uri);
+            return d == null ? null :
+                    factory.getOWLDataPropertyAssertionAxiom(d, individual(s), factory.getOWLLiteral(o.getLiteral()));
+        }
+        OWLObjectProperty op = objectProperties.get(uri);
+        return op == null ? null : factory.getOWLObjectPropertyAssertionAxiom(op, individual(s), individual(o));
+    }
+
+    private OWLIndividual individual(Node node) {
+        if (node.isBlank()) {
+            return factory.getOWLAnonymousIndividual(BlankNodeId.of(node));
+        }
+        return factory.getOWLNamedIndividual(IRI.create(node.getURI()));
+    }
+}
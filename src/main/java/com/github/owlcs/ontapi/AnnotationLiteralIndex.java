@@ -0,0 +1,258 @@
+/*
+ * This file is part of the ONT API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright (c) 2023, owl.cs group.
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package com.github.owlcs.ontapi;
+
+import com.github.owlcs.ontapi.internal.InternalGraphModel;
+import org.semanticweb.owlapi.model.AxiomType;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLAnnotationAssertionAxiom;
+import org.semanticweb.owlapi.model.OWLAnnotationSubject;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLLiteral;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * A manager-level inverted index over the literal values of
+ * {@link OWLAnnotationAssertionAxiom annotation assertions} with the configured annotation properties
+ * (e.g. {@code rdfs:label} or {@code skos:prefLabel}), to find annotated subjects by their labels.
+ * Exact, case-insensitive and prefix (case-insensitive) matches are supported, optionally restricted by a language tag.
+ * <p>
+ * The entry for an ontology is built from its annotation assertion axioms,
+ * see {@link BaseOntologyIndex} for the details of the entry lifecycle.
+ *
+ * @see OntologyManager#findAnnotationLiterals(String, String, Match)
+ * @since 4.0.1
+ */
+public class AnnotationLiteralIndex extends BaseOntologyIndex<AnnotationLiteralIndex.Entry> {
+    protected final Set<IRI> properties;
+    // the inverted index itself, the key is a lower-cased lexical form:
+    protected final NavigableMap<String, Map<Hit, int[]>> index = new TreeMap<>();
+
+    /**
+     * Creates an index.
+     *
+     * @param properties a {@code Collection} of annotation property {@link IRI}s to index, not {@code null}
+     * @param ontologies a facility to list all ontologies of the manager, not {@code null}
+     * @param structure  a facility to get the version of the manager's collection of ontologies, not {@code null}
+     */
+    public AnnotationLiteralIndex(Collection<IRI> properties,
+                                  Supplier<Stream<Ontology>> ontologies,
+                                  LongSupplier structure) {
+        super(ontologies, structure);
+        this.properties = Set.copyOf(properties);
+    }
+
+    /**
+     * Returns the annotation properties whose values are indexed.
+     *
+     * @return an unmodifiable {@code Set} of {@link IRI}s
+     */
+    public Set<IRI> getProperties() {
+        return properties;
+    }
+
+    /**
+     * Finds all the annotation assertions, whose literal values match the given text.
+     *
+     * @param text  {@code String}, the text to search, not {@code null}
+     * @param lang  {@code String}, a language tag to restrict the search (compared case-insensitively),
+     *              an empty string to find only literals without language tags,
+     *              or {@code null} to search in all languages
+     * @param match {@link Match}, not {@code null}
+     * @return an unmodifiable {@code List} of {@link Hit}s
+     */
+    public List<Hit> find(String text, String lang, Match match) {
+        Objects.requireNonNull(text);
+        Objects.requireNonNull(match);
+        String key = toKey(text);
+        refresh();
+        lock.lock();
+        try {
+            Stream<Map<Hit, int[]>> found;
+            if (match == Match.PREFIX) {
+                found = index.subMap(key, true, key + Character.MAX_VALUE, false).values().stream();
+            } else {
+                found = Stream.ofNullable(index.get(key));
+            }
+            return found.flatMap(x -> x.keySet().stream())
+                    .filter(x -> match != Match.EXACT || text.equals(x.value().getLiteral()))
+                    .filter(x -> lang == null || lang.equalsIgnoreCase(x.value().getLang()))
+                    .collect(Collectors.toUnmodifiableList());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    protected Entry build(Ontology ont, InternalGraphModel model, long stamp) {
+        Entry res = new Entry(model, stamp);
+        ont.axioms(AxiomType.ANNOTATION_ASSERTION).forEach(a -> res.update(ont, a, 1));
+        return res;
+    }
+
+    @Override
+    protected void attach(Ontology ont, Entry entry) {
+        entry.counts.forEach((hit, c) ->
+                index.computeIfAbsent(toKey(hit.value().getLiteral()), x -> new HashMap<>()).put(hit, c));
+    }
+
+    @Override
+    protected void detach(Ontology ont, Entry entry) {
+        entry.counts.keySet().forEach(hit -> remove(toKey(hit.value().getLiteral()), hit));
+    }
+
+    @Override
+    protected void update(Ontology ont, Entry entry, OWLAxiom axiom, int delta) {
+        entry.update(ont, axiom, delta);
+    }
+
+    @Override
+    protected void clearIndex() {
+        index.clear();
+    }
+
+    private void remove(String key, Hit hit) {
+        Map<Hit, int[]> found = index.get(key);
+        if (found != null && found.remove(hit) != null && found.isEmpty()) {
+            index.remove(key);
+        }
+    }
+
+    /**
+     * Lists the annotation assertions, whose literal values match the given text, directly, without any index.
+     * All annotation properties are taken into account.
+     *
+     * @param ont   {@link Ontology}, not {@code null}
+     * @param text  {@code String}, not {@code null}
+     * @param lang  {@code String} or {@code null}
+     * @param match {@link Match}, not {@code null}
+     * @return a {@code Stream} of distinct {@link Hit}s
+     * @see #find(String, String, Match)
+     */
+    public static Stream<Hit> findHits(Ontology ont, String text, String lang, Match match) {
+        String key = toKey(text);
+        return ont.axioms(AxiomType.ANNOTATION_ASSERTION)
+                .map(a -> toHit(ont, a))
+                .filter(Objects::nonNull)
+                .filter(x -> match.test(x.value().getLiteral(), text, key))
+                .filter(x -> lang == null || lang.equalsIgnoreCase(x.value().getLang()))
+                .distinct();
+    }
+
+    private static Hit toHit(Ontology ont, OWLAnnotationAssertionAxiom axiom) {
+        return axiom.getValue().asLiteral()
+                .map(x -> new Hit(ont, axiom.getSubject(), axiom.getProperty().getIRI(), x))
+                .orElse(null);
+    }
+
+    private static String toKey(String text) {
+        return text.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * A kind of text match.
+     */
+    public enum Match {
+        /**
+         * The lexical form is equal to the text.
+         */
+        EXACT,
+        /**
+         * The lexical form is equal to the text ignoring case.
+         */
+        IGNORE_CASE,
+        /**
+         * The lexical form starts with the text ignoring case, e.g. to autocomplete.
+         */
+        PREFIX,
+        ;
+
+        private boolean test(String value, String text, String key) {
+            switch (this) {
+                case EXACT:
+                    return value.equals(text);
+                case IGNORE_CASE:
+                    return toKey(value).equals(key);
+                default:
+                    return toKey(value).startsWith(key);
+            }
+        }
+    }
+
+    /**
+     * A found annotation assertion.
+     *
+     * @param ontology {@link Ontology}, where the assertion is found
+     * @param subject  {@link OWLAnnotationSubject}, an IRI or an anonymous individual
+     * @param property {@link IRI} of the annotation property
+     * @param value    {@link OWLLiteral}, the matched value
+     */
+    public record Hit(Ontology ontology, OWLAnnotationSubject subject, IRI property, OWLLiteral value) {
+    }
+
+    /**
+     * A per ontology record: the counters of the hits.
+     */
+    protected class Entry extends BaseOntologyIndex.Entry {
+        protected final Map<Hit, int[]> counts = new HashMap<>();
+
+        protected Entry(InternalGraphModel model, long stamp) {
+            super(model, stamp);
+        }
+
+        protected void update(Ontology ont, OWLAxiom axiom, int delta) {
+            if (!(axiom instanceof OWLAnnotationAssertionAxiom)) {
+                return;
+            }
+            OWLAnnotationAssertionAxiom assertion = (OWLAnnotationAssertionAxiom) axiom;
+            if (!properties.contains(assertion.getProperty().getIRI())) {
+                return;
+            }
+            Hit hit = toHit(ont, assertion);
+            if (hit == null) {
+                return;
+            }
+            String key = toKey(hit.value().getLiteral());
+            // the same hit can be given by several axioms with different annotations:
+            int[] res = counts.computeIfAbsent(hit, k -> {
+                int[] c = new int[1];
+                if (attached) {
+                    index.computeIfAbsent(key, x -> new HashMap<>()).put(k, c);
+                }
+                return c;
+            });
+            if ((res[0] += delta) > 0) {
+                return;
+            }
+            counts.remove(hit);
+            if (attached) {
+                remove(key, hit);
+            }
+        }
+    }
+}
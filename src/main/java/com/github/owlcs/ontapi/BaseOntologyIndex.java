@@ -0,0 +1,295 @@
+/*
+ * This file is part of the ONT API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright (c) 2023, owl.cs group.
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License.
+ */
+
+
+package com.github.owlcs.ontapi;
+
+import com.github.owlcs.ontapi.internal.InternalGraphModel;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLAxiomChange;
+import org.semanticweb.owlapi.model.OWLOntologyChange;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * A base for manager-level indexes, that consist of per ontology {@link Entry entries}.
+ * <p>
+ * The entry for an ontology is built lazily, on the first query, from the ontology content,
+ * and then is maintained incrementally through the OWL-API axiom changes,
+ * see {@link #changed(Ontology, OWLOntologyChange, long)}.
+ * Each entry is validated on each access by comparing
+ * the {@link InternalGraphModel#getModificationCount() modification stamp} of the ontology,
+ * so any other change (e.g. directly through the graph, which is caught by the model's direct listener)
+ * causes rebuilding of that single entry.
+ * The manager's structure version is compared to find the ontologies, that are added to or removed from the manager.
+ * The entries are built without holding the index lock, since reading the content of a large ontology may take long.
+ * The index is thread-safe.
+ *
+ * @param <E> the type of entry
+ * @see EntityUsageIndex
+ * @see AnnotationLiteralIndex
+ * @since 4.0.1
+ */
+public abstract class BaseOntologyIndex<E extends BaseOntologyIndex.Entry> {
+    protected final Supplier<Stream<Ontology>> ontologies;
+    protected final LongSupplier structure;
+    protected final ReentrantLock lock = new ReentrantLock();
+    // per ontology entries:
+    protected final Map<Ontology, E> entries = new IdentityHashMap<>();
+    protected long version = -1;
+
+    /**
+     * Creates an index.
+     *
+     * @param ontologies a facility to list all ontologies of the manager, not {@code null}
+     * @param structure  a facility to get the version of the manager's collection of ontologies, not {@code null}
+     */
+    protected BaseOntologyIndex(Supplier<Stream<Ontology>> ontologies, LongSupplier structure) {
+        this.ontologies = Objects.requireNonNull(ontologies);
+        this.structure = Objects.requireNonNull(structure);
+    }
+
+    /**
+     * Returns the current modification stamp of the ontology.
+     * It should be taken before the change and then passed to the {@link #changed(Ontology, OWLOntologyChange, long)}.
+     *
+     * @param ont {@link Ontology}
+     * @return {@code long}
+     */
+    public long stamp(Ontology ont) {
+        return model(ont).getModificationCount();
+    }
+
+    /**
+     * Reports the successfully applied change.
+     * An axiom change is applied to the index incrementally,
+     * if the ontology entry is up-to-date with the given stamp (i.e. there were no unaccounted changes),
+     * otherwise the entry is discarded and will be rebuilt on the next query.
+     *
+     * @param ont    {@link Ontology}, not {@code null}
+     * @param change {@link OWLOntologyChange} that has been applied, not {@code null}
+     * @param before {@code long}, the {@link #stamp(Ontology) stamp} of the ontology before the change
+     */
+    public void changed(Ontology ont, OWLOntologyChange change, long before) {
+        lock.lock();
+        try {
+            E e = entries.get(ont);
+            if (e == null) {
+                return;
+            }
+            InternalGraphModel m = model(ont);
+            if (!(change instanceof OWLAxiomChange) || e.model != m || e.stamp != before) {
+                discard(ont, e);
+                return;
+            }
+            update(ont, e, change.getAxiom(), change.isAddAxiom() ? 1 : -1);
+            e.stamp = m.getModificationCount();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Drops the entry of the ontology, that is removed from the manager.
+     *
+     * @param ont {@link Ontology}, not {@code null}
+     */
+    public void remove(Ontology ont) {
+        lock.lock();
+        try {
+            discard(ont, entries.get(ont));
+            version = -1;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Drops all the index data.
+     */
+    public void clear() {
+        lock.lock();
+        try {
+            entries.clear();
+            clearIndex();
+            version = -1;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Brings the index up-to-date: removes the entries of ontologies, that are no longer in the manager,
+     * and (re)builds the entries of new and changed ontologies.
+     * Must be called without holding the {@link #lock}:
+     * the lock is only taken to find out the stale entries and then to put the rebuilt ones.
+     */
+    protected void refresh() {
+        List<Ontology> stale;
+        long expected;
+        lock.lock();
+        try {
+            long current = structure.getAsLong();
+            List<Ontology> all = null;
+            if (current != version) {
+                all = ontologies.get().collect(Collectors.toList());
+                Set<Ontology> present = Collections.newSetFromMap(new IdentityHashMap<>());
+                present.addAll(all);
+                List.copyOf(entries.keySet()).stream()
+                        .filter(o -> !present.contains(o))
+                        .forEach(o -> discard(o, entries.get(o)));
+                version = current;
+            }
+            stale = (all == null ? entries.keySet().stream() : all.stream())
+                    .filter(o -> !isValid(o, entries.get(o)))
+                    .collect(Collectors.toList());
+            expected = version;
+        } finally {
+            lock.unlock();
+        }
+        if (stale.isEmpty()) {
+            return;
+        }
+        List<E> built = new ArrayList<>(stale.size());
+        stale.forEach(o -> {
+            InternalGraphModel m = model(o);
+            // take the stamp before reading: if something is changed in the middle, the entry will be rebuilt
+            built.add(build(o, m, m.getModificationCount()));
+        });
+        lock.lock();
+        try {
+            if (version != expected) {
+                // the index has been cleared or an ontology has been removed in the meantime
+                return;
+            }
+            for (int i = 0; i < stale.size(); i++) {
+                Ontology o = stale.get(i);
+                E e = entries.get(o);
+                if (isValid(o, e)) {
+                    // has been rebuilt by another thread
+                    continue;
+                }
+                discard(o, e);
+                E res = built.get(i);
+                entries.put(o, res);
+                attach(o, res);
+                res.attached = true;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Removes the entry of the ontology and all its data from the inverted index.
+     * Must be called under the {@link #lock}.
+     *
+     * @param ont   {@link Ontology}
+     * @param entry {@code E}, can be {@code null}
+     */
+    protected void discard(Ontology ont, E entry) {
+        entries.remove(ont);
+        if (entry == null || !entry.attached) {
+            return;
+        }
+        detach(ont, entry);
+        entry.attached = false;
+    }
+
+    private static boolean isValid(Ontology ont, Entry entry) {
+        if (entry == null) {
+            return false;
+        }
+        InternalGraphModel m = model(ont);
+        return entry.model == m && entry.stamp == m.getModificationCount();
+    }
+
+    /**
+     * Builds a detached entry for the ontology from its content.
+     * The method is called without holding the {@link #lock},
+     * so it must not touch the inverted index.
+     *
+     * @param ont   {@link Ontology}
+     * @param model {@link InternalGraphModel} of the ontology
+     * @param stamp {@code long} the modification stamp of the model
+     * @return {@code E}
+     */
+    protected abstract E build(Ontology ont, InternalGraphModel model, long stamp);
+
+    /**
+     * Puts the data of the entry into the inverted index.
+     * Called under the {@link #lock}.
+     *
+     * @param ont   {@link Ontology}
+     * @param entry {@code E}
+     */
+    protected abstract void attach(Ontology ont, E entry);
+
+    /**
+     * Removes the data of the entry from the inverted index.
+     * Called under the {@link #lock}.
+     *
+     * @param ont   {@link Ontology}
+     * @param entry {@code E}
+     */
+    protected abstract void detach(Ontology ont, E entry);
+
+    /**
+     * Applies the added ({@code delta = 1}) or removed ({@code delta = -1}) axiom to the attached entry
+     * and to the inverted index.
+     * Called under the {@link #lock}.
+     *
+     * @param ont   {@link Ontology}
+     * @param entry {@code E}
+     * @param axiom {@link OWLAxiom}
+     * @param delta {@code int}
+     */
+    protected abstract void update(Ontology ont, E entry, OWLAxiom axiom, int delta);
+
+    /**
+     * Clears the inverted index.
+     * Called under the {@link #lock}.
+     */
+    protected abstract void clearIndex();
+
+    protected static InternalGraphModel model(Ontology ont) {
+        return ((BaseOntologyModel) ont).getBaseGraphModel();
+    }
+
+    /**
+     * A per ontology record: the model and the modification stamp the data corresponds to.
+     */
+    protected static class Entry {
+        protected final InternalGraphModel model;
+        protected long stamp;
+        // true if the data of this entry is in the inverted index
+        protected boolean attached;
+
+        protected Entry(InternalGraphModel model, long stamp) {
+            this.model = model;
+            this.stamp = stamp;
+        }
+    }
+}
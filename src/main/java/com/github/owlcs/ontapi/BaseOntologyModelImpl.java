@@ -22,7 +22,6 @@ import org.apache.jena.graph.Graph;
 import org.apache.jena.graph.GraphMemFactory;
 import org.apache.jena.ontapi.impl.UnionGraphImpl;
 import org.apache.jena.ontapi.model.OntModel;
-import org.apache.jena.ontapi.utils.Graphs;
 import org.apache.jena.riot.RDFDataMgr;
 import org.semanticweb.owlapi.model.AxiomType;
 import org.semanticweb.owlapi.model.EntityType;
@@ -105,8 +104,12 @@ import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
 import java.io.Serial;
+import java.util.List;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -129,6 +132,7 @@ public abstract class BaseOntologyModelImpl implements OWLOntology, BaseOntology
 
     protected transient InternalGraphModel base;
     protected transient ModelConfig config;
+    protected transient ImportsClosureIndex closureIndex;
 
     protected int hashCode;
 
@@ -136,6 +140,7 @@ public abstract class BaseOntologyModelImpl implements OWLOntology, BaseOntology
         this.config = Objects.requireNonNull(conf);
         this.base = BaseOntologyModel.createInternalGraphModel(graph, conf.getSpecification(), conf,
                 conf.getManager().getOWLDataFactory(), conf.getManagerCaches());
+        this.closureIndex = createImportsClosureIndex();
     }
 
     @Override
@@ -155,6 +160,131 @@ public abstract class BaseOntologyModelImpl implements OWLOntology, BaseOntology
                 config.getManager().getOWLDataFactory(), config.getManagerCaches());
     }
 
+    /**
+     * Returns the {@link ImportsClosureIndex closure-level cache} to serve {@link Imports#INCLUDED} queries,
+     * if it is enabled by the config.
+     *
+     * @return {@link ImportsClosureIndex} or {@code null}
+     * @see com.github.owlcs.ontapi.config.CacheSettings#isUseImportsClosureCache()
+     * @since 4.0.1
+     */
+    public ImportsClosureIndex getImportsClosureIndex() {
+        if (!config.isUseImportsClosureCache()) {
+            return null;
+        }
+        return closureIndex;
+    }
+
+    /**
+     * Creates a new {@link ImportsClosureIndex}.
+     * The index is created together with the ontology (it is cheap until the first query),
+     * so no synchronization is needed to access it.
+     *
+     * @return {@link ImportsClosureIndex}
+     * @since 4.0.1
+     */
+    protected ImportsClosureIndex createImportsClosureIndex() {
+        return new ImportsClosureIndex(() -> Imports.INCLUDED.stream(this),
+                () -> base.getUnionGraph(), this::getManagerStructureVersion);
+    }
+
+    /**
+     * Returns the version of the manager's ontology collection, or {@code -1} if the ontology is detached.
+     *
+     * @return {@code long}
+     */
+    private long getManagerStructureVersion() {
+        OntologyManagerImpl m = config.manager;
+        return m == null ? -1 : m.structureVersion.get();
+    }
+
+    /**
+     * Lists the ontologies for the given {@code imports} parameter,
+     * taking the imports closure from the {@link ImportsClosureIndex cache} if possible.
+     *
+     * @param imports {@link Imports}, not {@code null}
+     * @return {@code Stream} of {@link OWLOntology}s
+     * @since 4.0.1
+     */
+    protected Stream<OWLOntology> ontologies(Imports imports) {
+        ImportsClosureIndex index;
+        if (imports == Imports.INCLUDED && (index = getImportsClosureIndex()) != null) {
+            return index.ontologies();
+        }
+        return imports.stream(this);
+    }
+
+    /**
+     * Returns the executor to fan out closure-wide queries, if it is configured for a concurrent manager.
+     *
+     * @return {@link Executor} or {@code null}
+     * @see OntologyManager#getImportsClosureExecutor()
+     */
+    protected Executor getImportsClosureExecutor() {
+        OntologyManagerImpl m = config.manager;
+        return m == null || !m.isConcurrent() ? null : m.getImportsClosureExecutor();
+    }
+
+    /**
+     * Applies the given operation to each ontology from the imports closure and
+     * returns the results in the closure order.
+     * If there is an {@link #getImportsClosureExecutor() executor}, the members are processed in parallel.
+     * In this case the operation is performed on the non-locked delegates:
+     * the caller must hold the manager's read lock (which is true for any call through a
+     * {@link OntologyModelImpl.Concurrent concurrent} wrapper), so the worker threads must not acquire it again,
+     * otherwise they could be blocked behind a queued writer that itself waits for the caller.
+     * The operation must not return a lazy result that reads the ontology, since it escapes the lock scope.
+     *
+     * @param imports {@link Imports}, not {@code null}
+     * @param op      {@code Function} to apply to each member ontology, not {@code null}
+     * @param <R>     the type of result
+     * @return {@code Stream} of results
+     * @since 4.0.1
+     */
+    protected <R> Stream<R> mapImports(Imports imports, Function<OWLOntology, R> op) {
+        Executor executor = imports == Imports.INCLUDED ? getImportsClosureExecutor() : null;
+        if (executor == null) {
+            return ontologies(imports).map(op);
+        }
+        List<OWLOntology> members = ontologies(imports).collect(Collectors.toList());
+        if (members.size() < 2) {
+            return members.stream().map(op);
+        }
+        List<CompletableFuture<R>> res = members.stream()
+                .map(o -> o instanceof OntologyModelImpl.Concurrent ? ((OntologyModelImpl.Concurrent) o).delegate() : o)
+                .map(o -> CompletableFuture.supplyAsync(() -> op.apply(o), executor))
+                .collect(Collectors.toList());
+        return res.stream().map(BaseOntologyModelImpl::join);
+    }
+
+    /**
+     * Lists the results of the given operation for each ontology from the imports closure in the closure order.
+     * In parallel mode, each member's stream is collected within its task, see {@link #mapImports(Imports, Function)}.
+     *
+     * @param imports {@link Imports}, not {@code null}
+     * @param op      {@code Function} to apply to each member ontology, not {@code null}
+     * @param <R>     the type of result
+     * @return {@code Stream} of results
+     * @since 4.0.1
+     */
+    protected <R> Stream<R> flatMapImports(Imports imports, Function<OWLOntology, Stream<R>> op) {
+        if (imports != Imports.INCLUDED || getImportsClosureExecutor() == null) {
+            return ontologies(imports).flatMap(op);
+        }
+        return mapImports(imports, o -> op.apply(o).collect(Collectors.toList())).flatMap(List::stream);
+    }
+
+    private static <R> R join(CompletableFuture<R> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
     @Override
     public void setBaseGraphModel(InternalGraphModel m) {
         this.base = Objects.requireNonNull(m);
@@ -272,6 +402,10 @@ public abstract class BaseOntologyModelImpl implements OWLOntology, BaseOntology
         if (imports == Imports.INCLUDED && !config.useComponentCache()) {
             return getFullGraphModel().listOWLClasses();
         }
+        ImportsClosureIndex index;
+        if (imports == Imports.INCLUDED && (index = getImportsClosureIndex()) != null) {
+            return index.signature(OWLClass.class, OWLOntology::classesInSignature);
+        }
         return imports.stream(this).flatMap(OWLOntology::classesInSignature).distinct().sorted();
     }
 
@@ -300,6 +434,10 @@ public abstract class BaseOntologyModelImpl implements OWLOntology, BaseOntology
         if (imports == Imports.INCLUDED && !config.useComponentCache()) {
             return getFullGraphModel().listOWLNamedIndividuals();
         }
+        ImportsClosureIndex index;
+        if (imports == Imports.INCLUDED && (index = getImportsClosureIndex()) != null) {
+            return index.signature(OWLNamedIndividual.class, OWLOntology::individualsInSignature);
+        }
         return imports.stream(this).flatMap(OWLOntology::individualsInSignature).distinct().sorted();
     }
 
@@ -313,6 +451,10 @@ public abstract class BaseOntologyModelImpl implements OWLOntology, BaseOntology
         if (imports == Imports.INCLUDED && !config.useComponentCache()) {
             return getFullGraphModel().listOWLDataProperties();
         }
+        ImportsClosureIndex index;
+        if (imports == Imports.INCLUDED && (index = getImportsClosureIndex()) != null) {
+            return index.signature(OWLDataProperty.class, OWLOntology::dataPropertiesInSignature);
+        }
         return imports.stream(this).flatMap(OWLOntology::dataPropertiesInSignature).distinct().sorted();
     }
 
@@ -326,6 +468,10 @@ public abstract class BaseOntologyModelImpl implements OWLOntology, BaseOntology
         if (imports == Imports.INCLUDED && !config.useComponentCache()) {
             return getFullGraphModel().listOWLObjectProperties();
         }
+        ImportsClosureIndex index;
+        if (imports == Imports.INCLUDED && (index = getImportsClosureIndex()) != null) {
+            return index.signature(OWLObjectProperty.class, OWLOntology::objectPropertiesInSignature);
+        }
         return imports.stream(this).flatMap(OWLOntology::objectPropertiesInSignature).distinct().sorted();
     }
 
@@ -339,6 +485,10 @@ public abstract class BaseOntologyModelImpl implements OWLOntology, BaseOntology
         if (imports == Imports.INCLUDED && !config.useComponentCache()) {
             return getFullGraphModel().listOWLAnnotationProperties();
         }
+        ImportsClosureIndex index;
+        if (imports == Imports.INCLUDED && (index = getImportsClosureIndex()) != null) {
+            return index.signature(OWLAnnotationProperty.class, OWLOntology::annotationPropertiesInSignature);
+        }
         return imports.stream(this).flatMap(OWLOntology::annotationPropertiesInSignature).distinct().sorted();
     }
 
@@ -352,6 +502,10 @@ public abstract class BaseOntologyModelImpl implements OWLOntology, BaseOntology
         if (imports == Imports.INCLUDED && !config.useComponentCache()) {
             return getFullGraphModel().listOWLDatatypes();
         }
+        ImportsClosureIndex index;
+        if (imports == Imports.INCLUDED && (index = getImportsClosureIndex()) != null) {
+            return index.signature(OWLDatatype.class, OWLOntology::datatypesInSignature);
+        }
         return imports.stream(this).flatMap(OWLOntology::datatypesInSignature).distinct().sorted();
     }
 
@@ -499,6 +653,10 @@ public abstract class BaseOntologyModelImpl implements OWLOntology, BaseOntology
         if (imports == Imports.INCLUDED && !config.useContentCache()) {
             return getFullGraphModel().listOWLAxioms();
         }
+        ImportsClosureIndex index;
+        if (imports == Imports.INCLUDED && (index = getImportsClosureIndex()) != null) {
+            return index.axioms();
+        }
         return imports.stream(this).flatMap(OWLOntology::axioms);
     }
 
@@ -971,7 +1129,7 @@ public abstract class BaseOntologyModelImpl implements OWLOntology, BaseOntology
 
     @Override
     public <T extends OWLAxiom> int getAxiomCount(AxiomType<T> axiomType) {
-        return (int) axioms(axiomType).count();
+        return (int) base.getOWLAxiomCount(axiomType);
     }
 
     @Override
@@ -996,42 +1154,42 @@ public abstract class BaseOntologyModelImpl implements OWLOntology, BaseOntology
 
     @Override
     public boolean containsClassInSignature(IRI iri, Imports imports) {
-        return imports.stream(this).anyMatch(o -> o.containsClassInSignature(iri));
+        return ontologies(imports).anyMatch(o -> o.containsClassInSignature(iri));
     }
 
     @Override
     public boolean containsObjectPropertyInSignature(IRI iri, Imports imports) {
-        return imports.stream(this).anyMatch(o -> o.containsObjectPropertyInSignature(iri));
+        return ontologies(imports).anyMatch(o -> o.containsObjectPropertyInSignature(iri));
     }
 
     @Override
     public boolean containsDataPropertyInSignature(IRI iri, Imports imports) {
-        return imports.stream(this).anyMatch(o -> o.containsDataPropertyInSignature(iri));
+        return ontologies(imports).anyMatch(o -> o.containsDataPropertyInSignature(iri));
     }
 
     @Override
     public boolean containsAnnotationPropertyInSignature(IRI iri, Imports imports) {
-        return imports.stream(this).anyMatch(o -> o.containsAnnotationPropertyInSignature(iri));
+        return ontologies(imports).anyMatch(o -> o.containsAnnotationPropertyInSignature(iri));
     }
 
     @Override
     public boolean containsDatatypeInSignature(IRI iri, Imports imports) {
-        return imports.stream(this).anyMatch(o -> o.containsDatatypeInSignature(iri));
+        return ontologies(imports).anyMatch(o -> o.containsDatatypeInSignature(iri));
     }
 
     @Override
     public boolean containsIndividualInSignature(IRI iri, Imports imports) {
-        return imports.stream(this).anyMatch(o -> o.containsIndividualInSignature(iri));
+        return ontologies(imports).anyMatch(o -> o.containsIndividualInSignature(iri));
     }
 
     @Override
     public boolean containsAxiom(OWLAxiom axiom, Imports imports, AxiomAnnotations ignoreAnnotations) {
-        return imports.stream(this).anyMatch(o -> ignoreAnnotations.contains(o, axiom));
+        return mapImports(imports, o -> ignoreAnnotations.contains(o, axiom)).anyMatch(Boolean::booleanValue);
     }
 
     @Override
     public boolean contains(OWLAxiomSearchFilter filter, Object key, Imports imports) {
-        return imports.stream(this).anyMatch(o -> o.contains(filter, key));
+        return mapImports(imports, o -> o.contains(filter, key)).anyMatch(Boolean::booleanValue);
     }
 
     @Override
@@ -1039,7 +1197,7 @@ public abstract class BaseOntologyModelImpl implements OWLOntology, BaseOntology
         if (Imports.EXCLUDED == imports) {
             return axioms(filter, key);
         }
-        return imports.stream(this).flatMap(o -> o.axioms(filter, key));
+        return flatMapImports(imports, o -> o.axioms(filter, key));
     }
 
     @Override
@@ -1047,22 +1205,34 @@ public abstract class BaseOntologyModelImpl implements OWLOntology, BaseOntology
         if (Imports.EXCLUDED == imports) {
             return axiomsIgnoreAnnotations(axiom);
         }
-        return imports.stream(this).flatMap(o -> o.axiomsIgnoreAnnotations(axiom));
+        return flatMapImports(imports, o -> o.axiomsIgnoreAnnotations(axiom));
     }
 
     @Override
     public int getAxiomCount(Imports imports) {
-        return imports.stream(this).mapToInt(OWLAxiomCollection::getAxiomCount).sum();
+        ImportsClosureIndex index;
+        if (imports == Imports.INCLUDED && (index = getImportsClosureIndex()) != null) {
+            return index.getAxiomCount();
+        }
+        return mapImports(imports, OWLAxiomCollection::getAxiomCount).mapToInt(Integer::intValue).sum();
     }
 
     @Override
     public <T extends OWLAxiom> int getAxiomCount(AxiomType<T> axiomType, Imports imports) {
-        return imports.stream(this).mapToInt(o -> o.getAxiomCount(axiomType)).sum();
+        ImportsClosureIndex index;
+        if (imports == Imports.INCLUDED && (index = getImportsClosureIndex()) != null) {
+            return index.getAxiomCount(axiomType);
+        }
+        return mapImports(imports, o -> o.getAxiomCount(axiomType)).mapToInt(Integer::intValue).sum();
     }
 
     @Override
     public int getLogicalAxiomCount(Imports imports) {
-        return imports.stream(this).mapToInt(OWLAxiomCollection::getLogicalAxiomCount).sum();
+        ImportsClosureIndex index;
+        if (imports == Imports.INCLUDED && (index = getImportsClosureIndex()) != null) {
+            return index.getLogicalAxiomCount();
+        }
+        return mapImports(imports, OWLAxiomCollection::getLogicalAxiomCount).mapToInt(Integer::intValue).sum();
     }
 
     /*
@@ -1273,6 +1443,7 @@ public abstract class BaseOntologyModelImpl implements OWLOntology, BaseOntology
         RDFDataMgr.read(base, in, DEFAULT_SERIALIZATION_FORMAT.getLang());
         // set temporary model with default personality, it will be reset inside manager while its #readObject
         setBaseGraphModel(BaseOntologyModel.createInternalGraphModel(base));
+        this.closureIndex = createImportsClosureIndex();
     }
 
     /**
@@ -1280,7 +1451,8 @@ public abstract class BaseOntologyModelImpl implements OWLOntology, BaseOntology
      * Note: only the base graph is serialized,
      * so if you serialize and then de-serialize standalone ontology it will lose all its references,
      * please use managers serialization, it will restore any links.
-     * Also, please note: an exception is expected if the encapsulated graph is not {@code  GraphMem}.
+     * Also, please note: an exception is expected if the encapsulated graph is not {@code  GraphMem} or {@link CompactGraph};
+     * in the last case the deserialized ontology will be backed by a {@code GraphMem}.
      *
      * @param out {@link ObjectOutputStream}
      * @throws IOException     if I/O errors occur while writing to the underlying <code>OutputStream</code>
@@ -1289,7 +1461,7 @@ public abstract class BaseOntologyModelImpl implements OWLOntology, BaseOntology
     @Serial
     private void writeObject(ObjectOutputStream out) throws IOException, OntApiException {
         Graph g = base.getBaseGraph();
-        if (!Graphs.isGraphMem(g)) {
+        if (!OntGraphUtils.isMemGraph(g)) {
             throw new OntApiException(getOntologyID() + ":: Serialization is not supported for " + g.getClass());
         }
         out.defaultWriteObject();
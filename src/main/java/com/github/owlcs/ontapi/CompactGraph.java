@@ -0,0 +1,548 @@
+/*
+ * This file is part of the ONT API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright (c) 2023, owl.cs group.
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package com.github.owlcs.ontapi;
+
+import org.apache.jena.graph.Graph;
+import org.apache.jena.graph.GraphEvents;
+import org.apache.jena.graph.GraphMemFactory;
+import org.apache.jena.graph.GraphUtil;
+import org.apache.jena.graph.Node;
+import org.apache.jena.graph.Triple;
+import org.apache.jena.graph.impl.GraphBase;
+import org.apache.jena.util.iterator.ExtendedIterator;
+import org.apache.jena.util.iterator.NiceIterator;
+import org.apache.jena.util.iterator.NullIterator;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A compact in-memory {@link Graph} implementation,
+ * that stores dictionary-encoded triples in the form of sorted {@code int}-arrays.
+ * <p>
+ * Each distinct {@link Node} gets an {@code int} identifier from the graph's node dictionary,
+ * and each triple is stored three times, in the {@code SPO}, {@code POS} and {@code OSP} indexes,
+ * which are packed arrays sorted lexicographically.
+ * Any {@link #find(Triple) find} pattern is answered by a binary search over the most suitable index.
+ * This takes about {@code 36} bytes per triple plus the dictionary,
+ * which is several times less than the default {@code GraphMem} needs for its node-object indexes.
+ * <p>
+ * Since the sorted arrays are immutable, all modifications go to a small mutable delta:
+ * the added triples are kept in a standard in-memory graph,
+ * and the deleted triples of the sorted part are kept as a set of encoded triples.
+ * When the delta becomes large enough (relative to the sorted part), the graph is {@link #compact() compacted},
+ * i.e. the delta is merged into freshly built indexes.
+ * The amortized cost of {@code add} is constant.
+ * It is recommended to call {@link #compact()} explicitly after bulk loading.
+ * <p>
+ * The graph supports the standard {@link org.apache.jena.graph.GraphEventManager} contract
+ * (events are fired by {@link GraphBase}),
+ * and, like the {@code GraphMem}, it is not thread-safe for modifications,
+ * while concurrent reading is allowed: read operations never change the state of the graph.
+ * A consistent read-only view, that is independent of further modifications, can be obtained by {@link #snapshot()}.
+ *
+ * @see OntologyCreator#createDataGraph(com.github.owlcs.ontapi.config.OntLoaderConfiguration)
+ * @see com.github.owlcs.ontapi.config.LoadSettings#isUseCompactDataGraph()
+ * @since 4.0.1
+ */
+@SuppressWarnings("WeakerAccess")
+public class CompactGraph extends GraphBase {
+    protected static final int MIN_DELTA_SIZE = 4096;
+    private static final int[] EMPTY = new int[0];
+    private static final int ANY = -1;
+    private static final int UNKNOWN = -2;
+
+    // the node dictionary
+    protected Map<Node, Integer> ids = new ConcurrentHashMap<>();
+    protected volatile Node[] nodes = new Node[1024];
+    protected int nodesCount;
+    // the sorted (compacted) part
+    protected volatile Indexes indexes = new Indexes(EMPTY, EMPTY, EMPTY, 0);
+    // the mutable delta
+    protected Graph added = createDeltaGraph();
+    protected final Set<Key> deleted = new HashSet<>();
+    protected final boolean readOnly;
+
+    public CompactGraph() {
+        this.readOnly = false;
+    }
+
+    /**
+     * Creates a read-only snapshot of the given graph.
+     * The dictionary and the sorted indexes are shared, the delta is copied.
+     *
+     * @param source {@link CompactGraph}, not {@code null}
+     */
+    protected CompactGraph(CompactGraph source) {
+        this.readOnly = true;
+        this.ids = source.ids;
+        this.nodes = source.nodes;
+        this.nodesCount = source.nodesCount;
+        this.indexes = source.indexes;
+        this.deleted.addAll(source.deleted);
+        GraphUtil.addInto(this.added, source.added);
+        getPrefixMapping().setNsPrefixes(source.getPrefixMapping());
+    }
+
+    /**
+     * Returns a read-only snapshot of this graph.
+     * The operation is cheap: its cost is proportional to the size of the delta, not the whole graph,
+     * since the sorted indexes are immutable and therefore can be shared.
+     * The snapshot is not affected by any further modifications of this graph
+     * and can be read concurrently with them (e.g. to serialize the graph without holding a lock).
+     *
+     * @return {@link CompactGraph}, read-only
+     */
+    public CompactGraph snapshot() {
+        return new CompactGraph(this);
+    }
+
+    /**
+     * Answers {@code true} if this graph is a read-only snapshot.
+     *
+     * @return boolean
+     */
+    public boolean isReadOnly() {
+        return readOnly;
+    }
+
+    private void checkWritable() {
+        if (readOnly) {
+            throw new OntApiException.Unsupported("The graph is a read-only snapshot");
+        }
+    }
+
+    /**
+     * Creates a graph to store the added triples until the next compaction.
+     *
+     * @return {@link Graph}
+     */
+    protected Graph createDeltaGraph() {
+        return GraphMemFactory.createDefaultGraph();
+    }
+
+    /**
+     * Answers the maximum size of the delta (added and deleted triples),
+     * which does not require the compaction.
+     *
+     * @return {@code int}
+     */
+    protected int getDeltaThreshold() {
+        return Math.max(MIN_DELTA_SIZE, indexes.size >> 3);
+    }
+
+    @Override
+    public void performAdd(Triple t) {
+        checkWritable();
+        Key k = findKey(t);
+        if (k != null && indexes.contains(k)) {
+            // either it is already present, or it is deleted from the sorted part and therefore must be restored
+            deleted.remove(k);
+            return;
+        }
+        added.add(t);
+        if (added.size() > getDeltaThreshold()) {
+            compact();
+        }
+    }
+
+    @Override
+    public void performDelete(Triple t) {
+        checkWritable();
+        if (added.contains(t)) {
+            // the delta and the sorted part are disjoint
+            added.delete(t);
+            return;
+        }
+        Key k = findKey(t);
+        if (k == null || !indexes.contains(k)) {
+            return;
+        }
+        deleted.add(k);
+        if (deleted.size() > getDeltaThreshold()) {
+            compact();
+        }
+    }
+
+    @Override
+    protected ExtendedIterator<Triple> graphBaseFind(Triple pattern) {
+        ExtendedIterator<Triple> res = findInIndexes(pattern);
+        if (added.isEmpty()) {
+            return res;
+        }
+        return res.andThen(added.find(pattern));
+    }
+
+    @Override
+    protected boolean graphBaseContains(Triple t) {
+        if (!t.isConcrete()) {
+            return super.graphBaseContains(t);
+        }
+        if (added.contains(t)) {
+            return true;
+        }
+        Key k = findKey(t);
+        return k != null && indexes.contains(k) && !deleted.contains(k);
+    }
+
+    @Override
+    protected int graphBaseSize() {
+        return indexes.size - deleted.size() + added.size();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return graphBaseSize() == 0;
+    }
+
+    @Override
+    public void clear() {
+        checkOpen();
+        checkWritable();
+        // the dictionary may be shared with snapshots
+        ids = new ConcurrentHashMap<>();
+        nodes = new Node[1024];
+        nodesCount = 0;
+        indexes = new Indexes(EMPTY, EMPTY, EMPTY, 0);
+        added = createDeltaGraph();
+        deleted.clear();
+        getEventManager().notifyEvent(this, GraphEvents.removeAll);
+    }
+
+    /**
+     * Merges the delta into the sorted part and rebuilds the indexes.
+     * This operation does not fire any events, since the graph content is not changed.
+     * Note that the node dictionary is not shrunk.
+     */
+    public void compact() {
+        checkWritable();
+        Indexes current = indexes;
+        int size = current.size - deleted.size() + added.size();
+        int[] data = new int[size * 3];
+        int i = 0;
+        int[] spo = current.spo;
+        for (int j = 0; j < current.size; j++) {
+            int s = spo[3 * j], p = spo[3 * j + 1], o = spo[3 * j + 2];
+            if (!deleted.isEmpty() && deleted.contains(new Key(s, p, o))) {
+                continue;
+            }
+            data[3 * i] = s;
+            data[3 * i + 1] = p;
+            data[3 * i + 2] = o;
+            i++;
+        }
+        ExtendedIterator<Triple> it = added.find();
+        try {
+            while (it.hasNext()) {
+                Triple t = it.next();
+                data[3 * i] = register(t.getSubject());
+                data[3 * i + 1] = register(t.getPredicate());
+                data[3 * i + 2] = register(t.getObject());
+                i++;
+            }
+        } finally {
+            it.close();
+        }
+        if (i != size) {
+            throw new OntApiException.IllegalState("Wrong size: expected " + size + ", actual " + i);
+        }
+        int keys = nodesCount;
+        int[] newSPO = sort(data, size, keys);
+        int[] newPOS = sort(permute(newSPO, size, 1, 2, 0), size, keys);
+        int[] newOSP = sort(permute(newSPO, size, 2, 0, 1), size, keys);
+        this.indexes = new Indexes(newSPO, newPOS, newOSP, size);
+        this.added = createDeltaGraph();
+        this.deleted.clear();
+    }
+
+    /**
+     * Returns the number of distinct nodes, that have been registered in the dictionary.
+     *
+     * @return {@code int}
+     */
+    public int getDictionarySize() {
+        return nodesCount;
+    }
+
+    /**
+     * Registers the node in the dictionary if needed.
+     *
+     * @param node {@link Node}, concrete, not {@code null}
+     * @return {@code int} id
+     */
+    protected int register(Node node) {
+        Integer res = ids.get(node);
+        if (res != null) {
+            return res;
+        }
+        Node[] array = nodes;
+        int id = nodesCount;
+        if (id == array.length) {
+            array = Arrays.copyOf(array, id + (id >> 1));
+        }
+        array[id] = node;
+        nodes = array;
+        nodesCount = id + 1;
+        ids.put(node, id);
+        return id;
+    }
+
+    /**
+     * Answers the id for the pattern node.
+     *
+     * @param node {@link Node} or {@code null}
+     * @return {@code int}: id, or {@link #ANY} for wildcard, or {@link #UNKNOWN} if there is no such node
+     */
+    private int idOf(Node node) {
+        if (node == null || !node.isConcrete()) {
+            return ANY;
+        }
+        Integer res = ids.get(node);
+        return res == null ? UNKNOWN : res;
+    }
+
+    private Key findKey(Triple t) {
+        int s = idOf(t.getSubject());
+        int p = idOf(t.getPredicate());
+        int o = idOf(t.getObject());
+        if (s < 0 || p < 0 || o < 0) {
+            return null;
+        }
+        return new Key(s, p, o);
+    }
+
+    private ExtendedIterator<Triple> findInIndexes(Triple pattern) {
+        Indexes current = indexes;
+        if (current.size == 0) {
+            return NullIterator.instance();
+        }
+        int s = idOf(pattern.getMatchSubject());
+        int p = idOf(pattern.getMatchPredicate());
+        int o = idOf(pattern.getMatchObject());
+        if (s == UNKNOWN || p == UNKNOWN || o == UNKNOWN) {
+            return NullIterator.instance();
+        }
+        if (s != ANY) {
+            if (p == ANY && o != ANY) {
+                return new Range(current.osp, current.size, Order.OSP, o, s);
+            }
+            if (p == ANY) {
+                return new Range(current.spo, current.size, Order.SPO, s);
+            }
+            if (o == ANY) {
+                return new Range(current.spo, current.size, Order.SPO, s, p);
+            }
+            return new Range(current.spo, current.size, Order.SPO, s, p, o);
+        }
+        if (p != ANY) {
+            if (o == ANY) {
+                return new Range(current.pos, current.size, Order.POS, p);
+            }
+            return new Range(current.pos, current.size, Order.POS, p, o);
+        }
+        if (o != ANY) {
+            return new Range(current.osp, current.size, Order.OSP, o);
+        }
+        return new Range(current.spo, current.size, Order.SPO);
+    }
+
+    /**
+     * Creates a new packed array with the given order of triple components.
+     *
+     * @param data packed array
+     * @param size the number of triples
+     * @param a    the index of the first component in the source triple
+     * @param b    the index of the second component in the source triple
+     * @param c    the index of the third component in the source triple
+     * @return a new packed array
+     */
+    private static int[] permute(int[] data, int size, int a, int b, int c) {
+        int[] res = new int[size * 3];
+        for (int i = 0; i < size; i++) {
+            res[3 * i] = data[3 * i + a];
+            res[3 * i + 1] = data[3 * i + b];
+            res[3 * i + 2] = data[3 * i + c];
+        }
+        return res;
+    }
+
+    /**
+     * Sorts the packed array of triples lexicographically using LSD radix sort,
+     * which is linear since all components are dictionary ids in the range {@code [0, keys)}.
+     *
+     * @param data packed array, it is used as a buffer
+     * @param size the number of triples
+     * @param keys the number of different ids
+     * @return sorted packed array (either {@code data} or a new one)
+     */
+    private static int[] sort(int[] data, int size, int keys) {
+        int[] src = data;
+        int[] dst = new int[data.length];
+        int[] count = new int[keys + 1];
+        for (int k = 2; k >= 0; k--) {
+            Arrays.fill(count, 0);
+            for (int i = 0; i < size; i++) {
+                count[src[3 * i + k] + 1]++;
+            }
+            for (int i = 0; i < keys; i++) {
+                count[i + 1] += count[i];
+            }
+            for (int i = 0; i < size; i++) {
+                int j = 3 * count[src[3 * i + k]]++;
+                dst[j] = src[3 * i];
+                dst[j + 1] = src[3 * i + 1];
+                dst[j + 2] = src[3 * i + 2];
+            }
+            int[] tmp = src;
+            src = dst;
+            dst = tmp;
+        }
+        return src;
+    }
+
+    /**
+     * Compares the prefix of the triple at the given position with the key.
+     *
+     * @param data  packed sorted array
+     * @param index triple position
+     * @param key   the key, its length is the length of the prefix
+     * @return negative, zero or positive number
+     */
+    private static int compare(int[] data, int index, int[] key) {
+        for (int i = 0; i < key.length; i++) {
+            int res = Integer.compare(data[3 * index + i], key[i]);
+            if (res != 0) {
+                return res;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Finds the first position with the prefix that is greater than ({@code strict = true})
+     * or not less than ({@code strict = false}) the key.
+     */
+    private static int bound(int[] data, int size, int[] key, boolean strict) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            int c = compare(data, mid, key);
+            if (c < 0 || (strict && c == 0)) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * The order of components in a packed index.
+     */
+    private enum Order {
+        SPO, POS, OSP
+    }
+
+    /**
+     * An encoded triple.
+     */
+    protected record Key(int s, int p, int o) {
+    }
+
+    /**
+     * An immutable snapshot of the sorted part.
+     */
+    protected static final class Indexes {
+        private final int[] spo;
+        private final int[] pos;
+        private final int[] osp;
+        private final int size;
+
+        private Indexes(int[] spo, int[] pos, int[] osp, int size) {
+            this.spo = spo;
+            this.pos = pos;
+            this.osp = osp;
+            this.size = size;
+        }
+
+        private boolean contains(Key k) {
+            int[] key = new int[]{k.s, k.p, k.o};
+            int i = bound(spo, size, key, false);
+            return i < size && compare(spo, i, key) == 0;
+        }
+    }
+
+    /**
+     * An iterator over a range of a sorted index, that skips deleted triples.
+     */
+    private final class Range extends NiceIterator<Triple> {
+        private final int[] data;
+        private final Order order;
+        private final Node[] dictionary;
+        private final int end;
+        private int current;
+        private Triple next;
+
+        private Range(int[] data, int size, Order order, int... key) {
+            this.data = data;
+            this.order = order;
+            this.dictionary = nodes;
+            this.current = key.length == 0 ? 0 : bound(data, size, key, false);
+            this.end = key.length == 0 ? size : bound(data, size, key, true);
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (next == null && current < end) {
+                int a = data[3 * current], b = data[3 * current + 1], c = data[3 * current + 2];
+                current++;
+                int s, p, o;
+                if (order == Order.SPO) {
+                    s = a;
+                    p = b;
+                    o = c;
+                } else if (order == Order.POS) {
+                    p = a;
+                    o = b;
+                    s = c;
+                } else {
+                    o = a;
+                    s = b;
+                    p = c;
+                }
+                if (!deleted.isEmpty() && deleted.contains(new Key(s, p, o))) {
+                    continue;
+                }
+                next = Triple.create(dictionary[s], dictionary[p], dictionary[o]);
+            }
+            return next != null;
+        }
+
+        @Override
+        public Triple next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            Triple res = next;
+            next = null;
+            return res;
+        }
+    }
+}
@@ -155,6 +155,10 @@ import static com.github.owlcs.ontapi.owlapi.InternalizedEntities.TRUE_LITERAL;
  * Also, this implementation is capable to produce
  * {@link OWLLiteral}s and {@link OWLAnonymousIndividual} based on Jena RDF terms:
  * {@link LiteralLabel} and {@link BlankNodeId} respectively.
+ * <p>
+ * All composite objects (expressions, axioms, annotations, etc.) go through the {@link #intern(OWLObject)} method,
+ * which does nothing here;
+ * for an opt-in hash-consing alternative see {@link InterningDataFactoryImpl}.
  *
  * @author Matthew Horridge, The University Of Manchester, Bio-Health Informatics Group
  * @see <a href='https://github.com/owlcs/owlapi/blob/version5/impl/src/main/java/uk/ac/manchester/cs/owl/owlapi/OWLDataFactoryImpl.java'>uk.ac.manchester.cs.owl.owlapi.OWLDataFactoryImpl</a>
@@ -224,6 +228,20 @@ public class DataFactoryImpl implements DataFactory {
         return notNull(annotations, ANNOTATIONS_CANNOT_BE_NULL);
     }
 
+    /**
+     * Returns the canonical representation of the given composite object.
+     * This implementation has no cache and returns the same object.
+     *
+     * @param object {@link X}, not {@code null}
+     * @param <X>    subtype of {@link OWLObject}
+     * @return {@link X}
+     * @see InterningDataFactoryImpl
+     * @since 4.0.1
+     */
+    protected <X extends OWLObject> X intern(X object) {
+        return object;
+    }
+
     @Override
     public void purge() {
         // nothing
@@ -316,7 +334,7 @@ public class DataFactoryImpl implements DataFactory {
 
     @Override
     public OWLObjectInverseOf getOWLObjectInverseOf(OWLObjectProperty property) {
-        return new ObjectInverseOfImpl(notNull(property, PROPERTY_CANNOT_BE_NULL));
+        return intern(new ObjectInverseOfImpl(notNull(property, PROPERTY_CANNOT_BE_NULL)));
     }
 
     @Override
@@ -363,7 +381,7 @@ public class DataFactoryImpl implements DataFactory {
 
     @Override
     public OWLAnnotation getOWLAnnotation(OWLAnnotationProperty property, OWLAnnotationValue value) {
-        return new AnnotationImplNotAnnotated(property, value);
+        return intern(new AnnotationImplNotAnnotated(property, value));
     }
 
     @Override
@@ -378,8 +396,8 @@ public class DataFactoryImpl implements DataFactory {
     public OWLAnnotation getOWLAnnotation(OWLAnnotationProperty property,
                                           OWLAnnotationValue value,
                                           Collection<OWLAnnotation> annotations) {
-        return new AnnotationImpl(notNull(property, PROPERTY_CANNOT_BE_NULL),
-                notNull(value, VALUE_CANNOT_BE_NULL), nonNullAnnotations(annotations));
+        return intern(new AnnotationImpl(notNull(property, PROPERTY_CANNOT_BE_NULL),
+                notNull(value, VALUE_CANNOT_BE_NULL), nonNullAnnotations(annotations)));
     }
 
     @Override
@@ -389,12 +407,12 @@ public class DataFactoryImpl implements DataFactory {
 
     @Override
     public OWLDataOneOf getOWLDataOneOf(Collection<? extends OWLLiteral> values) {
-        return new DataOneOfImpl(notNull(values, LITERALS_CANNOT_BE_NULL));
+        return intern(new DataOneOfImpl(notNull(values, LITERALS_CANNOT_BE_NULL)));
     }
 
     @Override
     public OWLDataComplementOf getOWLDataComplementOf(OWLDataRange range) {
-        return new DataComplementOfImpl(notNull(range, DATA_RANGE_CANNOT_BE_NULL));
+        return intern(new DataComplementOfImpl(notNull(range, DATA_RANGE_CANNOT_BE_NULL)));
     }
 
     @Override
@@ -404,12 +422,12 @@ public class DataFactoryImpl implements DataFactory {
 
     @Override
     public OWLDataIntersectionOf getOWLDataIntersectionOf(Stream<? extends OWLDataRange> ranges) {
-        return new DataIntersectionOfImpl(notNull(ranges, DATA_RANGES_CANNOT_BE_NULL).collect(Collectors.toList()));
+        return intern(new DataIntersectionOfImpl(notNull(ranges, DATA_RANGES_CANNOT_BE_NULL).collect(Collectors.toList())));
     }
 
     @Override
     public OWLDataIntersectionOf getOWLDataIntersectionOf(Collection<? extends OWLDataRange> ranges) {
-        return new DataIntersectionOfImpl(notNull(ranges, DATA_RANGES_CANNOT_BE_NULL));
+        return intern(new DataIntersectionOfImpl(notNull(ranges, DATA_RANGES_CANNOT_BE_NULL)));
     }
 
     @Override
@@ -419,14 +437,14 @@ public class DataFactoryImpl implements DataFactory {
 
     @Override
     public OWLDataUnionOf getOWLDataUnionOf(Collection<? extends OWLDataRange> ranges) {
-        return new DataUnionOfImpl(notNull(ranges, DATA_RANGES_CANNOT_BE_NULL));
+        return intern(new DataUnionOfImpl(notNull(ranges, DATA_RANGES_CANNOT_BE_NULL)));
     }
 
     @Override
     public OWLDatatypeRestriction getOWLDatatypeRestriction(OWLDatatype datatype,
                                                             Collection<OWLFacetRestriction> restrictions) {
-        return new DatatypeRestrictionImpl(notNull(datatype, DATATYPE_CANNOT_BE_NULL),
-                notNull(restrictions, FACET_RESTRICTIONS_CANNOT_BE_NULL));
+        return intern(new DatatypeRestrictionImpl(notNull(datatype, DATATYPE_CANNOT_BE_NULL),
+                notNull(restrictions, FACET_RESTRICTIONS_CANNOT_BE_NULL)));
     }
 
     @Override
@@ -438,8 +456,8 @@ public class DataFactoryImpl implements DataFactory {
 
     @Override
     public OWLFacetRestriction getOWLFacetRestriction(OWLFacet facet, OWLLiteral value) {
-        return new FacetRestrictionImpl(notNull(facet, FACET_CANNOT_BE_NULL),
-                notNull(value, FACET_VALUE_CANNOT_BE_NULL));
+        return intern(new FacetRestrictionImpl(notNull(facet, FACET_CANNOT_BE_NULL),
+                notNull(value, FACET_VALUE_CANNOT_BE_NULL)));
     }
 
     @Override
@@ -450,13 +468,13 @@ public class DataFactoryImpl implements DataFactory {
 
     @Override
     public OWLObjectIntersectionOf getOWLObjectIntersectionOf(Collection<? extends OWLClassExpression> operands) {
-        return new ObjectIntersectionOfImpl(notNull(operands, CLASS_EXPRESSIONS_CANNOT_BE_NULL));
+        return intern(new ObjectIntersectionOfImpl(notNull(operands, CLASS_EXPRESSIONS_CANNOT_BE_NULL)));
     }
 
     @Override
     public OWLDataAllValuesFrom getOWLDataAllValuesFrom(OWLDataPropertyExpression property, OWLDataRange range) {
-        return new DataAllValuesFromImpl(notNull(property, PROPERTY_CANNOT_BE_NULL),
-                notNull(range, DATA_RANGE_CANNOT_BE_NULL));
+        return intern(new DataAllValuesFromImpl(notNull(property, PROPERTY_CANNOT_BE_NULL),
+                notNull(range, DATA_RANGE_CANNOT_BE_NULL)));
     }
 
     @Override
@@ -473,8 +491,8 @@ public class DataFactoryImpl implements DataFactory {
     public OWLDataExactCardinality getOWLDataExactCardinality(int cardinality,
                                                               OWLDataPropertyExpression property,
                                                               OWLDataRange range) {
-        return new DataExactCardinalityImpl(notNull(property, PROPERTY_CANNOT_BE_NULL),
-                nonNegativeCardinality(cardinality), notNull(range, DATA_RANGE_CANNOT_BE_NULL));
+        return intern(new DataExactCardinalityImpl(notNull(property, PROPERTY_CANNOT_BE_NULL),
+                nonNegativeCardinality(cardinality), notNull(range, DATA_RANGE_CANNOT_BE_NULL)));
     }
 
     @Override
@@ -494,8 +512,8 @@ public class DataFactoryImpl implements DataFactory {
     public OWLDataMaxCardinality getOWLDataMaxCardinality(int cardinality,
                                                           OWLDataPropertyExpression property,
                                                           OWLDataRange range) {
-        return new DataMaxCardinalityImpl(notNull(property, PROPERTY_CANNOT_BE_NULL),
-                nonNegativeCardinality(cardinality), notNull(range, DATA_RANGE_CANNOT_BE_NULL));
+        return intern(new DataMaxCardinalityImpl(notNull(property, PROPERTY_CANNOT_BE_NULL),
+                nonNegativeCardinality(cardinality), notNull(range, DATA_RANGE_CANNOT_BE_NULL)));
     }
 
     @Override
@@ -515,8 +533,8 @@ public class DataFactoryImpl implements DataFactory {
     public OWLDataMinCardinality getOWLDataMinCardinality(int cardinality,
                                                           OWLDataPropertyExpression property,
                                                           OWLDataRange range) {
-        return new DataMinCardinalityImpl(notNull(property, PROPERTY_CANNOT_BE_NULL),
-                nonNegativeCardinality(cardinality), notNull(range, DATA_RANGE_CANNOT_BE_NULL));
+        return intern(new DataMinCardinalityImpl(notNull(property, PROPERTY_CANNOT_BE_NULL),
+                nonNegativeCardinality(cardinality), notNull(range, DATA_RANGE_CANNOT_BE_NULL)));
     }
 
     @Override
@@ -529,8 +547,8 @@ public class DataFactoryImpl implements DataFactory {
 
     @Override
     public OWLDataSomeValuesFrom getOWLDataSomeValuesFrom(OWLDataPropertyExpression property, OWLDataRange range) {
-        return new DataSomeValuesFromImpl(notNull(property, PROPERTY_CANNOT_BE_NULL),
-                notNull(range, DATA_RANGE_CANNOT_BE_NULL));
+        return intern(new DataSomeValuesFromImpl(notNull(property, PROPERTY_CANNOT_BE_NULL),
+                notNull(range, DATA_RANGE_CANNOT_BE_NULL)));
     }
 
     @Override
@@ -541,20 +559,20 @@ public class DataFactoryImpl implements DataFactory {
 
     @Override
     public OWLDataHasValue getOWLDataHasValue(OWLDataPropertyExpression property, OWLLiteral value) {
-        return new DataHasValueImpl(notNull(property, PROPERTY_CANNOT_BE_NULL),
-                notNull(value, VALUE_CANNOT_BE_NULL));
+        return intern(new DataHasValueImpl(notNull(property, PROPERTY_CANNOT_BE_NULL),
+                notNull(value, VALUE_CANNOT_BE_NULL)));
     }
 
     @Override
     public OWLObjectComplementOf getOWLObjectComplementOf(OWLClassExpression operand) {
-        return new ObjectComplementOfImpl(notNull(operand, CLASS_EXPRESSION_CANNOT_BE_NULL));
+        return intern(new ObjectComplementOfImpl(notNull(operand, CLASS_EXPRESSION_CANNOT_BE_NULL)));
     }
 
     @Override
     public OWLObjectAllValuesFrom getOWLObjectAllValuesFrom(OWLObjectPropertyExpression property,
                                                             OWLClassExpression classExpression) {
-        return new ObjectAllValuesFromImpl(notNull(property, PROPERTY_CANNOT_BE_NULL),
-                notNull(classExpression, CLASS_EXPRESSION_CANNOT_BE_NULL));
+        return intern(new ObjectAllValuesFromImpl(notNull(property, PROPERTY_CANNOT_BE_NULL),
+                notNull(classExpression, CLASS_EXPRESSION_CANNOT_BE_NULL)));
     }
 
     @Override
@@ -564,7 +582,7 @@ public class DataFactoryImpl implements DataFactory {
 
     @Override
     public OWLObjectOneOf getOWLObjectOneOf(Collection<? extends OWLIndividual> values) {
-        return new ObjectOneOfImpl(notNull(values, CLASS_EXPRESSIONS_CANNOT_BE_NULL));
+        return intern(new ObjectOneOfImpl(notNull(values, CLASS_EXPRESSIONS_CANNOT_BE_NULL)));
     }
 
     @Override
@@ -577,8 +595,8 @@ public class DataFactoryImpl implements DataFactory {
     public OWLObjectExactCardinality getOWLObjectExactCardinality(int cardinality,
                                                                   OWLObjectPropertyExpression property,
                                                                   OWLClassExpression clazz) {
-        return new ObjectExactCardinalityImpl(notNull(property, PROPERTY_CANNOT_BE_NULL),
-                nonNegativeCardinality(cardinality), notNull(clazz, CLASS_EXPRESSION_CANNOT_BE_NULL));
+        return intern(new ObjectExactCardinalityImpl(notNull(property, PROPERTY_CANNOT_BE_NULL),
+                nonNegativeCardinality(cardinality), notNull(clazz, CLASS_EXPRESSION_CANNOT_BE_NULL)));
     }
 
     @Override
@@ -590,8 +608,8 @@ public class DataFactoryImpl implements DataFactory {
     public OWLObjectMinCardinality getOWLObjectMinCardinality(int cardinality,
                                                               OWLObjectPropertyExpression property,
                                                               OWLClassExpression clazz) {
-        return new ObjectMinCardinalityImpl(notNull(property, PROPERTY_CANNOT_BE_NULL),
-                nonNegativeCardinality(cardinality), notNull(clazz, CLASS_EXPRESSION_CANNOT_BE_NULL));
+        return intern(new ObjectMinCardinalityImpl(notNull(property, PROPERTY_CANNOT_BE_NULL),
+                nonNegativeCardinality(cardinality), notNull(clazz, CLASS_EXPRESSION_CANNOT_BE_NULL)));
     }
 
     @Override
@@ -603,26 +621,26 @@ public class DataFactoryImpl implements DataFactory {
     public OWLObjectMaxCardinality getOWLObjectMaxCardinality(int cardinality,
                                                               OWLObjectPropertyExpression property,
                                                               OWLClassExpression clazz) {
-        return new ObjectMaxCardinalityImpl(notNull(property, PROPERTY_CANNOT_BE_NULL),
-                nonNegativeCardinality(cardinality), notNull(clazz, CLASS_EXPRESSION_CANNOT_BE_NULL));
+        return intern(new ObjectMaxCardinalityImpl(notNull(property, PROPERTY_CANNOT_BE_NULL),
+                nonNegativeCardinality(cardinality), notNull(clazz, CLASS_EXPRESSION_CANNOT_BE_NULL)));
     }
 
     @Override
     public OWLObjectHasSelf getOWLObjectHasSelf(OWLObjectPropertyExpression property) {
-        return new ObjectHasSelfImpl(notNull(property, PROPERTY_CANNOT_BE_NULL));
+        return intern(new ObjectHasSelfImpl(notNull(property, PROPERTY_CANNOT_BE_NULL)));
     }
 
     @Override
     public OWLObjectSomeValuesFrom getOWLObjectSomeValuesFrom(OWLObjectPropertyExpression property,
                                                               OWLClassExpression clazz) {
-        return new ObjectSomeValuesFromImpl(notNull(property, PROPERTY_CANNOT_BE_NULL),
-                notNull(clazz, CLASS_EXPRESSION_CANNOT_BE_NULL));
+        return intern(new ObjectSomeValuesFromImpl(notNull(property, PROPERTY_CANNOT_BE_NULL),
+                notNull(clazz, CLASS_EXPRESSION_CANNOT_BE_NULL)));
     }
 
     @Override
     public OWLObjectHasValue getOWLObjectHasValue(OWLObjectPropertyExpression property, OWLIndividual individual) {
-        return new ObjectHasValueImpl(notNull(property, PROPERTY_CANNOT_BE_NULL),
-                notNull(individual, INDIVIDUAL_CANNOT_BE_NULL));
+        return intern(new ObjectHasValueImpl(notNull(property, PROPERTY_CANNOT_BE_NULL),
+                notNull(individual, INDIVIDUAL_CANNOT_BE_NULL)));
     }
 
     @Override
@@ -633,7 +651,7 @@ public class DataFactoryImpl implements DataFactory {
 
     @Override
     public OWLObjectUnionOf getOWLObjectUnionOf(Collection<? extends OWLClassExpression> operands) {
-        return new ObjectUnionOfImpl(notNull(operands, CLASS_EXPRESSIONS_CANNOT_BE_NULL));
+        return intern(new ObjectUnionOfImpl(notNull(operands, CLASS_EXPRESSIONS_CANNOT_BE_NULL)));
     }
 
     @Override
@@ -643,22 +661,22 @@ public class DataFactoryImpl implements DataFactory {
 
     @Override
     public SWRLIndividualArgument getSWRLIndividualArgument(OWLIndividual individual) {
-        return new IndividualArgumentImpl(notNull(individual, INDIVIDUAL_CANNOT_BE_NULL));
+        return intern(new IndividualArgumentImpl(notNull(individual, INDIVIDUAL_CANNOT_BE_NULL)));
     }
 
     @Override
     public SWRLLiteralArgument getSWRLLiteralArgument(OWLLiteral literal) {
-        return new LiteralArgumentImpl(notNull(literal, LITERAL_CANNOT_BE_NULL));
+        return intern(new LiteralArgumentImpl(notNull(literal, LITERAL_CANNOT_BE_NULL)));
     }
 
     @Override
     public SWRLClassAtom getSWRLClassAtom(OWLClassExpression predicate, SWRLIArgument arg) {
-        return new ClassAtomImpl(notNull(predicate, PREDICATE_CANNOT_BE_NULL), notNull(arg, ARG_CANNOT_BE_NULL));
+        return intern(new ClassAtomImpl(notNull(predicate, PREDICATE_CANNOT_BE_NULL), notNull(arg, ARG_CANNOT_BE_NULL)));
     }
 
     @Override
     public SWRLDataRangeAtom getSWRLDataRangeAtom(OWLDataRange predicate, SWRLDArgument arg) {
-        return new DataRangeAtomImpl(notNull(predicate, PREDICATE_CANNOT_BE_NULL), notNull(arg, ARG_CANNOT_BE_NULL));
+        return intern(new DataRangeAtomImpl(notNull(predicate, PREDICATE_CANNOT_BE_NULL), notNull(arg, ARG_CANNOT_BE_NULL)));
     }
 
     @Override
@@ -669,34 +687,34 @@ public class DataFactoryImpl implements DataFactory {
     @Override
     public SWRLObjectPropertyAtom getSWRLObjectPropertyAtom(OWLObjectPropertyExpression property,
                                                             SWRLIArgument arg0, SWRLIArgument arg1) {
-        return new ObjectPropertyAtomImpl(notNull(property, PROPERTY_CANNOT_BE_NULL),
-                notNull(arg0, ARG0_CANNOT_BE_NULL), notNull(arg1, ARG1_CANNOT_BE_NULL));
+        return intern(new ObjectPropertyAtomImpl(notNull(property, PROPERTY_CANNOT_BE_NULL),
+                notNull(arg0, ARG0_CANNOT_BE_NULL), notNull(arg1, ARG1_CANNOT_BE_NULL)));
     }
 
     @Override
     public SWRLDataPropertyAtom getSWRLDataPropertyAtom(OWLDataPropertyExpression property,
                                                         SWRLIArgument arg0,
                                                         SWRLDArgument arg1) {
-        return new DataPropertyAtomImpl(notNull(property, PROPERTY_CANNOT_BE_NULL),
-                notNull(arg0, ARG0_CANNOT_BE_NULL), notNull(arg1, ARG1_CANNOT_BE_NULL));
+        return intern(new DataPropertyAtomImpl(notNull(property, PROPERTY_CANNOT_BE_NULL),
+                notNull(arg0, ARG0_CANNOT_BE_NULL), notNull(arg1, ARG1_CANNOT_BE_NULL)));
     }
 
     @Override
     public SWRLBuiltInAtom getSWRLBuiltInAtom(IRI builtInIRI, List<SWRLDArgument> args) {
-        return new BuiltInAtomImpl(notNull(builtInIRI, BUILT_IN_IRI_CANNOT_BE_NULL),
-                notNull(args, ARGS_CANNOT_BE_NULL));
+        return intern(new BuiltInAtomImpl(notNull(builtInIRI, BUILT_IN_IRI_CANNOT_BE_NULL),
+                notNull(args, ARGS_CANNOT_BE_NULL)));
     }
 
     @Override
     public SWRLDifferentIndividualsAtom getSWRLDifferentIndividualsAtom(SWRLIArgument arg0, SWRLIArgument arg1) {
-        return new DifferentIndividualsAtomImpl(getOWLObjectProperty(OWLRDFVocabulary.OWL_DIFFERENT_FROM),
-                notNull(arg0, ARG0_CANNOT_BE_NULL), notNull(arg1, ARG1_CANNOT_BE_NULL));
+        return intern(new DifferentIndividualsAtomImpl(getOWLObjectProperty(OWLRDFVocabulary.OWL_DIFFERENT_FROM),
+                notNull(arg0, ARG0_CANNOT_BE_NULL), notNull(arg1, ARG1_CANNOT_BE_NULL)));
     }
 
     @Override
     public SWRLSameIndividualAtom getSWRLSameIndividualAtom(SWRLIArgument arg0, SWRLIArgument arg1) {
-        return new SameIndividualAtomImpl(getOWLObjectProperty(OWLRDFVocabulary.OWL_SAME_AS),
-                notNull(arg0, ARG0_CANNOT_BE_NULL), notNull(arg1, ARG1_CANNOT_BE_NULL));
+        return intern(new SameIndividualAtomImpl(getOWLObjectProperty(OWLRDFVocabulary.OWL_SAME_AS),
+                notNull(arg0, ARG0_CANNOT_BE_NULL), notNull(arg1, ARG1_CANNOT_BE_NULL)));
     }
 
     @Override
@@ -785,24 +803,24 @@ public class DataFactoryImpl implements DataFactory {
     @Override
     public OWLAsymmetricObjectPropertyAxiom getOWLAsymmetricObjectPropertyAxiom(OWLObjectPropertyExpression properties,
                                                                                 Collection<OWLAnnotation> annotations) {
-        return new AsymmetricObjectPropertyAxiomImpl(notNull(properties, PROPERTY_CANNOT_BE_NULL),
-                nonNullAnnotations(annotations));
+        return intern(new AsymmetricObjectPropertyAxiomImpl(notNull(properties, PROPERTY_CANNOT_BE_NULL),
+                nonNullAnnotations(annotations)));
     }
 
     @Override
     public OWLDataPropertyDomainAxiom getOWLDataPropertyDomainAxiom(OWLDataPropertyExpression property,
                                                                     OWLClassExpression domain,
                                                                     Collection<OWLAnnotation> annotations) {
-        return new DataPropertyDomainAxiomImpl(notNull(property, PROPERTY_CANNOT_BE_NULL),
-                notNull(domain, DOMAIN_CANNOT_BE_NULL), nonNullAnnotations(annotations));
+        return intern(new DataPropertyDomainAxiomImpl(notNull(property, PROPERTY_CANNOT_BE_NULL),
+                notNull(domain, DOMAIN_CANNOT_BE_NULL), nonNullAnnotations(annotations)));
     }
 
     @Override
     public OWLDataPropertyRangeAxiom getOWLDataPropertyRangeAxiom(OWLDataPropertyExpression property,
                                                                   OWLDataRange range,
                                                                   Collection<OWLAnnotation> annotations) {
-        return new DataPropertyRangeAxiomImpl(notNull(property, PROPERTY_CANNOT_BE_NULL),
-                notNull(range, OWL_DATA_RANGE_CANNOT_BE_NULL), nonNullAnnotations(annotations));
+        return intern(new DataPropertyRangeAxiomImpl(notNull(property, PROPERTY_CANNOT_BE_NULL),
+                notNull(range, OWL_DATA_RANGE_CANNOT_BE_NULL), nonNullAnnotations(annotations)));
     }
 
     @Override
@@ -817,20 +835,20 @@ public class DataFactoryImpl implements DataFactory {
     public OWLSubDataPropertyOfAxiom getOWLSubDataPropertyOfAxiom(OWLDataPropertyExpression subProperty,
                                                                   OWLDataPropertyExpression superProperty,
                                                                   Collection<OWLAnnotation> annotations) {
-        return new SubDataPropertyOfAxiomImpl(notNull(subProperty, SUB_PROPERTY_CANNOT_BE_NULL),
-                notNull(superProperty, SUPER_PROPERTY_CANNOT_BE_NULL), nonNullAnnotations(annotations));
+        return intern(new SubDataPropertyOfAxiomImpl(notNull(subProperty, SUB_PROPERTY_CANNOT_BE_NULL),
+                notNull(superProperty, SUPER_PROPERTY_CANNOT_BE_NULL), nonNullAnnotations(annotations)));
     }
 
     @Override
     public OWLDeclarationAxiom getOWLDeclarationAxiom(OWLEntity entity, Collection<OWLAnnotation> annotations) {
-        return new DeclarationAxiomImpl(notNull(entity, OWL_ENTITY_CANNOT_BE_NULL), nonNullAnnotations(annotations));
+        return intern(new DeclarationAxiomImpl(notNull(entity, OWL_ENTITY_CANNOT_BE_NULL), nonNullAnnotations(annotations)));
     }
 
     @Override
     public OWLDifferentIndividualsAxiom getOWLDifferentIndividualsAxiom(Collection<? extends OWLIndividual> individuals,
                                                                         Collection<OWLAnnotation> annotations) {
-        return new DifferentIndividualsAxiomImpl(notNull(individuals, INDIVIDUALS_CANNOT_BE_NULL),
-                nonNullAnnotations(annotations));
+        return intern(new DifferentIndividualsAxiomImpl(notNull(individuals, INDIVIDUALS_CANNOT_BE_NULL),
+                nonNullAnnotations(annotations)));
     }
 
     /**
@@ -862,7 +880,7 @@ public class DataFactoryImpl implements DataFactory {
             return getOWLDisjointClassesAxiom(Arrays.asList(OWL_THING, clazz),
                     createDisjointWithThingAnnotations(annotations, clazz));
         }
-        return res;
+        return intern(res);
     }
 
     private Set<OWLAnnotation> createDisjointWithThingAnnotations(Collection<OWLAnnotation> annotations,
@@ -882,43 +900,43 @@ public class DataFactoryImpl implements DataFactory {
     @Override
     public OWLDisjointDataPropertiesAxiom getOWLDisjointDataPropertiesAxiom(Collection<? extends OWLDataPropertyExpression> properties,
                                                                             Collection<OWLAnnotation> annotations) {
-        return new DisjointDataPropertiesAxiomImpl(notNull(properties, PROPERTIES_CANNOT_BE_NULL),
-                nonNullAnnotations(annotations));
+        return intern(new DisjointDataPropertiesAxiomImpl(notNull(properties, PROPERTIES_CANNOT_BE_NULL),
+                nonNullAnnotations(annotations)));
     }
 
     @Override
     public OWLDisjointObjectPropertiesAxiom getOWLDisjointObjectPropertiesAxiom(Collection<? extends OWLObjectPropertyExpression> properties,
                                                                                 Collection<OWLAnnotation> annotations) {
-        return new DisjointObjectPropertiesAxiomImpl(notNull(properties, PROPERTIES_CANNOT_BE_NULL),
-                nonNullAnnotations(annotations));
+        return intern(new DisjointObjectPropertiesAxiomImpl(notNull(properties, PROPERTIES_CANNOT_BE_NULL),
+                nonNullAnnotations(annotations)));
     }
 
     @Override
     public OWLEquivalentClassesAxiom getOWLEquivalentClassesAxiom(Collection<? extends OWLClassExpression> classes,
                                                                   Collection<OWLAnnotation> annotations) {
-        return new EquivalentClassesAxiomImpl(notNull(classes, CLASS_EXPRESSIONS_CANNOT_BE_NULL),
-                nonNullAnnotations(annotations));
+        return intern(new EquivalentClassesAxiomImpl(notNull(classes, CLASS_EXPRESSIONS_CANNOT_BE_NULL),
+                nonNullAnnotations(annotations)));
     }
 
     @Override
     public OWLEquivalentDataPropertiesAxiom getOWLEquivalentDataPropertiesAxiom(Collection<? extends OWLDataPropertyExpression> properties,
                                                                                 Collection<OWLAnnotation> annotations) {
-        return new EquivalentDataPropertiesAxiomImpl(notNull(properties, PROPERTIES_CANNOT_BE_NULL),
-                nonNullAnnotations(annotations));
+        return intern(new EquivalentDataPropertiesAxiomImpl(notNull(properties, PROPERTIES_CANNOT_BE_NULL),
+                nonNullAnnotations(annotations)));
     }
 
     @Override
     public OWLFunctionalDataPropertyAxiom getOWLFunctionalDataPropertyAxiom(OWLDataPropertyExpression property,
                                                                             Collection<OWLAnnotation> annotations) {
-        return new FunctionalDataPropertyAxiomImpl(notNull(property, PROPERTY_CANNOT_BE_NULL),
-                nonNullAnnotations(annotations));
+        return intern(new FunctionalDataPropertyAxiomImpl(notNull(property, PROPERTY_CANNOT_BE_NULL),
+                nonNullAnnotations(annotations)));
     }
 
     @Override
     public OWLFunctionalObjectPropertyAxiom getOWLFunctionalObjectPropertyAxiom(OWLObjectPropertyExpression property,
                                                                                 Collection<OWLAnnotation> annotations) {
-        return new FunctionalObjectPropertyAxiomImpl(notNull(property, PROPERTY_CANNOT_BE_NULL),
-                nonNullAnnotations(annotations));
+        return intern(new FunctionalObjectPropertyAxiomImpl(notNull(property, PROPERTY_CANNOT_BE_NULL),
+                nonNullAnnotations(annotations)));
     }
 
     @Override
@@ -931,10 +949,10 @@ public class DataFactoryImpl implements DataFactory {
                                                                           OWLIndividual subject,
                                                                           OWLLiteral object,
                                                                           Collection<OWLAnnotation> annotations) {
-        return new DataPropertyAssertionAxiomImpl(notNull(subject, SUBJECT_CANNOT_BE_NULL),
+        return intern(new DataPropertyAssertionAxiomImpl(notNull(subject, SUBJECT_CANNOT_BE_NULL),
                 notNull(property, PROPERTY_CANNOT_BE_NULL),
                 notNull(object, OBJECT_CANNOT_BE_NULL),
-                nonNullAnnotations(annotations));
+                nonNullAnnotations(annotations)));
     }
 
     @Override
@@ -942,10 +960,10 @@ public class DataFactoryImpl implements DataFactory {
                                                                                           OWLIndividual subject,
                                                                                           OWLLiteral object,
                                                                                           Collection<OWLAnnotation> annotations) {
-        return new NegativeDataPropertyAssertionAxiomImpl(notNull(subject, SUBJECT_CANNOT_BE_NULL),
+        return intern(new NegativeDataPropertyAssertionAxiomImpl(notNull(subject, SUBJECT_CANNOT_BE_NULL),
                 notNull(property, PROPERTY_CANNOT_BE_NULL),
                 notNull(object, OBJECT_CANNOT_BE_NULL),
-                nonNullAnnotations(annotations));
+                nonNullAnnotations(annotations)));
     }
 
     @Override
@@ -953,117 +971,117 @@ public class DataFactoryImpl implements DataFactory {
                                                                                               OWLIndividual subject,
                                                                                               OWLIndividual object,
                                                                                               Collection<OWLAnnotation> annotations) {
-        return new NegativeObjectPropertyAssertionAxiomImpl(notNull(subject, SUBJECT_CANNOT_BE_NULL),
+        return intern(new NegativeObjectPropertyAssertionAxiomImpl(notNull(subject, SUBJECT_CANNOT_BE_NULL),
                 notNull(property, PROPERTY_CANNOT_BE_NULL),
                 notNull(object, OBJECT_CANNOT_BE_NULL),
-                nonNullAnnotations(annotations));
+                nonNullAnnotations(annotations)));
     }
 
     @Override
     public OWLClassAssertionAxiom getOWLClassAssertionAxiom(OWLClassExpression ces,
                                                             OWLIndividual individual,
                                                             Collection<OWLAnnotation> annotations) {
-        return new ClassAssertionAxiomImpl(notNull(individual, INDIVIDUAL_CANNOT_BE_NULL),
-                notNull(ces, CLASS_EXPRESSION_CANNOT_BE_NULL), nonNullAnnotations(annotations));
+        return intern(new ClassAssertionAxiomImpl(notNull(individual, INDIVIDUAL_CANNOT_BE_NULL),
+                notNull(ces, CLASS_EXPRESSION_CANNOT_BE_NULL), nonNullAnnotations(annotations)));
     }
 
     @Override
     public OWLInverseFunctionalObjectPropertyAxiom getOWLInverseFunctionalObjectPropertyAxiom(OWLObjectPropertyExpression property,
                                                                                               Collection<OWLAnnotation> annotations) {
-        return new InverseFunctionalObjectPropertyAxiomImpl(notNull(property, PROPERTY_CANNOT_BE_NULL),
-                nonNullAnnotations(annotations));
+        return intern(new InverseFunctionalObjectPropertyAxiomImpl(notNull(property, PROPERTY_CANNOT_BE_NULL),
+                nonNullAnnotations(annotations)));
     }
 
     @Override
     public OWLIrreflexiveObjectPropertyAxiom getOWLIrreflexiveObjectPropertyAxiom(OWLObjectPropertyExpression property,
                                                                                   Collection<OWLAnnotation> annotations) {
-        return new IrreflexiveObjectPropertyAxiomImpl(notNull(property, PROPERTY_CANNOT_BE_NULL),
-                nonNullAnnotations(annotations));
+        return intern(new IrreflexiveObjectPropertyAxiomImpl(notNull(property, PROPERTY_CANNOT_BE_NULL),
+                nonNullAnnotations(annotations)));
     }
 
     @Override
     public OWLObjectPropertyDomainAxiom getOWLObjectPropertyDomainAxiom(OWLObjectPropertyExpression property,
                                                                         OWLClassExpression ces,
                                                                         Collection<OWLAnnotation> annotations) {
-        return new ObjectPropertyDomainAxiomImpl(notNull(property, PROPERTY_CANNOT_BE_NULL),
-                notNull(ces, CLASS_EXPRESSION_CANNOT_BE_NULL), nonNullAnnotations(annotations));
+        return intern(new ObjectPropertyDomainAxiomImpl(notNull(property, PROPERTY_CANNOT_BE_NULL),
+                notNull(ces, CLASS_EXPRESSION_CANNOT_BE_NULL), nonNullAnnotations(annotations)));
     }
 
     @Override
     public OWLObjectPropertyRangeAxiom getOWLObjectPropertyRangeAxiom(OWLObjectPropertyExpression property,
                                                                       OWLClassExpression range,
                                                                       Collection<OWLAnnotation> annotations) {
-        return new ObjectPropertyRangeAxiomImpl(notNull(property, PROPERTY_CANNOT_BE_NULL),
-                notNull(range, RANGE_CANNOT_BE_NULL), nonNullAnnotations(annotations));
+        return intern(new ObjectPropertyRangeAxiomImpl(notNull(property, PROPERTY_CANNOT_BE_NULL),
+                notNull(range, RANGE_CANNOT_BE_NULL), nonNullAnnotations(annotations)));
     }
 
     @Override
     public OWLSubObjectPropertyOfAxiom getOWLSubObjectPropertyOfAxiom(OWLObjectPropertyExpression subProperty,
                                                                       OWLObjectPropertyExpression superProperty,
                                                                       Collection<OWLAnnotation> annotations) {
-        return new SubObjectPropertyOfAxiomImpl(notNull(subProperty, SUB_PROPERTY_CANNOT_BE_NULL),
+        return intern(new SubObjectPropertyOfAxiomImpl(notNull(subProperty, SUB_PROPERTY_CANNOT_BE_NULL),
                 notNull(superProperty, SUPER_PROPERTY_CANNOT_BE_NULL),
-                nonNullAnnotations(annotations));
+                nonNullAnnotations(annotations)));
     }
 
     @Override
     public OWLReflexiveObjectPropertyAxiom getOWLReflexiveObjectPropertyAxiom(OWLObjectPropertyExpression property,
                                                                               Collection<OWLAnnotation> annotations) {
-        return new ReflexiveObjectPropertyAxiomImpl(notNull(property, PROPERTY_CANNOT_BE_NULL),
-                nonNullAnnotations(annotations));
+        return intern(new ReflexiveObjectPropertyAxiomImpl(notNull(property, PROPERTY_CANNOT_BE_NULL),
+                nonNullAnnotations(annotations)));
     }
 
     @Override
     public OWLSameIndividualAxiom getOWLSameIndividualAxiom(Collection<? extends OWLIndividual> individuals,
                                                             Collection<OWLAnnotation> annotations) {
-        return new SameIndividualAxiomImpl(notNull(individuals, INDIVIDUALS_CANNOT_BE_NULL),
-                nonNullAnnotations(annotations));
+        return intern(new SameIndividualAxiomImpl(notNull(individuals, INDIVIDUALS_CANNOT_BE_NULL),
+                nonNullAnnotations(annotations)));
     }
 
     @Override
     public OWLSubClassOfAxiom getOWLSubClassOfAxiom(OWLClassExpression subClass,
                                                     OWLClassExpression superClass,
                                                     Collection<OWLAnnotation> annotations) {
-        return new SubClassOfAxiomImpl(notNull(subClass, SUBCLASS_CANNOT_BE_NULL),
-                notNull(superClass, SUPERCLASS_CANNOT_BE_NULL), nonNullAnnotations(annotations));
+        return intern(new SubClassOfAxiomImpl(notNull(subClass, SUBCLASS_CANNOT_BE_NULL),
+                notNull(superClass, SUPERCLASS_CANNOT_BE_NULL), nonNullAnnotations(annotations)));
     }
 
     @Override
     public OWLSymmetricObjectPropertyAxiom getOWLSymmetricObjectPropertyAxiom(OWLObjectPropertyExpression property,
                                                                               Collection<OWLAnnotation> annotations) {
-        return new SymmetricObjectPropertyAxiomImpl(notNull(property, PROPERTY_CANNOT_BE_NULL),
-                nonNullAnnotations(annotations));
+        return intern(new SymmetricObjectPropertyAxiomImpl(notNull(property, PROPERTY_CANNOT_BE_NULL),
+                nonNullAnnotations(annotations)));
     }
 
     @Override
     public OWLTransitiveObjectPropertyAxiom getOWLTransitiveObjectPropertyAxiom(OWLObjectPropertyExpression property,
                                                                                 Collection<OWLAnnotation> annotations) {
-        return new TransitiveObjectPropertyAxiomImpl(notNull(property, PROPERTY_CANNOT_BE_NULL),
-                nonNullAnnotations(annotations));
+        return intern(new TransitiveObjectPropertyAxiomImpl(notNull(property, PROPERTY_CANNOT_BE_NULL),
+                nonNullAnnotations(annotations)));
     }
 
     @Override
     public OWLInverseObjectPropertiesAxiom getOWLInverseObjectPropertiesAxiom(OWLObjectPropertyExpression forwardProperty,
                                                                               OWLObjectPropertyExpression inverseProperty,
                                                                               Collection<OWLAnnotation> annotations) {
-        return new InverseObjectPropertiesAxiomImpl(notNull(forwardProperty, FORWARD_PROPERTY_CANNOT_BE_NULL),
-                notNull(inverseProperty, INVERSE_PROPERTY_CANNOT_BE_NULL), nonNullAnnotations(annotations));
+        return intern(new InverseObjectPropertiesAxiomImpl(notNull(forwardProperty, FORWARD_PROPERTY_CANNOT_BE_NULL),
+                notNull(inverseProperty, INVERSE_PROPERTY_CANNOT_BE_NULL), nonNullAnnotations(annotations)));
     }
 
     @Override
     public OWLSubPropertyChainOfAxiom getOWLSubPropertyChainOfAxiom(List<? extends OWLObjectPropertyExpression> chain,
                                                                     OWLObjectPropertyExpression superProperty,
                                                                     Collection<OWLAnnotation> annotations) {
-        return new SubPropertyChainAxiomImpl(notNull(chain, CHAIN_CANNOT_BE_NULL),
-                notNull(superProperty, SUPER_PROPERTY_CANNOT_BE_NULL), nonNullAnnotations(annotations));
+        return intern(new SubPropertyChainAxiomImpl(notNull(chain, CHAIN_CANNOT_BE_NULL),
+                notNull(superProperty, SUPER_PROPERTY_CANNOT_BE_NULL), nonNullAnnotations(annotations)));
     }
 
     @Override
     public OWLHasKeyAxiom getOWLHasKeyAxiom(OWLClassExpression ce,
                                             Collection<? extends OWLPropertyExpression> properties,
                                             Collection<OWLAnnotation> annotations) {
-        return new HasKeyAxiomImpl(notNull(ce, CLASS_EXPRESSION_CANNOT_BE_NULL),
-                notNull(properties, PROPERTIES_CANNOT_BE_NULL), nonNullAnnotations(annotations));
+        return intern(new HasKeyAxiomImpl(notNull(ce, CLASS_EXPRESSION_CANNOT_BE_NULL),
+                notNull(properties, PROPERTIES_CANNOT_BE_NULL), nonNullAnnotations(annotations)));
     }
 
     @Override
@@ -1078,15 +1096,15 @@ public class DataFactoryImpl implements DataFactory {
     public OWLDisjointUnionAxiom getOWLDisjointUnionAxiom(OWLClass clazz,
                                                           Collection<? extends OWLClassExpression> ces,
                                                           Collection<OWLAnnotation> annotations) {
-        return new DisjointUnionAxiomImpl(notNull(clazz, OWL_CLASS_CANNOT_BE_NULL),
-                notNull(ces, CLASS_EXPRESSIONS_CANNOT_BE_NULL), notNull(annotations, ANNOTATIONS_CANNOT_BE_NULL));
+        return intern(new DisjointUnionAxiomImpl(notNull(clazz, OWL_CLASS_CANNOT_BE_NULL),
+                notNull(ces, CLASS_EXPRESSIONS_CANNOT_BE_NULL), notNull(annotations, ANNOTATIONS_CANNOT_BE_NULL)));
     }
 
     @Override
     public OWLEquivalentObjectPropertiesAxiom getOWLEquivalentObjectPropertiesAxiom(Collection<? extends OWLObjectPropertyExpression> properties,
                                                                                     Collection<OWLAnnotation> annotations) {
-        return new EquivalentObjectPropertiesAxiomImpl(notNull(properties, PROPERTIES_CANNOT_BE_NULL),
-                nonNullAnnotations(annotations));
+        return intern(new EquivalentObjectPropertiesAxiomImpl(notNull(properties, PROPERTIES_CANNOT_BE_NULL),
+                nonNullAnnotations(annotations)));
     }
 
     @Override
@@ -1094,17 +1112,17 @@ public class DataFactoryImpl implements DataFactory {
                                                                               OWLIndividual individual,
                                                                               OWLIndividual object,
                                                                               Collection<OWLAnnotation> annotations) {
-        return new ObjectPropertyAssertionAxiomImpl(notNull(individual, INDIVIDUAL_CANNOT_BE_NULL),
+        return intern(new ObjectPropertyAssertionAxiomImpl(notNull(individual, INDIVIDUAL_CANNOT_BE_NULL),
                 notNull(property, PROPERTY_CANNOT_BE_NULL),
-                notNull(object, OBJECT_CANNOT_BE_NULL), nonNullAnnotations(annotations));
+                notNull(object, OBJECT_CANNOT_BE_NULL), nonNullAnnotations(annotations)));
     }
 
     @Override
     public OWLSubAnnotationPropertyOfAxiom getOWLSubAnnotationPropertyOfAxiom(OWLAnnotationProperty sub,
                                                                               OWLAnnotationProperty sup,
                                                                               Collection<OWLAnnotation> annotations) {
-        return new SubAnnotationPropertyOfAxiomImpl(notNull(sub, SUB_PROPERTY_CANNOT_BE_NULL),
-                notNull(sup, SUPER_PROPERTY_CANNOT_BE_NULL), nonNullAnnotations(annotations));
+        return intern(new SubAnnotationPropertyOfAxiomImpl(notNull(sub, SUB_PROPERTY_CANNOT_BE_NULL),
+                notNull(sup, SUPER_PROPERTY_CANNOT_BE_NULL), nonNullAnnotations(annotations)));
     }
 
     @Override
@@ -1128,10 +1146,10 @@ public class DataFactoryImpl implements DataFactory {
                                                                       OWLAnnotationSubject subject,
                                                                       OWLAnnotationValue value,
                                                                       Collection<OWLAnnotation> annotations) {
-        return new AnnotationAssertionAxiomImpl(notNull(subject, SUBJECT_CANNOT_BE_NULL),
+        return intern(new AnnotationAssertionAxiomImpl(notNull(subject, SUBJECT_CANNOT_BE_NULL),
                 notNull(property, PROPERTY_CANNOT_BE_NULL),
                 notNull(value, VALUE_CANNOT_BE_NULL),
-                nonNullAnnotations(annotations));
+                nonNullAnnotations(annotations)));
     }
 
     @Override
@@ -1144,24 +1162,24 @@ public class DataFactoryImpl implements DataFactory {
     public OWLAnnotationPropertyDomainAxiom getOWLAnnotationPropertyDomainAxiom(OWLAnnotationProperty property,
                                                                                 IRI domain,
                                                                                 Collection<OWLAnnotation> annotations) {
-        return new AnnotationPropertyDomainAxiomImpl(notNull(property, PROPERTY_CANNOT_BE_NULL),
-                notNull(domain, DOMAIN_CANNOT_BE_NULL), nonNullAnnotations(annotations));
+        return intern(new AnnotationPropertyDomainAxiomImpl(notNull(property, PROPERTY_CANNOT_BE_NULL),
+                notNull(domain, DOMAIN_CANNOT_BE_NULL), nonNullAnnotations(annotations)));
     }
 
     @Override
     public OWLAnnotationPropertyRangeAxiom getOWLAnnotationPropertyRangeAxiom(OWLAnnotationProperty property,
                                                                               IRI range,
                                                                               Collection<OWLAnnotation> annotations) {
-        return new AnnotationPropertyRangeAxiomImpl(notNull(property, PROPERTY_CANNOT_BE_NULL),
-                notNull(range, RANGE_CANNOT_BE_NULL), nonNullAnnotations(annotations));
+        return intern(new AnnotationPropertyRangeAxiomImpl(notNull(property, PROPERTY_CANNOT_BE_NULL),
+                notNull(range, RANGE_CANNOT_BE_NULL), nonNullAnnotations(annotations)));
     }
 
     @Override
     public OWLDatatypeDefinitionAxiom getOWLDatatypeDefinitionAxiom(OWLDatatype datatype,
                                                                     OWLDataRange range,
                                                                     Collection<OWLAnnotation> annotations) {
-        return new DatatypeDefinitionAxiomImpl(notNull(datatype, DATATYPE_CANNOT_BE_NULL),
-                notNull(range, DATA_RANGE_CANNOT_BE_NULL), nonNullAnnotations(annotations));
+        return intern(new DatatypeDefinitionAxiomImpl(notNull(datatype, DATATYPE_CANNOT_BE_NULL),
+                notNull(range, DATA_RANGE_CANNOT_BE_NULL), nonNullAnnotations(annotations)));
     }
 
     @Override
@@ -1181,8 +1199,8 @@ public class DataFactoryImpl implements DataFactory {
     public SWRLRule getSWRLRule(Collection<? extends SWRLAtom> body,
                                 Collection<? extends SWRLAtom> head,
                                 Collection<OWLAnnotation> annotations) {
-        return new RuleImpl(notNull(body, BODY_CANNOT_BE_NULL),
-                notNull(head, HEAD_CANNOT_BE_NULL), nonNullAnnotations(annotations));
+        return intern(new RuleImpl(notNull(body, BODY_CANNOT_BE_NULL),
+                notNull(head, HEAD_CANNOT_BE_NULL), nonNullAnnotations(annotations)));
     }
 
 }
@@ -0,0 +1,226 @@
+/*
+ * This file is part of the ONT API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright (c) 2023, owl.cs group.
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package com.github.owlcs.ontapi;
+
+import com.github.owlcs.ontapi.internal.InternalGraphModel;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLAnnotation;
+import org.semanticweb.owlapi.model.OWLAnnotationAssertionAxiom;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLDeclarationAxiom;
+import org.semanticweb.owlapi.model.OWLEntity;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * A manager-level inverted index from an entity IRI to the ontologies that use it,
+ * together with the {@link Usage kind} of use.
+ * <p>
+ * The entry for an ontology is built from its content caches
+ * (i.e. from the axioms and the ontology annotations),
+ * see {@link BaseOntologyIndex} for the details of the entry lifecycle.
+ *
+ * @see OntologyManager#findEntityUsages(IRI)
+ * @since 4.0.1
+ */
+public class EntityUsageIndex extends BaseOntologyIndex<EntityUsageIndex.Entry> {
+    // the inverted index itself:
+    protected final Map<IRI, Map<Ontology, int[]>> index = new HashMap<>();
+
+    /**
+     * Creates an index.
+     *
+     * @param ontologies a facility to list all ontologies of the manager, not {@code null}
+     * @param structure  a facility to get the version of the manager's collection of ontologies, not {@code null}
+     */
+    public EntityUsageIndex(Supplier<Stream<Ontology>> ontologies, LongSupplier structure) {
+        super(ontologies, structure);
+    }
+
+    /**
+     * Finds all the ontologies that use the given IRI, together with the kinds of use.
+     *
+     * @param iri {@link IRI} of an entity, not {@code null}
+     * @return an unmodifiable {@code Map} with {@link Ontology}s as keys and {@link Usage}s as values
+     */
+    public Map<Ontology, Set<Usage>> find(IRI iri) {
+        Objects.requireNonNull(iri);
+        refresh();
+        lock.lock();
+        try {
+            Map<Ontology, int[]> found = index.get(iri);
+            if (found == null) {
+                return Collections.emptyMap();
+            }
+            Map<Ontology, Set<Usage>> res = new LinkedHashMap<>();
+            found.forEach((o, counts) -> res.put(o, Usage.toSet(counts)));
+            return Collections.unmodifiableMap(res);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    protected Entry build(Ontology ont, InternalGraphModel model, long stamp) {
+        Entry res = new Entry(model, stamp);
+        ont.axioms().forEach(a -> collect(a, (iri, usage) -> res.update(ont, iri, usage, 1)));
+        ont.annotations().flatMap(OWLAnnotation::signature)
+                .forEach(x -> res.update(ont, x.getIRI(), Usage.REFERENCED, 1));
+        return res;
+    }
+
+    @Override
+    protected void attach(Ontology ont, Entry entry) {
+        entry.counts.forEach((iri, c) -> index.computeIfAbsent(iri, x -> new LinkedHashMap<>()).put(ont, c));
+    }
+
+    @Override
+    protected void detach(Ontology ont, Entry entry) {
+        entry.counts.keySet().forEach(iri -> remove(ont, iri));
+    }
+
+    @Override
+    protected void update(Ontology ont, Entry entry, OWLAxiom axiom, int delta) {
+        collect(axiom, (iri, usage) -> entry.update(ont, iri, usage, delta));
+    }
+
+    @Override
+    protected void clearIndex() {
+        index.clear();
+    }
+
+    private void remove(Ontology ont, IRI iri) {
+        Map<Ontology, int[]> found = index.get(iri);
+        if (found != null && found.remove(ont) != null && found.isEmpty()) {
+            index.remove(iri);
+        }
+    }
+
+    /**
+     * Lists the usages of the given IRI in the given ontology directly, without any index.
+     *
+     * @param ont {@link Ontology}, not {@code null}
+     * @param iri {@link IRI}, not {@code null}
+     * @return a {@code Set} of {@link Usage}s, empty if the ontology does not use the IRI
+     */
+    public static Set<Usage> findUsages(Ontology ont, IRI iri) {
+        int[] counts = new int[Usage.values().length];
+        // an IRI as a primitive does not cover entities, so they are listed separately:
+        Stream.concat(ont.referencingAxioms(iri), ont.entitiesInSignature(iri).flatMap(ont::referencingAxioms))
+                .distinct().forEach(a -> collect(a, (x, usage) -> {
+                    if (iri.equals(x)) {
+                        counts[usage.ordinal()]++;
+                    }
+                }));
+        if (ont.annotations().flatMap(OWLAnnotation::signature).anyMatch(x -> iri.equals(x.getIRI()))) {
+            counts[Usage.REFERENCED.ordinal()]++;
+        }
+        return Usage.toSet(counts);
+    }
+
+    /**
+     * Collects the usages of the entities by the axiom.
+     *
+     * @param axiom {@link OWLAxiom}
+     * @param sink  a callback to receive an entity IRI and the kind of use
+     */
+    protected static void collect(OWLAxiom axiom, UsageConsumer sink) {
+        OWLEntity declared = null;
+        if (axiom instanceof OWLDeclarationAxiom) {
+            declared = ((OWLDeclarationAxiom) axiom).getEntity();
+            sink.accept(declared.getIRI(), Usage.DECLARED);
+        } else if (axiom instanceof OWLAnnotationAssertionAxiom) {
+            ((OWLAnnotationAssertionAxiom) axiom).getSubject().asIRI()
+                    .ifPresent(iri -> sink.accept(iri, Usage.ANNOTATED));
+        }
+        OWLEntity exclude = declared;
+        axiom.signature().filter(x -> !x.equals(exclude)).forEach(x -> sink.accept(x.getIRI(), Usage.REFERENCED));
+    }
+
+    /**
+     * A kind of entity use.
+     */
+    public enum Usage {
+        /**
+         * The entity is declared with a {@link OWLDeclarationAxiom declaration axiom}.
+         */
+        DECLARED,
+        /**
+         * The entity appears in the signature of an axiom (other than its own declaration)
+         * or an ontology annotation.
+         */
+        REFERENCED,
+        /**
+         * The entity IRI is the subject of an {@link OWLAnnotationAssertionAxiom annotation assertion}.
+         */
+        ANNOTATED,
+        ;
+
+        private static Set<Usage> toSet(int[] counts) {
+            Set<Usage> res = EnumSet.noneOf(Usage.class);
+            for (Usage u : values()) {
+                if (counts[u.ordinal()] > 0) {
+                    res.add(u);
+                }
+            }
+            return Collections.unmodifiableSet(res);
+        }
+    }
+
+    @FunctionalInterface
+    protected interface UsageConsumer {
+        void accept(IRI iri, Usage usage);
+    }
+
+    /**
+     * A per ontology record: the usage counters of each IRI.
+     */
+    protected class Entry extends BaseOntologyIndex.Entry {
+        protected final Map<IRI, int[]> counts = new HashMap<>();
+
+        protected Entry(InternalGraphModel model, long stamp) {
+            super(model, stamp);
+        }
+
+        protected void update(Ontology ont, IRI iri, Usage usage, int delta) {
+            int[] res = counts.computeIfAbsent(iri, k -> {
+                int[] c = new int[Usage.values().length];
+                if (attached) {
+                    index.computeIfAbsent(k, x -> new LinkedHashMap<>()).put(ont, c);
+                }
+                return c;
+            });
+            res[usage.ordinal()] += delta;
+            for (int c : res) {
+                if (c > 0) {
+                    return;
+                }
+            }
+            counts.remove(iri);
+            if (attached) {
+                remove(ont, iri);
+            }
+        }
+    }
+}
@@ -0,0 +1,378 @@
+/*
+ * This file is part of the ONT API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright (c) 2023, owl.cs group.
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package com.github.owlcs.ontapi;
+
+import com.github.owlcs.ontapi.internal.InternalGraphModel;
+import org.apache.jena.graph.Graph;
+import org.apache.jena.ontapi.UnionGraph;
+import org.apache.jena.ontapi.impl.UnionGraphImpl;
+import org.semanticweb.owlapi.model.AxiomType;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLEntity;
+import org.semanticweb.owlapi.model.OWLOntology;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * A closure-level cache for {@link org.semanticweb.owlapi.model.parameters.Imports#INCLUDED} queries.
+ * It keeps the resolved imports closure of an ontology together with per-member data
+ * (the sorted signature per entity type and the axiom counts per axiom type)
+ * and lazily computed merged views: the distinct sorted signature and the distinct axiom counts.
+ * The distinct closure axioms are never materialized:
+ * an axiom of a member is skipped if it is contained in one of the preceding members.
+ * <p>
+ * The cached state is validated on each access by comparing
+ * the {@link InternalGraphModel#getModificationCount() modification stamps} of all member ontologies,
+ * so any change in any member (either through OWL-API or directly through the graph) causes rebuilding
+ * the merged views, while the data of the unchanged members is reused.
+ * In addition, the index listens to the sub-graph events of the owner's {@link UnionGraph},
+ * which reflect changes in the imports structure that do not touch the graph content
+ * (e.g. a sub-graph is attached when a missing import is loaded),
+ * and compares the manager's structure version, which changes when ontologies are added to or removed from the manager.
+ *
+ * @since 4.0.1
+ */
+public class ImportsClosureIndex {
+    protected final Supplier<Stream<OWLOntology>> closure;
+    protected final Supplier<UnionGraph> graph;
+    protected final LongSupplier structure;
+    protected final AtomicLong generation = new AtomicLong();
+    protected final ReentrantLock lock = new ReentrantLock();
+    protected final SubGraphListener listener = new SubGraphListener();
+    protected volatile State state;
+    private UnionGraph listened;
+
+    /**
+     * Creates an index.
+     *
+     * @param closure   a facility to list the imports closure including the owner itself, not {@code null}
+     * @param graph     a facility to get the current owner's {@link UnionGraph}, not {@code null}
+     * @param structure a facility to get the version of the manager's collection of ontologies, not {@code null}
+     */
+    public ImportsClosureIndex(Supplier<Stream<OWLOntology>> closure,
+                               Supplier<UnionGraph> graph,
+                               LongSupplier structure) {
+        this.closure = Objects.requireNonNull(closure);
+        this.graph = Objects.requireNonNull(graph);
+        this.structure = Objects.requireNonNull(structure);
+    }
+
+    /**
+     * Lists all ontologies from the cached imports closure.
+     *
+     * @return {@code Stream} of {@link OWLOntology}s
+     */
+    public Stream<OWLOntology> ontologies() {
+        return getState().ontologies.stream();
+    }
+
+    /**
+     * Lists all distinct axioms from the imports closure.
+     *
+     * @return {@code Stream} of {@link OWLAxiom}s
+     */
+    public Stream<OWLAxiom> axioms() {
+        return getState().axioms();
+    }
+
+    /**
+     * Answers the number of distinct axioms in the imports closure.
+     *
+     * @return {@code int}
+     */
+    public int getAxiomCount() {
+        return getState().getAxiomCount();
+    }
+
+    /**
+     * Answers the number of distinct axioms of the given type in the imports closure.
+     *
+     * @param type {@link AxiomType}, not {@code null}
+     * @return {@code int}
+     */
+    public int getAxiomCount(AxiomType<?> type) {
+        return getState().getAxiomCount(type);
+    }
+
+    /**
+     * Answers the number of distinct logical axioms in the imports closure.
+     *
+     * @return {@code int}
+     */
+    public int getLogicalAxiomCount() {
+        State s = getState();
+        return AxiomType.LOGICAL_AXIOM_TYPES.stream().mapToInt(s::getAxiomCount).sum();
+    }
+
+    /**
+     * Lists the merged (distinct and sorted) signature of the given entity type.
+     *
+     * @param type   {@code Class}-type of {@link E}, a key of the cache, not {@code null}
+     * @param getter a function to get the signature from a single ontology, not {@code null}
+     * @param <E>    subtype of {@link OWLEntity}
+     * @return {@code Stream} of {@link E}s
+     */
+    public <E extends OWLEntity> Stream<E> signature(Class<E> type, Function<OWLOntology, Stream<E>> getter) {
+        return getState().signature(type, getter).stream();
+    }
+
+    /**
+     * Invalidates the cached state.
+     */
+    public void clear() {
+        generation.incrementAndGet();
+        state = null;
+    }
+
+    /**
+     * Returns the valid cached state, building a new one if necessary.
+     *
+     * @return {@link State}
+     */
+    protected State getState() {
+        State res = state;
+        if (res != null && res.isValid()) {
+            return res;
+        }
+        listen();
+        // capture the generation before reading the closure:
+        // if a sub-graph event happens in the middle, the state will be discarded on the next access
+        long gen = generation.get();
+        long version = structure.getAsLong();
+        res = new State(gen, version, closure.get().collect(Collectors.toList()), res);
+        state = res;
+        return res;
+    }
+
+    /**
+     * Registers the {@link #listener} in the current owner's graph, if it is not done yet.
+     * The owner may change its graph model (e.g. on config change), so this check is performed on each rebuild.
+     */
+    protected void listen() {
+        UnionGraph g = graph.get();
+        lock.lock();
+        try {
+            if (g == listened) {
+                return;
+            }
+            if (listened != null) {
+                listened.getEventManager().unregister(listener);
+            }
+            g.getEventManager().register(listener);
+            listened = g;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * An immutable snapshot of the closure with lazily computed views.
+     */
+    protected class State {
+        protected final long generation;
+        protected final long version;
+        protected final List<OWLOntology> ontologies;
+        protected final Member[] members;
+        protected final Map<Class<?>, List<?>> signatures = new ConcurrentHashMap<>();
+        // the number of axioms (per type) that are also present in some preceding member
+        protected final Map<AxiomType<?>, Integer> duplicates = new ConcurrentHashMap<>();
+
+        protected State(long generation, long version, List<OWLOntology> ontologies, State previous) {
+            this.generation = generation;
+            this.version = version;
+            this.ontologies = Collections.unmodifiableList(ontologies);
+            this.members = new Member[ontologies.size()];
+            Map<OWLOntology, Member> known = new IdentityHashMap<>();
+            if (previous != null) {
+                for (Member m : previous.members) {
+                    known.put(m.ontology, m);
+                }
+            }
+            for (int i = 0; i < members.length; i++) {
+                OWLOntology o = ontologies.get(i);
+                Member m = known.get(o);
+                members[i] = m != null && m.isValid() ? m : new Member(o);
+            }
+        }
+
+        /**
+         * Answers {@code true} if no member has been changed since the state was created.
+         *
+         * @return boolean
+         */
+        protected boolean isValid() {
+            if (generation != ImportsClosureIndex.this.generation.get() || version != structure.getAsLong()) {
+                return false;
+            }
+            for (Member m : members) {
+                if (!m.isValid()) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * Answers {@code true} if the given axiom is contained in any of the members preceding the specified one.
+         *
+         * @param index int, the member index
+         * @param axiom {@link OWLAxiom}
+         * @return boolean
+         */
+        protected boolean isDuplicate(int index, OWLAxiom axiom) {
+            for (int j = 0; j < index; j++) {
+                if (members[j].ontology.containsAxiom(axiom)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        protected Stream<OWLAxiom> axioms() {
+            if (members.length == 1) {
+                return members[0].ontology.axioms();
+            }
+            return IntStream.range(0, members.length).boxed()
+                    .flatMap(i -> members[i].ontology.axioms().filter(a -> !isDuplicate(i, a)));
+        }
+
+        protected int getAxiomCount() {
+            int res = 0;
+            for (Member m : members) {
+                res += m.ontology.getAxiomCount();
+            }
+            if (members.length == 1) {
+                return res;
+            }
+            for (AxiomType<?> type : AxiomType.AXIOM_TYPES) {
+                res -= getDuplicates(type);
+            }
+            return res;
+        }
+
+        protected int getAxiomCount(AxiomType<?> type) {
+            int res = 0;
+            for (Member m : members) {
+                res += m.getAxiomCount(type);
+            }
+            return res - getDuplicates(type);
+        }
+
+        protected int getDuplicates(AxiomType<?> type) {
+            if (members.length == 1) {
+                return 0;
+            }
+            return duplicates.computeIfAbsent(type, t -> {
+                int res = 0;
+                for (int i = 1; i < members.length; i++) {
+                    if (members[i].getAxiomCount(t) == 0) {
+                        continue;
+                    }
+                    int index = i;
+                    res += (int) members[i].ontology.axioms(t).filter(a -> isDuplicate(index, a)).count();
+                }
+                return res;
+            });
+        }
+
+        @SuppressWarnings("unchecked")
+        protected <E extends OWLEntity> List<E> signature(Class<E> type, Function<OWLOntology, Stream<E>> getter) {
+            if (members.length == 1) {
+                return members[0].signature(type, getter);
+            }
+            return (List<E>) signatures.computeIfAbsent(type, k -> Arrays.stream(members)
+                    .flatMap(m -> m.signature(type, getter).stream())
+                    .distinct().sorted().collect(Collectors.toUnmodifiableList()));
+        }
+    }
+
+    /**
+     * The cached data of a single member ontology,
+     * which is kept until the member is changed.
+     */
+    protected static class Member {
+        protected final OWLOntology ontology;
+        protected final InternalGraphModel model;
+        protected final long stamp;
+        protected final Map<Class<?>, List<?>> signatures = new ConcurrentHashMap<>();
+        protected final Map<AxiomType<?>, Integer> counts = new ConcurrentHashMap<>();
+
+        protected Member(OWLOntology ontology) {
+            this.ontology = ontology;
+            if (ontology instanceof BaseOntologyModel) {
+                this.model = ((BaseOntologyModel) ontology).getBaseGraphModel();
+                this.stamp = model.getModificationCount();
+            } else {
+                // unknown ontology impl: it is impossible to track its changes
+                this.model = null;
+                this.stamp = -1;
+            }
+        }
+
+        /**
+         * Answers {@code true} if the member has not been changed since this data was created.
+         *
+         * @return boolean
+         */
+        protected boolean isValid() {
+            return model != null
+                    && model == ((BaseOntologyModel) ontology).getBaseGraphModel()
+                    && stamp == model.getModificationCount();
+        }
+
+        protected int getAxiomCount(AxiomType<?> type) {
+            return counts.computeIfAbsent(type, t -> ontology.getAxiomCount(t));
+        }
+
+        @SuppressWarnings("unchecked")
+        protected <E extends OWLEntity> List<E> signature(Class<E> type, Function<OWLOntology, Stream<E>> getter) {
+            return (List<E>) signatures.computeIfAbsent(type, k -> getter.apply(ontology)
+                    .distinct().sorted().collect(Collectors.toUnmodifiableList()));
+        }
+    }
+
+    /**
+     * A listener to track changes in the imports structure.
+     * Like the {@link UnionGraphConnector}, it is registered directly in the {@link UnionGraph}'s event manager.
+     */
+    protected class SubGraphListener extends UnionGraphImpl.EventManagerImpl {
+
+        @Override
+        public void notifySubGraphAdded(UnionGraph graph, Graph subGraph) {
+            clear();
+            super.notifySubGraphAdded(graph, subGraph);
+        }
+
+        @Override
+        public void notifySubGraphRemoved(UnionGraph graph, Graph subGraph) {
+            clear();
+            super.notifySubGraphRemoved(graph, subGraph);
+        }
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * This file is part of the ONT API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright (c) 2023, owl.cs group.
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package com.github.owlcs.ontapi;
+
+import com.google.common.collect.Interner;
+import com.google.common.collect.Interners;
+import org.semanticweb.owlapi.model.OWLObject;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.Serial;
+
+/**
+ * A hash-consing {@link DataFactory} implementation.
+ * Unlike {@link DataFactoryImpl}, which creates a fresh instance on every call,
+ * this factory keeps a concurrent weak interner of all composite objects it has produced
+ * (class expressions, data ranges, axioms, annotations, SWRL atoms, etc.),
+ * so that the factory returns the same instance for equal objects.
+ * Such objects can be compared by reference (the {@code equals} method short-circuits on it),
+ * and large structurally identical expressions are shared instead of being duplicated in memory.
+ * Entities, anonymous individuals and literals are not interned: they are cheap to compare.
+ * <p>
+ * The interner holds its instances through weak references,
+ * so an object is collected as soon as nothing else refers to it.
+ * The price is a lookup (i.e. {@code hashCode} and, for a hit, {@code equals}) on every call,
+ * so this factory only pays off when the same objects are built many times (e.g. by some rule engine).
+ * Note that the objects read from an ontology graph are produced by
+ * {@link com.github.owlcs.ontapi.internal.ONTObjectFactory} and are not interned.
+ * <p>
+ * To use this factory in a manager:
+ * {@code OntManagers.DEFAULT_PROFILE.createManager(new InterningDataFactoryImpl(), null)}.
+ *
+ * @since 4.0.1
+ */
+public class InterningDataFactoryImpl extends DataFactoryImpl {
+    @Serial
+    private static final long serialVersionUID = 2318456791630826432L;
+
+    private transient volatile Interner<OWLObject> interner = Interners.newWeakInterner();
+
+    @SuppressWarnings("unchecked")
+    @Override
+    protected <X extends OWLObject> X intern(X object) {
+        OWLObject res = interner.intern(object);
+        // equal objects may have different implementations (e.g. annotations with and without sub-annotations)
+        return res.getClass() == object.getClass() ? (X) res : object;
+    }
+
+    /**
+     * Discards all interned objects.
+     */
+    @Override
+    public void purge() {
+        interner = Interners.newWeakInterner();
+    }
+
+    @Serial
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        interner = Interners.newWeakInterner();
+    }
+}
@@ -0,0 +1,1119 @@
+/*
+ * This file is part of the ONT API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright (c) 2023, owl.cs group.
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package com.github.owlcs.ontapi;
+
+import com.github.owlcs.ontapi.internal.InternalCache;
+import org.apache.jena.datatypes.TypeMapper;
+import org.apache.jena.graph.GraphEvents;
+import org.apache.jena.graph.Node;
+import org.apache.jena.graph.NodeFactory;
+import org.apache.jena.graph.Triple;
+import org.apache.jena.graph.impl.GraphBase;
+import org.apache.jena.util.iterator.ExtendedIterator;
+import org.apache.jena.util.iterator.NiceIterator;
+import org.apache.jena.util.iterator.NullIterator;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.ConcurrentModificationException;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.IntBinaryOperator;
+
+/**
+ * A disk-backed {@link org.apache.jena.graph.Graph Graph} implementation,
+ * which keeps all its data in memory-mapped files and therefore is able to hold ontologies that do not fit in the heap.
+ * <p>
+ * The graph directory contains the following files:
+ * <ul>
+ * <li>{@code nodes.dat} - an append-only log of encoded nodes (the node dictionary)</li>
+ * <li>{@code offsets.dat} - the positions of the nodes in the log, indexed by node id</li>
+ * <li>{@code hash-N.dat} - an open-addressing hash table to find the node id by the node</li>
+ * <li>{@code triples.dat} - an append-only log of encoded triples;
+ * deletion only marks a record with the number of the flush, that commits it</li>
+ * <li>{@code spo.idx}, {@code pos.idx}, {@code osp.idx} - sorted indexes, i.e. record numbers ordered by components</li>
+ * <li>{@code header.dat} - the extents of all other files</li>
+ * </ul>
+ * Each file is mapped page by page ({@code 4MB} each), pages are mapped lazily at the first access,
+ * so the page caching is delegated to the operating system.
+ * Only the node cache and a bounded in-heap tail (the triples added since the last index merge) are kept in the heap.
+ * <p>
+ * Crash-safety: the header is rewritten only by {@link #flush()}, after all other files have been forced,
+ * and before the first modification after a flush the header is marked as dirty.
+ * If the graph is opened with a dirty header (i.e. the process was crashed),
+ * all data appended after the last flush is discarded, uncommitted deletions are reverted,
+ * and the hash table and indexes are rebuilt from the logs.
+ * <p>
+ * The graph is intended to be used with disabled content caches
+ * (see {@link com.github.owlcs.ontapi.config.CacheControl#setModelCacheLevel(int)}),
+ * in this case all ontology searchers work directly with the mapped indexes.
+ * Like the {@code GraphMem}, this graph is not thread-safe for modifications;
+ * an iterator fails with {@link ConcurrentModificationException} if the indexes are rewritten during the iteration
+ * (i.e. if an addition causes merging of the tail).
+ * It is limited by {@link Integer#MAX_VALUE} triples and nodes.
+ *
+ * @see OntologyCreator#createDataGraph(com.github.owlcs.ontapi.config.OntLoaderConfiguration)
+ * @see com.github.owlcs.ontapi.config.LoadSettings#getDataGraphDirectory()
+ * @since 4.0.1
+ */
+@SuppressWarnings("WeakerAccess")
+public class MappedGraph extends GraphBase {
+    protected static final int PAGE_SHIFT = 22;
+    protected static final long PAGE_SIZE = 1L << PAGE_SHIFT;
+    protected static final int DEFAULT_MAX_TAIL_SIZE = 1 << 20;
+    protected static final int DEFAULT_NODE_CACHE_SIZE = 50_000;
+    private static final int MIN_TAIL_SIZE = 1024;
+    private static final long MAGIC = 0x4f4e542d4d415001L;
+    private static final int HEADER_SIZE = 88;
+    private static final int TRIPLE_SIZE = 16;
+    private static final int ANY = -1;
+    private static final int UNKNOWN = -2;
+    private static final char SEPARATOR = '\u0000';
+    private static final int[] SPO = {0, 4, 8};
+    private static final int[] POS = {4, 8, 0};
+    private static final int[] OSP = {8, 0, 4};
+
+    protected final Path directory;
+    protected final boolean temporary;
+    protected final int maxTailSize;
+    private final FileChannel header;
+    private final Pages nodes;
+    private final Pages offsets;
+    private final Pages triples;
+    private final Pages spo;
+    private final Pages pos;
+    private final Pages osp;
+    private Pages hash;
+    // the live triples, that are appended after the last merge, Key -> record number
+    private final Tail tail = new Tail();
+    private final InternalCache.Loading<Integer, Node> nodeCache;
+    // the number of ontologies that use the graph
+    private final AtomicInteger holders = new AtomicInteger();
+    private final InternalCache<Node, Integer> idCache;
+    // the header:
+    private boolean clean;
+    private int nodeCount;
+    private long nodesBytes;
+    private int tripleCount;
+    private int indexedCount;
+    private int indexSize;
+    private int liveCount;
+    private int hashCapacity;
+    private int epoch;
+    // the number of rewrites of the sorted indexes, to detect concurrent modifications
+    private int modCount;
+
+    protected MappedGraph(Path directory, boolean temporary, int maxTailSize, int nodeCacheSize) throws IOException {
+        this.directory = directory;
+        this.temporary = temporary;
+        this.maxTailSize = maxTailSize;
+        this.nodeCache = InternalCache.createBounded(this::readNode, true, nodeCacheSize);
+        this.idCache = InternalCache.createBounded(true, nodeCacheSize);
+        this.header = FileChannel.open(file("header.dat"),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        boolean recover = !readHeader();
+        this.nodes = new Pages(file("nodes.dat"), false);
+        this.offsets = new Pages(file("offsets.dat"), false);
+        this.triples = new Pages(file("triples.dat"), false);
+        this.spo = new Pages(file("spo.idx"), false);
+        this.pos = new Pages(file("pos.idx"), false);
+        this.osp = new Pages(file("osp.idx"), false);
+        if (recover) {
+            recover();
+        } else {
+            this.hash = new Pages(hashFile(hashCapacity), false);
+            loadTail();
+        }
+        if (temporary) {
+            // the directory will be deleted after the files
+            directory.toFile().deleteOnExit();
+            for (String f : List.of("header.dat", "nodes.dat", "offsets.dat", "triples.dat", "spo.idx", "pos.idx", "osp.idx")) {
+                file(f).toFile().deleteOnExit();
+            }
+            hash.file.toFile().deleteOnExit();
+        }
+    }
+
+    /**
+     * Opens the graph located in the specified directory or creates a new one, if the directory is empty.
+     * The graph must be {@link #close() closed} after use to persist all its data.
+     *
+     * @param directory {@link Path}, not {@code null}
+     * @return {@link MappedGraph}
+     * @throws OntApiException in case of I/O error
+     */
+    public static MappedGraph open(Path directory) throws OntApiException {
+        try {
+            Files.createDirectories(directory);
+            return new MappedGraph(directory, false, DEFAULT_MAX_TAIL_SIZE, DEFAULT_NODE_CACHE_SIZE);
+        } catch (IOException e) {
+            throw new OntApiException("Can't open graph in " + directory, e);
+        }
+    }
+
+    /**
+     * Creates a new graph in a fresh temporary subdirectory of the specified directory.
+     * All files of such a graph are deleted on {@link #close()} or on JVM exit.
+     *
+     * @param parent {@link Path} - the parent directory, not {@code null}
+     * @return {@link MappedGraph}
+     * @throws OntApiException in case of I/O error
+     */
+    public static MappedGraph createTemporary(Path parent) throws OntApiException {
+        try {
+            Files.createDirectories(parent);
+            Path dir = Files.createTempDirectory(parent, "ont-graph-");
+            return new MappedGraph(dir, true, DEFAULT_MAX_TAIL_SIZE, DEFAULT_NODE_CACHE_SIZE);
+        } catch (IOException e) {
+            throw new OntApiException("Can't create graph in " + parent, e);
+        }
+    }
+
+    /**
+     * Returns the directory where the graph files are located.
+     *
+     * @return {@link Path}
+     */
+    public Path getDirectory() {
+        return directory;
+    }
+
+    /**
+     * Answers {@code true} if the graph files are deleted on close.
+     *
+     * @return boolean
+     */
+    public boolean isTemporary() {
+        return temporary;
+    }
+
+    /**
+     * Registers one more holder of the graph, e.g. an ontology in a manager.
+     *
+     * @see #release()
+     */
+    public void retain() {
+        holders.incrementAndGet();
+    }
+
+    /**
+     * Unregisters a holder of the graph.
+     * A {@link #isTemporary() temporary} graph is {@link #close() closed} when there are no holders left.
+     */
+    public void release() {
+        if (holders.decrementAndGet() <= 0 && temporary) {
+            close();
+        }
+    }
+
+    /**
+     * Answers {@code true} if the graph has at least one holder.
+     *
+     * @return boolean
+     * @see #retain()
+     */
+    public boolean isRetained() {
+        return holders.get() > 0;
+    }
+
+    @Override
+    public void performAdd(Triple t) {
+        int s = lookup(t.getSubject(), true);
+        int p = lookup(t.getPredicate(), true);
+        int o = lookup(t.getObject(), true);
+        Key k = new Key(s, p, o);
+        if (tail.containsKey(k) || findIndexed(k) >= 0) {
+            return;
+        }
+        markDirty();
+        int r = tripleCount;
+        long position = (long) r * TRIPLE_SIZE;
+        triples.putInt(position, s);
+        triples.putInt(position + 4, p);
+        triples.putInt(position + 8, o);
+        triples.putInt(position + 12, 0);
+        tripleCount++;
+        liveCount++;
+        tail.put(k, r);
+        if (tail.size() > Math.min(maxTailSize, Math.max(MIN_TAIL_SIZE, indexSize >> 2))) {
+            merge();
+        }
+    }
+
+    @Override
+    public void performDelete(Triple t) {
+        Key k = findKey(t);
+        if (k == null) {
+            return;
+        }
+        Integer r = tail.remove(k);
+        int record = r != null ? r : findIndexed(k);
+        if (record < 0) {
+            return;
+        }
+        markDirty();
+        // the record is marked with the number of the next flush
+        triples.putInt((long) record * TRIPLE_SIZE + 12, epoch + 1);
+        liveCount--;
+    }
+
+    @Override
+    protected ExtendedIterator<Triple> graphBaseFind(Triple pattern) {
+        int s = lookup(pattern.getMatchSubject(), false);
+        int p = lookup(pattern.getMatchPredicate(), false);
+        int o = lookup(pattern.getMatchObject(), false);
+        if (s == UNKNOWN || p == UNKNOWN || o == UNKNOWN || liveCount == 0) {
+            return NullIterator.instance();
+        }
+        List<Integer> tailMatches = tail.find(s, p, o);
+        if (s != ANY) {
+            if (p == ANY && o != ANY) {
+                return new Finder(osp, OSP, tailMatches, o, s);
+            }
+            if (p == ANY) {
+                return new Finder(spo, SPO, tailMatches, s);
+            }
+            if (o == ANY) {
+                return new Finder(spo, SPO, tailMatches, s, p);
+            }
+            return new Finder(spo, SPO, tailMatches, s, p, o);
+        }
+        if (p != ANY) {
+            if (o == ANY) {
+                return new Finder(pos, POS, tailMatches, p);
+            }
+            return new Finder(pos, POS, tailMatches, p, o);
+        }
+        if (o != ANY) {
+            return new Finder(osp, OSP, tailMatches, o);
+        }
+        return new Finder(spo, SPO, tailMatches);
+    }
+
+    @Override
+    protected boolean graphBaseContains(Triple t) {
+        if (!t.isConcrete()) {
+            return super.graphBaseContains(t);
+        }
+        Key k = findKey(t);
+        return k != null && (tail.containsKey(k) || findIndexed(k) >= 0);
+    }
+
+    @Override
+    protected int graphBaseSize() {
+        return liveCount;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return liveCount == 0;
+    }
+
+    @Override
+    public void clear() {
+        checkOpen();
+        nodeCount = 0;
+        nodesBytes = 0;
+        tripleCount = 0;
+        indexedCount = 0;
+        indexSize = 0;
+        liveCount = 0;
+        modCount++;
+        // first, the header with zero counts: if the process crashes in the middle, the graph is recovered as empty
+        clean = false;
+        writeHeader();
+        try {
+            for (Pages p : List.of(nodes, offsets, triples, spo, pos, osp)) {
+                p.truncate();
+            }
+            hash.close();
+            Files.deleteIfExists(hash.file);
+            hash = new Pages(hashFile(hashCapacity = 1024), true);
+        } catch (IOException e) {
+            throw new OntApiException("Can't clear " + directory, e);
+        }
+        if (temporary) {
+            hash.file.toFile().deleteOnExit();
+        }
+        tail.clear();
+        nodeCache.clear();
+        idCache.clear();
+        // the files are empty and match the header
+        clean = true;
+        writeHeader();
+        getEventManager().notifyEvent(this, GraphEvents.removeAll);
+    }
+
+    /**
+     * Merges all pending changes into the indexes and writes them to the disk.
+     * After this method returns, the data survives a process crash.
+     */
+    public void flush() {
+        checkOpen();
+        if (clean) {
+            return;
+        }
+        if (!tail.isEmpty()) {
+            merge();
+        }
+        for (Pages p : List.of(nodes, offsets, hash, triples, spo, pos, osp)) {
+            p.force();
+        }
+        clean = true;
+        epoch++;
+        writeHeader();
+    }
+
+    /**
+     * Rebuilds the indexes, excluding the deleted triples.
+     * The space occupied by the deleted records in the triples log is not reclaimed.
+     */
+    public void compact() {
+        checkOpen();
+        markDirty();
+        rebuildIndexes();
+    }
+
+    @Override
+    public void close() {
+        if (isClosed()) {
+            return;
+        }
+        try {
+            flush();
+            for (Pages p : List.of(nodes, offsets, hash, triples, spo, pos, osp)) {
+                p.close();
+            }
+            header.close();
+            if (temporary) {
+                try (var files = Files.list(directory)) {
+                    for (Path f : (Iterable<Path>) files::iterator) {
+                        Files.deleteIfExists(f);
+                    }
+                }
+                Files.deleteIfExists(directory);
+            }
+        } catch (IOException e) {
+            throw new OntApiException("Can't close graph " + directory, e);
+        } finally {
+            super.close();
+        }
+    }
+
+    private Path file(String name) {
+        return directory.resolve(name);
+    }
+
+    private Path hashFile(int capacity) {
+        return file("hash-" + capacity + ".dat");
+    }
+
+    private void markDirty() {
+        if (!clean) {
+            return;
+        }
+        clean = false;
+        writeHeader();
+    }
+
+    /**
+     * Reads the header.
+     *
+     * @return {@code false} if the graph must be recovered
+     * @throws IOException if I/O error occurs
+     */
+    private boolean readHeader() throws IOException {
+        ByteBuffer b = ByteBuffer.allocate(HEADER_SIZE);
+        if (header.read(b, 0) < HEADER_SIZE) {
+            // new graph
+            clean = false;
+            hashCapacity = 1024;
+            return false;
+        }
+        b.flip();
+        if (b.getLong() != MAGIC) {
+            throw new OntApiException("Not a graph directory: " + directory);
+        }
+        clean = b.getLong() == 1;
+        nodeCount = (int) b.getLong();
+        nodesBytes = b.getLong();
+        tripleCount = (int) b.getLong();
+        indexedCount = (int) b.getLong();
+        indexSize = (int) b.getLong();
+        liveCount = (int) b.getLong();
+        hashCapacity = (int) b.getLong();
+        epoch = (int) b.getLong();
+        return clean;
+    }
+
+    private void writeHeader() {
+        ByteBuffer b = ByteBuffer.allocate(HEADER_SIZE);
+        b.putLong(MAGIC).putLong(clean ? 1 : 0).putLong(nodeCount).putLong(nodesBytes)
+                .putLong(tripleCount).putLong(indexedCount).putLong(indexSize).putLong(liveCount).putLong(hashCapacity)
+                .putLong(epoch);
+        b.flip();
+        try {
+            header.write(b, 0);
+            header.force(true);
+        } catch (IOException e) {
+            throw new OntApiException("Can't write header " + directory, e);
+        }
+    }
+
+    /**
+     * Restores the consistent state after crash: rebuilds the hash table and the indexes.
+     * The data after the last {@link #flush()} is discarded.
+     *
+     * @throws IOException if I/O error occurs
+     */
+    private void recover() throws IOException {
+        int capacity = 1024;
+        while (capacity < nodeCount * 2L) {
+            capacity <<= 1;
+        }
+        hashCapacity = capacity;
+        hash = new Pages(hashFile(capacity), true);
+        for (int id = 0; id < nodeCount; id++) {
+            insertHash(hash(readBytes(id)), id);
+        }
+        liveCount = 0;
+        for (int r = 0; r < tripleCount; r++) {
+            long position = (long) r * TRIPLE_SIZE + 12;
+            if (triples.getInt(position) > epoch) {
+                // deleted after the last flush
+                triples.putInt(position, 0);
+            }
+            if (triples.getInt(position) == 0) {
+                liveCount++;
+            }
+        }
+        rebuildIndexes();
+        flush();
+    }
+
+    private void loadTail() {
+        for (int r = indexedCount; r < tripleCount; r++) {
+            long position = (long) r * TRIPLE_SIZE;
+            if (triples.getInt(position + 12) != 0) {
+                continue;
+            }
+            tail.put(new Key(triples.getInt(position), triples.getInt(position + 4), triples.getInt(position + 8)), r);
+        }
+    }
+
+    /**
+     * Merges the tail into the sorted indexes.
+     * Each index is merged in-place, from the end to the beginning.
+     */
+    private void merge() {
+        int[] records = tail.values().stream().mapToInt(Integer::intValue).toArray();
+        mergeIndex(spo, SPO, records.clone());
+        mergeIndex(pos, POS, records.clone());
+        mergeIndex(osp, OSP, records);
+        modCount++;
+        indexSize += records.length;
+        indexedCount = tripleCount;
+        tail.clear();
+    }
+
+    private void mergeIndex(Pages index, int[] order, int[] records) {
+        IntBinaryOperator cmp = comparator(order);
+        sort(new IntArray() {
+            @Override
+            public int get(int i) {
+                return records[i];
+            }
+
+            @Override
+            public void set(int i, int v) {
+                records[i] = v;
+            }
+        }, 0, records.length, cmp);
+        int i = indexSize - 1;
+        int j = records.length - 1;
+        long k = indexSize + records.length - 1L;
+        while (j >= 0) {
+            int x;
+            if (i >= 0 && cmp.applyAsInt(index.getInt(4L * i), records[j]) > 0) {
+                x = index.getInt(4L * i--);
+            } else {
+                x = records[j--];
+            }
+            index.putInt(4 * k--, x);
+        }
+    }
+
+    private void rebuildIndexes() {
+        int n = 0;
+        for (int r = 0; r < tripleCount; r++) {
+            if (triples.getInt((long) r * TRIPLE_SIZE + 12) != 0) {
+                continue;
+            }
+            spo.putInt(4L * n, r);
+            pos.putInt(4L * n, r);
+            osp.putInt(4L * n, r);
+            n++;
+        }
+        sort(spo, 0, n, comparator(SPO));
+        sort(pos, 0, n, comparator(POS));
+        sort(osp, 0, n, comparator(OSP));
+        modCount++;
+        indexSize = n;
+        indexedCount = tripleCount;
+        tail.clear();
+    }
+
+    private IntBinaryOperator comparator(int[] order) {
+        return (a, b) -> {
+            long x = (long) a * TRIPLE_SIZE;
+            long y = (long) b * TRIPLE_SIZE;
+            for (int offset : order) {
+                int res = Integer.compare(triples.getInt(x + offset), triples.getInt(y + offset));
+                if (res != 0) {
+                    return res;
+                }
+            }
+            return 0;
+        };
+    }
+
+    private int compareWithKey(Pages index, int position, int[] order, int[] key) {
+        long x = (long) index.getInt(4L * position) * TRIPLE_SIZE;
+        for (int i = 0; i < key.length; i++) {
+            int res = Integer.compare(triples.getInt(x + order[i]), key[i]);
+            if (res != 0) {
+                return res;
+            }
+        }
+        return 0;
+    }
+
+    private int bound(Pages index, int[] order, int[] key, boolean strict) {
+        int low = 0;
+        int high = indexSize;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            int c = compareWithKey(index, mid, order, key);
+            if (c < 0 || (strict && c == 0)) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Finds the live record in the indexed part.
+     *
+     * @param k {@link Key}
+     * @return record number or {@code -1}
+     */
+    private int findIndexed(Key k) {
+        int[] key = {k.s, k.p, k.o};
+        for (int i = bound(spo, SPO, key, false); i < indexSize && compareWithKey(spo, i, SPO, key) == 0; i++) {
+            int r = spo.getInt(4L * i);
+            if (triples.getInt((long) r * TRIPLE_SIZE + 12) == 0) {
+                return r;
+            }
+        }
+        return -1;
+    }
+
+    private Key findKey(Triple t) {
+        int s = lookup(t.getSubject(), false);
+        int p = lookup(t.getPredicate(), false);
+        int o = lookup(t.getObject(), false);
+        if (s < 0 || p < 0 || o < 0) {
+            return null;
+        }
+        return new Key(s, p, o);
+    }
+
+    /**
+     * Finds or creates the node id.
+     *
+     * @param node   {@link Node} or {@code null}
+     * @param create if {@code true} the node is added into the dictionary, if it is absent
+     * @return {@code int}: id, or {@link #ANY} for wildcard, or {@link #UNKNOWN} if there is no such node
+     */
+    private int lookup(Node node, boolean create) {
+        if (node == null || !node.isConcrete()) {
+            return ANY;
+        }
+        Integer res = idCache.get(node);
+        if (res != null) {
+            return res;
+        }
+        byte[] bytes = encode(node);
+        int h = hash(bytes);
+        long mask = hashCapacity - 1;
+        for (long i = h & mask; ; i = (i + 1) & mask) {
+            int id = hash.getInt(8 * i + 4) - 1;
+            if (id < 0) {
+                break;
+            }
+            if (hash.getInt(8 * i) == h && Arrays.equals(readBytes(id), bytes)) {
+                idCache.put(node, id);
+                return id;
+            }
+        }
+        if (!create) {
+            return UNKNOWN;
+        }
+        markDirty();
+        int id = nodeCount;
+        long offset = nodesBytes;
+        nodes.putInt(offset, bytes.length);
+        nodes.write(offset + 4, bytes);
+        // align to int
+        nodesBytes = (offset + 4 + bytes.length + 3) & ~3L;
+        offsets.putLong(8L * id, offset);
+        nodeCount++;
+        insertHash(h, id);
+        if (nodeCount * 2L > hashCapacity) {
+            growHash();
+        }
+        idCache.put(node, id);
+        return id;
+    }
+
+    private void insertHash(int h, int id) {
+        long mask = hashCapacity - 1;
+        long i = h & mask;
+        while (hash.getInt(8 * i + 4) != 0) {
+            i = (i + 1) & mask;
+        }
+        hash.putInt(8 * i, h);
+        hash.putInt(8 * i + 4, id + 1);
+    }
+
+    private void growHash() {
+        Pages prev = hash;
+        int capacity = hashCapacity << 1;
+        try {
+            hash = new Pages(hashFile(capacity), true);
+            hashCapacity = capacity;
+            for (int id = 0; id < nodeCount; id++) {
+                insertHash(hash(readBytes(id)), id);
+            }
+            prev.close();
+            Files.deleteIfExists(prev.file);
+        } catch (IOException e) {
+            throw new OntApiException("Can't resize hash table " + directory, e);
+        }
+        if (temporary) {
+            hash.file.toFile().deleteOnExit();
+        }
+    }
+
+    private static int hash(byte[] bytes) {
+        int h = Arrays.hashCode(bytes);
+        return h ^ (h >>> 16);
+    }
+
+    private byte[] readBytes(int id) {
+        long offset = offsets.getLong(8L * id);
+        byte[] res = new byte[nodes.getInt(offset)];
+        nodes.read(offset + 4, res);
+        return res;
+    }
+
+    private Node readNode(int id) {
+        return decode(readBytes(id));
+    }
+
+    private Node node(int id) {
+        return nodeCache.get(id);
+    }
+
+    private static byte[] encode(Node node) {
+        String res;
+        if (node.isURI()) {
+            res = "U" + node.getURI();
+        } else if (node.isBlank()) {
+            res = "B" + node.getBlankNodeLabel();
+        } else if (node.isLiteral()) {
+            res = "L" + node.getLiteralLanguage() + SEPARATOR + node.getLiteralDatatypeURI() + SEPARATOR +
+                    node.getLiteralLexicalForm();
+        } else {
+            throw new OntApiException.Unsupported("Unsupported node " + node);
+        }
+        return res.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static Node decode(byte[] bytes) {
+        String str = new String(bytes, StandardCharsets.UTF_8);
+        String value = str.substring(1);
+        switch (str.charAt(0)) {
+            case 'U':
+                return NodeFactory.createURI(value);
+            case 'B':
+                return NodeFactory.createBlankNode(value);
+            case 'L':
+                int i = value.indexOf(SEPARATOR);
+                int j = value.indexOf(SEPARATOR, i + 1);
+                String lang = value.substring(0, i);
+                String lexical = value.substring(j + 1);
+                if (!lang.isEmpty()) {
+                    return NodeFactory.createLiteralLang(lexical, lang);
+                }
+                return NodeFactory.createLiteralDT(lexical,
+                        TypeMapper.getInstance().getSafeTypeByName(value.substring(i + 1, j)));
+            default:
+                throw new OntApiException.IllegalState("Broken node record: " + str);
+        }
+    }
+
+    /**
+     * Sorts the range of the array using the quick-sort.
+     *
+     * @param array {@link IntArray}
+     * @param from  inclusive
+     * @param to    exclusive
+     * @param cmp   {@link IntBinaryOperator} comparator
+     */
+    private static void sort(IntArray array, int from, int to, IntBinaryOperator cmp) {
+        while (to - from > 16) {
+            int a = array.get(from);
+            int b = array.get((from + to) >>> 1);
+            int c = array.get(to - 1);
+            int pivot = cmp.applyAsInt(a, b) < 0 ?
+                    (cmp.applyAsInt(b, c) < 0 ? b : cmp.applyAsInt(a, c) < 0 ? c : a) :
+                    (cmp.applyAsInt(a, c) < 0 ? a : cmp.applyAsInt(b, c) < 0 ? c : b);
+            int i = from;
+            int j = to - 1;
+            while (i <= j) {
+                while (cmp.applyAsInt(array.get(i), pivot) < 0) {
+                    i++;
+                }
+                while (cmp.applyAsInt(array.get(j), pivot) > 0) {
+                    j--;
+                }
+                if (i <= j) {
+                    int tmp = array.get(i);
+                    array.set(i++, array.get(j));
+                    array.set(j--, tmp);
+                }
+            }
+            // recursion for the smaller part:
+            if (j + 1 - from < to - i) {
+                sort(array, from, j + 1, cmp);
+                from = i;
+            } else {
+                sort(array, i, to, cmp);
+                to = j + 1;
+            }
+        }
+        for (int i = from + 1; i < to; i++) {
+            int x = array.get(i);
+            int j = i - 1;
+            while (j >= from && cmp.applyAsInt(array.get(j), x) > 0) {
+                array.set(j + 1, array.get(j));
+                j--;
+            }
+            array.set(j + 1, x);
+        }
+    }
+
+    /**
+     * An encoded triple.
+     */
+    private record Key(int s, int p, int o) {
+    }
+
+    /**
+     * The in-heap tail: the live triples appended after the last merge,
+     * indexed by each component, so that a pattern search does not scan the whole tail.
+     */
+    private static final class Tail {
+        private final Map<Key, Integer> records = new HashMap<>();
+        private final Map<Integer, Set<Key>> bySubject = new HashMap<>();
+        private final Map<Integer, Set<Key>> byPredicate = new HashMap<>();
+        private final Map<Integer, Set<Key>> byObject = new HashMap<>();
+
+        boolean containsKey(Key k) {
+            return records.containsKey(k);
+        }
+
+        void put(Key k, int r) {
+            if (records.put(k, r) != null) {
+                return;
+            }
+            bySubject.computeIfAbsent(k.s, x -> new HashSet<>()).add(k);
+            byPredicate.computeIfAbsent(k.p, x -> new HashSet<>()).add(k);
+            byObject.computeIfAbsent(k.o, x -> new HashSet<>()).add(k);
+        }
+
+        Integer remove(Key k) {
+            Integer res = records.remove(k);
+            if (res != null) {
+                unlink(bySubject, k.s, k);
+                unlink(byPredicate, k.p, k);
+                unlink(byObject, k.o, k);
+            }
+            return res;
+        }
+
+        private static void unlink(Map<Integer, Set<Key>> index, int id, Key k) {
+            Set<Key> keys = index.get(id);
+            keys.remove(k);
+            if (keys.isEmpty()) {
+                index.remove(id);
+            }
+        }
+
+        /**
+         * Lists the record numbers of the triples matching the pattern,
+         * the most selective of the bound components is used to choose the candidates.
+         */
+        List<Integer> find(int s, int p, int o) {
+            if (records.isEmpty()) {
+                return List.of();
+            }
+            Collection<Key> candidates;
+            if (s != ANY) {
+                candidates = bySubject.getOrDefault(s, Set.of());
+            } else if (o != ANY) {
+                candidates = byObject.getOrDefault(o, Set.of());
+            } else if (p != ANY) {
+                candidates = byPredicate.getOrDefault(p, Set.of());
+            } else {
+                return new ArrayList<>(records.values());
+            }
+            List<Integer> res = new ArrayList<>();
+            for (Key k : candidates) {
+                if ((p == ANY || p == k.p) && (o == ANY || o == k.o) && (s == ANY || s == k.s)) {
+                    res.add(records.get(k));
+                }
+            }
+            return res;
+        }
+
+        Collection<Integer> values() {
+            return records.values();
+        }
+
+        int size() {
+            return records.size();
+        }
+
+        boolean isEmpty() {
+            return records.isEmpty();
+        }
+
+        void clear() {
+            records.clear();
+            bySubject.clear();
+            byPredicate.clear();
+            byObject.clear();
+        }
+    }
+
+    /**
+     * A random access array of ints.
+     */
+    private interface IntArray {
+        int get(int i);
+
+        void set(int i, int v);
+    }
+
+    /**
+     * A memory-mapped file, that is split into pages of fixed size.
+     * Since the page size is a multiple of eight, aligned ints and longs never cross the page boundary.
+     */
+    private static final class Pages implements IntArray {
+        private final Path file;
+        private final FileChannel channel;
+        private volatile MappedByteBuffer[] pages = new MappedByteBuffer[0];
+        private final Lock lock = new ReentrantLock();
+
+        private Pages(Path file, boolean truncate) throws IOException {
+            this.file = file;
+            this.channel = truncate ?
+                    FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE,
+                            StandardOpenOption.TRUNCATE_EXISTING) :
+                    FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        }
+
+        private MappedByteBuffer page(long position) {
+            int i = (int) (position >>> PAGE_SHIFT);
+            MappedByteBuffer[] array = pages;
+            return i < array.length ? array[i] : map(i);
+        }
+
+        private MappedByteBuffer map(int i) {
+            lock.lock();
+            try {
+                MappedByteBuffer[] array = pages;
+                if (i < array.length) {
+                    return array[i];
+                }
+                MappedByteBuffer[] res = Arrays.copyOf(array, i + 1);
+                for (int j = array.length; j <= i; j++) {
+                    res[j] = channel.map(FileChannel.MapMode.READ_WRITE, j * PAGE_SIZE, PAGE_SIZE);
+                }
+                pages = res;
+                return res[i];
+            } catch (IOException e) {
+                throw new OntApiException("Can't map " + file, e);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private static int index(long position) {
+            return (int) (position & (PAGE_SIZE - 1));
+        }
+
+        @Override
+        public int get(int i) {
+            return getInt(4L * i);
+        }
+
+        @Override
+        public void set(int i, int v) {
+            putInt(4L * i, v);
+        }
+
+        int getInt(long position) {
+            return page(position).getInt(index(position));
+        }
+
+        void putInt(long position, int value) {
+            page(position).putInt(index(position), value);
+        }
+
+        long getLong(long position) {
+            return page(position).getLong(index(position));
+        }
+
+        void putLong(long position, long value) {
+            page(position).putLong(index(position), value);
+        }
+
+        void read(long position, byte[] dst) {
+            int done = 0;
+            while (done < dst.length) {
+                int offset = index(position + done);
+                int length = (int) Math.min(dst.length - done, PAGE_SIZE - offset);
+                page(position + done).get(offset, dst, done, length);
+                done += length;
+            }
+        }
+
+        void write(long position, byte[] src) {
+            int done = 0;
+            while (done < src.length) {
+                int offset = index(position + done);
+                int length = (int) Math.min(src.length - done, PAGE_SIZE - offset);
+                page(position + done).put(offset, src, done, length);
+                done += length;
+            }
+        }
+
+        void force() {
+            for (MappedByteBuffer page : pages) {
+                page.force();
+            }
+        }
+
+        void truncate() throws IOException {
+            lock.lock();
+            try {
+                pages = new MappedByteBuffer[0];
+                channel.truncate(0);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void close() throws IOException {
+            pages = new MappedByteBuffer[0];
+            channel.close();
+        }
+    }
+
+    /**
+     * An iterator over the range of the sorted index followed by the matching tail records.
+     */
+    private final class Finder extends NiceIterator<Triple> {
+        private final Pages index;
+        private final int end;
+        private final List<Integer> tailMatches;
+        private final int expectedModCount = modCount;
+        private int current;
+        private int tailCurrent;
+        private Triple next;
+
+        private Finder(Pages index, int[] order, List<Integer> tailMatches, int... key) {
+            this.index = index;
+            this.tailMatches = tailMatches;
+            this.current = key.length == 0 ? 0 : bound(index, order, key, false);
+            this.end = key.length == 0 ? indexSize : bound(index, order, key, true);
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            while (next == null && current < end) {
+                next = toTriple(index.getInt(4L * current++));
+            }
+            while (next == null && tailCurrent < tailMatches.size()) {
+                next = toTriple(tailMatches.get(tailCurrent++));
+            }
+            return next != null;
+        }
+
+        private Triple toTriple(int record) {
+            long position = (long) record * TRIPLE_SIZE;
+            if (triples.getInt(position + 12) != 0) {
+                return null;
+            }
+            return Triple.create(node(triples.getInt(position)),
+                    node(triples.getInt(position + 4)),
+                    node(triples.getInt(position + 8)));
+        }
+
+        @Override
+        public Triple next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            Triple res = next;
+            next = null;
+            return res;
+        }
+    }
+}
@@ -16,6 +16,7 @@ package com.github.owlcs.ontapi;
 
 import com.github.owlcs.ontapi.config.OntLoaderConfiguration;
 import com.github.owlcs.ontapi.config.OntWriterConfiguration;
+import com.github.owlcs.ontapi.internal.CacheBudget;
 import com.github.owlcs.ontapi.internal.InternalCache;
 import com.github.owlcs.ontapi.internal.InternalConfig;
 import org.apache.jena.ontapi.OntSpecification;
@@ -172,11 +173,37 @@ public class ModelConfig implements InternalConfig, Serializable {
         return getLoaderConfig().getModelCacheLevel();
     }
 
+    @Override
+    public boolean isUseNodeDictionary() {
+        return getLoaderConfig().isUseNodeDictionary();
+    }
+
+    @Override
+    public boolean isColdCacheDirectReads() {
+        return getLoaderConfig().isColdCacheDirectReads();
+    }
+
+    @Override
+    public boolean isUseBloomFilter() {
+        return getLoaderConfig().isUseBloomFilter();
+    }
+
+    @Override
+    public boolean isUseImportsClosureCache() {
+        return getLoaderConfig().isUseImportsClosureCache();
+    }
+
     @Override
     public boolean concurrent() {
         return manager.isConcurrent();
     }
 
+    @Override
+    public CacheBudget getCacheBudget() {
+        CacheBudget res = manager.budget;
+        return res != null && res.isEnabled() ? res : null;
+    }
+
     /**
      * Answers whether the specified configs are different in the settings concerning axioms reading or caching.
      *
@@ -200,6 +227,10 @@ public class ModelConfig implements InternalConfig, Serializable {
                 , OntLoaderConfiguration::getLoadObjectsCacheSize
                 , OntLoaderConfiguration::getModelCacheLevel
                 , OntLoaderConfiguration::isReadONTObjects
+                , OntLoaderConfiguration::isUseNodeDictionary
+                , OntLoaderConfiguration::isColdCacheDirectReads
+                , OntLoaderConfiguration::isUseBloomFilter
+                , OntLoaderConfiguration::isUseImportsClosureCache
         );
         return fields.anyMatch(c -> c.apply(left) != c.apply(right));
     }
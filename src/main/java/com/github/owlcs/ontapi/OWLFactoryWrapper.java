@@ -241,6 +241,11 @@ public class OWLFactoryWrapper implements OntologyFactory.Loader {
                 return base.createDataGraph();
             }
 
+            @Override
+            public Graph createDataGraph(OntLoaderConfiguration c) {
+                return base.createDataGraph(c);
+            }
+
             @Override
             public UnionGraph createUnionGraph(Graph g, OntLoaderConfiguration c) {
                 return base.createUnionGraph(g, c);
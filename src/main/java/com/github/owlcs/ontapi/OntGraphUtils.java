@@ -21,6 +21,8 @@ import com.github.sszuev.graphs.ReadWriteLockingGraph;
 import org.apache.commons.io.input.ReaderInputStream;
 import org.apache.commons.io.output.WriterOutputStream;
 import org.apache.jena.graph.Graph;
+import org.apache.jena.graph.GraphMemFactory;
+import org.apache.jena.graph.GraphUtil;
 import org.apache.jena.graph.Node;
 import org.apache.jena.graph.NodeFactory;
 import org.apache.jena.graph.Node_Blank;
@@ -71,6 +73,8 @@ import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
 import java.util.ArrayDeque;
 import java.util.Deque;
 import java.util.HashSet;
@@ -237,6 +241,48 @@ public class OntGraphUtils {
         return Iterators.findFirst(Graphs.listImports(Graphs.getPrimary(it), true)).isPresent();
     }
 
+    /**
+     * Answers {@code true} if the graph is a plain in-memory graph,
+     * i.e. either a {@code GraphMem} or a {@link CompactGraph}.
+     *
+     * @param g {@link Graph}
+     * @return boolean
+     * @since 4.0.1
+     */
+    public static boolean isMemGraph(Graph g) {
+        return Graphs.isGraphMem(g) || g instanceof CompactGraph;
+    }
+
+    /**
+     * Releases the graph if it is a {@link MappedGraph#isTemporary() temporary} disk-backed graph,
+     * i.e. a graph that is created by the manager and must not outlive the ontologies that use it:
+     * the graph is closed and its files are deleted when it has no more holders.
+     * Does nothing for any other graph.
+     *
+     * @param g {@link Graph}
+     * @see MappedGraph#release()
+     * @since 4.0.1
+     */
+    public static void releaseTemporary(Graph g) {
+        if (g instanceof MappedGraph && ((MappedGraph) g).isTemporary()) {
+            ((MappedGraph) g).release();
+        }
+    }
+
+    /**
+     * Closes the graph if it is a {@link MappedGraph#isTemporary() temporary} disk-backed graph,
+     * that is not used by any ontology, e.g. if the load has been failed.
+     * Does nothing for any other graph.
+     *
+     * @param g {@link Graph}
+     * @since 4.0.1
+     */
+    public static void discardTemporary(Graph g) {
+        if (g instanceof MappedGraph && ((MappedGraph) g).isTemporary() && !((MappedGraph) g).isRetained()) {
+            g.close();
+        }
+    }
+
     /**
      * Converts OWL-API prefixes to Jena.
      *
@@ -351,6 +397,30 @@ public class OntGraphUtils {
     public static OntFormat readGraph(Graph graph,
                                       OWLOntologyDocumentSource source,
                                       OntLoaderConfiguration conf) throws OWLOntologyCreationException {
+        return readGraph(graph, source, conf, null);
+    }
+
+    /**
+     * Reads the source document into the graph, computing the hash of the document bytes on the fly.
+     * The digest is reset before each format attempt,
+     * so when the method returns, it contains the hash of the document that has been successfully read.
+     * Note: if the source is a {@code Reader}, the hash is computed over its UTF-8 encoded content.
+     *
+     * @param graph  {@link Graph} the graph(empty) to put in
+     * @param source {@link OWLOntologyDocumentSource} the source
+     * @param conf   {@link OntLoaderConfiguration} config
+     * @param digest {@link MessageDigest} to update with the document content, or {@code null} to skip hashing
+     * @return {@link OntFormat} corresponding to the specified source
+     * @throws UnsupportedFormatException   if the source can't be read into graph using jena.
+     * @throws ConfigMismatchException      if there is some conflict with config settings
+     * @throws OWLOntologyCreationException if there is some serious IO problem
+     * @throws OntApiException              if some other problem
+     * @see com.github.owlcs.ontapi.transforms.TransformCache
+     */
+    public static OntFormat readGraph(Graph graph,
+                                      OWLOntologyDocumentSource source,
+                                      OntLoaderConfiguration conf,
+                                      MessageDigest digest) throws OWLOntologyCreationException {
         IRI iri = OntApiException.notNull(source, "Null document source.").getDocumentIRI();
         final OWLOntologyCreationException error = new UnsupportedFormatException(String.format("Can't read %s %s.",
                 source.getClass().getSimpleName(), iri));
@@ -361,11 +431,30 @@ public class OntGraphUtils {
                 continue;
             }
             Lang lang = format.getLang();
-            try (Closeable stream = openInputStream(source, conf)) {
+            boolean parallel = ParallelLineReader.isSupported(format, conf);
+            Path file = parallel ? getLocalFile(source, conf) : null;
+            // null resource is allowed, it is skipped on close
+            try (Closeable stream = file == null ? openInputStream(source, conf) : null) {
                 if (LOGGER.isDebugEnabled()) {
                     LOGGER.debug("read {}, try <{}>", iri, lang);
                 }
-                RDFDataMgr.read(graph, getInputStream(format, stream), iri.toString(), lang);
+                if (digest != null) {
+                    digest.reset();
+                }
+                if (parallel) {
+                    ParallelLineReader reader = new ParallelLineReader(graph, lang,
+                            conf.getParallelReadThreads(), conf.getParallelReadChunkSize());
+                    if (file != null) {
+                        if (digest != null) {
+                            updateDigest(digest, file);
+                        }
+                        reader.read(file);
+                    } else {
+                        reader.read(getInputStream(format, stream, digest));
+                    }
+                } else {
+                    RDFDataMgr.read(graph, getInputStream(format, stream, digest), iri.toString(), lang);
+                }
                 return format;
             } catch (OWLOntologyInputSourceException | IOException e) {
                 throw new OWLOntologyCreationException(source.getClass().getSimpleName() +
@@ -383,13 +472,98 @@ public class OntGraphUtils {
         throw error;
     }
 
-    private static InputStream getInputStream(OntFormat format, Closeable stream) {
+    /**
+     * Updates the digest with the document bytes without parsing,
+     * if the document can be cheaply read more than once,
+     * i.e. if it is either in-memory or a local uncompressed file.
+     * This allows looking up the {@link com.github.owlcs.ontapi.transforms.TransformCache transform cache}
+     * before parsing.
+     * The hash is the same as computed by {@link #readGraph(Graph, OWLOntologyDocumentSource, OntLoaderConfiguration, MessageDigest)}.
+     *
+     * @param digest {@link MessageDigest} to update, not {@code null}
+     * @param source {@link OWLOntologyDocumentSource} the source
+     * @param conf   {@link OntLoaderConfiguration} config
+     * @return {@code true} if the digest contains the document hash,
+     * {@code false} if the document is remote or cannot be read (the digest state is undefined in that case)
+     */
+    public static boolean updateDigest(MessageDigest digest,
+                                       OWLOntologyDocumentSource source,
+                                       OntLoaderConfiguration conf) {
+        digest.reset();
+        try {
+            Path file = getLocalFile(source, conf);
+            if (file != null) {
+                updateDigest(digest, file);
+                return true;
+            }
+            if (source.getInputStream().isEmpty() && source.getReader().isEmpty()) {
+                return false;
+            }
+            try (Closeable stream = openInputStream(source, conf)) {
+                getInputStream(null, stream, digest).transferTo(OutputStream.nullOutputStream());
+            }
+            return true;
+        } catch (OWLOntologyInputSourceException | ConfigMismatchException | IOException | RuntimeException e) {
+            if (LOGGER.isDebugEnabled()) {
+                LOGGER.debug("Can't compute hash of {}: '{}'", source.getDocumentIRI(), e.getMessage());
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Returns the local uncompressed file, that can be memory-mapped, if the source refers to it.
+     *
+     * @param source {@link OWLOntologyDocumentSource}
+     * @param conf   {@link OntLoaderConfiguration}
+     * @return {@link Path} or {@code null}
+     */
+    private static Path getLocalFile(OWLOntologyDocumentSource source, OntLoaderConfiguration conf) {
+        if (source.getInputStream().isPresent() || source.getReader().isPresent()) {
+            return null;
+        }
+        IRI iri = source.getDocumentIRI();
+        if (!"file".equalsIgnoreCase(iri.getScheme()) || conf.getSupportedSchemes().stream().noneMatch(s -> s.same(iri))) {
+            return null;
+        }
+        Path res;
+        try {
+            res = Paths.get(iri.toURI());
+        } catch (RuntimeException e) {
+            return null;
+        }
+        if (!Files.isRegularFile(res)) {
+            return null;
+        }
+        // gzip or zip archives are processed by the OWL-API DocumentSources
+        byte[] head = new byte[2];
+        try (InputStream in = Files.newInputStream(res)) {
+            if (in.readNBytes(head, 0, 2) == 2 &&
+                    ((head[0] == (byte) 0x1f && head[1] == (byte) 0x8b) || (head[0] == 'P' && head[1] == 'K'))) {
+                return null;
+            }
+        } catch (IOException e) {
+            return null;
+        }
+        return res;
+    }
+
+    private static void updateDigest(MessageDigest digest, Path file) throws IOException {
+        try (InputStream in = new DigestInputStream(Files.newInputStream(file), digest)) {
+            in.transferTo(OutputStream.nullOutputStream());
+        }
+    }
+
+    private static InputStream getInputStream(OntFormat format, Closeable stream, MessageDigest digest) {
         InputStream res;
         if (stream instanceof Reader) {
             res = new ReaderInputStream((Reader) stream, StandardCharsets.UTF_8);
         } else {
             res = (InputStream) stream;
         }
+        if (digest != null) {
+            res = new DigestInputStream(res, digest);
+        }
         if (format == OntFormat.RDF_XML) {
             // check if it is OWLXML
             BufferedHeadInputStream is = new BufferedHeadInputStream(res, 8192);
@@ -673,6 +847,39 @@ public class OntGraphUtils {
         });
     }
 
+    /**
+     * Answers {@code true} if a {@link #snapshot(Graph) snapshot} of the given graph is cheap,
+     * i.e. it does not require copying all triples (this is the case of a {@link CompactGraph}).
+     *
+     * @param graph {@link Graph}, not {@code null}
+     * @return boolean
+     * @since 4.0.1
+     */
+    public static boolean hasCheapSnapshot(Graph graph) {
+        return asNonConcurrent(graph) instanceof CompactGraph;
+    }
+
+    /**
+     * Makes a consistent detached copy of the given graph, including its prefixes.
+     * The caller is responsible for holding the read lock while this method is running, if it is needed.
+     * For a {@link CompactGraph} the operation is cheap (see {@link CompactGraph#snapshot()}),
+     * otherwise all triples are copied into a fresh {@code GraphMem}.
+     *
+     * @param graph {@link Graph}, not {@code null}
+     * @return {@link Graph}, that does not depend on the given one
+     * @since 4.0.1
+     */
+    public static Graph snapshot(Graph graph) {
+        Graph g = asNonConcurrent(graph);
+        if (g instanceof CompactGraph) {
+            return ((CompactGraph) g).snapshot();
+        }
+        Graph res = GraphMemFactory.createDefaultGraph();
+        res.getPrefixMapping().setNsPrefixes(g.getPrefixMapping());
+        GraphUtil.addInto(res, g);
+        return res;
+    }
+
     /**
      * Gets the "name" of the base graph: uri, blank-node-id as string or null string if there is no ontology at all.
      * The version IRI info is also included if it is present in the graph for the found ontology node.
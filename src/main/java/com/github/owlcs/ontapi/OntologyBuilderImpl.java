@@ -38,7 +38,7 @@ public class OntologyBuilderImpl implements OntologyFactory.Builder {
     @Override
     public Ontology createOntology(ID id, OntologyManager manager, OntLoaderConfiguration config) {
         OntologyManagerImpl m = getAdapter().asIMPL(manager);
-        OntologyModelImpl res = createOntologyImpl(createDataGraph(), m, config);
+        OntologyModelImpl res = createOntologyImpl(createDataGraph(config), m, config);
         res.setOntologyID(id);
         return withLock(res, m.getLock());
     }
@@ -52,7 +52,7 @@ public class OntologyBuilderImpl implements OntologyFactory.Builder {
     /**
      * Creates a {@link OntologyModelImpl Default Ontology Implementation} instance from the given components.
      *
-     * @param graph   {@link Graph} obtained from {@link #createDataGraph()}, must not be {@code null}
+     * @param graph   {@link Graph} obtained from {@link #createDataGraph(OntLoaderConfiguration)}, must not be {@code null}
      * @param manager {@link OntologyManagerImpl}, must not be {@code null}
      * @param config  {@link OntLoaderConfiguration}, the loading configuration, must not be {@code null}
      * @return a fresh {@link OntologyManagerImpl}
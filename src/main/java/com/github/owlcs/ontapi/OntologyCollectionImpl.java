@@ -17,17 +17,27 @@ package com.github.owlcs.ontapi;
 import org.apache.jena.ontapi.model.OntModel;
 import org.apache.jena.ontapi.utils.Iterators;
 import org.semanticweb.owlapi.model.HasOntologyID;
+import org.semanticweb.owlapi.model.IRI;
 import org.semanticweb.owlapi.model.OWLOntologyID;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
 import java.io.Serial;
 import java.io.Serializable;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -40,8 +50,21 @@ import java.util.stream.Stream;
  * like in the original OWL-API implementation,
  * since anything, including that ID, can be changed externally (e.g. directly from the jena graph
  * using shadow {@link OntModel} interface or something else).
- * On the other hand, it is not expected that this collection will hold a large number of elements,
- * so using reordering operation in every method is OK.
+ * <p>
+ * Besides the primary ID-map, the collection maintains secondary {@link Index index}es
+ * (by ontology IRI, by version IRI and any other created via the {@link #createIndex(Function)} method).
+ * There are two modes:
+ * <ul>
+ * <li>untracked (default) - element changes are not reported,
+ * so any miss in the map or in an index causes a linear scan over all elements to find externally renamed ones</li>
+ * <li>tracked - every change of an element is reported through the {@link #markChanged(HasOntologyID)} method,
+ * changed elements are re-indexed on the next access,
+ * and all lookups (including negative ones) are answered by the maps without scanning</li>
+ * </ul>
+ * Re-indexing may happen under the shared read lock (the collection usually shares the lock with its owner,
+ * which cannot be upgraded), so it is additionally guarded by an internal mutex:
+ * a lookup that misses or meets a stale element repeats the search under that mutex,
+ * and therefore never observes an element in the middle of re-indexing.
  * <p>
  * Created by @ssz on 08.12.2018.
  */
@@ -52,6 +75,16 @@ public class OntologyCollectionImpl<O extends HasOntologyID> implements Ontology
 
     protected final Map<OWLOntologyID, O> map;
     protected final ReadWriteLock lock;
+    protected final boolean tracked;
+    // reverse map, the current key-id for each element:
+    protected transient Map<O, OWLOntologyID> keys;
+    // elements that were reported as changed and need to be re-indexed:
+    protected transient Set<O> changed;
+    protected transient List<Index<?>> indexes;
+    protected transient Index<IRI> ontologyIRIs;
+    protected transient Index<IRI> versionIRIs;
+    // guards re-indexing, that can be performed by several readers at once:
+    protected transient Lock reindexLock;
 
     /**
      * Creates an empty non-synchronized collection.
@@ -66,7 +99,18 @@ public class OntologyCollectionImpl<O extends HasOntologyID> implements Ontology
      * @param lock {@link ReadWriteLock}, not {@code null}
      */
     public OntologyCollectionImpl(ReadWriteLock lock) {
-        this(lock, createMap(lock));
+        this(lock, false);
+    }
+
+    /**
+     * Creates an empty collection with the given R/W lock.
+     *
+     * @param lock    {@link ReadWriteLock}, not {@code null}
+     * @param tracked if {@code true} all changes of element's keys must be reported
+     *                via {@link #markChanged(HasOntologyID)}, in return lookups never scan the whole collection
+     */
+    public OntologyCollectionImpl(ReadWriteLock lock, boolean tracked) {
+        this(lock, createMap(lock), tracked);
     }
 
     /**
@@ -84,18 +128,21 @@ public class OntologyCollectionImpl<O extends HasOntologyID> implements Ontology
                 , (s, v) -> {
                     throw new IllegalArgumentException("Duplicate key-id " + s);
                 }
-                , () -> createMap(lock)));
+                , () -> createMap(lock)), false);
     }
 
     /**
      * The main constructor.
      *
-     * @param lock {@link ReadWriteLock}, not {@code null}
-     * @param map  {@link Map}, not {@code null}
+     * @param lock    {@link ReadWriteLock}, not {@code null}
+     * @param map     {@link Map}, not {@code null}
+     * @param tracked {@code boolean}, see {@link #OntologyCollectionImpl(ReadWriteLock, boolean)}
      */
-    protected OntologyCollectionImpl(ReadWriteLock lock, Map<OWLOntologyID, O> map) {
+    protected OntologyCollectionImpl(ReadWriteLock lock, Map<OWLOntologyID, O> map, boolean tracked) {
         this.map = Objects.requireNonNull(map, "Null ontology map");
         this.lock = Objects.requireNonNull(lock, "Null lock");
+        this.tracked = tracked;
+        initIndexes();
     }
 
     /**
@@ -112,6 +159,104 @@ public class OntologyCollectionImpl<O extends HasOntologyID> implements Ontology
         return NoOpReadWriteLock.isConcurrent(lock) ? new ConcurrentHashMap<>() : new HashMap<>();
     }
 
+    /**
+     * Creates a {@code Set} for internal usage.
+     *
+     * @param lock {@link ReadWriteLock}
+     * @param <V>  value
+     * @return {@link Set}
+     * @see #createMap(ReadWriteLock)
+     */
+    public static <V> Set<V> createSet(ReadWriteLock lock) {
+        return NoOpReadWriteLock.isConcurrent(lock) ? ConcurrentHashMap.newKeySet() : new HashSet<>();
+    }
+
+    /**
+     * Initializes the transient state.
+     */
+    protected void initIndexes() {
+        this.keys = createMap(lock);
+        this.changed = createSet(lock);
+        this.reindexLock = NoOpReadWriteLock.isConcurrent(lock) ? new ReentrantLock() : NoOpReadWriteLock.NO_OP_LOCK;
+        this.indexes = new CopyOnWriteArrayList<>();
+        map.forEach((k, v) -> keys.put(v, k));
+        this.ontologyIRIs = createIndex(x -> x.getOntologyID().getOntologyIRI().orElse(null));
+        this.versionIRIs = createIndex(x -> x.getOntologyID().getVersionIRI().orElse(null));
+    }
+
+    /**
+     * Creates and registers a new secondary index.
+     * The {@code key} function is evaluated on adding an element,
+     * on re-indexing an element reported as changed, and on validation of the index's lookup results.
+     * Elements for which the function returns {@code null} are not indexed.
+     *
+     * @param key {@link Function} to get a key from an element
+     * @param <K> the type of key
+     * @return {@link Index}
+     */
+    public <K> Index<K> createIndex(Function<? super O, ? extends K> key) {
+        lock.writeLock().lock();
+        try {
+            Index<K> res = new Index<>(key);
+            map.values().forEach(res::update);
+            indexes.add(res);
+            return res;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Reports that the given element may have changed its keys.
+     * The element will be re-indexed on the next access to the collection.
+     * This method does not acquire any lock,
+     * so it is safe to call it from graph listeners.
+     *
+     * @param value {@link O}, not {@code null}
+     */
+    public void markChanged(O value) {
+        changed.add(Objects.requireNonNull(value));
+    }
+
+    /**
+     * Immediately re-indexes the given element if it belongs to the collection.
+     *
+     * @param value {@link O}, not {@code null}
+     * @return this collection, to allow cascading calls
+     */
+    public OntologyCollectionImpl<O> reindex(O value) {
+        lock.writeLock().lock();
+        try {
+            changed.remove(value);
+            if (keys.containsKey(value)) {
+                put(value);
+            }
+            return this;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Finds all elements whose ontology IRI equals the given one.
+     *
+     * @param iri {@link IRI}, not {@code null}
+     * @return {@code Stream} of {@link O}s
+     */
+    public Stream<O> findByOntologyIRI(IRI iri) {
+        return ontologyIRIs.find(iri);
+    }
+
+    /**
+     * Finds all elements whose version IRI equals the given one.
+     *
+     * @param iri {@link IRI}, not {@code null}
+     * @return {@code Stream} of {@link O}s
+     */
+    public Stream<O> findByVersionIRI(IRI iri) {
+        return versionIRIs.find(iri);
+    }
+
     @Override
     public long size() {
         lock.readLock().lock();
@@ -137,6 +282,9 @@ public class OntologyCollectionImpl<O extends HasOntologyID> implements Ontology
         lock.writeLock().lock();
         try {
             map.clear();
+            keys.clear();
+            changed.clear();
+            indexes.forEach(Index::clear);
             return this;
         } finally {
             lock.writeLock().unlock();
@@ -157,20 +305,34 @@ public class OntologyCollectionImpl<O extends HasOntologyID> implements Ontology
     public Optional<O> get(OWLOntologyID key) {
         lock.readLock().lock();
         try {
+            refresh();
             O res = map.get(key);
-            if (res != null) {
+            if (res != null && key.equals(res.getOntologyID())) {
                 // this is fast as Map:
-                if (key.equals(res.getOntologyID())) {
+                return Optional.of(res);
+            }
+            reindexLock.lock();
+            try {
+                // repeat: another reader may be re-indexing the element right now
+                res = map.get(key);
+                if (res != null) {
+                    if (key.equals(res.getOntologyID())) {
+                        return Optional.of(res);
+                    }
+                    put(res);
+                } else if (tracked) {
+                    // all changes have been reported, the map is up-to-date
+                    return Optional.empty();
+                }
+                res = findValue(key).orElse(null);
+                if (res != null) {
+                    put(res);
                     return Optional.of(res);
                 }
-                replace(key, res);
-            }
-            res = findValue(key).orElse(null);
-            if (res != null) {
-                replace(key, res);
-                return Optional.of(res);
+                return Optional.empty();
+            } finally {
+                reindexLock.unlock();
             }
-            return Optional.empty();
         } finally {
             lock.readLock().unlock();
         }
@@ -192,7 +354,7 @@ public class OntologyCollectionImpl<O extends HasOntologyID> implements Ontology
         lock.writeLock().lock();
         try {
             Optional<O> res = get(key);
-            res.ifPresent(k -> map.remove(k.getOntologyID()));
+            res.ifPresent(this::unlink);
             return res;
         } finally {
             lock.writeLock().unlock();
@@ -203,21 +365,58 @@ public class OntologyCollectionImpl<O extends HasOntologyID> implements Ontology
     public OntologyCollectionImpl<O> delete(O value) {
         lock.writeLock().lock();
         try {
-            findKey(value).ifPresent(map::remove);
+            unlink(value);
             return this;
         } finally {
             lock.writeLock().unlock();
         }
     }
 
-    protected void replace(OWLOntologyID oldKey, O newValue) {
-        map.remove(oldKey);
-        put(newValue);
+    /**
+     * Re-indexes all elements that were reported as changed.
+     * Can be called under the read lock.
+     */
+    protected void refresh() {
+        if (changed.isEmpty()) {
+            return;
+        }
+        reindexLock.lock();
+        try {
+            for (O value : List.copyOf(changed)) {
+                changed.remove(value);
+                if (keys.containsKey(value)) {
+                    put(value);
+                }
+            }
+        } finally {
+            reindexLock.unlock();
+        }
     }
 
     protected void put(O value) {
-        findKey(value).ifPresent(map::remove);
-        map.put(value.getOntologyID(), value);
+        OWLOntologyID old = keys.remove(value);
+        if (old != null) {
+            map.remove(old, value);
+        }
+        OWLOntologyID id = value.getOntologyID();
+        O prev = map.put(id, value);
+        if (prev != null && prev != value) {
+            // the previous element with the same key-id is no longer in the collection
+            keys.remove(prev);
+            changed.remove(prev);
+            indexes.forEach(x -> x.remove(prev));
+        }
+        keys.put(value, id);
+        indexes.forEach(x -> x.update(value));
+    }
+
+    protected void unlink(O value) {
+        OWLOntologyID key = keys.remove(value);
+        if (key != null) {
+            map.remove(key, value);
+        }
+        changed.remove(value);
+        indexes.forEach(x -> x.remove(value));
     }
 
     protected Optional<O> findValue(OWLOntologyID key) {
@@ -227,7 +426,13 @@ public class OntologyCollectionImpl<O extends HasOntologyID> implements Ontology
     }
 
     protected Optional<OWLOntologyID> findKey(O value) {
-        return map.entrySet().stream().filter(x -> x.getValue().equals(value)).map(Map.Entry::getKey).findFirst();
+        return Optional.ofNullable(keys.get(value));
+    }
+
+    @Serial
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        initIndexes();
     }
 
     @Override
@@ -240,4 +445,132 @@ public class OntologyCollectionImpl<O extends HasOntologyID> implements Ontology
         }
     }
 
+    /**
+     * A secondary index: a multimap from an arbitrary key to the collection elements.
+     * Lookup results are always validated against the current state of elements.
+     *
+     * @param <K> the type of key
+     */
+    public class Index<K> {
+        protected final Function<? super O, ? extends K> extractor;
+        protected final Map<K, Set<O>> values;
+        protected final Map<O, K> keys;
+
+        protected Index(Function<? super O, ? extends K> extractor) {
+            this.extractor = Objects.requireNonNull(extractor);
+            this.values = createMap(lock);
+            this.keys = createMap(lock);
+        }
+
+        /**
+         * Finds all elements with the given key.
+         * In the untracked mode, if nothing is found, the whole collection is scanned.
+         *
+         * @param key {@link K}, not {@code null}
+         * @return {@code Stream} of {@link O}s
+         */
+        public Stream<O> find(K key) {
+            Objects.requireNonNull(key);
+            lock.readLock().lock();
+            try {
+                refresh();
+                List<O> res = new ArrayList<>();
+                if (collect(key, res)) {
+                    return res.stream();
+                }
+                reindexLock.lock();
+                try {
+                    // repeat: another reader may be re-indexing some element right now
+                    res.clear();
+                    Set<O> candidates = values.get(key);
+                    if (candidates != null) {
+                        for (O value : List.copyOf(candidates)) {
+                            if (key.equals(extractor.apply(value))) {
+                                res.add(value);
+                            } else {
+                                // a stale (not reported) change
+                                update(value);
+                            }
+                        }
+                    }
+                    if (res.isEmpty() && !tracked) {
+                        map.values().stream().filter(x -> key.equals(extractor.apply(x))).forEach(x -> {
+                            update(x);
+                            res.add(x);
+                        });
+                    }
+                    return res.stream();
+                } finally {
+                    reindexLock.unlock();
+                }
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        /**
+         * Collects the elements with the given key without changing the index.
+         *
+         * @param key {@link K}
+         * @param res {@code List} to fill
+         * @return {@code true} if something is found and there are no stale candidates
+         */
+        protected boolean collect(K key, List<O> res) {
+            Set<O> candidates = values.get(key);
+            if (candidates == null) {
+                return false;
+            }
+            for (O value : List.copyOf(candidates)) {
+                if (!key.equals(extractor.apply(value))) {
+                    return false;
+                }
+                res.add(value);
+            }
+            return !res.isEmpty();
+        }
+
+        /**
+         * Finds any element with the given key.
+         *
+         * @param key {@link K}, not {@code null}
+         * @return {@code Optional} around the {@link O}, possible empty
+         */
+        public Optional<O> get(K key) {
+            return find(key).findFirst();
+        }
+
+        protected void update(O value) {
+            K key = extractor.apply(value);
+            K old = key == null ? keys.remove(value) : keys.put(value, key);
+            if (old != null && !old.equals(key)) {
+                detach(old, value);
+            }
+            if (key != null) {
+                values.compute(key, (k, set) -> {
+                    Set<O> res = set == null ? createSet(lock) : set;
+                    res.add(value);
+                    return res;
+                });
+            }
+        }
+
+        protected void remove(O value) {
+            K old = keys.remove(value);
+            if (old != null) {
+                detach(old, value);
+            }
+        }
+
+        protected void detach(K key, O value) {
+            values.computeIfPresent(key, (k, set) -> {
+                set.remove(value);
+                return set.isEmpty() ? null : set;
+            });
+        }
+
+        protected void clear() {
+            values.clear();
+            keys.clear();
+        }
+    }
 }
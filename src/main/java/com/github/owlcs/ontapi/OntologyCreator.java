@@ -20,6 +20,7 @@ import org.apache.jena.graph.GraphMemFactory;
 import org.apache.jena.ontapi.UnionGraph;
 import org.apache.jena.ontapi.impl.UnionGraphImpl;
 
+import java.nio.file.Paths;
 import java.util.Objects;
 
 /**
@@ -73,6 +74,26 @@ public interface OntologyCreator {
         return GraphMemFactory.createDefaultGraph();
     }
 
+    /**
+     * Creates a fresh empty {@link Graph RDF Graph} instance taking into account the specified settings.
+     * If the {@link OntLoaderConfiguration#getDataGraphDirectory()} is specified,
+     * the method returns a temporary disk-backed {@link MappedGraph};
+     * if the {@link OntLoaderConfiguration#isUseCompactDataGraph()} is enabled,
+     * the method returns a {@link CompactGraph}, otherwise it delegates to the {@link #createDataGraph()} method.
+     *
+     * @param config {@link OntLoaderConfiguration} the settings, not {@code null}
+     * @return {@link Graph Jena Graph}
+     * @see OntologyCreator#createDataGraph()
+     * @since 4.0.1
+     */
+    default Graph createDataGraph(OntLoaderConfiguration config) {
+        String dir = config.getDataGraphDirectory();
+        if (dir != null && !dir.isEmpty()) {
+            return MappedGraph.createTemporary(Paths.get(dir));
+        }
+        return config.isUseCompactDataGraph() ? new CompactGraph() : createDataGraph();
+    }
+
     /**
      * Wraps the specified {@code graph} as an {@link UnionGraph Union Graph},
      * that maintains an ontology {@code owl:imports} hierarchical structure.
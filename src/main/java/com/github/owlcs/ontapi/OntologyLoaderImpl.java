@@ -17,6 +17,8 @@ package com.github.owlcs.ontapi;
 import com.github.owlcs.ontapi.config.OntConfig;
 import com.github.owlcs.ontapi.config.OntLoaderConfiguration;
 import com.github.owlcs.ontapi.transforms.GraphStats;
+import com.github.owlcs.ontapi.transforms.GraphTransformers;
+import com.github.owlcs.ontapi.transforms.TransformCache;
 import com.github.owlcs.ontapi.transforms.TransformException;
 import javax.annotation.Nonnull;
 import org.apache.jena.graph.Graph;
@@ -46,10 +48,13 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.File;
+import java.security.MessageDigest;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
@@ -90,6 +95,8 @@ public class OntologyLoaderImpl implements OntologyFactory.Loader {
     protected final Map<String, GraphInfo> graphs = new LinkedHashMap<>();
     protected final Map<IRI, Optional<IRI>> sourceMap = new HashMap<>();
     protected final Map<IRI, GraphInfo> loaded = new HashMap<>();
+    // the graphs created by this loader, they must be closed if they are not attached to the manager
+    protected final Set<Graph> created = Collections.newSetFromMap(new IdentityHashMap<>());
 
     /**
      * Creates a default {@code Loader} instance.
@@ -149,12 +156,30 @@ public class OntologyLoaderImpl implements OntologyFactory.Loader {
                 createModel(g, builder, manager, config);
             }
             return res;
+        } catch (OWLOntologyCreationException | RuntimeException ex) {
+            releaseGraphs();
+            throw ex;
         } finally {
             // the possibility to reuse:
             clear();
         }
     }
 
+    /**
+     * Releases the graphs, that have been acquired or created during the load,
+     * but have not been attached to the manager:
+     * the shared graphs are returned to the registry, the temporary disk-backed graphs are closed.
+     */
+    protected void releaseGraphs() {
+        graphs.values().stream().filter(g -> !g.isAttached()).map(GraphInfo::getGraph).forEach(g -> {
+            if (g instanceof SharedGraphRegistry.SharedGraph) {
+                ((SharedGraphRegistry.SharedGraph) g).release();
+            } else if (created.contains(g)) {
+                OntGraphUtils.discardTemporary(g);
+            }
+        });
+    }
+
     /**
      * Release the state parameters that can appear during the load.
      *
@@ -164,6 +189,7 @@ public class OntologyLoaderImpl implements OntologyFactory.Loader {
         graphs.clear();
         sourceMap.clear();
         loaded.clear();
+        created.clear();
     }
 
     /**
@@ -205,6 +231,11 @@ public class OntologyLoaderImpl implements OntologyFactory.Loader {
             }
             // put ontology inside the manager:
             getAdapter().asHandler(manager).ontologyCreated(res);
+            info.setAttached();
+            if (info.getGraph() instanceof SharedGraphRegistry.SharedGraph) {
+                ((SharedGraphRegistry.SharedGraph) info.getGraph()).attach(
+                        getAdapter().asBaseModel(res).getBaseGraphModel(), OntologyManagerImpl.getReadLock(res));
+            }
             OWLDocumentFormat format = info.getFormat();
             if (format.isPrefixOWLDocumentFormat()) {
                 PrefixManager pm = format.asPrefixOWLDocumentFormat();
@@ -247,16 +278,33 @@ public class OntologyLoaderImpl implements OntologyFactory.Loader {
         // process transformations
         GraphStats stats;
         Set<Graph> transformed = graphs.values().stream()
-                .filter(g -> !g.isFresh() || g.noTransforms())
+                .filter(g -> !g.isFresh() || g.noTransforms() || g.isFromCache())
                 .map(GraphInfo::getGraph)
                 .collect(Collectors.toSet());
+        GraphTransformers transformers = config.getGraphTransformers();
+        TransformCache cache = manager.getTransformCache();
+        List<GraphInfo> uncached = new ArrayList<>();
+        if (cache != null) {
+            for (GraphInfo g : graphs.values()) {
+                // the transformation of a graph with imports depends on the imported graphs
+                if (g.getHash() == null || transformed.contains(g.getGraph()) || !g.getImports().isEmpty()) {
+                    continue;
+                }
+                if (applyCachedTransforms(cache, transformers, g)) {
+                    transformed.add(g.getGraph());
+                } else {
+                    uncached.add(g);
+                }
+            }
+        }
         if (LOGGER.isDebugEnabled())
             LOGGER.debug("Perform graph transformations on <{}>.", info.name());
         try {
-            stats = config.getGraphTransformers().transform(graph, transformed);
+            stats = transformers.transform(graph, transformed);
         } catch (TransformException t) {
             throw new OntologyFactoryImpl.OWLTransformException(t);
         }
+        uncached.forEach(g -> cache.put(g.getHash(), OntFormat.get(g.getFormat()), transformers, g.getGraph()));
         info.setStats(stats);
         stats.stats(true)
                 .filter(GraphStats::isNotEmpty)
@@ -276,6 +324,57 @@ public class OntologyLoaderImpl implements OntologyFactory.Loader {
         return graph;
     }
 
+    /**
+     * Replaces the content of the fresh graph with the cached transformation result, if it is present.
+     *
+     * @param cache        {@link TransformCache}
+     * @param transformers {@link GraphTransformers}
+     * @param info         {@link GraphInfo} with the document hash
+     * @return {@code true} if the graph is taken from the cache and therefore must not be transformed
+     */
+    protected boolean applyCachedTransforms(TransformCache cache, GraphTransformers transformers, GraphInfo info) {
+        Graph graph = info.getGraph();
+        if (!cache.apply(info.getHash(), OntFormat.get(info.getFormat()), transformers, graph)) {
+            return false;
+        }
+        if (graph instanceof CompactGraph) {
+            ((CompactGraph) graph).compact();
+        } else if (graph instanceof MappedGraph) {
+            ((MappedGraph) graph).flush();
+        }
+        if (LOGGER.isDebugEnabled()) {
+            LOGGER.debug("Graph <{}> is taken from the transform cache.", info.name());
+        }
+        return true;
+    }
+
+    /**
+     * Fills the fresh graph with the cached transformation result before the document is parsed.
+     * The lookup is performed for the format the document would be tried first with.
+     *
+     * @param cache        {@link TransformCache}, not {@code null}
+     * @param hash         {@code String} the document hash, not {@code null}
+     * @param source       {@link OWLOntologyDocumentSource}
+     * @param transformers {@link GraphTransformers}
+     * @param graph        {@link Graph} to fill
+     * @return {@link OntFormat} of the cached document or {@code null} if there is no cached result
+     */
+    protected static OntFormat applyCachedTransforms(TransformCache cache,
+                                                     String hash,
+                                                     OWLOntologyDocumentSource source,
+                                                     GraphTransformers transformers,
+                                                     Graph graph) {
+        OntFormat format;
+        try {
+            format = OntGraphUtils.getSupportedFormats(source).stream()
+                    .filter(f -> !f.isOWLOnly())
+                    .findFirst().orElse(null);
+        } catch (OntologyFactoryImpl.UnsupportedFormatException e) {
+            return null;
+        }
+        return format != null && cache.apply(hash, format, transformers, graph) ? format : null;
+    }
+
     /**
      * Assembles the {@link UnionGraph} from the inner collection ({@link #graphs}).
      * Note: this collection can be modified by this method.
@@ -365,6 +464,12 @@ public class OntologyLoaderImpl implements OntologyFactory.Loader {
                     }
                     base.remove(Node.ANY, OWL.imports.asNode(), NodeFactory.createURI(uri));
                     GraphUtil.addInto(base, info.getGraph());
+                    // the data is copied, so the included graph is no longer needed
+                    if (info.getGraph() instanceof SharedGraphRegistry.SharedGraph) {
+                        ((SharedGraphRegistry.SharedGraph) info.getGraph()).release();
+                    } else if (created.contains(info.getGraph())) {
+                        OntGraphUtils.discardTemporary(info.getGraph());
+                    }
                     // skip assembling new model for this graph:
                     info.setProcessed();
                     // recollect imports (in case of anonymous ontology):
@@ -421,9 +526,47 @@ public class OntologyLoaderImpl implements OntologyFactory.Loader {
                 .filter(Objects::nonNull)
                 .findFirst()
                 .orElse(new IRIDocumentSource(documentIRI));
+        SharedGraphRegistry registry = manager.getSharedGraphRegistry();
+        if (registry != null && registry.isShareable(uri)) {
+            SharedGraphRegistry.SharedGraph graph = registry.acquire(uri,
+                    () -> loadSharedGraph(source, builder, manager, config));
+            // the shared graph is already transformed:
+            return createGraphInfo(graph, graph.getFormat().newOWLFormat(), source.getDocumentIRI(), false);
+        }
         return loadGraph(source, builder, manager, config);
     }
 
+    /**
+     * Loads and transforms the graph, that is going to be shared between managers.
+     * The graph is transformed on its own, without its imports.
+     *
+     * @param source  {@link OWLOntologyDocumentSource the document source}
+     * @param builder {@link OntologyCreator} to construct a fresh {@link Graph} instance
+     * @param manager {@link OntologyManager the manager} to load
+     * @param config  {@link OntLoaderConfiguration the load configuration}
+     * @return {@link SharedGraphRegistry.Content}
+     * @throws OWLOntologyCreationException if loading is not possible
+     * @see SharedGraphRegistry
+     */
+    protected SharedGraphRegistry.Content loadSharedGraph(OWLOntologyDocumentSource source,
+                                                          OntologyCreator builder,
+                                                          OntologyManager manager,
+                                                          OntLoaderConfiguration config) throws OWLOntologyCreationException {
+        GraphInfo info = loadGraph(source, builder, manager, config);
+        Graph graph = info.getGraph();
+        if (config.isPerformTransformation()) {
+            try {
+                config.getGraphTransformers().transform(builder.createUnionGraph(graph, config), new HashSet<>());
+            } catch (TransformException t) {
+                throw new OntologyFactoryImpl.OWLTransformException(t);
+            }
+            if (graph instanceof CompactGraph) {
+                ((CompactGraph) graph).compact();
+            }
+        }
+        return new SharedGraphRegistry.Content(graph, OntFormat.get(info.getFormat()));
+    }
+
     /**
      * Finds ontology by the IRI.
      * <p>
@@ -539,12 +682,45 @@ public class OntologyLoaderImpl implements OntologyFactory.Loader {
                 .orElse(source);
         try {
             // jena:
-            Graph graph = builder.createDataGraph();
-            OntFormat format = OntGraphUtils.readGraph(graph, src, config);
+            Graph graph = builder.createDataGraph(config);
+            TransformCache cache = config.isPerformTransformation() ? manager.getTransformCache() : null;
+            MessageDigest digest = cache != null ? TransformCache.newDigest() : null;
+            boolean fromCache = false;
+            String hash = null;
+            OntFormat format = null;
+            try {
+                if (digest != null && OntGraphUtils.updateDigest(digest, src, config)) {
+                    // the document can be read twice, so a cache hit saves parsing
+                    hash = TransformCache.toHash(digest);
+                    format = applyCachedTransforms(cache, hash, src, config.getGraphTransformers(), graph);
+                }
+                if (format == null) {
+                    format = OntGraphUtils.readGraph(graph, src, config, hash == null ? digest : null);
+                } else {
+                    fromCache = true;
+                }
+            } catch (OWLOntologyCreationException | RuntimeException ex) {
+                OntGraphUtils.discardTemporary(graph);
+                throw ex;
+            }
+            created.add(graph);
+            if (graph instanceof CompactGraph) {
+                // merge everything into the sorted indexes
+                ((CompactGraph) graph).compact();
+            } else if (graph instanceof MappedGraph) {
+                ((MappedGraph) graph).flush();
+            }
             GraphInfo res = createGraphInfo(graph, format.newOWLFormat(), doc, true);
+            if (digest != null) {
+                res.setHash(hash != null ? hash : TransformCache.toHash(digest));
+            }
+            if (fromCache) {
+                res.setFromCache();
+            }
             if (LOGGER.isDebugEnabled()) {
-                LOGGER.debug("Graph <{}> is loaded by jena. Source: {}[{}]. Format: {}",
-                        res.name(), source.getClass().getSimpleName(), res.getSource(), res.getFormat());
+                LOGGER.debug("Graph <{}> is loaded by jena{}. Source: {}[{}]. Format: {}",
+                        res.name(), fromCache ? " (from the transform cache)" : "",
+                        source.getClass().getSimpleName(), res.getSource(), res.getFormat());
             }
             return res;
         } catch (OntologyFactoryImpl.UnsupportedFormatException jenaEx) {
@@ -585,6 +761,9 @@ public class OntologyLoaderImpl implements OntologyFactory.Loader {
             } catch (OWLOntologyCreationException owlEx) {
                 owlEx.addSuppressed(jenaEx);
                 throw owlEx;
+            } finally {
+                // the temporary manager is no longer needed, release its graph listeners
+                _manager.clearOntologies();
             }
         }
     }
@@ -714,6 +893,12 @@ public class OntologyLoaderImpl implements OntologyFactory.Loader {
         private Node ontology;
         private Set<String> imports;
         private GraphStats stats;
+        // the source document hash, if it is needed for the transform cache
+        private String hash;
+        // true if a model has been created over the graph and put into the manager
+        private boolean attached;
+        // true if the graph content is taken from the transform cache and is already transformed
+        private boolean fromCache;
 
         protected GraphInfo(Graph graph, OWLDocumentFormat format, IRI source, boolean withTransforms) {
             this.graph = graph;
@@ -779,5 +964,29 @@ public class OntologyLoaderImpl implements OntologyFactory.Loader {
         protected void setStats(GraphStats stats) {
             this.stats = Objects.requireNonNull(stats, "Null transform stats");
         }
+
+        protected String getHash() {
+            return hash;
+        }
+
+        protected void setHash(String hash) {
+            this.hash = hash;
+        }
+
+        protected boolean isAttached() {
+            return attached;
+        }
+
+        protected void setAttached() {
+            this.attached = true;
+        }
+
+        protected boolean isFromCache() {
+            return fromCache;
+        }
+
+        protected void setFromCache() {
+            this.fromCache = true;
+        }
     }
 }
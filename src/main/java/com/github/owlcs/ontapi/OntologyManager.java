@@ -17,6 +17,7 @@ package com.github.owlcs.ontapi;
 import com.github.owlcs.ontapi.config.OntConfig;
 import com.github.owlcs.ontapi.config.OntLoaderConfiguration;
 import com.github.owlcs.ontapi.config.OntWriterConfiguration;
+import com.github.owlcs.ontapi.transforms.TransformCache;
 import javax.annotation.Nullable;
 import javax.annotation.ParametersAreNonnullByDefault;
 import org.apache.jena.graph.Graph;
@@ -52,7 +53,12 @@ import java.io.InputStream;
 import java.io.OutputStream;
 import java.io.Serializable;
 import java.io.Writer;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 import java.util.stream.Stream;
 
 /**
@@ -458,6 +464,35 @@ public interface OntologyManager extends OWLOntologyManager {
     @Override
     Ontology copyOntology(OWLOntology source, OntologyCopy settings);
 
+    /**
+     * Creates a copy-on-write fork of the specified ontology in this manager.
+     * The fork is an {@link Ontology} whose base graph is an {@link OverlayGraph}
+     * over the frozen state of the base graph of the source,
+     * and all changes made to the fork are kept in the overlay's delta and are not visible in the source.
+     * If the source graph is a {@link CompactGraph}, freezing is a cheap {@link CompactGraph#snapshot() snapshot},
+     * and the source data is not copied, so creating a fork costs {@code O(1)} in time and memory, until it is edited;
+     * any other graph is copied once.
+     * The source may be changed later, this does not affect the fork.
+     * Until the fork is modified (and while the source is not changed),
+     * it reuses the already loaded (warm) content caches of the source
+     * instead of translating the graph again; the reused objects are detached from the source model.
+     * <p>
+     * Like in the case of {@link OntologyCopy#SHALLOW SHALLOW} copying, transformations and import processing are
+     * not performed, but import references to the ontologies of this manager are restored.
+     * The fork has the same ontology id as the source,
+     * so this manager must not contain an ontology with such id (usually, the source belongs to another manager),
+     * otherwise an {@link OntApiException} is thrown.
+     * If the {@code source} is not an {@link Ontology}, the method falls back to the
+     * {@link OntologyCopy#DEEP DEEP} {@link #copyOntology(OWLOntology, OntologyCopy) copying}.
+     *
+     * @param source {@link OWLOntology} the source, not {@code null}
+     * @return a new (forked) {@link Ontology}
+     * @throws OntApiException if this manager already contains an ontology with the same id,
+     *                         or if any unexpected error occurs
+     * @since 4.0.1
+     */
+    Ontology forkOntology(OWLOntology source);
+
     /**
      * Loads an ontology by the specified {@code source} IRI.
      * Note: if a loaded ontology contains any {@code owl:imports} they will also be processed,
@@ -525,6 +560,239 @@ public interface OntologyManager extends OWLOntologyManager {
     void saveOntology(OWLOntology ontology, OWLDocumentFormat ontologyFormat, OWLOntologyDocumentTarget documentTarget)
             throws OWLOntologyStorageException;
 
+    /**
+     * Saves the ontology asynchronously.
+     * The manager takes a consistent snapshot of the ontology data and does not block writers during the serialization,
+     * any changes made after this method returns are not included in the result document.
+     * Note that the snapshot is cheap only for a {@link CompactGraph}, any other graph is copied in memory.
+     * <b>Note: the method calls {@link Writer#close()} produced by {@link OWLOntologyDocumentTarget#getWriter()},
+     * but DOES not call {@link OutputStream#close()} produced by {@link OWLOntologyDocumentTarget#getOutputStream()}</b>.
+     *
+     * @param ontology       The ontology to be saved.
+     * @param ontologyFormat The output format in which to save the ontology
+     * @param documentTarget The output target where the ontology will be saved to
+     * @return {@link CompletableFuture}, which is completed exceptionally
+     * with a {@link java.util.concurrent.CompletionException} wrapping an {@link OWLOntologyStorageException},
+     * if the ontology could not be saved
+     * @see #saveOntology(OWLOntology, OWLDocumentFormat, OWLOntologyDocumentTarget)
+     * @since 4.0.1
+     */
+    CompletableFuture<Void> saveOntologyAsync(OWLOntology ontology,
+                                              OWLDocumentFormat ontologyFormat,
+                                              OWLOntologyDocumentTarget documentTarget);
+
+    /**
+     * Saves the ontology asynchronously using the specified {@link Executor}.
+     * The manager lock is held only while taking a snapshot of the ontology data,
+     * the serialization is performed by the {@code executor} without any lock
+     * (except the formats that are not supported by Jena, see {@link OntFormat#isOWLOnly()},
+     * which require the ontology itself and therefore are written under the read lock).
+     *
+     * @param ontology       The ontology to be saved.
+     * @param ontologyFormat The output format in which to save the ontology
+     * @param documentTarget The output target where the ontology will be saved to
+     * @param executor       {@link Executor} to run the serialization, not {@code null}
+     * @return {@link CompletableFuture}, which is completed exceptionally
+     * with a {@link java.util.concurrent.CompletionException} wrapping an {@link OWLOntologyStorageException},
+     * if the ontology could not be saved
+     * @see #saveOntologyAsync(OWLOntology, OWLDocumentFormat, OWLOntologyDocumentTarget)
+     * @since 4.0.1
+     */
+    CompletableFuture<Void> saveOntologyAsync(OWLOntology ontology,
+                                              OWLDocumentFormat ontologyFormat,
+                                              OWLOntologyDocumentTarget documentTarget,
+                                              Executor executor);
+
+    /**
+     * Loads an ontology from the document source asynchronously using the specified {@link Executor}
+     * and the {@link #getOntologyLoaderConfiguration() manager's loader configuration}.
+     *
+     * @param source   {@link OWLOntologyDocumentSource}, not {@code null}
+     * @param executor {@link Executor} to run the loading, not {@code null}
+     * @return {@link CompletableFuture} with the loaded {@link Ontology}
+     * @see #loadOntologyAsync(OWLOntologyDocumentSource, OntLoaderConfiguration, Executor)
+     * @since 4.0.1
+     */
+    default CompletableFuture<Ontology> loadOntologyAsync(OWLOntologyDocumentSource source, Executor executor) {
+        return loadOntologyAsync(source, getOntologyLoaderConfiguration(), executor);
+    }
+
+    /**
+     * Loads an ontology from the document source asynchronously using the specified {@link Executor}.
+     * Reading and parsing the document into a graph is performed by the {@code executor} without holding the manager lock,
+     * as well as the graph transformations, if the document has no {@code owl:imports}
+     * (otherwise the transformations depend on the imported graphs, so they are performed while registering).
+     * The write lock is taken only to register the ready graph as an ontology in the manager
+     * (and to resolve its imports, if any).
+     * Note that the document is read as is, the {@link OWLOntologyIRIMapper IRI mappers} are not taken into account.
+     * If the document cannot be read by Jena, or the config requires the OWL-API parsers,
+     * or the {@code source} is an {@link OntGraphDocumentSource},
+     * the standard {@link #loadOntologyFromOntologyDocument(OWLOntologyDocumentSource, OWLOntologyLoaderConfiguration)}
+     * method is called by the {@code executor}.
+     * For a non-concurrent manager, the caller must not use the manager until the returned future is completed.
+     *
+     * @param source   {@link OWLOntologyDocumentSource}, not {@code null}
+     * @param conf     {@link OntLoaderConfiguration}, not {@code null}
+     * @param executor {@link Executor} to run the loading, not {@code null}
+     * @return {@link CompletableFuture} with the loaded {@link Ontology}, which is completed exceptionally
+     * with a {@link java.util.concurrent.CompletionException} wrapping an {@link OWLOntologyCreationException},
+     * if the ontology could not be loaded
+     * @see #loadOntologyFromOntologyDocument(OWLOntologyDocumentSource, OWLOntologyLoaderConfiguration)
+     * @since 4.0.1
+     */
+    CompletableFuture<Ontology> loadOntologyAsync(OWLOntologyDocumentSource source,
+                                                  OntLoaderConfiguration conf,
+                                                  Executor executor);
+
+    /**
+     * Sets an {@link Executor} to fan out closure-wide queries
+     * (such as {@code getAxiomCount(Imports.INCLUDED)}, {@code containsAxiom(axiom, Imports.INCLUDED, ...)}
+     * or {@code axioms(filter, key, Imports.INCLUDED)}) across the member ontologies of the imports closure.
+     * Each member is warmed and queried in a separate task, the results are combined in the closure order.
+     * The executor is used only by a {@link OntManagers#createConcurrentManager() concurrent} manager,
+     * since the members share manager-level caches; a non-concurrent manager always works sequentially.
+     *
+     * @param executor {@link Executor} or {@code null} to disable the fan-out
+     * @see #getImportsClosureExecutor()
+     * @since 4.0.1
+     */
+    void setImportsClosureExecutor(Executor executor);
+
+    /**
+     * Returns the {@link Executor} to fan out closure-wide queries.
+     *
+     * @return {@link Executor} or {@code null} if the fan-out is disabled, that is by default
+     * @see #setImportsClosureExecutor(Executor)
+     * @since 4.0.1
+     */
+    Executor getImportsClosureExecutor();
+
+    /**
+     * Sets a {@link TransformCache} to reuse the results of graph transformations.
+     * When the cache is set, the hash of each document read by Jena is computed while reading,
+     * and a standalone document (without {@code owl:imports}),
+     * that has already been transformed with the same {@link OntLoaderConfiguration#getGraphTransformers() transformers},
+     * is taken from the cache instead of running the transformations again.
+     * The same cache can be shared between several managers.
+     *
+     * @param cache {@link TransformCache} or {@code null} to disable caching
+     * @see #getTransformCache()
+     * @since 4.0.1
+     */
+    void setTransformCache(TransformCache cache);
+
+    /**
+     * Returns the {@link TransformCache} to reuse the results of graph transformations.
+     *
+     * @return {@link TransformCache} or {@code null} if caching is disabled, that is by default
+     * @see #setTransformCache(TransformCache)
+     * @since 4.0.1
+     */
+    TransformCache getTransformCache();
+
+    /**
+     * Sets a {@link SharedGraphRegistry} to share large read-only import graphs with other managers.
+     * When the registry is set, an import, that is {@link SharedGraphRegistry#share(String) marked as shareable}
+     * and is not yet present in this manager, is taken from the registry (or loaded into it),
+     * and attached read-only to this manager.
+     * The ontology over such a graph cannot be changed: any change results in an
+     * {@link org.semanticweb.owlapi.model.ImmutableOWLOntologyChangeException}.
+     * The reference to the shared graph is released when the ontology is removed from this manager.
+     *
+     * @param registry {@link SharedGraphRegistry}, e.g. {@link SharedGraphRegistry#get() the global one},
+     *                 or {@code null} to disable sharing
+     * @see #getSharedGraphRegistry()
+     * @since 4.0.1
+     */
+    void setSharedGraphRegistry(SharedGraphRegistry registry);
+
+    /**
+     * Returns the {@link SharedGraphRegistry} to share read-only import graphs.
+     *
+     * @return {@link SharedGraphRegistry} or {@code null} if sharing is disabled, that is by default
+     * @see #setSharedGraphRegistry(SharedGraphRegistry)
+     * @since 4.0.1
+     */
+    SharedGraphRegistry getSharedGraphRegistry();
+
+    /**
+     * Turns on or off the manager-wide {@link EntityUsageIndex inverted index} of entity usages,
+     * that is used by the method {@link #findEntityUsages(IRI)}.
+     * The index is built lazily from the content of the ontologies on the first query,
+     * then it is maintained incrementally through the axiom changes;
+     * the ontologies changed in any other way (e.g. directly through the graph) are reindexed on the next query.
+     *
+     * @param enabled {@code boolean}
+     * @see #isEntityUsageIndexEnabled()
+     * @since 4.0.1
+     */
+    void setEntityUsageIndexEnabled(boolean enabled);
+
+    /**
+     * Answers {@code true} if the manager-wide entity usage index is enabled.
+     *
+     * @return {@code boolean}, {@code false} by default
+     * @see #setEntityUsageIndexEnabled(boolean)
+     * @since 4.0.1
+     */
+    boolean isEntityUsageIndexEnabled();
+
+    /**
+     * Finds all the ontologies of this manager, that use the entity with the given IRI,
+     * together with the {@link EntityUsageIndex.Usage kinds of use}:
+     * whether the entity is declared, referenced in an axiom or an ontology annotation,
+     * or is the subject of an annotation assertion.
+     * If the {@link #setEntityUsageIndexEnabled(boolean) index is enabled} the answer is taken from it,
+     * otherwise each ontology is scanned.
+     *
+     * @param iri {@link IRI} of an entity, not {@code null}
+     * @return an unmodifiable {@code Map} with {@link Ontology}s as keys and {@link EntityUsageIndex.Usage}s as values
+     * @since 4.0.1
+     */
+    Map<Ontology, Set<EntityUsageIndex.Usage>> findEntityUsages(IRI iri);
+
+    /**
+     * Sets the annotation properties, whose literal values are indexed by the manager-wide
+     * {@link AnnotationLiteralIndex inverted index} to find annotated subjects by labels,
+     * see {@link #findAnnotationLiterals(String, String, AnnotationLiteralIndex.Match)}.
+     * The index is built lazily from the annotation assertions of the ontologies on the first query,
+     * then it is maintained incrementally through the axiom changes;
+     * the ontologies changed in any other way (e.g. directly through the graph) are reindexed on the next query.
+     *
+     * @param properties a {@code Collection} of annotation property {@link IRI}s
+     *                   (e.g. {@code rdfs:label} and {@code skos:prefLabel}),
+     *                   {@code null} or empty to disable the index
+     * @see #getAnnotationLiteralIndexProperties()
+     * @since 4.0.1
+     */
+    void setAnnotationLiteralIndexProperties(Collection<IRI> properties);
+
+    /**
+     * Returns the annotation properties, whose literal values are indexed.
+     *
+     * @return an unmodifiable {@code Set} of {@link IRI}s, empty if the index is disabled, that is by default
+     * @see #setAnnotationLiteralIndexProperties(Collection)
+     * @since 4.0.1
+     */
+    Set<IRI> getAnnotationLiteralIndexProperties();
+
+    /**
+     * Finds the annotation assertions in all ontologies of this manager, whose literal values match the given text.
+     * If the {@link #setAnnotationLiteralIndexProperties(Collection) index is enabled} the answer is taken from it,
+     * and only the indexed properties are taken into account,
+     * otherwise the annotation assertions with any property are scanned.
+     *
+     * @param text  {@code String}, the text to search, not {@code null}
+     * @param lang  {@code String}, a language tag, an empty string to find only literals without language tags,
+     *              or {@code null} to search in all languages
+     * @param match {@link AnnotationLiteralIndex.Match}, exact, case-insensitive or prefix, not {@code null}
+     * @return an unmodifiable {@code List} of {@link AnnotationLiteralIndex.Hit}s
+     * @since 4.0.1
+     */
+    List<AnnotationLiteralIndex.Hit> findAnnotationLiterals(String text,
+                                                           @Nullable String lang,
+                                                           AnnotationLiteralIndex.Match match);
+
     /**
      * Resolves the given IRI to the ontology if possible.
      * According to the specification,
@@ -17,16 +17,23 @@ package com.github.owlcs.ontapi;
 import com.github.owlcs.ontapi.config.OntConfig;
 import com.github.owlcs.ontapi.config.OntLoaderConfiguration;
 import com.github.owlcs.ontapi.config.OntWriterConfiguration;
+import com.github.owlcs.ontapi.internal.CacheBudget;
 import com.github.owlcs.ontapi.internal.InternalCache;
 import com.github.owlcs.ontapi.internal.InternalConfig;
 import com.github.owlcs.ontapi.internal.InternalGraphModel;
+import com.github.owlcs.ontapi.transforms.GraphTransformers;
+import com.github.owlcs.ontapi.transforms.TransformCache;
+import com.github.owlcs.ontapi.transforms.TransformException;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import org.apache.jena.graph.Graph;
+import org.apache.jena.graph.GraphListener;
 import org.apache.jena.graph.GraphUtil;
 import org.apache.jena.graph.Node;
+import org.apache.jena.graph.Triple;
 import org.apache.jena.graph.impl.WrappedGraph;
 import org.apache.jena.ontapi.UnionGraph;
+import org.apache.jena.ontapi.impl.GraphListenerBase;
 import org.apache.jena.ontapi.model.OntModel;
 import org.apache.jena.ontapi.utils.Graphs;
 import org.apache.jena.shared.PrefixMapping;
@@ -99,19 +106,26 @@ import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.io.Serial;
 import java.io.Serializable;
+import java.security.MessageDigest;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.function.Function;
@@ -141,6 +155,20 @@ public class OntologyManagerImpl
     protected OntWriterConfiguration writerConfig;
     // Loading Cache for IRIs, that is shared between ontologies that belong to this manager.
     protected transient InternalCache.Loading<String, IRI> iris;
+    // A budget for the content caches of all ontologies that belong to this manager (since 4.0.1).
+    protected transient CacheBudget budget;
+    // A counter of changes in the collection of ontologies, that may affect imports resolution (since 4.0.1).
+    protected final AtomicLong structureVersion = new AtomicLong();
+    // An executor to fan out closure-wide queries across the imports closure (since 4.0.1).
+    protected transient volatile Executor importsClosureExecutor;
+    // A cache of graph transformation results, that can be shared between managers (since 4.0.1).
+    protected transient volatile TransformCache transformCache;
+    // A registry of read-only graphs, that can be shared between managers (since 4.0.1).
+    protected transient volatile SharedGraphRegistry sharedGraphRegistry;
+    // An inverted index from entity IRIs to the ontologies that use them (since 4.0.1).
+    protected transient volatile EntityUsageIndex entityUsageIndex;
+    // An inverted index over the literal values of annotation assertions (since 4.0.1).
+    protected transient volatile AnnotationLiteralIndex annotationLiteralIndex;
     // OntologyFactory collection:
     protected final RWLockedCollection<OWLOntologyFactory> ontologyFactories;
     // IRI mappers
@@ -157,7 +185,11 @@ public class OntologyManagerImpl
     protected final Lock writeLock;
     protected final DataFactory dataFactory;
     // the collection of ontologies:
-    protected final OntologyCollection<OntInfo> content;
+    protected final OntologyCollectionImpl<OntInfo> content;
+    // secondary indexes over the collection of ontologies:
+    protected transient OntologyCollectionImpl<OntInfo>.Index<IRI> documentIRIs;
+    protected transient OntologyCollectionImpl<OntInfo>.Index<IRI> declarationIRIs;
+    protected transient OntologyCollectionImpl<OntInfo>.Index<Graph> baseGraphs;
 
     /**
      * Constructs the ready-to-use manager instance.
@@ -215,12 +247,24 @@ public class OntologyManagerImpl
         };
         this.parserFactories = new RWLockedCollection<>(this.lock, sorting);
         this.ontologyStorers = new RWLockedCollection<>(this.lock, sorting);
-        this.content = new OntologyCollectionImpl<>(this.lock);
+        this.content = new OntologyCollectionImpl<>(this.lock, true);
+        initIndexes();
         this.iris = createIRICache();
+        this.budget = createCacheBudget();
         this.readLock = this.lock.readLock();
         this.writeLock = this.lock.writeLock();
     }
 
+    /**
+     * Creates secondary indexes over the {@link #content} collection.
+     * Ontology IRI and version IRI indexes are provided by the collection itself.
+     */
+    protected void initIndexes() {
+        this.documentIRIs = content.createIndex(OntInfo::getDocumentIRI);
+        this.declarationIRIs = content.createIndex(OntInfo::getImportDeclaration);
+        this.baseGraphs = content.createIndex(OntInfo::getBaseGraph);
+    }
+
     @Override
     public OWLAdapter getAdapter() {
         return OWLAdapter.get();
@@ -241,6 +285,18 @@ public class OntologyManagerImpl
         return InternalCache.createBounded(IRI::create, NoOpReadWriteLock.isConcurrent(lock), size);
     }
 
+    /**
+     * Creates a {@link CacheBudget} that is shared between all ontologies of this manager.
+     * The limit is read from the current {@link #config}, so it can be changed at any time.
+     *
+     * @return {@link CacheBudget}
+     * @see OntConfig#getManagerContentCacheBudget()
+     * @since 4.0.1
+     */
+    protected CacheBudget createCacheBudget() {
+        return new CacheBudget(() -> this.config.getManagerContentCacheBudget());
+    }
+
     /**
      * Answers {@code true} if this manager must be thread-safe.
      *
@@ -626,7 +682,7 @@ public class OntologyManagerImpl
         if (doc == null) {
             throw new OWLOntologyCreationException("Can't compute document iri from id " + id);
         }
-        if (content.values().anyMatch(o -> Objects.equals(o.getDocumentIRI(), doc))) {
+        if (documentIRIs.get(doc).isPresent()) {
             throw new OWLOntologyDocumentAlreadyExistsException(doc);
         }
         for (OWLOntologyFactory factory : getOntologyFactories()) {
@@ -634,7 +690,9 @@ public class OntologyManagerImpl
                 continue;
             }
             getAdapter().asONT(factory).createOntology(this, id);
-            return content.get(id).orElseThrow(() -> new UnknownOWLOntologyException(id)).addDocumentIRI(doc);
+            OntInfo res = content.get(id).orElseThrow(() -> new UnknownOWLOntologyException(id)).addDocumentIRI(doc);
+            structureVersion.incrementAndGet();
+            return res;
         }
         throw new OWLOntologyFactoryNotFoundException(doc);
     }
@@ -656,7 +714,7 @@ public class OntologyManagerImpl
                 throw new OWLOntologyAlreadyExistsException(id);
             }
             Ontology res = createOntology(iri);
-            addAxioms(res, ontologies.flatMap(o -> copyLogicalAxiomsOnly ? o.logicalAxioms() : o.axioms()));
+            addAxiomsToNewOntology(res, ontologies.flatMap(o -> copyLogicalAxiomsOnly ? o.logicalAxioms() : o.axioms()));
             return res;
         } catch (OWLOntologyAlreadyExistsException e) {
             throw new OntApiException("Unable to create ontology " + iri, e);
@@ -679,7 +737,7 @@ public class OntologyManagerImpl
                 throw new OWLOntologyAlreadyExistsException(id);
             }
             Ontology ont = createOntology(iri);
-            addAxioms(ont, axioms);
+            addAxiomsToNewOntology(ont, axioms);
             return ont;
         } catch (OWLOntologyAlreadyExistsException e) {
             throw new OntApiException("Unable to create ontology " + iri, e);
@@ -688,6 +746,29 @@ public class OntologyManagerImpl
         }
     }
 
+    /**
+     * Fills the freshly created ontology with the given axioms.
+     * If nobody is listening to the changes, the axioms are written in bulk
+     * (see {@link InternalGraphModel#addAll(java.util.Collection)}),
+     * which is much faster than applying the {@link AddAxiom} changes one by one.
+     * Otherwise, or if some axiom is not applicable (so that the changes would be rolled back),
+     * the standard {@link #addAxioms(OWLOntology, Stream)} method is used.
+     *
+     * @param ont    {@link Ontology}, a new ontology from this manager, not {@code null}
+     * @param axioms {@code Stream} of {@link OWLAxiom}s
+     */
+    protected void addAxiomsToNewOntology(Ontology ont, Stream<? extends OWLAxiom> axioms) {
+        List<OWLAxiom> list = axioms.collect(Collectors.toList());
+        ModelConfig conf = content.get(ont.getOntologyID()).map(OntInfo::getModelConfig)
+                .orElseThrow(OntApiException.IllegalState::new);
+        if (listeners.hasChangeListeners() || !conf.useContentCache() || !(ont instanceof OWLMutableOntology)
+                || !conf.isLoadAnnotationAxioms() && list.stream().anyMatch(x -> x instanceof OWLAnnotationAxiom)) {
+            addAxioms(ont, list.stream());
+            return;
+        }
+        getAdapter().asBaseModel(ont).getBaseGraphModel().addAll(list);
+    }
+
     /**
      * @param graph {@link Graph}
      * @param conf  {@link OntLoaderConfiguration} the config with settings
@@ -810,7 +891,10 @@ public class OntologyManagerImpl
             ID id = ID.create(Objects.requireNonNull(iri));
             Optional<OntInfo> res = content.get(id);
             if (res.isEmpty()) {
-                res = content.values().filter(e -> e.getOntologyID().match(iri)).findFirst();
+                res = content.findByOntologyIRI(iri).findFirst();
+            }
+            if (res.isEmpty()) {
+                res = content.findByVersionIRI(iri).findFirst();
             }
             return res.map(OntInfo::get).orElse(null);
         } finally {
@@ -845,7 +929,7 @@ public class OntologyManagerImpl
         Optional<OntInfo> res = content.get(id);
         if (res.isEmpty() && !id.isAnonymous()) {
             IRI iri = id.getOntologyIRI().orElseThrow(() -> new IllegalStateException("Should never happen."));
-            res = content.values().filter(e -> e.getOntologyID().matchOntology(iri)).findFirst();
+            res = content.findByOntologyIRI(iri).findFirst();
         }
         return res.map(OntInfo::get);
     }
@@ -857,6 +941,14 @@ public class OntologyManagerImpl
      * @return Optional around {@link Ontology}
      */
     protected Optional<Ontology> ontology(Graph graph) {
+        Optional<OntInfo> res = baseGraphs.get(graph);
+        if (res.isEmpty() && graph instanceof UnionGraph) {
+            res = baseGraphs.get(((UnionGraph) graph).getBaseGraph());
+        }
+        if (res.isPresent()) {
+            return res.map(OntInfo::get);
+        }
+        // some other wrapper
         return content.values().map(OntInfo::get)
                 .filter(m -> Graphs.isSameBase(graph, m.asGraphModel().getGraph()))
                 .findFirst();
@@ -871,7 +963,8 @@ public class OntologyManagerImpl
         OntApiException.notNull(iri, "Ontology IRI cannot be null");
         readLock.lock();
         try {
-            return content.keys().anyMatch(o -> o.match(iri));
+            return content.findByOntologyIRI(iri).findFirst().isPresent()
+                    || content.findByVersionIRI(iri).findFirst().isPresent();
         } finally {
             readLock.unlock();
         }
@@ -885,7 +978,11 @@ public class OntologyManagerImpl
     public boolean contains(@Nonnull OWLOntologyID id) {
         readLock.lock();
         try {
-            return !id.isAnonymous() && (content.contains(id) || content.keys().anyMatch(id::match));
+            if (id.isAnonymous()) {
+                return false;
+            }
+            IRI iri = id.getOntologyIRI().orElseThrow(() -> new IllegalStateException("Should never happen."));
+            return content.contains(id) || content.findByOntologyIRI(iri).map(OntInfo::getOntologyID).anyMatch(id::match);
         } finally {
             readLock.unlock();
         }
@@ -923,7 +1020,7 @@ public class OntologyManagerImpl
     public boolean containsVersion(@Nonnull IRI iri) {
         readLock.lock();
         try {
-            return content.keys().anyMatch(o -> o.matchVersion(iri));
+            return content.findByVersionIRI(iri).findFirst().isPresent();
         } finally {
             readLock.unlock();
         }
@@ -949,7 +1046,11 @@ public class OntologyManagerImpl
     public void removeOntology(@Nonnull OWLOntologyID id) {
         writeLock.lock();
         try {
-            content.remove(id).map(OntInfo::getModelConfig).ifPresent(x -> x.setManager(null));
+            content.remove(id).ifPresent(info -> {
+                removeFromIndexes(info.get());
+                info.detach();
+            });
+            structureVersion.incrementAndGet();
         } finally {
             writeLock.unlock();
         }
@@ -963,13 +1064,27 @@ public class OntologyManagerImpl
         writeLock.lock();
         try {
             listeners.clear();
-            content.values().map(OntInfo::getModelConfig).forEach(x -> x.setManager(null));
+            content.values().forEach(OntInfo::detach);
             content.clear();
+            Stream.of(entityUsageIndex, annotationLiteralIndex)
+                    .filter(Objects::nonNull)
+                    .forEach(BaseOntologyIndex::clear);
+            structureVersion.incrementAndGet();
         } finally {
             writeLock.unlock();
         }
     }
 
+    /**
+     * Drops the data of the removed ontology from the {@link EntityUsageIndex}
+     * and the {@link AnnotationLiteralIndex} if they are enabled.
+     *
+     * @param ont {@link Ontology}
+     */
+    protected void removeFromIndexes(Ontology ont) {
+        Stream.of(entityUsageIndex, annotationLiteralIndex).filter(Objects::nonNull).forEach(x -> x.remove(ont));
+    }
+
     /**
      * Original method's comment:
      * No such ontology has been loaded through an import declaration, but it might have been loaded manually.
@@ -996,7 +1111,11 @@ public class OntologyManagerImpl
      * @return Optional around the {@link Ontology}
      */
     protected Optional<Ontology> importedOntology(IRI declaration) {
-        return content.values()
+        return Stream.of(declarationIRIs.find(declaration),
+                        content.findByVersionIRI(declaration),
+                        content.findByOntologyIRI(declaration),
+                        documentIRIs.find(declaration))
+                .flatMap(Function.identity())
                 .filter(e -> e.hasImportDeclaration(declaration))
                 .map(OntInfo::get)
                 .findFirst();
@@ -1010,7 +1129,7 @@ public class OntologyManagerImpl
      * @see #documentIRIByOntology(OWLOntology)
      */
     protected Optional<Ontology> ontologyByDocumentIRI(IRI iri) {
-        return content.values().filter(o -> Objects.equals(iri, o.getDocumentIRI())).map(OntInfo::get).findFirst();
+        return documentIRIs.get(iri).map(OntInfo::get);
     }
 
     /**
@@ -1112,6 +1231,7 @@ public class OntologyManagerImpl
         writeLock.lock();
         try {
             content.add(new OntInfo(getAdapter().asONT(ont)));
+            structureVersion.incrementAndGet();
         } finally {
             writeLock.unlock();
         }
@@ -1233,7 +1353,7 @@ public class OntologyManagerImpl
     public Stream<OWLOntologyID> ontologyIDsByVersion(@Nonnull IRI iri) {
         readLock.lock();
         try {
-            return content.keys().filter(o -> o.matchVersion(iri)).map(OWLOntologyID.class::cast);
+            return content.findByVersionIRI(iri).map(OntInfo::getOntologyID).map(OWLOntologyID.class::cast);
         } finally {
             readLock.unlock();
         }
@@ -1389,7 +1509,8 @@ public class OntologyManagerImpl
         if (!isChangeApplicable(change)) {
             return ChangeApplied.UNSUCCESSFULLY;
         }
-        if (!(ont instanceof OWLMutableOntology)) {
+        if (!(ont instanceof OWLMutableOntology)
+                || ont.asGraphModel().getBaseGraph() instanceof SharedGraphRegistry.SharedGraph) {
             throw new ImmutableOWLOntologyChangeException(change.getChangeData(), owl.toString());
         }
 
@@ -1401,8 +1522,36 @@ public class OntologyManagerImpl
             }
         }
         Collection<OWLOntologyChange> relatedChanges = collectRelatedChanges(change);
+        ChangeApplied res = applyDirectChange(ont, change);
+        relatedChanges.forEach(c -> applyDirectChange(ont, c));
+        return res;
+    }
+
+    /**
+     * Applies the change to the ontology and reports it to
+     * the {@link EntityUsageIndex} and the {@link AnnotationLiteralIndex} if they are enabled.
+     *
+     * @param ont    {@link Ontology}
+     * @param change {@link OWLOntologyChange}
+     * @return {@link ChangeApplied}
+     */
+    protected ChangeApplied applyDirectChange(Ontology ont, OWLOntologyChange change) {
+        EntityUsageIndex usages = entityUsageIndex;
+        AnnotationLiteralIndex literals = annotationLiteralIndex;
+        if (usages == null && literals == null) {
+            return ont.applyDirectChange(change);
+        }
+        long stamp = usages != null ? usages.stamp(ont) : literals.stamp(ont);
         ChangeApplied res = ont.applyDirectChange(change);
-        relatedChanges.forEach(ont::applyDirectChange);
+        if (res != ChangeApplied.SUCCESSFULLY) {
+            return res;
+        }
+        if (usages != null) {
+            usages.changed(ont, change, stamp);
+        }
+        if (literals != null) {
+            literals.changed(ont, change, stamp);
+        }
         return res;
     }
 
@@ -1521,6 +1670,61 @@ public class OntologyManagerImpl
         }
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * @param source {@link OWLOntology}
+     * @return {@link Ontology}
+     */
+    @Override
+    public Ontology forkOntology(@Nonnull OWLOntology source) {
+        OntApiException.notNull(source, "Null source ontology.");
+        if (!(source instanceof Ontology)) {
+            return copyOntology(source, OntologyCopy.DEEP);
+        }
+        // the source is frozen under the lock of its own manager, which is released before this manager is locked,
+        // so two managers that fork from each other cannot deadlock
+        Lock sourceLock = getReadLock(source);
+        InternalGraphModel src;
+        OverlayGraph graph;
+        long stamp;
+        sourceLock.lock();
+        try {
+            src = getAdapter().asBaseModel((Ontology) source).getBaseGraphModel();
+            stamp = src.getModificationCount();
+            graph = OverlayGraph.create(src.getBaseGraph());
+        } finally {
+            sourceLock.unlock();
+        }
+        writeLock.lock();
+        try {
+            OWLOntologyID id = source.getOntologyID();
+            if (contains(id)) {
+                throw new OntApiException("The manager already contains an ontology with the id " + id +
+                        ": a fork has the same id as its source, so it must be created in another manager");
+            }
+            Ontology res = addOntology(graph,
+                    getOntologyLoaderConfiguration().setPerformTransformation(false).setProcessImports(false));
+            syncImports();
+            getAdapter().asBaseModel(res).getBaseGraphModel().setContentSource(src, stamp, sourceLock);
+            return res;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Returns the read lock of the manager, which the given ontology belongs to.
+     *
+     * @param ontology {@link OWLOntology}, not {@code null}
+     * @return {@link Lock}, a no-op lock if the ontology does not belong to a concurrent ONT-API manager
+     */
+    protected static Lock getReadLock(OWLOntology ontology) {
+        OWLOntologyManager m = ontology.getOWLOntologyManager();
+        return m instanceof OntologyManagerImpl ?
+                ((OntologyManagerImpl) m).lock.readLock() : NoOpReadWriteLock.NO_OP_LOCK;
+    }
+
     /**
      * @param source {@link IRI}
      * @return {@link Ontology}
@@ -1700,6 +1904,7 @@ public class OntologyManagerImpl
                 Ontology m = loadImports(dec, conf);
                 if (m != null) {
                     content.get(m.getOntologyID()).ifPresent(i -> i.addImportDeclaration(dec));
+                    structureVersion.incrementAndGet();
                 }
             } catch (OWLOntologyCreationException e) {
                 throw new UnloadableImportException(e, declaration);
@@ -1741,14 +1946,373 @@ public class OntologyManagerImpl
     public void saveOntology(@Nonnull OWLOntology ontology,
                              @Nonnull OWLDocumentFormat ontologyFormat,
                              @Nonnull OWLOntologyDocumentTarget documentTarget) throws OWLOntologyStorageException {
+        Graph snapshot;
+        readLock.lock();
+        try {
+            // for a concurrent manager the lock is held only while taking the snapshot, if the snapshot is cheap;
+            // otherwise the ontology is written under the lock, copying the whole graph is not worth it
+            snapshot = isConcurrent() && ontology instanceof Ontology
+                    && OntGraphUtils.hasCheapSnapshot(((Ontology) ontology).asGraphModel().getBaseGraph()) ?
+                    takeSnapshot(ontology, ontologyFormat) : null;
+            if (snapshot == null) {
+                write(ontology, ontologyFormat, documentTarget);
+                return;
+            }
+        } finally {
+            readLock.unlock();
+        }
+        writeSnapshot(snapshot, ontologyFormat, documentTarget);
+    }
+
+    /**
+     * Saves the ontology in the background.
+     * A consistent snapshot of the ontology graph is taken under the read lock,
+     * which is released before the serialization starts.
+     * Formats that are not supported by Jena are written using {@link OWLStorer}s,
+     * which require the ontology itself, so in this case the read lock is held during the writing.
+     *
+     * @param ontology       {@link OWLOntology}
+     * @param ontologyFormat {@link OWLDocumentFormat}
+     * @param documentTarget {@link OWLOntologyDocumentTarget}
+     * @return {@link CompletableFuture}
+     */
+    @Override
+    public CompletableFuture<Void> saveOntologyAsync(@Nonnull OWLOntology ontology,
+                                                     @Nonnull OWLDocumentFormat ontologyFormat,
+                                                     @Nonnull OWLOntologyDocumentTarget documentTarget) {
+        return saveOntologyAsync(ontology, ontologyFormat, documentTarget, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Saves the ontology asynchronously using the given executor.
+     * The read lock is held only while taking a snapshot of the base graph,
+     * see {@link #saveOntologyAsync(OWLOntology, OWLDocumentFormat, OWLOntologyDocumentTarget)}.
+     *
+     * @param ontology       {@link OWLOntology}
+     * @param ontologyFormat {@link OWLDocumentFormat}
+     * @param documentTarget {@link OWLOntologyDocumentTarget}
+     * @param executor       {@link Executor}
+     * @return {@link CompletableFuture}
+     */
+    @Override
+    public CompletableFuture<Void> saveOntologyAsync(@Nonnull OWLOntology ontology,
+                                                     @Nonnull OWLDocumentFormat ontologyFormat,
+                                                     @Nonnull OWLOntologyDocumentTarget documentTarget,
+                                                     @Nonnull Executor executor) {
+        Objects.requireNonNull(executor, "Null executor");
+        Graph snapshot;
+        readLock.lock();
+        try {
+            snapshot = takeSnapshot(ontology, ontologyFormat);
+        } catch (RuntimeException ex) {
+            return CompletableFuture.failedFuture(ex);
+        } finally {
+            readLock.unlock();
+        }
+        return CompletableFuture.runAsync(() -> {
+            try {
+                if (snapshot != null) {
+                    writeSnapshot(snapshot, ontologyFormat, documentTarget);
+                } else {
+                    saveOntology(ontology, ontologyFormat, documentTarget);
+                }
+            } catch (OWLOntologyStorageException e) {
+                throw new CompletionException(e);
+            }
+        }, executor);
+    }
+
+    /**
+     * Loads an ontology asynchronously.
+     * The document is parsed (and transformed, if it has no imports) by the executor without any lock,
+     * then the ready graph is registered under the write lock,
+     * see {@link #loadOntologyAsync(OWLOntologyDocumentSource, OntLoaderConfiguration, Executor)}.
+     *
+     * @param source   {@link OWLOntologyDocumentSource}
+     * @param conf     {@link OntLoaderConfiguration}
+     * @param executor {@link Executor}
+     * @return {@link CompletableFuture}
+     */
+    @Override
+    public CompletableFuture<Ontology> loadOntologyAsync(@Nonnull OWLOntologyDocumentSource source,
+                                                         @Nonnull OntLoaderConfiguration conf,
+                                                         @Nonnull Executor executor) {
+        Objects.requireNonNull(source, "Null source");
+        Objects.requireNonNull(conf, "Null config");
+        Objects.requireNonNull(executor, "Null executor");
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return loadAsyncTask(source, conf);
+            } catch (OWLOntologyCreationException e) {
+                throw new CompletionException(e);
+            }
+        }, executor);
+    }
+
+    /**
+     * Performs the loading on behalf of the async API.
+     * The parsing and transformations go without lock, only the final registration is under the write lock.
+     * If the source cannot be read by Jena, the standard (fully locked) loading is used.
+     *
+     * @param source {@link OWLOntologyDocumentSource}
+     * @param conf   {@link OntLoaderConfiguration}
+     * @return {@link Ontology}
+     * @throws OWLOntologyCreationException if the ontology could not be loaded
+     */
+    protected Ontology loadAsyncTask(OWLOntologyDocumentSource source,
+                                     OntLoaderConfiguration conf) throws OWLOntologyCreationException {
+        OntologyCreator builder = source instanceof OntGraphDocumentSource || conf.isUseOWLParsersToLoad() ?
+                null : findOntologyBuilder(source);
+        if (builder == null) {
+            return loadOntologyFromOntologyDocument(source, conf);
+        }
+        Graph graph = builder.createDataGraph(conf);
+        try {
+            return loadAsyncTask(source, conf, builder, graph);
+        } catch (OWLOntologyCreationException | RuntimeException ex) {
+            // if the graph is not attached to the manager, and it holds files, they must be released
+            OntGraphUtils.discardTemporary(graph);
+            throw ex;
+        }
+    }
+
+    private Ontology loadAsyncTask(OWLOntologyDocumentSource source,
+                                   OntLoaderConfiguration conf,
+                                   OntologyCreator builder,
+                                   Graph graph) throws OWLOntologyCreationException {
+        TransformCache cache = conf.isPerformTransformation() ? getTransformCache() : null;
+        MessageDigest digest = cache != null ? TransformCache.newDigest() : null;
+        GraphTransformers transformers = conf.getGraphTransformers();
+        String hash = null;
+        OntFormat format = null;
+        if (digest != null && OntGraphUtils.updateDigest(digest, source, conf)) {
+            // the document can be read twice, so a cache hit saves parsing
+            hash = TransformCache.toHash(digest);
+            format = OntologyLoaderImpl.applyCachedTransforms(cache, hash, source, transformers, graph);
+        }
+        // only graphs without imports are cached, so a hit needs no further checks
+        boolean fromCache = format != null;
+        if (!fromCache) {
+            try {
+                format = OntGraphUtils.readGraph(graph, source, conf, hash == null ? digest : null);
+            } catch (OntologyFactoryImpl.UnsupportedFormatException jenaEx) {
+                // try OWL-API parsers
+                OntGraphUtils.discardTemporary(graph);
+                return loadOntologyFromOntologyDocument(source, conf);
+            }
+            if (digest != null && hash == null) {
+                hash = TransformCache.toHash(digest);
+            }
+        }
+        // a graph with imports is transformed together with its closure, which is only known under the lock
+        boolean transformed = conf.isPerformTransformation() && Graphs.getImports(graph, true).isEmpty();
+        if (!transformed) {
+            hash = null;
+        } else if (!fromCache && hash != null) {
+            fromCache = cache.apply(hash, format, transformers, graph);
+        }
+        if (graph instanceof CompactGraph) {
+            ((CompactGraph) graph).compact();
+        } else if (graph instanceof MappedGraph) {
+            ((MappedGraph) graph).flush();
+        }
+        if (transformed && !fromCache) {
+            try {
+                transformers.transform(builder.createUnionGraph(graph, conf), new HashSet<>());
+            } catch (TransformException t) {
+                throw new OntologyFactoryImpl.OWLTransformException(t);
+            }
+            if (hash != null) {
+                cache.put(hash, format, transformers, graph);
+            }
+        }
+        IRI doc = source.getDocumentIRI();
+        return loadOntologyFromOntologyDocument(new OntGraphDocumentSourceImpl() {
+            @Override
+            public Graph getGraph() {
+                return graph;
+            }
+
+            @Override
+            public IRI getDocumentIRI() {
+                return doc;
+            }
+
+            @Override
+            public OntFormat getOntFormat() {
+                return format;
+            }
+
+            @Override
+            public boolean withTransforms() {
+                return !transformed;
+            }
+        }, conf);
+    }
+
+    /**
+     * Finds the first ONT-API {@link OntologyCreator builder} that can load the given source.
+     *
+     * @param source {@link OWLOntologyDocumentSource}
+     * @return {@link OntologyCreator} or {@code null} if there is no suitable ONT-API factory
+     */
+    protected OntologyCreator findOntologyBuilder(OWLOntologyDocumentSource source) {
+        for (OWLOntologyFactory factory : getOntologyFactories()) {
+            if (factory instanceof OntologyFactory && factory.canAttemptLoading(source)) {
+                return ((OntologyFactory) factory).getBuilder();
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public void setImportsClosureExecutor(Executor executor) {
+        this.importsClosureExecutor = executor;
+    }
+
+    @Override
+    public Executor getImportsClosureExecutor() {
+        return importsClosureExecutor;
+    }
+
+    @Override
+    public void setTransformCache(TransformCache cache) {
+        this.transformCache = cache;
+    }
+
+    @Override
+    public TransformCache getTransformCache() {
+        return transformCache;
+    }
+
+    @Override
+    public void setSharedGraphRegistry(SharedGraphRegistry registry) {
+        this.sharedGraphRegistry = registry;
+    }
+
+    @Override
+    public SharedGraphRegistry getSharedGraphRegistry() {
+        return sharedGraphRegistry;
+    }
+
+    @Override
+    public void setEntityUsageIndexEnabled(boolean enabled) {
+        writeLock.lock();
+        try {
+            if (!enabled) {
+                entityUsageIndex = null;
+            } else if (entityUsageIndex == null) {
+                entityUsageIndex = new EntityUsageIndex(() -> content.values().map(OntInfo::get),
+                        structureVersion::get);
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public boolean isEntityUsageIndexEnabled() {
+        return entityUsageIndex != null;
+    }
+
+    @Override
+    public Map<Ontology, Set<EntityUsageIndex.Usage>> findEntityUsages(IRI iri) {
+        Objects.requireNonNull(iri, "Null IRI");
+        readLock.lock();
+        try {
+            EntityUsageIndex index = entityUsageIndex;
+            if (index != null) {
+                return index.find(iri);
+            }
+            Map<Ontology, Set<EntityUsageIndex.Usage>> res = new LinkedHashMap<>();
+            content.values().map(OntInfo::get).forEach(o -> {
+                Set<EntityUsageIndex.Usage> found = EntityUsageIndex.findUsages(o, iri);
+                if (!found.isEmpty()) {
+                    res.put(o, found);
+                }
+            });
+            return Collections.unmodifiableMap(res);
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    @Override
+    public void setAnnotationLiteralIndexProperties(Collection<IRI> properties) {
+        writeLock.lock();
+        try {
+            if (properties == null || properties.isEmpty()) {
+                annotationLiteralIndex = null;
+            } else if (annotationLiteralIndex == null
+                    || !annotationLiteralIndex.getProperties().equals(Set.copyOf(properties))) {
+                annotationLiteralIndex = new AnnotationLiteralIndex(properties,
+                        () -> content.values().map(OntInfo::get), structureVersion::get);
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public Set<IRI> getAnnotationLiteralIndexProperties() {
+        AnnotationLiteralIndex index = annotationLiteralIndex;
+        return index == null ? Set.of() : index.getProperties();
+    }
+
+    @Override
+    public List<AnnotationLiteralIndex.Hit> findAnnotationLiterals(String text,
+                                                                  String lang,
+                                                                  AnnotationLiteralIndex.Match match) {
+        Objects.requireNonNull(text, "Null text");
+        Objects.requireNonNull(match, "Null match");
         readLock.lock();
         try {
-            write(ontology, ontologyFormat, documentTarget);
+            AnnotationLiteralIndex index = annotationLiteralIndex;
+            if (index != null) {
+                return index.find(text, lang, match);
+            }
+            return content.values().map(OntInfo::get)
+                    .flatMap(o -> AnnotationLiteralIndex.findHits(o, text, lang, match))
+                    .collect(Collectors.toUnmodifiableList());
         } finally {
             readLock.unlock();
         }
     }
 
+    /**
+     * Takes a consistent snapshot of the ontology base graph to write it without holding any lock.
+     * The method must be called under the read lock.
+     *
+     * @param ontology {@link OWLOntology}
+     * @param doc      {@link OWLDocumentFormat} format
+     * @return {@link Graph} with prefixes from the format,
+     * or {@code null} if the format is not supported by Jena, or the ontology is not an ONT-API ontology
+     */
+    protected Graph takeSnapshot(OWLOntology ontology, OWLDocumentFormat doc) {
+        if (!(ontology instanceof Ontology ont)) {
+            return null;
+        }
+        OntFormat format = OntFormat.get(doc);
+        if (format == null || !format.isJena()) {
+            return null;
+        }
+        return withPrefixes(OntGraphUtils.snapshot(ont.asGraphModel().getBaseGraph()), doc);
+    }
+
+    /**
+     * Writes the snapshot obtained from the method {@link #takeSnapshot(OWLOntology, OWLDocumentFormat)}.
+     *
+     * @param snapshot {@link Graph}
+     * @param doc      {@link OWLDocumentFormat} format
+     * @param target   {@link OWLOntologyDocumentTarget}
+     * @throws OWLOntologyStorageException if the ontology could not be saved
+     */
+    protected void writeSnapshot(Graph snapshot,
+                                 OWLDocumentFormat doc,
+                                 OWLOntologyDocumentTarget target) throws OWLOntologyStorageException {
+        OntGraphUtils.writeGraph(snapshot, OntFormat.get(doc).getLang(), target);
+    }
+
     /**
      * Writes the specified ontology to the specified output target in the specified ontology format.
      * It is a functional equivalent of the method
@@ -1817,7 +2381,10 @@ public class OntologyManagerImpl
     }
 
     protected static Graph getBaseGraphWithPrefixes(Ontology ont, OWLDocumentFormat doc) {
-        Graph graph = ont.asGraphModel().getBaseGraph();
+        return withPrefixes(ont.asGraphModel().getBaseGraph(), doc);
+    }
+
+    protected static Graph withPrefixes(Graph graph, OWLDocumentFormat doc) {
         if (!doc.isPrefixOWLDocumentFormat()) {
             return graph;
         }
@@ -1847,6 +2414,7 @@ public class OntologyManagerImpl
     private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
         in.defaultReadObject();
         this.iris = createIRICache();
+        this.budget = createCacheBudget();
         this.content.values().forEach(info -> {
             ModelConfig conf = info.getModelConfig();
             BaseOntologyModel bm = getAdapter().asBaseModel(info.get());
@@ -1873,7 +2441,9 @@ public class OntologyManagerImpl
             InternalGraphModel internalModel = BaseOntologyModel.createInternalGraphModel(union, conf.getSpecification(), conf,
                     getOWLDataFactory(), conf.getManagerCaches());
             bm.setBaseGraphModel(internalModel);
+            info.attach();
         });
+        initIndexes();
     }
 
     /**
@@ -2030,6 +2600,19 @@ public class OntologyManagerImpl
             fireFinishedLoadingEvent(id, doc, loadCount.get() > 0, ex);
         }
 
+        /**
+         * Answers {@code true} if there is a listener interested in the ontology changes.
+         *
+         * @return boolean
+         */
+        protected boolean hasChangeListeners() {
+            if (!broadcastChanges.get()) {
+                return false;
+            }
+            return !progressListeners.isEmpty() || !listenerMap.isEmpty()
+                    || !impendingChangeListenerMap.isEmpty() || !vetoListeners.isEmpty();
+        }
+
         protected void fireBeginChanges(int size) {
             if (!broadcastChanges.get()) {
                 return;
@@ -2165,11 +2748,44 @@ public class OntologyManagerImpl
         protected IRI documentIRI;
         protected IRI declarationIRI;
         protected OWLDocumentFormat format;
+        protected transient GraphListener listener;
 
         public OntInfo(@Nonnull Ontology ont) throws ClassCastException {
             this.ont = Objects.requireNonNull(ont);
             OWLAdapter adapter = getAdapter();
             this.conf = Objects.requireNonNull(adapter.asModelConfig(adapter.asBaseModel(ont).getConfig()));
+            attach();
+            if (getBaseGraph() instanceof MappedGraph) {
+                // the graph can be shared with other ontologies (e.g. a shallow copy)
+                ((MappedGraph) getBaseGraph()).retain();
+            }
+        }
+
+        /**
+         * Starts tracking the base graph:
+         * any change in it (including {@link SetOntologyID} and direct jena modifications)
+         * makes this container to be re-indexed in the manager's collection.
+         */
+        protected void attach() {
+            this.listener = new ChangesListener();
+            getBaseGraph().getEventManager().register(listener);
+        }
+
+        /**
+         * Stops tracking the base graph and releases the reference to the manager.
+         */
+        protected void detach() {
+            conf.setManager(null);
+            if (listener != null) {
+                getBaseGraph().getEventManager().unregister(listener);
+                listener = null;
+            }
+            if (getBaseGraph() instanceof SharedGraphRegistry.SharedGraph) {
+                ((SharedGraphRegistry.SharedGraph) getBaseGraph()).release();
+            } else {
+                // a disk-backed graph, created by the manager, holds mapped files until the last holder is gone
+                OntGraphUtils.releaseTemporary(getBaseGraph());
+            }
         }
 
         @Override
@@ -2188,11 +2804,13 @@ public class OntologyManagerImpl
 
         public OntInfo addDocumentIRI(IRI iri) {
             this.documentIRI = Objects.requireNonNull(iri);
+            content.markChanged(this);
             return this;
         }
 
         public OntInfo addImportDeclaration(IRI declaration) {
             this.declarationIRI = Objects.requireNonNull(declaration);
+            content.markChanged(this);
             return this;
         }
 
@@ -2201,6 +2819,16 @@ public class OntologyManagerImpl
             return documentIRI;
         }
 
+        @Nullable
+        public IRI getImportDeclaration() {
+            return declarationIRI;
+        }
+
+        @Nonnull
+        public Graph getBaseGraph() {
+            return getAdapter().asBaseModel(ont).getBaseGraphModel().getBaseGraph();
+        }
+
         @Nullable
         public OWLDocumentFormat getFormat() {
             return format;
@@ -2220,10 +2848,41 @@ public class OntologyManagerImpl
                 // from specification:
                 // furthermore, if O is the current version of the ontology series with the IRI OI,
                 // then the ontology document of O should also be accessible via the IRI OI.
-                return OntologyManagerImpl.this.content.keys().filter(i -> i.matchOntology(iri)).count() == 1;
+                return OntologyManagerImpl.this.content.findByOntologyIRI(iri).count() == 1;
             }
             return Objects.equals(declaration, this.documentIRI);
         }
+
+        /**
+         * Marks the enclosing container as changed on any graph modification.
+         */
+        protected class ChangesListener extends GraphListenerBase {
+
+            @Override
+            protected void addTripleEvent(Graph g, Triple t) {
+                content.markChanged(OntInfo.this);
+            }
+
+            @Override
+            protected void deleteTripleEvent(Graph g, Triple t) {
+                content.markChanged(OntInfo.this);
+            }
+
+            @Override
+            public void notifyAddGraph(Graph g, Graph other) {
+                content.markChanged(OntInfo.this);
+            }
+
+            @Override
+            public void notifyDeleteGraph(Graph g, Graph other) {
+                content.markChanged(OntInfo.this);
+            }
+
+            @Override
+            public void notifyEvent(Graph source, Object value) {
+                content.markChanged(OntInfo.this);
+            }
+        }
     }
 
 }
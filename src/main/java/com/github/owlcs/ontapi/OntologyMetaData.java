@@ -193,7 +193,7 @@ public class OntologyMetaData implements OWLOntologyLoaderMetaData {
     }
 
     protected int calcTripleCount() {
-        return Graphs.isGraphMem(graph) ? graph.size() : -1;
+        return OntGraphUtils.isMemGraph(graph) ? graph.size() : -1;
     }
 
     @Override
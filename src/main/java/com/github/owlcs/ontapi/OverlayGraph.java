@@ -0,0 +1,163 @@
+/*
+ * This file is part of the ONT API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright (c) 2023, owl.cs group.
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package com.github.owlcs.ontapi;
+
+import org.apache.jena.graph.Graph;
+import org.apache.jena.graph.GraphEvents;
+import org.apache.jena.graph.GraphMemFactory;
+import org.apache.jena.graph.Triple;
+import org.apache.jena.graph.impl.GraphBase;
+import org.apache.jena.util.iterator.ExtendedIterator;
+
+import java.util.HashSet;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * A copy-on-write {@link Graph} implementation, that is a view over a base graph plus a mutable delta.
+ * <p>
+ * The base graph is treated as frozen: it is never changed through the overlay,
+ * the added triples are kept in a standard in-memory graph,
+ * and the deleted triples of the base are kept as a set.
+ * The delta and the base are disjoint, so the cost of any modification is constant,
+ * and the memory overhead is proportional to the size of the delta, not the whole graph.
+ * <p>
+ * The base must not be modified while the overlay is in use, otherwise the view becomes inconsistent:
+ * e.g. a triple, that is added to the base after it was deleted through the overlay, becomes visible.
+ * Therefore, the {@link #create(Graph)} method always freezes the given graph:
+ * a {@link CompactGraph} is replaced by its {@link CompactGraph#snapshot() snapshot},
+ * which is cheap (proportional to the size of its own delta),
+ * while any other graph is copied (see {@link OntGraphUtils#snapshot(Graph)}).
+ * So, creating an overlay is {@code O(1)} only for a {@link CompactGraph} base.
+ * The graph fires the standard events (through {@link GraphBase}),
+ * and, like the {@code GraphMem}, it is not thread-safe for modifications.
+ *
+ * @see OntologyManager#forkOntology(org.semanticweb.owlapi.model.OWLOntology)
+ * @since 4.0.1
+ */
+@SuppressWarnings("WeakerAccess")
+public class OverlayGraph extends GraphBase {
+    protected Graph base;
+    protected final Graph added = GraphMemFactory.createDefaultGraph();
+    protected final Set<Triple> deleted = new HashSet<>();
+
+    protected OverlayGraph(Graph base) {
+        this.base = Objects.requireNonNull(base);
+        getPrefixMapping().setNsPrefixes(base.getPrefixMapping());
+    }
+
+    /**
+     * Creates a copy-on-write view over the frozen state of the given graph.
+     * The caller is responsible for holding the read lock of the given graph while this method is running.
+     *
+     * @param base {@link Graph}, not {@code null}
+     * @return {@link OverlayGraph}
+     */
+    public static OverlayGraph create(Graph base) {
+        return new OverlayGraph(freeze(base));
+    }
+
+    /**
+     * Returns an immutable graph with the same content as the given one.
+     *
+     * @param graph {@link Graph}, not {@code null}
+     * @return {@link Graph}, either a read-only {@link CompactGraph} or a detached copy
+     */
+    protected static Graph freeze(Graph graph) {
+        if (graph instanceof CompactGraph && ((CompactGraph) graph).isReadOnly()) {
+            return graph;
+        }
+        return OntGraphUtils.snapshot(graph);
+    }
+
+    /**
+     * Returns the underlying (frozen) graph.
+     *
+     * @return {@link Graph}
+     */
+    public Graph getBase() {
+        return base;
+    }
+
+    /**
+     * Answers {@code true} if the overlay has been modified,
+     * i.e. its content differs from the content of the {@link #getBase() base}.
+     *
+     * @return boolean
+     */
+    public boolean isModified() {
+        return !added.isEmpty() || !deleted.isEmpty() || base == Graph.emptyGraph;
+    }
+
+    @Override
+    public void performAdd(Triple t) {
+        if (deleted.remove(t) || base.contains(t)) {
+            // either it is already present, or it is deleted from the base and therefore must be restored
+            return;
+        }
+        added.add(t);
+    }
+
+    @Override
+    public void performDelete(Triple t) {
+        if (added.contains(t)) {
+            added.delete(t);
+            return;
+        }
+        if (base.contains(t)) {
+            deleted.add(t);
+        }
+    }
+
+    @Override
+    protected ExtendedIterator<Triple> graphBaseFind(Triple pattern) {
+        ExtendedIterator<Triple> res = base.find(pattern);
+        if (!deleted.isEmpty()) {
+            res = res.filterDrop(deleted::contains);
+        }
+        if (added.isEmpty()) {
+            return res;
+        }
+        return res.andThen(added.find(pattern));
+    }
+
+    @Override
+    protected boolean graphBaseContains(Triple t) {
+        if (!t.isConcrete()) {
+            return super.graphBaseContains(t);
+        }
+        return added.contains(t) || !deleted.contains(t) && base.contains(t);
+    }
+
+    @Override
+    protected int graphBaseSize() {
+        return base.size() - deleted.size() + added.size();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return graphBaseSize() == 0;
+    }
+
+    @Override
+    public void clear() {
+        checkOpen();
+        // the base is not touched, it is just detached
+        base = Graph.emptyGraph;
+        added.clear();
+        deleted.clear();
+        getEventManager().notifyEvent(this, GraphEvents.removeAll);
+    }
+}
@@ -0,0 +1,271 @@
+/*
+ * This file is part of the ONT API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright (c) 2023, owl.cs group.
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package com.github.owlcs.ontapi;
+
+import com.github.owlcs.ontapi.config.OntLoaderConfiguration;
+import org.apache.jena.graph.Graph;
+import org.apache.jena.graph.Triple;
+import org.apache.jena.riot.Lang;
+import org.apache.jena.riot.RDFParser;
+import org.apache.jena.riot.lang.LabelToNode;
+import org.apache.jena.riot.system.StreamRDFBase;
+import org.apache.jena.sparql.core.Quad;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * A reader to load line-based RDF documents ({@link OntFormat#NTRIPLES N-Triples} and {@link OntFormat#NQUADS N-Quads})
+ * using several threads.
+ * The document is split into line-aligned chunks, each chunk is parsed in a separate task,
+ * and the results are inserted into the graph by the calling thread in the order of the chunks.
+ * The number of chunks in progress is bounded, so the whole document is never kept in memory.
+ * Local files are read through memory-mapped regions.
+ * All chunks share the same seed to allocate blank nodes,
+ * so the same label in different chunks produces the same blank node, i.e. labels are scoped by the document.
+ * Like the {@code RDFDataMgr}, only triples and quads from the default graph are loaded.
+ *
+ * @see OntLoaderConfiguration#getParallelReadThreads()
+ * @see OntLoaderConfiguration#getParallelReadChunkSize()
+ * @since 4.0.1
+ */
+final class ParallelLineReader {
+    private final Graph graph;
+    private final Lang lang;
+    private final int threads;
+    private final int chunkSize;
+    private final UUID seed = UUID.randomUUID();
+
+    ParallelLineReader(Graph graph, Lang lang, int threads, int chunkSize) {
+        this.graph = graph;
+        this.lang = lang;
+        this.threads = threads;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Answers {@code true} if the document of the specified format should be read in parallel.
+     *
+     * @param format {@link OntFormat}
+     * @param conf   {@link OntLoaderConfiguration}
+     * @return boolean
+     */
+    static boolean isSupported(OntFormat format, OntLoaderConfiguration conf) {
+        return (format == OntFormat.NTRIPLES || format == OntFormat.NQUADS) && conf.getParallelReadThreads() > 1;
+    }
+
+    /**
+     * Reads the local file, splitting it into memory-mapped regions.
+     *
+     * @param file {@link Path} to the uncompressed file
+     * @throws IOException if an I/O error occurs
+     */
+    void read(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            long[] position = {0};
+            process(() -> {
+                long from = position[0];
+                if (from >= size) {
+                    return null;
+                }
+                long end = Math.min(from + chunkSize, size);
+                if (end < size) {
+                    end = findLineEnd(channel, end, size);
+                }
+                long length = end - from;
+                position[0] = end;
+                return () -> {
+                    ByteBuffer region = channel.map(FileChannel.MapMode.READ_ONLY, from, length);
+                    byte[] res = new byte[(int) length];
+                    region.get(res);
+                    return res;
+                };
+            });
+        }
+    }
+
+    /**
+     * Reads the stream, splitting it into chunks.
+     *
+     * @param input {@link InputStream}
+     * @throws IOException if an I/O error occurs
+     */
+    void read(InputStream input) throws IOException {
+        InputStream in = new BufferedInputStream(input);
+        process(() -> {
+            byte[] res = readChunk(in);
+            return res == null ? null : () -> res;
+        });
+    }
+
+    private void process(Chunks chunks) throws IOException {
+        Deque<Future<List<Triple>>> queue = new ArrayDeque<>();
+        ExecutorService executor = createExecutor();
+        try {
+            Callable<byte[]> chunk;
+            while ((chunk = chunks.next()) != null) {
+                Callable<byte[]> data = chunk;
+                queue.add(executor.submit(() -> parse(data.call())));
+                if (queue.size() >= 2 * threads) {
+                    insert(queue.poll());
+                }
+            }
+            while (!queue.isEmpty()) {
+                insert(queue.poll());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private ExecutorService createExecutor() {
+        return Executors.newFixedThreadPool(threads, r -> {
+            Thread res = new Thread(r, "ont-api-parallel-reader");
+            res.setDaemon(true);
+            return res;
+        });
+    }
+
+    private void insert(Future<List<Triple>> future) {
+        List<Triple> triples;
+        try {
+            triples = future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new OntApiException("Interrupted while reading", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new OntApiException("Can't read chunk", cause);
+        }
+        triples.forEach(graph::add);
+    }
+
+    /**
+     * Parses the chunk.
+     *
+     * @param data a line-aligned chunk
+     * @return List of {@link Triple}s
+     */
+    private List<Triple> parse(byte[] data) {
+        List<Triple> res = new ArrayList<>();
+        RDFParser.source(new ByteArrayInputStream(data))
+                .lang(lang)
+                .labelToNode(LabelToNode.createScopeByDocumentHash(seed))
+                .parse(new StreamRDFBase() {
+                    @Override
+                    public void triple(Triple triple) {
+                        res.add(triple);
+                    }
+
+                    @Override
+                    public void quad(Quad quad) {
+                        if (quad.isTriple() || quad.isDefaultGraph()) {
+                            res.add(quad.asTriple());
+                        }
+                    }
+                });
+        return res;
+    }
+
+    /**
+     * Reads the next chunk from the stream, extending it to the end of line.
+     *
+     * @param in {@link InputStream}
+     * @return bytes or {@code null} if there is no more data
+     * @throws IOException if an I/O error occurs
+     */
+    private byte[] readChunk(InputStream in) throws IOException {
+        byte[] res = in.readNBytes(chunkSize);
+        if (res.length == 0) {
+            return null;
+        }
+        if (res.length < chunkSize || res[res.length - 1] == '\n') {
+            return res;
+        }
+        ByteArrayOutputStream tail = new ByteArrayOutputStream();
+        tail.write(res);
+        int b;
+        while ((b = in.read()) != -1) {
+            tail.write(b);
+            if (b == '\n') {
+                break;
+            }
+        }
+        return tail.toByteArray();
+    }
+
+    /**
+     * Finds the position after the nearest line end.
+     *
+     * @param channel  {@link FileChannel}
+     * @param position start position
+     * @param size     file size
+     * @return position
+     * @throws IOException if an I/O error occurs
+     */
+    private static long findLineEnd(FileChannel channel, long position, long size) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(8192);
+        long current = position;
+        while (current < size) {
+            buffer.clear();
+            int n = channel.read(buffer, current);
+            if (n <= 0) {
+                break;
+            }
+            for (int i = 0; i < n; i++) {
+                if (buffer.get(i) == '\n') {
+                    return current + i + 1;
+                }
+            }
+            current += n;
+        }
+        return size;
+    }
+
+    /**
+     * A source of chunks, each chunk is loaded in a worker thread.
+     */
+    @FunctionalInterface
+    private interface Chunks {
+        /**
+         * Returns the next chunk.
+         *
+         * @return {@link Callable} to get the bytes or {@code null} if there are no more chunks
+         * @throws IOException if an I/O error occurs
+         */
+        Callable<byte[]> next() throws IOException;
+    }
+}
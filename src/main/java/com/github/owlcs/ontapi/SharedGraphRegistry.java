@@ -0,0 +1,401 @@
+/*
+ * This file is part of the ONT API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright (c) 2023, owl.cs group.
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package com.github.owlcs.ontapi;
+
+import com.github.owlcs.ontapi.internal.InternalGraphModel;
+import org.apache.jena.graph.Graph;
+import org.apache.jena.graph.Node;
+import org.apache.jena.graph.Triple;
+import org.apache.jena.graph.impl.GraphBase;
+import org.apache.jena.shared.AddDeniedException;
+import org.apache.jena.shared.DeleteDeniedException;
+import org.apache.jena.util.iterator.ExtendedIterator;
+import org.semanticweb.owlapi.model.OWLOntologyCreationException;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A reference-counted registry of immutable graphs, that can be shared between several {@link OntologyManager}s.
+ * <p>
+ * It is intended for large reference ontologies, that are imported by many ontologies in many managers
+ * (e.g. one manager per tenant): instead of loading a separate copy of the graph (and building separate content caches)
+ * in each manager, the graph is loaded once and then attached read-only to each importing manager.
+ * Only the imports that are explicitly marked as {@link #share(String) shareable} are handled by the registry;
+ * the registry must be {@link OntologyManager#setSharedGraphRegistry(SharedGraphRegistry) set} to the managers.
+ * <p>
+ * Each manager gets its own {@link SharedGraph} view (with its own prefixes and event manager) over the same data,
+ * any attempt to modify the data is rejected.
+ * The first ontology, that is created over a shared graph, becomes a source of the warm content cache for the others,
+ * see {@link InternalGraphModel#setContentSource(InternalGraphModel, long, Lock)};
+ * its content is read under the read lock of its manager.
+ * When that ontology is removed, the role is handed over to the next ontology over the same graph.
+ * A shared graph is held by the registry while there is at least one ontology over it in some manager,
+ * when the last such ontology is removed, the graph is released and closed.
+ * <p>
+ * Note that a shared graph is loaded and transformed on its own,
+ * i.e. its transformations do not take into account the graphs it imports.
+ * Also note that the IRI mappers of the manager, that loads the graph first, are used.
+ *
+ * @see OntologyManager#setSharedGraphRegistry(SharedGraphRegistry)
+ * @since 4.0.1
+ */
+public class SharedGraphRegistry {
+    private static final SharedGraphRegistry INSTANCE = new SharedGraphRegistry();
+
+    protected final Set<String> shareable = ConcurrentHashMap.newKeySet();
+    protected final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    /**
+     * Returns the global (process-wide) registry.
+     *
+     * @return {@link SharedGraphRegistry}
+     */
+    public static SharedGraphRegistry get() {
+        return INSTANCE;
+    }
+
+    /**
+     * Marks the ontology as shareable.
+     *
+     * @param uri {@code String}, the ontology IRI as it appears in the {@code owl:imports} statements, not {@code null}
+     * @return this registry
+     */
+    public SharedGraphRegistry share(String uri) {
+        shareable.add(Objects.requireNonNull(uri));
+        return this;
+    }
+
+    /**
+     * Removes the shareable mark from the ontology.
+     * The already loaded graph remains shared until it is released by all the managers.
+     *
+     * @param uri {@code String} the ontology IRI, not {@code null}
+     * @return this registry
+     */
+    public SharedGraphRegistry unshare(String uri) {
+        shareable.remove(Objects.requireNonNull(uri));
+        return this;
+    }
+
+    /**
+     * Answers {@code true} if the ontology is marked as shareable.
+     *
+     * @param uri {@code String} the ontology IRI
+     * @return boolean
+     */
+    public boolean isShareable(String uri) {
+        return uri != null && shareable.contains(uri);
+    }
+
+    /**
+     * Returns the number of references to the shared graph.
+     *
+     * @param uri {@code String} the ontology IRI
+     * @return {@code int}, {@code 0} if there is no such graph in the registry
+     */
+    public int getReferenceCount(String uri) {
+        Entry res = entries.get(uri);
+        return res == null ? 0 : res.refs;
+    }
+
+    /**
+     * Acquires a new reference to the shared graph,
+     * loading it with the given loader if it is not yet in the registry.
+     * The caller must {@link SharedGraph#release() release} the returned graph when it is no longer needed.
+     *
+     * @param uri    {@code String} the ontology IRI, not {@code null}
+     * @param loader {@link Loader} to load the graph, not {@code null}
+     * @return a fresh {@link SharedGraph} view
+     * @throws OWLOntologyCreationException if the graph cannot be loaded
+     */
+    public SharedGraph acquire(String uri, Loader loader) throws OWLOntologyCreationException {
+        Objects.requireNonNull(loader);
+        Entry res = entries.compute(Objects.requireNonNull(uri), (k, v) -> {
+            Entry e = v == null ? new Entry(k) : v;
+            e.refs++;
+            return e;
+        });
+        try {
+            res.lock.lock();
+            try {
+                if (res.graph == null) {
+                    Content content = Objects.requireNonNull(loader.load(), "Null content");
+                    res.format = content.format() == null ? OntFormat.TURTLE : content.format();
+                    res.graph = content.graph();
+                }
+            } finally {
+                res.lock.unlock();
+            }
+        } catch (OWLOntologyCreationException | RuntimeException ex) {
+            release(res);
+            throw ex;
+        }
+        return new SharedGraph(this, res);
+    }
+
+    /**
+     * Releases a reference to the entry, removing it from the registry and closing its graph
+     * if there are no more references.
+     *
+     * @param entry {@link Entry}
+     */
+    protected void release(Entry entry) {
+        AtomicBoolean last = new AtomicBoolean();
+        entries.computeIfPresent(entry.uri, (k, v) -> {
+            if (v != entry || --v.refs > 0) {
+                return v;
+            }
+            last.set(true);
+            return null;
+        });
+        if (last.get()) {
+            entry.close();
+        }
+    }
+
+    /**
+     * A content loader.
+     */
+    @FunctionalInterface
+    public interface Loader {
+        /**
+         * Loads the graph.
+         *
+         * @return {@link Content}
+         * @throws OWLOntologyCreationException if the graph cannot be loaded
+         */
+        Content load() throws OWLOntologyCreationException;
+    }
+
+    /**
+     * A loaded graph together with its format.
+     *
+     * @param graph  {@link Graph} the data, it is not expected to be changed after loading, not {@code null}
+     * @param format {@link OntFormat} the document format, can be {@code null}
+     */
+    public record Content(Graph graph, OntFormat format) {
+        public Content {
+            Objects.requireNonNull(graph);
+        }
+    }
+
+    /**
+     * A registry record.
+     */
+    protected static final class Entry {
+        private final String uri;
+        private final Lock lock = new ReentrantLock();
+        // the models over the views of this entry, in the order of attaching
+        private final Map<SharedGraph, Attached> attached = new LinkedHashMap<>();
+        private volatile int refs;
+        private volatile Graph graph;
+        private volatile OntFormat format;
+        private Attached warm;
+
+        private Entry(String uri) {
+            this.uri = uri;
+        }
+
+        /**
+         * Registers the model and links it with the warm content.
+         *
+         * @param view  {@link SharedGraph}
+         * @param model {@link Attached}
+         */
+        private void attach(SharedGraph view, Attached model) {
+            lock.lock();
+            try {
+                attached.put(view, model);
+                if (warm == null) {
+                    warm = model;
+                } else {
+                    model.link(warm);
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        /**
+         * Unregisters the model, handing over the warm role to the next model, if needed,
+         * so that no reference to the removed model (and its manager) remains.
+         *
+         * @param view {@link SharedGraph}
+         */
+        private void detach(SharedGraph view) {
+            lock.lock();
+            try {
+                Attached model = attached.remove(view);
+                if (model == null || model != warm) {
+                    return;
+                }
+                warm = attached.isEmpty() ? null : attached.values().iterator().next();
+                attached.values().forEach(x -> x.link(warm));
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void close() {
+            lock.lock();
+            try {
+                attached.clear();
+                warm = null;
+                if (graph != null) {
+                    graph.close();
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * A model over a shared graph view together with the read lock of its manager.
+     *
+     * @param model {@link InternalGraphModel}
+     * @param lock  {@link Lock} to read the model content
+     */
+    protected record Attached(InternalGraphModel model, Lock lock) {
+
+        private void link(Attached warm) {
+            if (warm == this) {
+                // the warm model reads its own graph
+                model.setContentSource(null, 0, NoOpReadWriteLock.NO_OP_LOCK);
+            } else {
+                model.setContentSource(warm.model, warm.model.getModificationCount(), warm.lock);
+            }
+        }
+    }
+
+    /**
+     * A read-only view over the shared graph.
+     * Any attempt to add or delete a triple is rejected with {@link AddDeniedException} or {@link DeleteDeniedException}.
+     * The prefixes are local to the view.
+     */
+    public static class SharedGraph extends GraphBase {
+        protected final SharedGraphRegistry registry;
+        protected final Entry entry;
+        protected final AtomicBoolean released = new AtomicBoolean();
+
+        protected SharedGraph(SharedGraphRegistry registry, Entry entry) {
+            this.registry = Objects.requireNonNull(registry);
+            this.entry = Objects.requireNonNull(entry);
+            getPrefixMapping().setNsPrefixes(entry.graph.getPrefixMapping());
+        }
+
+        /**
+         * Returns the ontology IRI, which this graph is registered with.
+         *
+         * @return {@code String}
+         */
+        public String getURI() {
+            return entry.uri;
+        }
+
+        /**
+         * Returns the document format of the shared graph.
+         *
+         * @return {@link OntFormat}
+         */
+        public OntFormat getFormat() {
+            return entry.format;
+        }
+
+        /**
+         * Answers {@code true} if this view and the given graph are views over the same shared data.
+         *
+         * @param other {@link Graph}
+         * @return boolean
+         */
+        public boolean isSameData(Graph other) {
+            return other instanceof SharedGraph && ((SharedGraph) other).entry == entry;
+        }
+
+        /**
+         * Links the model, which is built over this view, with the warm content of the shared graph.
+         * The first attached model becomes the source of the content for all the others,
+         * when it is {@link #release() released}, the next one takes its place.
+         *
+         * @param model {@link InternalGraphModel}, not {@code null}
+         * @param lock  {@link Lock} the read lock of the manager, that owns the model, not {@code null}
+         */
+        public void attach(InternalGraphModel model, Lock lock) {
+            entry.attach(this, new Attached(Objects.requireNonNull(model), Objects.requireNonNull(lock)));
+        }
+
+        /**
+         * Releases the reference to the shared graph.
+         * The method has effect only once.
+         */
+        public void release() {
+            if (released.compareAndSet(false, true)) {
+                entry.detach(this);
+                registry.release(entry);
+            }
+        }
+
+        /**
+         * Answers {@code true} if the graph has been released.
+         *
+         * @return boolean
+         */
+        public boolean isReleased() {
+            return released.get();
+        }
+
+        @Override
+        protected ExtendedIterator<Triple> graphBaseFind(Triple pattern) {
+            return entry.graph.find(pattern);
+        }
+
+        @Override
+        protected boolean graphBaseContains(Triple t) {
+            return entry.graph.contains(t);
+        }
+
+        @Override
+        protected int graphBaseSize() {
+            return entry.graph.size();
+        }
+
+        @Override
+        public void performAdd(Triple t) {
+            throw new AddDeniedException("The shared graph <" + entry.uri + "> is read-only", t);
+        }
+
+        @Override
+        public void performDelete(Triple t) {
+            throw new DeleteDeniedException("The shared graph <" + entry.uri + "> is read-only", t);
+        }
+
+        @Override
+        public void remove(Node s, Node p, Node o) {
+            throw new DeleteDeniedException("The shared graph <" + entry.uri + "> is read-only");
+        }
+
+        @Override
+        public void clear() {
+            throw new DeleteDeniedException("The shared graph <" + entry.uri + "> is read-only");
+        }
+    }
+}
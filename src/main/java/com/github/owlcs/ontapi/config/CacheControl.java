@@ -66,6 +66,50 @@ interface CacheControl<R> extends CacheSettings {
      */
     R setModelCacheLevel(int level);
 
+    /**
+     * Enables or disables the dictionary-encoded form for the content of model-backed {@code OWLObject}s.
+     *
+     * @param b {@code true} to use node dictionary
+     * @return {@link R}
+     * @see CacheSettings#isUseNodeDictionary()
+     * @see OntSettings#ONT_API_LOAD_CONF_USE_NODE_DICTIONARY
+     * @since 4.0.1
+     */
+    R setUseNodeDictionary(boolean b);
+
+    /**
+     * Enables or disables answering point queries directly from the graph while the model caches are cold.
+     *
+     * @param b {@code true} to read directly from the graph when the cache is not loaded
+     * @return {@link R}
+     * @see CacheSettings#isColdCacheDirectReads()
+     * @see OntSettings#ONT_API_LOAD_CONF_COLD_CACHE_DIRECT_READS
+     * @since 4.0.1
+     */
+    R setColdCacheDirectReads(boolean b);
+
+    /**
+     * Enables or disables the Bloom filter pre-check for the model caches.
+     *
+     * @param b {@code true} to use Bloom filters
+     * @return {@link R}
+     * @see CacheSettings#isUseBloomFilter()
+     * @see OntSettings#ONT_API_LOAD_CONF_USE_BLOOM_FILTER
+     * @since 4.0.1
+     */
+    R setUseBloomFilter(boolean b);
+
+    /**
+     * Enables or disables the imports closure cache.
+     *
+     * @param b {@code true} to cache {@code Imports.INCLUDED} views
+     * @return {@link R}
+     * @see CacheSettings#isUseImportsClosureCache()
+     * @see OntSettings#ONT_API_LOAD_CONF_CACHE_IMPORTS_CLOSURE
+     * @since 4.0.1
+     */
+    R setUseImportsClosureCache(boolean b);
+
     /**
      * Turns on/off the content cache use.
      * Other cache settings are untouched,
@@ -122,6 +122,75 @@ public interface CacheSettings {
      */
     int getModelCacheLevel();
 
+    /**
+     * Answers {@code true} if the content of model-backed {@code OWLObject}s
+     * (anonymous expressions and axioms, which are read from a graph)
+     * should be stored in a dictionary-encoded form.
+     * In this mode, each URI, blank node and literal from the content
+     * is replaced by an {@code int} identifier from a per-model node dictionary,
+     * and the content itself is kept as a packed {@code int}-array.
+     * Such content is small, and therefore it is kept strongly reachable,
+     * which means it is never needed to be restored from the graph after GC.
+     * The price is a small decoding overhead on each access to the object's components.
+     * By default, it is {@code false}: the content is kept in the form of {@link java.lang.ref.SoftReference soft} arrays.
+     *
+     * @return boolean
+     * @see OntSettings#ONT_API_LOAD_CONF_USE_NODE_DICTIONARY
+     * @see CacheControl#setUseNodeDictionary(boolean)
+     * @since 4.0.1
+     */
+    boolean isUseNodeDictionary();
+
+    /**
+     * Answers {@code true} if point queries should go directly to the graph while the corresponding cache is cold.
+     * A point query is a check for containment ({@code OWLOntology#containsAxiom(OWLAxiom)}),
+     * a check for emptiness ({@code OWLOntology#isEmpty()}) or, for types that do not need merging,
+     * counting ({@code OWLOntology#getAxiomCount(AxiomType)}).
+     * For a large ontology such a query can be answered by a targeted graph lookup
+     * much faster than loading the whole content cache of the axiom type.
+     * Once the cache is loaded (e.g. by listing axioms), all queries are answered by the cache.
+     * By default, it is {@code false}: any query loads the cache.
+     * The setting has effect only if the content or component cache is enabled.
+     *
+     * @return boolean
+     * @see OntSettings#ONT_API_LOAD_CONF_COLD_CACHE_DIRECT_READS
+     * @see CacheControl#setColdCacheDirectReads(boolean)
+     * @since 4.0.1
+     */
+    boolean isColdCacheDirectReads();
+
+    /**
+     * Answers {@code true} if each loaded content and component cache should have a probabilistic pre-filter
+     * (a {@link com.github.owlcs.ontapi.internal.BlockedBloomFilter blocked Bloom filter}) over the object hashes.
+     * The filter answers definite misses of the contains-style queries
+     * (e.g. {@code OWLOntology#containsAxiom(OWLAxiom)}, {@code OWLOntology#containsEntityInSignature(OWLEntity)})
+     * without probing the cache map, which is useful when most of the queries have negative answers.
+     * The price is about {@code 10} bits per cached object.
+     * By default, it is {@code false}.
+     *
+     * @return boolean
+     * @see OntSettings#ONT_API_LOAD_CONF_USE_BLOOM_FILTER
+     * @see CacheControl#setUseBloomFilter(boolean)
+     * @since 4.0.1
+     */
+    boolean isUseBloomFilter();
+
+    /**
+     * Answers {@code true} if an ontology should keep a closure-level cache for {@code Imports.INCLUDED} queries.
+     * The cache holds the resolved imports closure, the merged (distinct) signature,
+     * a de-duplicated view of all closure axioms and the axiom counts over that view.
+     * It is invalidated by sub-graph events of the ontology's {@link org.apache.jena.ontapi.UnionGraph}
+     * and by any change in a member ontology.
+     * Note that, with this option, {@code Imports.INCLUDED} axioms and counts are de-duplicated across the closure.
+     * By default, it is {@code false}.
+     *
+     * @return boolean
+     * @see OntSettings#ONT_API_LOAD_CONF_CACHE_IMPORTS_CLOSURE
+     * @see CacheControl#setUseImportsClosureCache(boolean)
+     * @since 4.0.1
+     */
+    boolean isUseImportsClosureCache();
+
     /**
      * Answers whether an internal model content cache is enabled, that is {@code true} by default.
      * <p>
@@ -98,6 +98,44 @@ interface LoadControl<R> extends LoadSettings {
      */
     R setUseDistinctUnionGraph(boolean b);
 
+    /**
+     * Disables or enables the usage of the {@link com.github.owlcs.ontapi.CompactGraph}
+     * as a storage for newly created and loaded ontologies.
+     *
+     * @param b boolean
+     * @return {@link R} (this or copied instance)
+     * @see LoadSettings#isUseCompactDataGraph()
+     */
+    R setUseCompactDataGraph(boolean b);
+
+    /**
+     * Sets the directory to store disk-backed ontology graphs ({@link com.github.owlcs.ontapi.MappedGraph}).
+     * An empty string means that the ontology data is kept in memory.
+     *
+     * @param dir String, not {@code null}
+     * @return {@link R} (this or copied instance)
+     * @see LoadSettings#getDataGraphDirectory()
+     */
+    R setDataGraphDirectory(String dir);
+
+    /**
+     * Sets the number of threads to parse line-based RDF documents (N-Triples and N-Quads).
+     *
+     * @param threads int, a value less than {@code 2} disables parallel parsing
+     * @return {@link R} (this or copied instance)
+     * @see LoadSettings#getParallelReadThreads()
+     */
+    R setParallelReadThreads(int threads);
+
+    /**
+     * Sets the size of a chunk in bytes for parallel parsing of line-based RDF documents.
+     *
+     * @param size int, positive
+     * @return {@link R} (this or copied instance)
+     * @see LoadSettings#getParallelReadChunkSize()
+     */
+    R setParallelReadChunkSize(int size);
+
     /**
      * Sets a new collection of {@link Scheme}-controllers.
      *
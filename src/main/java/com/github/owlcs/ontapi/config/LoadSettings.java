@@ -162,6 +162,66 @@ public interface LoadSettings {
      */
     boolean isUseDistinctUnionGraph();
 
+    /**
+     * Answers {@code true} if the ontology data must be stored in the {@link com.github.owlcs.ontapi.CompactGraph},
+     * that keeps dictionary-encoded triples in sorted {@code int}-arrays.
+     * Such a graph requires several times less memory than the default {@code GraphMem},
+     * but its modification is more expensive (it is amortized by the periodic compaction).
+     * So it is better suited for large, mostly read-only ontologies.
+     * The setting affects only the base graphs created by the manager (see {@link com.github.owlcs.ontapi.OntologyCreator}),
+     * it has no effect if the graph is passed to the manager directly.
+     *
+     * @return boolean, ({@code false} by default)
+     * @see LoadControl#setUseCompactDataGraph(boolean)
+     * @see OntSettings#ONT_API_LOAD_CONF_USE_COMPACT_DATA_GRAPH
+     * @since 4.0.1
+     */
+    boolean isUseCompactDataGraph();
+
+    /**
+     * Returns the directory where the disk-backed graphs are created.
+     * If the directory is specified (i.e. the string is not empty),
+     * each new or loaded ontology gets a {@link com.github.owlcs.ontapi.MappedGraph} in its own temporary subdirectory,
+     * which is deleted when the graph is closed or on JVM exit.
+     * Such a graph allows to work with ontologies that do not fit in the heap,
+     * and it is intended to be used with disabled content caches (see {@link CacheSettings#getModelCacheLevel()}).
+     * This setting takes precedence over {@link #isUseCompactDataGraph()}.
+     *
+     * @return String, the path to the directory or empty string (by default)
+     * @see LoadControl#setDataGraphDirectory(String)
+     * @see OntSettings#ONT_API_LOAD_CONF_DATA_GRAPH_DIRECTORY
+     * @since 4.0.1
+     */
+    String getDataGraphDirectory();
+
+    /**
+     * Returns the number of worker threads to parse line-based RDF documents,
+     * i.e. {@link com.github.owlcs.ontapi.OntFormat#NTRIPLES N-Triples} and {@link com.github.owlcs.ontapi.OntFormat#NQUADS N-Quads}.
+     * If the value is greater than {@code 1}, the document is split into line-aligned chunks
+     * (local files are read through memory-mapped regions), which are parsed concurrently,
+     * and then the parsed triples are inserted into the graph in the order of the chunks.
+     * Blank node labels are scoped by the whole document.
+     * Other formats are always read in a single thread.
+     *
+     * @return int, {@code 1} by default (i.e. parallel reading is disabled)
+     * @see LoadControl#setParallelReadThreads(int)
+     * @see OntSettings#ONT_API_LOAD_CONF_PARALLEL_READ_THREADS
+     * @since 4.0.1
+     */
+    int getParallelReadThreads();
+
+    /**
+     * Returns the approximate size of a chunk (in bytes) for parallel reading.
+     * Each chunk is extended to the nearest end of line.
+     *
+     * @return int, {@code 8MB} by default
+     * @see LoadControl#setParallelReadChunkSize(int)
+     * @see OntSettings#ONT_API_LOAD_CONF_PARALLEL_READ_CHUNK_SIZE
+     * @see #getParallelReadThreads()
+     * @since 4.0.1
+     */
+    int getParallelReadChunkSize();
+
     /**
      * Answers a {@code Collection} of allowed {@link Scheme}-controllers.
      * This mechanism is used during preliminary analysis of {@link IRI} before loading a document.
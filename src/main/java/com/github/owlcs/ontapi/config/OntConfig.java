@@ -78,6 +78,15 @@ import java.util.stream.Stream;
  * <li>{@link #isIgnoreAxiomsReadErrors()} and {@link #setIgnoreAxiomsReadErrors(boolean)} (<b>since 1.1.0</b>)</li>
  * <li>{@link #isSplitAxiomAnnotations()} and {@link #setSplitAxiomAnnotations(boolean)} (<b>since 1.3.0</b>)</li>
  * <li>{@link #isUseDistinctUnionGraph()} and {@link #setUseDistinctUnionGraph(boolean)} (<b>since 4.0.1</b>)</li>
+ * <li>{@link #isUseCompactDataGraph()} and {@link #setUseCompactDataGraph(boolean)} (<b>since 4.0.1</b>)</li>
+ * <li>{@link #getDataGraphDirectory()} and {@link #setDataGraphDirectory(String)} (<b>since 4.0.1</b>)</li>
+ * <li>{@link #getParallelReadThreads()} and {@link #setParallelReadThreads(int)} (<b>since 4.0.1</b>)</li>
+ * <li>{@link #getParallelReadChunkSize()} and {@link #setParallelReadChunkSize(int)} (<b>since 4.0.1</b>)</li>
+ * <li>{@link #isUseNodeDictionary()} and {@link #setUseNodeDictionary(boolean)} (<b>since 4.0.1</b>)</li>
+ * <li>{@link #isColdCacheDirectReads()} and {@link #setColdCacheDirectReads(boolean)} (<b>since 4.0.1</b>)</li>
+ * <li>{@link #isUseBloomFilter()} and {@link #setUseBloomFilter(boolean)} (<b>since 4.0.1</b>)</li>
+ * <li>{@link #isUseImportsClosureCache()} and {@link #setUseImportsClosureCache(boolean)} (<b>since 4.0.1</b>)</li>
+ * <li>{@link #getManagerContentCacheBudget()} and {@link #setManagerContentCacheBudget(long)} (<b>since 4.0.1</b>)</li>
  * </ul>
  * <p>
  * Created @ssz on 27.02.2017.
@@ -398,6 +407,42 @@ public class OntConfig extends OntologyConfigurator
         return put(OntSettings.ONT_API_MANAGER_CACHE_IRIS, size);
     }
 
+    /**
+     * An ONT-API manager's config getter.
+     * Returns the maximum total number of {@code OWLObject}s that can be held
+     * in the content and component caches of all ontologies belonging to a manager.
+     * If the limit is exceeded, the least recently used caches are released,
+     * no matter which ontology they belong to; a released cache is reloaded from the graph on demand.
+     * Each cache is weighed by the number of objects it contains.
+     * A non-positive number (the default is {@code 0}) means that there is no manager-wide limit,
+     * and each cache is kept via {@link java.lang.ref.SoftReference soft reference}, i.e. it is GC that decides.
+     * Caches which are created while the budget is disabled stay soft;
+     * if the budget is disabled later, the already budgeted caches become soft on the next cache load.
+     * Note that the per-model object factory and search model caches are not accounted,
+     * they are always soft.
+     *
+     * @return long, a non-positive number to keep soft references
+     * @see OntSettings#ONT_API_MANAGER_CACHE_CONTENT_BUDGET
+     * @see com.github.owlcs.ontapi.internal.CacheBudget
+     * @since 4.0.1
+     */
+    public long getManagerContentCacheBudget() {
+        return get(OntSettings.ONT_API_MANAGER_CACHE_CONTENT_BUDGET);
+    }
+
+    /**
+     * An ONT-API manager's config setter.
+     * Sets a new limit for the content and component caches of all ontologies belonging to a manager.
+     *
+     * @param size long, the maximum total number of cached objects, a non-positive number to disable the budget
+     * @return this instance
+     * @see #getManagerContentCacheBudget()
+     * @since 4.0.1
+     */
+    public OntConfig setManagerContentCacheBudget(long size) {
+        return put(OntSettings.ONT_API_MANAGER_CACHE_CONTENT_BUDGET, size);
+    }
+
     /**
      * An ONT-API manager's load config getter.
      * {@inheritDoc}
@@ -471,6 +516,106 @@ public class OntConfig extends OntologyConfigurator
         return putNonNegative(OntSettings.ONT_API_LOAD_CONF_CACHE_MODEL, level);
     }
 
+    /**
+     * An ONT-API manager's load config getter.
+     * {@inheritDoc}
+     *
+     * @return boolean
+     * @since 4.0.1
+     */
+    @Override
+    public boolean isUseNodeDictionary() {
+        return get(OntSettings.ONT_API_LOAD_CONF_USE_NODE_DICTIONARY);
+    }
+
+    /**
+     * An ONT-API manager's load config setter.
+     * {@inheritDoc}
+     *
+     * @param b boolean to enable/disable this config parameter
+     * @return this instance
+     * @since 4.0.1
+     */
+    @Override
+    public OntConfig setUseNodeDictionary(boolean b) {
+        return put(OntSettings.ONT_API_LOAD_CONF_USE_NODE_DICTIONARY, b);
+    }
+
+    /**
+     * An ONT-API manager's load config getter.
+     * {@inheritDoc}
+     *
+     * @return boolean
+     * @since 4.0.1
+     */
+    @Override
+    public boolean isColdCacheDirectReads() {
+        return get(OntSettings.ONT_API_LOAD_CONF_COLD_CACHE_DIRECT_READS);
+    }
+
+    /**
+     * An ONT-API manager's load config setter.
+     * {@inheritDoc}
+     *
+     * @param b boolean to enable/disable this config parameter
+     * @return this instance
+     * @since 4.0.1
+     */
+    @Override
+    public OntConfig setColdCacheDirectReads(boolean b) {
+        return put(OntSettings.ONT_API_LOAD_CONF_COLD_CACHE_DIRECT_READS, b);
+    }
+
+    /**
+     * An ONT-API manager's load config getter.
+     * {@inheritDoc}
+     *
+     * @return boolean
+     * @since 4.0.1
+     */
+    @Override
+    public boolean isUseBloomFilter() {
+        return get(OntSettings.ONT_API_LOAD_CONF_USE_BLOOM_FILTER);
+    }
+
+    /**
+     * An ONT-API manager's load config setter.
+     * {@inheritDoc}
+     *
+     * @param b boolean to enable/disable this config parameter
+     * @return this instance
+     * @since 4.0.1
+     */
+    @Override
+    public OntConfig setUseBloomFilter(boolean b) {
+        return put(OntSettings.ONT_API_LOAD_CONF_USE_BLOOM_FILTER, b);
+    }
+
+    /**
+     * An ONT-API manager's load config getter.
+     * {@inheritDoc}
+     *
+     * @return boolean
+     * @since 4.0.1
+     */
+    @Override
+    public boolean isUseImportsClosureCache() {
+        return get(OntSettings.ONT_API_LOAD_CONF_CACHE_IMPORTS_CLOSURE);
+    }
+
+    /**
+     * An ONT-API manager's load config setter.
+     * {@inheritDoc}
+     *
+     * @param b boolean to enable/disable this config parameter
+     * @return this instance
+     * @since 4.0.1
+     */
+    @Override
+    public OntConfig setUseImportsClosureCache(boolean b) {
+        return put(OntSettings.ONT_API_LOAD_CONF_CACHE_IMPORTS_CLOSURE, b);
+    }
+
     /**
      * An ONT-API manager's load config getter.
      * {@inheritDoc}
@@ -666,6 +811,106 @@ public class OntConfig extends OntologyConfigurator
         return put(OntSettings.ONT_API_LOAD_CONF_USE_DISTINCT_UNION_GRAPH, b);
     }
 
+    /**
+     * An ONT-API manager's load config getter.
+     * {@inheritDoc}
+     *
+     * @return {@code true} if the compact graph is used to store ontology data
+     * @since 4.0.1
+     */
+    @Override
+    public boolean isUseCompactDataGraph() {
+        return get(OntSettings.ONT_API_LOAD_CONF_USE_COMPACT_DATA_GRAPH);
+    }
+
+    /**
+     * An ONT-API manager's load config setter.
+     * {@inheritDoc}
+     *
+     * @param b boolean to enable/ disable this config parameter
+     * @return this instance
+     * @since 4.0.1
+     */
+    @Override
+    public OntConfig setUseCompactDataGraph(boolean b) {
+        return put(OntSettings.ONT_API_LOAD_CONF_USE_COMPACT_DATA_GRAPH, b);
+    }
+
+    /**
+     * An ONT-API manager's load config getter.
+     * {@inheritDoc}
+     *
+     * @return String, the directory for disk-backed graphs or empty string
+     * @since 4.0.1
+     */
+    @Override
+    public String getDataGraphDirectory() {
+        return get(OntSettings.ONT_API_LOAD_CONF_DATA_GRAPH_DIRECTORY);
+    }
+
+    /**
+     * An ONT-API manager's load config setter.
+     * {@inheritDoc}
+     *
+     * @param dir String, not {@code null}
+     * @return this instance
+     * @since 4.0.1
+     */
+    @Override
+    public OntConfig setDataGraphDirectory(String dir) {
+        return put(OntSettings.ONT_API_LOAD_CONF_DATA_GRAPH_DIRECTORY, Objects.requireNonNull(dir));
+    }
+
+    /**
+     * An ONT-API manager's load config getter.
+     * {@inheritDoc}
+     *
+     * @return int
+     * @since 4.0.1
+     */
+    @Override
+    public int getParallelReadThreads() {
+        return get(OntSettings.ONT_API_LOAD_CONF_PARALLEL_READ_THREADS);
+    }
+
+    /**
+     * An ONT-API manager's load config setter.
+     * {@inheritDoc}
+     *
+     * @param threads int
+     * @return this instance
+     * @since 4.0.1
+     */
+    @Override
+    public OntConfig setParallelReadThreads(int threads) {
+        return put(OntSettings.ONT_API_LOAD_CONF_PARALLEL_READ_THREADS, threads);
+    }
+
+    /**
+     * An ONT-API manager's load config getter.
+     * {@inheritDoc}
+     *
+     * @return int
+     * @since 4.0.1
+     */
+    @Override
+    public int getParallelReadChunkSize() {
+        return get(OntSettings.ONT_API_LOAD_CONF_PARALLEL_READ_CHUNK_SIZE);
+    }
+
+    /**
+     * An ONT-API manager's load config setter.
+     * {@inheritDoc}
+     *
+     * @param size int, positive
+     * @return this instance
+     * @since 4.0.1
+     */
+    @Override
+    public OntConfig setParallelReadChunkSize(int size) {
+        return putPositive(OntSettings.ONT_API_LOAD_CONF_PARALLEL_READ_CHUNK_SIZE, size);
+    }
+
     /**
      * An ONT-API manager's load config getter.
      * {@inheritDoc}
@@ -315,6 +315,102 @@ public class OntLoaderConfiguration extends OWLOntologyLoaderConfiguration imple
         return get(OntSettings.ONT_API_LOAD_CONF_CACHE_MODEL);
     }
 
+    /**
+     * An ONT-API config setter.
+     * {@inheritDoc}
+     *
+     * @param b {@code true} to use node dictionary for the objects' content
+     * @return {@link OntLoaderConfiguration}, a copied (new) or this instance in case no changes are made
+     * @since 4.0.1
+     */
+    @Override
+    public OntLoaderConfiguration setUseNodeDictionary(boolean b) {
+        return set(OntSettings.ONT_API_LOAD_CONF_USE_NODE_DICTIONARY, b);
+    }
+
+    /**
+     * An ONT-API config getter.
+     * {@inheritDoc}
+     *
+     * @since 4.0.1
+     */
+    @Override
+    public boolean isUseNodeDictionary() {
+        return get(OntSettings.ONT_API_LOAD_CONF_USE_NODE_DICTIONARY);
+    }
+
+    /**
+     * An ONT-API config setter.
+     * {@inheritDoc}
+     *
+     * @param b {@code true} to answer point queries from the graph while the cache is cold
+     * @return {@link OntLoaderConfiguration}, a copied (new) or this instance in case no changes are made
+     * @since 4.0.1
+     */
+    @Override
+    public OntLoaderConfiguration setColdCacheDirectReads(boolean b) {
+        return set(OntSettings.ONT_API_LOAD_CONF_COLD_CACHE_DIRECT_READS, b);
+    }
+
+    /**
+     * An ONT-API config getter.
+     * {@inheritDoc}
+     *
+     * @since 4.0.1
+     */
+    @Override
+    public boolean isColdCacheDirectReads() {
+        return get(OntSettings.ONT_API_LOAD_CONF_COLD_CACHE_DIRECT_READS);
+    }
+
+    /**
+     * An ONT-API config setter.
+     * {@inheritDoc}
+     *
+     * @param b {@code true} to use Bloom filters for the model caches
+     * @return {@link OntLoaderConfiguration}, a copied (new) or this instance in case no changes are made
+     * @since 4.0.1
+     */
+    @Override
+    public OntLoaderConfiguration setUseBloomFilter(boolean b) {
+        return set(OntSettings.ONT_API_LOAD_CONF_USE_BLOOM_FILTER, b);
+    }
+
+    /**
+     * An ONT-API config getter.
+     * {@inheritDoc}
+     *
+     * @since 4.0.1
+     */
+    @Override
+    public boolean isUseBloomFilter() {
+        return get(OntSettings.ONT_API_LOAD_CONF_USE_BLOOM_FILTER);
+    }
+
+    /**
+     * An ONT-API config setter.
+     * {@inheritDoc}
+     *
+     * @param b {@code true} to cache {@code Imports.INCLUDED} views
+     * @return {@link OntLoaderConfiguration}, a copied (new) or this instance in case no changes are made
+     * @since 4.0.1
+     */
+    @Override
+    public OntLoaderConfiguration setUseImportsClosureCache(boolean b) {
+        return set(OntSettings.ONT_API_LOAD_CONF_CACHE_IMPORTS_CLOSURE, b);
+    }
+
+    /**
+     * An ONT-API config getter.
+     * {@inheritDoc}
+     *
+     * @since 4.0.1
+     */
+    @Override
+    public boolean isUseImportsClosureCache() {
+        return get(OntSettings.ONT_API_LOAD_CONF_CACHE_IMPORTS_CLOSURE);
+    }
+
     /**
      * An ONT-API config getter.
      * {@inheritDoc}
@@ -458,6 +554,106 @@ public class OntLoaderConfiguration extends OWLOntologyLoaderConfiguration imple
         return set(OntSettings.ONT_API_LOAD_CONF_USE_DISTINCT_UNION_GRAPH, b);
     }
 
+    /**
+     * An ONT-API config getter.
+     * {@inheritDoc}
+     *
+     * @return {@code true} if the compact graph is used to store ontology data
+     * @since 4.0.1
+     */
+    @Override
+    public boolean isUseCompactDataGraph() {
+        return get(OntSettings.ONT_API_LOAD_CONF_USE_COMPACT_DATA_GRAPH);
+    }
+
+    /**
+     * An ONT-API config setter.
+     * {@inheritDoc}
+     *
+     * @param b {@code true} to use compact data graph
+     * @return {@link OntLoaderConfiguration}, a copied (new) or this instance in case no changes are made
+     * @since 4.0.1
+     */
+    @Override
+    public OntLoaderConfiguration setUseCompactDataGraph(boolean b) {
+        return set(OntSettings.ONT_API_LOAD_CONF_USE_COMPACT_DATA_GRAPH, b);
+    }
+
+    /**
+     * An ONT-API config getter.
+     * {@inheritDoc}
+     *
+     * @return String, the directory for disk-backed graphs or empty string
+     * @since 4.0.1
+     */
+    @Override
+    public String getDataGraphDirectory() {
+        return get(OntSettings.ONT_API_LOAD_CONF_DATA_GRAPH_DIRECTORY);
+    }
+
+    /**
+     * An ONT-API config setter.
+     * {@inheritDoc}
+     *
+     * @param dir String, not {@code null}
+     * @return {@link OntLoaderConfiguration}, a copied (new) or this instance in case no changes are made
+     * @since 4.0.1
+     */
+    @Override
+    public OntLoaderConfiguration setDataGraphDirectory(String dir) {
+        return set(OntSettings.ONT_API_LOAD_CONF_DATA_GRAPH_DIRECTORY, Objects.requireNonNull(dir));
+    }
+
+    /**
+     * An ONT-API config getter.
+     * {@inheritDoc}
+     *
+     * @return int
+     * @since 4.0.1
+     */
+    @Override
+    public int getParallelReadThreads() {
+        return get(OntSettings.ONT_API_LOAD_CONF_PARALLEL_READ_THREADS);
+    }
+
+    /**
+     * An ONT-API config setter.
+     * {@inheritDoc}
+     *
+     * @param threads int
+     * @return {@link OntLoaderConfiguration}, a copied (new) or this instance in case no changes are made
+     * @since 4.0.1
+     */
+    @Override
+    public OntLoaderConfiguration setParallelReadThreads(int threads) {
+        return set(OntSettings.ONT_API_LOAD_CONF_PARALLEL_READ_THREADS, threads);
+    }
+
+    /**
+     * An ONT-API config getter.
+     * {@inheritDoc}
+     *
+     * @return int
+     * @since 4.0.1
+     */
+    @Override
+    public int getParallelReadChunkSize() {
+        return get(OntSettings.ONT_API_LOAD_CONF_PARALLEL_READ_CHUNK_SIZE);
+    }
+
+    /**
+     * An ONT-API config setter.
+     * {@inheritDoc}
+     *
+     * @param size int, positive
+     * @return {@link OntLoaderConfiguration}, a copied (new) or this instance in case no changes are made
+     * @since 4.0.1
+     */
+    @Override
+    public OntLoaderConfiguration setParallelReadChunkSize(int size) {
+        return setPositive(OntSettings.ONT_API_LOAD_CONF_PARALLEL_READ_CHUNK_SIZE, size);
+    }
+
     /**
      * An ONT-API config getter.
      * {@inheritDoc}
@@ -78,10 +78,19 @@ public enum OntSettings {
     ONT_API_LOAD_CONF_CACHE_MODEL(CacheSettings.CACHE_ALL),
     ONT_API_LOAD_CONF_CACHE_OBJECTS(2048),
     ONT_API_LOAD_CONF_CACHE_NODES(50_000),
+    ONT_API_LOAD_CONF_USE_NODE_DICTIONARY(false),
+    ONT_API_LOAD_CONF_COLD_CACHE_DIRECT_READS(false),
+    ONT_API_LOAD_CONF_USE_BLOOM_FILTER(false),
+    ONT_API_LOAD_CONF_CACHE_IMPORTS_CLOSURE(false),
     ONT_API_LOAD_CONF_PROCESS_IMPORTS(true),
     ONT_API_LOAD_CONF_USE_DISTINCT_UNION_GRAPH(false),
+    ONT_API_LOAD_CONF_USE_COMPACT_DATA_GRAPH(false),
+    ONT_API_LOAD_CONF_DATA_GRAPH_DIRECTORY(""),
+    ONT_API_LOAD_CONF_PARALLEL_READ_THREADS(1),
+    ONT_API_LOAD_CONF_PARALLEL_READ_CHUNK_SIZE(8 * 1024 * 1024),
 
     ONT_API_MANAGER_CACHE_IRIS(2048),
+    ONT_API_MANAGER_CACHE_CONTENT_BUDGET(0L),
 
     OWL_API_LOAD_CONF_ACCEPT_HTTP_COMPRESSION(true),
     OWL_API_LOAD_CONF_CONNECTION_TIMEOUT(20_000),
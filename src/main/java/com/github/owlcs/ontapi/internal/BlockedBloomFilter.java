@@ -0,0 +1,148 @@
+/*
+ * This file is part of the ONT API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright (c) 2023, owl.cs group.
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package com.github.owlcs.ontapi.internal;
+
+import java.util.Collection;
+
+/**
+ * A blocked Bloom filter over object hash codes.
+ * It is used by {@link CacheObjectMapImpl} as a pre-filter to answer definite misses
+ * without touching the cache map (and without calling {@code equals} on deep {@code OWLObject} structures).
+ * <p>
+ * The filter is split into blocks of 512 bits (i.e. one typical CPU cache line),
+ * all probes for a key hit the same block, so a lookup costs a single cache miss at most.
+ * The input is a 32-bit {@link Object#hashCode()}, which is cached in any {@code ONTObject},
+ * therefore the filter never calculates deep hashes itself.
+ * With {@code 10} bits per key and {@code 6} probes the false positive rate is about {@code 1%}.
+ * <p>
+ * The filter does not support removal: a removed key remains a (harmless) false positive.
+ * The filter is not thread-safe for concurrent writes,
+ * it relies on the same guarantees as the map it is attached to.
+ *
+ * @see com.github.owlcs.ontapi.config.CacheSettings#isUseBloomFilter()
+ * @since 4.0.1
+ */
+public class BlockedBloomFilter {
+    private static final int BLOCK_BITS = 512;
+    private static final int BLOCK_WORDS = BLOCK_BITS / Long.SIZE;
+    private static final int BITS_PER_KEY = 10;
+    private static final int PROBES = 6;
+    private static final int MAX_BLOCKS = Integer.MAX_VALUE / BLOCK_WORDS;
+
+    private final long[] words;
+    private final int blocks;
+    private final long capacity;
+
+    /**
+     * Creates a filter for the specified number of keys.
+     *
+     * @param expected long, the expected number of keys
+     */
+    public BlockedBloomFilter(long expected) {
+        this.capacity = Math.max(expected, BLOCK_BITS / BITS_PER_KEY);
+        this.blocks = (int) Math.min((capacity * BITS_PER_KEY + BLOCK_BITS - 1) / BLOCK_BITS, MAX_BLOCKS);
+        this.words = new long[blocks * BLOCK_WORDS];
+    }
+
+    /**
+     * Creates a filter for the specified keys.
+     *
+     * @param keys {@code Collection} of keys
+     * @return {@link BlockedBloomFilter}
+     */
+    public static BlockedBloomFilter create(Collection<?> keys) {
+        BlockedBloomFilter res = new BlockedBloomFilter(keys.size());
+        keys.forEach(res::add);
+        return res;
+    }
+
+    /**
+     * Spreads the 32-bit hash into 64 bits (the finalization step of {@code MurmurHash3}).
+     *
+     * @param hash int
+     * @return long
+     */
+    private static long mix(int hash) {
+        long h = hash * 0x9E3779B97F4A7C15L;
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        h *= 0xC4CEB9FE1A85EC53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    /**
+     * Derives the probe bits from the hash; the high half of the hash is already used to select the block.
+     *
+     * @param h long
+     * @return long
+     */
+    private static long probes(long h) {
+        long res = (h ^ (h >>> 29)) * 0xBF58476D1CE4E5B9L;
+        return res ^ (res >>> 32);
+    }
+
+    private int offset(long h) {
+        // multiply-shift instead of modulo:
+        return (int) (((h >>> 32) * blocks) >>> 32) * BLOCK_WORDS;
+    }
+
+    /**
+     * Records the key.
+     *
+     * @param key {@code Object}, not {@code null}
+     */
+    public void add(Object key) {
+        long h = mix(key.hashCode());
+        int offset = offset(h);
+        long p = probes(h);
+        for (int i = 0; i < PROBES; i++) {
+            int bit = (int) (p >>> (i * 9)) & (BLOCK_BITS - 1);
+            words[offset + (bit >>> 6)] |= 1L << (bit & 63);
+        }
+    }
+
+    /**
+     * Answers {@code false} if the key has definitely never been {@link #add(Object) added},
+     * and {@code true} if it might have been.
+     *
+     * @param key {@code Object}, not {@code null}
+     * @return boolean
+     */
+    public boolean mightContain(Object key) {
+        long h = mix(key.hashCode());
+        int offset = offset(h);
+        long p = probes(h);
+        for (int i = 0; i < PROBES; i++) {
+            int bit = (int) (p >>> (i * 9)) & (BLOCK_BITS - 1);
+            if ((words[offset + (bit >>> 6)] & (1L << (bit & 63))) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Answers {@code true} if the filter holds so many keys that it should be rebuilt
+     * (otherwise the false positive rate grows).
+     *
+     * @param size long, the current number of keys
+     * @return boolean
+     */
+    public boolean isOverloaded(long size) {
+        return size > 2 * capacity && blocks < MAX_BLOCKS;
+    }
+}
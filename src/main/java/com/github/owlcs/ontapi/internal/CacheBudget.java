@@ -0,0 +1,343 @@
+/*
+ * This file is part of the ONT API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright (c) 2023, owl.cs group.
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package com.github.owlcs.ontapi.internal;
+
+import java.lang.ref.SoftReference;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import java.util.function.ToLongFunction;
+
+/**
+ * A manager-wide budget for the model caches.
+ * <p>
+ * By default, the content maps of each {@link InternalGraphModel model} are kept
+ * via {@link java.lang.ref.SoftReference soft references} (see {@link InternalCache#createSoftSingleton(Function)}),
+ * and therefore it is GC that decides when and what to release.
+ * This class provides an alternative: {@link InternalCache.Loading singleton}s that hold their values strongly,
+ * have a weight (e.g. the number of cached objects), and are registered in the common budget.
+ * When the total weight of all loaded singletons exceeds the {@link #getLimit() limit},
+ * the least recently used singletons are cleared,
+ * regardless of which ontology they belong to,
+ * until the total weight fits the limit again.
+ * A cleared singleton is reloaded (from the graph) on next access, as it happens with a soft reference.
+ * <p>
+ * The budget does not hold the singletons, they are tracked through {@link WeakReference}s,
+ * so the caches of a discarded ontology are collected as usual.
+ * If the budget is disabled (the limit is set to a non-positive number) after singletons have been created,
+ * their values are not pinned any more: on the next load or growth check
+ * all the strongly held values are demoted to {@link SoftReference soft references}.
+ *
+ * @see com.github.owlcs.ontapi.config.OntConfig#getManagerContentCacheBudget()
+ * @since 4.0.1
+ */
+public class CacheBudget {
+    private final LongSupplier limit;
+    private final Set<WeakReference<Entry<?, ?>>> entries = ConcurrentHashMap.newKeySet();
+    private final AtomicLong clock = new AtomicLong();
+    // the number of additions since the last check, see #grown(InternalCache.Loading)
+    private final AtomicLong pending = new AtomicLong();
+    private final Lock lock = new ReentrantLock();
+
+    /**
+     * Creates a budget.
+     *
+     * @param limit {@code LongSupplier} to provide the maximum total weight,
+     *              a non-positive value means that the budget is disabled
+     */
+    public CacheBudget(LongSupplier limit) {
+        this.limit = Objects.requireNonNull(limit);
+    }
+
+    /**
+     * Returns the current limit.
+     *
+     * @return long, a non-positive number if the budget is disabled
+     */
+    public long getLimit() {
+        return limit.getAsLong();
+    }
+
+    /**
+     * Answers {@code true} if the budget is enabled, i.e. the {@link #getLimit() limit} is positive.
+     *
+     * @return boolean
+     */
+    public boolean isEnabled() {
+        return getLimit() > 0;
+    }
+
+    /**
+     * Returns the total weight of all currently loaded singletons.
+     *
+     * @return long
+     */
+    public long getWeight() {
+        long res = 0;
+        for (Iterator<WeakReference<Entry<?, ?>>> it = entries.iterator(); it.hasNext(); ) {
+            Entry<?, ?> e = it.next().get();
+            if (e == null) {
+                it.remove();
+                continue;
+            }
+            long w = e.weight();
+            if (w > 0) {
+                res += w;
+            }
+        }
+        return res;
+    }
+
+    /**
+     * Creates a loading singleton which value is strongly held and accounted in this budget.
+     *
+     * @param loader  {@code Function} to produce a value, not {@code null}
+     * @param weigher {@code ToLongFunction} to calculate a value's weight, not {@code null}
+     * @param <K>     key type
+     * @param <V>     value type
+     * @return {@link InternalCache.Loading}
+     */
+    public <K, V> InternalCache.Loading<K, V> createSingleton(Function<? super K, ? extends V> loader,
+                                                              ToLongFunction<? super V> weigher) {
+        return new Entry<>(this, loader, weigher);
+    }
+
+    /**
+     * Notifies the budget that the value of the given singleton has grown (e.g. an object has been added to the map).
+     * To avoid a pass over all singletons on each addition, the total weight is re-checked
+     * only after every {@code limit / 64} additions (at least one).
+     * Does nothing if the singleton is not a budgeted one or is not loaded.
+     *
+     * @param singleton {@link InternalCache.Loading}
+     */
+    public static void grown(InternalCache.Loading<?, ?> singleton) {
+        if (!(singleton instanceof Entry)) {
+            return;
+        }
+        Entry<?, ?> entry = (Entry<?, ?>) singleton;
+        if (entry.value == null) {
+            return;
+        }
+        CacheBudget budget = entry.budget;
+        long step = Math.max(1, budget.getLimit() / 64);
+        if (budget.pending.incrementAndGet() < step) {
+            return;
+        }
+        budget.pending.set(0);
+        budget.evict(entry);
+    }
+
+    /**
+     * Clears the least recently used singletons until the total weight fits the limit.
+     * If the budget is disabled, all registered singletons are demoted to soft references and unregistered.
+     *
+     * @param current {@link Entry} which has just been loaded and therefore must not be evicted
+     */
+    protected void evict(Entry<?, ?> current) {
+        long max = getLimit();
+        if (max <= 0) {
+            release();
+            return;
+        }
+        lock.lock();
+        try {
+            List<Entry<?, ?>> loaded = new ArrayList<>();
+            long total = 0;
+            for (Iterator<WeakReference<Entry<?, ?>>> it = entries.iterator(); it.hasNext(); ) {
+                Entry<?, ?> e = it.next().get();
+                if (e == null) {
+                    it.remove();
+                    continue;
+                }
+                long w = e.snapshot = e.weight();
+                if (w < 0) {
+                    continue;
+                }
+                total += w;
+                loaded.add(e);
+            }
+            if (total <= max) {
+                return;
+            }
+            loaded.sort(Comparator.comparingLong(e -> e.access));
+            for (Entry<?, ?> e : loaded) {
+                if (total <= max) {
+                    break;
+                }
+                if (e == current) {
+                    continue;
+                }
+                total -= e.snapshot;
+                e.clear();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Demotes all strongly held values to soft references and forgets the singletons.
+     */
+    protected void release() {
+        if (entries.isEmpty()) {
+            return;
+        }
+        lock.lock();
+        try {
+            for (Iterator<WeakReference<Entry<?, ?>>> it = entries.iterator(); it.hasNext(); ) {
+                Entry<?, ?> e = it.next().get();
+                it.remove();
+                if (e != null) {
+                    e.soften();
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * A budgeted singleton.
+     * The value is held strongly while the budget is enabled, and softly otherwise.
+     *
+     * @param <K> key type
+     * @param <V> value type
+     */
+    protected static class Entry<K, V> implements InternalCache.Loading<K, V> {
+        private final CacheBudget budget;
+        private final Function<? super K, ? extends V> loader;
+        private final ToLongFunction<? super V> weigher;
+        private final WeakReference<Entry<?, ?>> ref;
+        private final Lock lock = new ReentrantLock();
+        private volatile V value;
+        // used instead of the value while the budget is disabled
+        private volatile SoftReference<V> soft;
+        private volatile long access;
+        // the weight at the time of the last eviction pass, guarded by the budget's lock
+        private long snapshot;
+
+        protected Entry(CacheBudget budget, Function<? super K, ? extends V> loader, ToLongFunction<? super V> weigher) {
+            this.budget = Objects.requireNonNull(budget);
+            this.loader = Objects.requireNonNull(loader);
+            this.weigher = Objects.requireNonNull(weigher);
+            this.ref = new WeakReference<>(this);
+        }
+
+        /**
+         * Returns the weight of the current value.
+         *
+         * @return long, or {@code -1} if there is no value
+         */
+        protected long weight() {
+            V res = value;
+            return res == null ? -1 : weigher.applyAsLong(res);
+        }
+
+        /**
+         * Returns the value without loading.
+         *
+         * @return {@link V} or {@code null}
+         */
+        private V peek() {
+            V res = value;
+            if (res != null) {
+                return res;
+            }
+            SoftReference<V> ref = soft;
+            return ref == null ? null : ref.get();
+        }
+
+        /**
+         * Moves the strongly held value (if any) to a soft reference.
+         */
+        protected void soften() {
+            lock.lock();
+            try {
+                V res = value;
+                if (res == null) {
+                    return;
+                }
+                soft = new SoftReference<>(res);
+                value = null;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        @Override
+        public V get(K key) {
+            V res = peek();
+            if (res != null) {
+                access = budget.clock.incrementAndGet();
+                return res;
+            }
+            lock.lock();
+            try {
+                if ((res = peek()) != null) {
+                    access = budget.clock.incrementAndGet();
+                    return res;
+                }
+                put(key, res = loader.apply(key));
+            } finally {
+                lock.unlock();
+            }
+            // outside the entry's lock: the budget's lock is never acquired while holding an entry's lock
+            budget.evict(this);
+            return res;
+        }
+
+        @Override
+        public InternalCache<K, V> asCache() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void clear() {
+            value = null;
+            soft = null;
+            budget.entries.remove(ref);
+        }
+
+        @Override
+        public void put(K key, V value) {
+            Objects.requireNonNull(value);
+            this.access = budget.clock.incrementAndGet();
+            if (!budget.isEnabled()) {
+                this.soft = new SoftReference<>(value);
+                this.value = null;
+                budget.entries.remove(ref);
+                return;
+            }
+            this.soft = null;
+            this.value = value;
+            budget.entries.add(ref);
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return peek() == null;
+        }
+    }
+}
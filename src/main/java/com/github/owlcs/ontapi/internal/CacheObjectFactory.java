@@ -14,17 +14,26 @@
 
 package com.github.owlcs.ontapi.internal;
 
+import com.github.owlcs.ontapi.BlankNodeId;
 import com.github.owlcs.ontapi.DataFactory;
 import com.github.owlcs.ontapi.internal.objects.ONTIRI;
+import org.apache.jena.graph.impl.LiteralLabel;
+import org.apache.jena.ontapi.model.OntClass;
+import org.apache.jena.ontapi.model.OntDataRange;
 import org.apache.jena.ontapi.model.OntModel;
+import org.apache.jena.ontapi.model.OntSWRL;
 import org.semanticweb.owlapi.model.IRI;
 import org.semanticweb.owlapi.model.OWLAnnotationProperty;
 import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLClassExpression;
 import org.semanticweb.owlapi.model.OWLDataProperty;
+import org.semanticweb.owlapi.model.OWLDataRange;
 import org.semanticweb.owlapi.model.OWLDatatype;
+import org.semanticweb.owlapi.model.OWLLiteral;
 import org.semanticweb.owlapi.model.OWLNamedIndividual;
 import org.semanticweb.owlapi.model.OWLObjectProperty;
 import org.semanticweb.owlapi.model.OWLPrimitive;
+import org.semanticweb.owlapi.model.SWRLAtom;
 
 import java.util.Collections;
 import java.util.HashSet;
@@ -55,6 +64,11 @@ public class CacheObjectFactory extends InternalObjectFactory {
     protected final InternalCache.Loading<String, ONTObject<OWLObjectProperty>> objectProperties;
     protected final InternalCache.Loading<String, ONTObject<OWLNamedIndividual>> individuals;
     protected final InternalCache.Loading<String, IRI> iris;
+    // model-specific caches for anonymous (b-node) components and literals, they are never shared:
+    protected final InternalCache<BlankNodeId, ONTObject<? extends OWLClassExpression>> anonymousClasses;
+    protected final InternalCache<BlankNodeId, ONTObject<? extends OWLDataRange>> anonymousDataRanges;
+    protected final InternalCache<BlankNodeId, ONTObject<? extends SWRLAtom>> swrlAtoms;
+    protected final InternalCache.Loading<LiteralLabel, ONTObject<OWLLiteral>> literals;
     protected final Set<InternalCache<?, ?>> caches;
 
     /**
@@ -70,7 +84,8 @@ public class CacheObjectFactory extends InternalObjectFactory {
     }
 
     /**
-     * Provides an instance with {@code 7} inner {@link InternalCache Loading Cache}s, for all OWL entities and IRIs.
+     * Provides an instance with {@code 11} inner {@link InternalCache Loading Cache}s,
+     * for all OWL entities, IRIs, literals, anonymous class expressions, data ranges and SWRL atoms.
      * Each of them will be bounded with {@code size} limit
      *
      * @param factory {@link DataFactory}, not {@code null}
@@ -107,6 +122,19 @@ public class CacheObjectFactory extends InternalObjectFactory {
                 .asLoading(super::getObjectProperty);
         this.individuals = fetchCache(external, caches, cacheFactory, OWLNamedIndividual.class)
                 .asLoading(super::getNamedIndividual);
+        this.anonymousClasses = newCache(caches, cacheFactory);
+        this.anonymousDataRanges = newCache(caches, cacheFactory);
+        this.swrlAtoms = newCache(caches, cacheFactory);
+        this.literals = CacheObjectFactory.<LiteralLabel, ONTObject<OWLLiteral>>newCache(caches, cacheFactory)
+                .asLoading(super::getLiteral);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <K, V> InternalCache<K, V> newCache(Set<InternalCache<?, ?>> caches,
+                                                       Supplier<InternalCache<?, ?>> factory) {
+        InternalCache<?, ?> res = factory.get();
+        caches.add(res);
+        return (InternalCache<K, V>) res;
     }
 
     @SuppressWarnings("unchecked")
@@ -159,6 +187,58 @@ public class CacheObjectFactory extends InternalObjectFactory {
         return individuals.get(uri);
     }
 
+    @Override
+    public ONTObject<OWLLiteral> getLiteral(LiteralLabel label) {
+        return literals.get(label);
+    }
+
+    /**
+     * Returns a class expression, taking an anonymous one from the b-node cache if possible.
+     * Note: the cache is not filled in a loading manner (i.e. via {@code computeIfAbsent}),
+     * since the creation of a class expression is recursive and may refer to the same cache for nested components.
+     *
+     * @param ce {@link OntClass}, not {@code null}
+     * @return {@link ONTObject} with {@link OWLClassExpression}
+     */
+    @Override
+    public ONTObject<? extends OWLClassExpression> getClass(OntClass ce) {
+        if (ce.isURIResource()) {
+            return super.getClass(ce);
+        }
+        BlankNodeId id = BlankNodeId.of(ce.asNode());
+        ONTObject<? extends OWLClassExpression> res = anonymousClasses.get(id);
+        if (res == null) {
+            anonymousClasses.put(id, res = super.getClass(ce));
+        }
+        return res;
+    }
+
+    @Override
+    public ONTObject<? extends OWLDataRange> getDatatype(OntDataRange dr) {
+        if (dr.isURIResource()) {
+            return super.getDatatype(dr);
+        }
+        BlankNodeId id = BlankNodeId.of(dr.asNode());
+        ONTObject<? extends OWLDataRange> res = anonymousDataRanges.get(id);
+        if (res == null) {
+            anonymousDataRanges.put(id, res = super.getDatatype(dr));
+        }
+        return res;
+    }
+
+    @Override
+    public ONTObject<? extends SWRLAtom> getSWRLAtom(OntSWRL.Atom<?> atom) {
+        if (!atom.isAnon()) {
+            return super.getSWRLAtom(atom);
+        }
+        BlankNodeId id = BlankNodeId.of(atom.asNode());
+        ONTObject<? extends SWRLAtom> res = swrlAtoms.get(id);
+        if (res == null) {
+            swrlAtoms.put(id, res = super.getSWRLAtom(atom));
+        }
+        return res;
+    }
+
     @Override
     public ONTObject<IRI> getIRI(String uri) {
         return ONTIRI.asONT(toIRI(uri));
@@ -15,6 +15,7 @@
 package com.github.owlcs.ontapi.internal;
 
 import org.apache.jena.graph.Triple;
+import org.apache.jena.util.iterator.ClosableIterator;
 import org.semanticweb.owlapi.model.OWLAnnotation;
 import org.semanticweb.owlapi.model.OWLAxiom;
 import org.semanticweb.owlapi.model.OWLObject;
@@ -29,6 +30,7 @@ import java.util.Objects;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.function.BiFunction;
+import java.util.function.Predicate;
 import java.util.function.Supplier;
 import java.util.stream.Stream;
 
@@ -50,7 +52,9 @@ public class CacheObjectMapImpl<X extends OWLObject> implements ObjectMap<X> {
 
     // objects provider:
     private final Supplier<Iterator<ONTObject<X>>> loader;
-    // soft reference:
+    // graph lookup to answer contains-queries while the cache is not loaded, can be null
+    private final Predicate<X> tester;
+    // soft reference or budgeted singleton:
     private final InternalCache.Loading<CacheObjectMapImpl<X>, CachedMap<X, ONTObject<X>>> map;
     // to control cache loading:
     // if true, then checking for duplicates and merging is performed,
@@ -61,6 +65,8 @@ public class CacheObjectMapImpl<X extends OWLObject> implements ObjectMap<X> {
     private final boolean parallel;
     // to control key-iteration
     private final boolean fastIterator;
+    // to build a Bloom filter pre-check for the loaded map
+    private final boolean bloomFilter;
     // a state flag that responds whether some axioms have been manually added to this map
     // the danger of manual added axioms is that the same information can be represented in different ways.
     private boolean hasNew;
@@ -86,11 +92,67 @@ public class CacheObjectMapImpl<X extends OWLObject> implements ObjectMap<X> {
                               boolean withMerge,
                               boolean parallel,
                               boolean fastIterator) {
+        this(loader, withMerge, parallel, fastIterator, null);
+    }
+
+    /**
+     * Constructs a bucket instance.
+     *
+     * @param loader       a {@code Supplier} to load object-triples pairs, not {@code null}
+     * @param withMerge    if {@code true} merging is performed while loading cache,
+     *                     otherwise the source is assumed to be distinct
+     * @param parallel     if {@code true} use caffeine cache, otherwise LHM based cache
+     * @param fastIterator if {@code true} use Array-based cache to speedup iteration over {@link X}-keys
+     * @param budget       {@link CacheBudget} to hold the loaded map strongly and account its size,
+     *                     or {@code null} to keep the map via {@link java.lang.ref.SoftReference}
+     * @since 4.0.1
+     */
+    public CacheObjectMapImpl(Supplier<Iterator<ONTObject<X>>> loader,
+                              boolean withMerge,
+                              boolean parallel,
+                              boolean fastIterator,
+                              CacheBudget budget) {
+        this(loader, null, withMerge, parallel, fastIterator, false, budget);
+    }
+
+    /**
+     * Constructs a bucket instance which can answer some queries directly from the graph
+     * while the cache is not loaded.
+     * These are {@link #contains(OWLObject)}, {@link #isEmpty()}
+     * and {@link #count()} (the latter only if {@code withMerge} is {@code false}, i.e. the source is distinct).
+     * Once the cache is loaded, all the queries are answered by the cache.
+     * If {@code tester} is {@code null}, any query loads the cache.
+     *
+     * @param loader       a {@code Supplier} to load object-triples pairs, not {@code null}
+     * @param tester       a {@code Predicate} to test if an object is present in the graph,
+     *                     or {@code null} to always load the cache
+     * @param withMerge    if {@code true} merging is performed while loading cache,
+     *                     otherwise the source is assumed to be distinct
+     * @param parallel     if {@code true} use caffeine cache, otherwise LHM based cache
+     * @param fastIterator if {@code true} use Array-based cache to speedup iteration over {@link X}-keys
+     * @param bloomFilter  if {@code true} the loaded map has a {@link BlockedBloomFilter} to answer definite misses
+     * @param budget       {@link CacheBudget} to hold the loaded map strongly and account its size,
+     *                     or {@code null} to keep the map via {@link java.lang.ref.SoftReference}
+     * @see com.github.owlcs.ontapi.config.CacheSettings#isColdCacheDirectReads()
+     * @see com.github.owlcs.ontapi.config.CacheSettings#isUseBloomFilter()
+     * @since 4.0.1
+     */
+    public CacheObjectMapImpl(Supplier<Iterator<ONTObject<X>>> loader,
+                              Predicate<X> tester,
+                              boolean withMerge,
+                              boolean parallel,
+                              boolean fastIterator,
+                              boolean bloomFilter,
+                              CacheBudget budget) {
         this.loader = Objects.requireNonNull(loader);
+        this.tester = tester;
         this.withMerge = withMerge;
         this.parallel = parallel;
         this.fastIterator = fastIterator;
-        this.map = InternalCache.createSoftSingleton(CacheObjectMapImpl::loadMap);
+        this.bloomFilter = bloomFilter;
+        this.map = budget == null ?
+                InternalCache.createSoftSingleton(CacheObjectMapImpl::loadMap) :
+                budget.createSingleton(CacheObjectMapImpl::loadMap, CachedMap::size);
     }
 
     /**
@@ -110,7 +172,7 @@ public class CacheObjectMapImpl<X extends OWLObject> implements ObjectMap<X> {
                 WithMerge.add(res, v);
             }
             setHasAxiomAnnotations();
-            return CachedMap.create(res, WithMerge.getMerger(), parallel);
+            return CachedMap.create(res, WithMerge.getMerger(), parallel, bloomFilter);
         }
         while (it.hasNext()) {
             ONTObject<X> v = it.next();
@@ -118,7 +180,7 @@ public class CacheObjectMapImpl<X extends OWLObject> implements ObjectMap<X> {
             res.put(v.getOWLObject(), v);
         }
         setHasAxiomAnnotations();
-        return CachedMap.create(res, null, parallel);
+        return CachedMap.create(res, null, parallel, bloomFilter);
     }
 
     private void setHasAxiomAnnotations(ONTObject<X> v) {
@@ -207,9 +269,32 @@ public class CacheObjectMapImpl<X extends OWLObject> implements ObjectMap<X> {
 
     @Override
     public long count() {
+        if (tester != null && !withMerge && !isLoaded()) {
+            // the source is distinct: count without collecting objects
+            Iterator<ONTObject<X>> it = loader.get();
+            long res = 0;
+            while (it.hasNext()) {
+                it.next();
+                res++;
+            }
+            return res;
+        }
         return getMap().asMap().size();
     }
 
+    @Override
+    public boolean isEmpty() {
+        if (tester != null && !isLoaded()) {
+            Iterator<ONTObject<X>> it = loader.get();
+            boolean res = !it.hasNext();
+            if (it instanceof ClosableIterator<?> c) {
+                c.close();
+            }
+            return res;
+        }
+        return getMap().asMap().isEmpty();
+    }
+
     /**
      * {@inheritDoc}
      * It is used directly by OWL-API interfaces.
@@ -219,6 +304,9 @@ public class CacheObjectMapImpl<X extends OWLObject> implements ObjectMap<X> {
      */
     @Override
     public boolean contains(X o) {
+        if (tester != null && !isLoaded()) {
+            return tester.test(o);
+        }
         return getMap().contains(o);
     }
 
@@ -242,6 +330,7 @@ public class CacheObjectMapImpl<X extends OWLObject> implements ObjectMap<X> {
     public void add(ONTObject<X> value) {
         X key = value.getOWLObject();
         getMap().put(key, value);
+        CacheBudget.grown(map);
         hasNew = true;
         if (!key.isAxiom()) {
             return;
@@ -267,6 +356,7 @@ public class CacheObjectMapImpl<X extends OWLObject> implements ObjectMap<X> {
      * An internal map-object that holds true-{@code Map} with {@link K}-keys and {@link V}-values.
      * It has the dedicated cache implemented as {@link java.lang.ref.SoftReference}
      * for the map keys to provide fast iteration, this is the only difference with the standard map.
+     * Optionally, it has a {@link BlockedBloomFilter} to answer definite misses without probing the map.
      *
      * @param <K> the type of keys maintained by this map
      * @param <V> the type of mapped values
@@ -275,13 +365,23 @@ public class CacheObjectMapImpl<X extends OWLObject> implements ObjectMap<X> {
         protected final Map<K, V> map;
         protected final BiFunction<V, V, V> merger;
         protected final InternalCache.Loading<CachedMap<?, ?>, List<K>> keys;
+        // can be null
+        protected volatile BlockedBloomFilter filter;
 
         protected CachedMap(Map<K, V> objects,
                             InternalCache.Loading<CachedMap<?, ?>, List<K>> cache,
                             BiFunction<V, V, V> merger) {
+            this(objects, cache, merger, null);
+        }
+
+        protected CachedMap(Map<K, V> objects,
+                            InternalCache.Loading<CachedMap<?, ?>, List<K>> cache,
+                            BiFunction<V, V, V> merger,
+                            BlockedBloomFilter filter) {
             this.map = Objects.requireNonNull(objects);
             this.keys = Objects.requireNonNull(cache);
             this.merger = merger;
+            this.filter = filter;
         }
 
         /**
@@ -297,6 +397,25 @@ public class CacheObjectMapImpl<X extends OWLObject> implements ObjectMap<X> {
         public static <K, V> CachedMap<K, V> create(Map<K, V> map,
                                                     BiFunction<V, V, V> merger,
                                                     boolean parallel) {
+            return create(map, merger, parallel, false);
+        }
+
+        /**
+         * Creates a ready-to-use {@code CacheMap} instance.
+         *
+         * @param map         {@code Map} to wrap
+         * @param merger      a Function to perform merge operations
+         * @param parallel    a boolean flag that is used to create {@link InternalCache} instance
+         * @param bloomFilter if {@code true} a {@link BlockedBloomFilter} is built over the map keys
+         * @param <K>         the type of keys maintained by this map
+         * @param <V>         the type of mapped values
+         * @return {@link CachedMap} instance
+         * @since 4.0.1
+         */
+        public static <K, V> CachedMap<K, V> create(Map<K, V> map,
+                                                    BiFunction<V, V, V> merger,
+                                                    boolean parallel,
+                                                    boolean bloomFilter) {
             InternalCache.Loading<CachedMap<?, ?>, List<K>> keys = InternalCache.createSoftSingleton(m -> {
                 if (!parallel) {
                     return new ArrayList<>(map.keySet());
@@ -306,7 +425,7 @@ public class CacheObjectMapImpl<X extends OWLObject> implements ObjectMap<X> {
                 // but (I believe), R/W locking reduces the List's mutation costs
                 return new CopyOnWriteArrayList<>(map.keySet());
             });
-            return new CachedMap<>(map, keys, merger);
+            return new CachedMap<>(map, keys, merger, bloomFilter ? BlockedBloomFilter.create(map.keySet()) : null);
         }
 
         /**
@@ -374,6 +493,14 @@ public class CacheObjectMapImpl<X extends OWLObject> implements ObjectMap<X> {
             } else {
                 map.put(key, value);
             }
+            BlockedBloomFilter filter = this.filter;
+            if (filter != null) {
+                if (filter.isOverloaded(map.size())) {
+                    this.filter = BlockedBloomFilter.create(map.keySet());
+                } else {
+                    filter.add(key);
+                }
+            }
             if (keys.isEmpty()) {
                 return;
             }
@@ -391,9 +518,23 @@ public class CacheObjectMapImpl<X extends OWLObject> implements ObjectMap<X> {
          * @return boolean
          */
         public boolean contains(K key) {
+            if (definitelyAbsent(key)) {
+                return false;
+            }
             return map.containsKey(key);
         }
 
+        /**
+         * Answers {@code true} if the Bloom filter proves that the key is absent.
+         *
+         * @param key {@link K}
+         * @return boolean, always {@code false} if there is no filter
+         */
+        protected boolean definitelyAbsent(K key) {
+            BlockedBloomFilter filter = this.filter;
+            return filter != null && !filter.mightContain(key);
+        }
+
         /**
          * Returns the value to which the specified key is mapped,
          * or {@code null} if this map contains no mapping for the key.
@@ -403,6 +544,9 @@ public class CacheObjectMapImpl<X extends OWLObject> implements ObjectMap<X> {
          * or {@code null} if this map contains no mapping for the key
          */
         public V get(K key) {
+            if (definitelyAbsent(key)) {
+                return null;
+            }
             return map.get(key);
         }
     }
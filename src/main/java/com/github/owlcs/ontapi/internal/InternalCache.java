@@ -22,6 +22,8 @@ import java.lang.ref.SoftReference;
 import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.Function;
 
 /**
@@ -41,6 +43,10 @@ import java.util.function.Function;
  * This fact allows to make some read operations to be simpler and a little faster,
  * then it would be with direct use particular caches.
  * <p>
+ * The write operations of the non-Caffeine implementations are guarded by {@link ReentrantLock}s
+ * instead of object monitors, so that a virtual thread which blocks inside a loader
+ * (e.g. while translating a whole axiom type) does not pin its carrier thread.
+ * <p>
  * Created by @ssz on 18.02.2019.
  *
  * @param <K> the type of keys maintained by this cache
@@ -291,16 +297,20 @@ public interface InternalCache<K, V> {
     static <K, V> Loading<K, V> createSingleton(Function<? super K, ? extends V> loader) {
         Objects.requireNonNull(loader);
         return new Loading<>() {
+            private final Lock lock = new ReentrantLock();
             private volatile V value;
 
             @Override
             public V get(K key) {
                 if (value != null) return value;
-                synchronized (this) {
+                lock.lock();
+                try {
                     if (value != null) return value;
                     V res;
                     put(key, res = loader.apply(key));
                     return res;
+                } finally {
+                    lock.unlock();
                 }
             }
 
@@ -341,16 +351,20 @@ public interface InternalCache<K, V> {
     static <K, V> Loading<K, V> createSoftSingleton(Function<? super K, ? extends V> loader) {
         Objects.requireNonNull(loader);
         return new Loading<>() {
+            private final Lock lock = new ReentrantLock();
             private volatile SoftReference<V> value;
 
             @Override
             public V get(K key) {
                 V res;
                 if (value != null && (res = value.get()) != null) return res;
-                synchronized (this) {
+                lock.lock();
+                try {
                     if (value != null && (res = value.get()) != null) return res;
                     put(key, res = loader.apply(key));
                     return res;
+                } finally {
+                    lock.unlock();
                 }
             }
 
@@ -446,7 +460,7 @@ public interface InternalCache<K, V> {
 
     /**
      * A {@code InternalCache} implementation that wraps a {@code Map} with {@link SoftReference} values.
-     * It is partially synchronized: only read operations are not thread safe.
+     * It is partially synchronized (by a {@link ReentrantLock}): only read operations are not thread safe.
      *
      * @param <K> the type of keys maintained by this cache
      * @param <V> the type of mapped values
@@ -454,6 +468,7 @@ public interface InternalCache<K, V> {
     @SuppressWarnings("WeakerAccess")
     class SoftMapWrapper<K, V> implements InternalCache<K, V> {
         protected final Map<K, SoftReference<V>> map;
+        protected final Lock lock = new ReentrantLock();
 
         protected SoftMapWrapper(Map<K, SoftReference<V>> map) {
             this.map = Objects.requireNonNull(map);
@@ -461,8 +476,11 @@ public interface InternalCache<K, V> {
 
         @Override
         public void put(K key, V value) {
-            synchronized (map) {
+            lock.lock();
+            try {
                 map.put(key, new SoftReference<>(value));
+            } finally {
+                lock.unlock();
             }
         }
 
@@ -474,27 +492,36 @@ public interface InternalCache<K, V> {
 
         @Override
         public void remove(K key) {
-            synchronized (map) {
+            lock.lock();
+            try {
                 map.remove(key);
+            } finally {
+                lock.unlock();
             }
         }
 
         @Override
         public void clear() {
-            synchronized (map) {
+            lock.lock();
+            try {
                 map.clear();
+            } finally {
+                lock.unlock();
             }
         }
 
         @Override
         public boolean isEmpty() {
             if (map.isEmpty()) return true;
-            synchronized (map) {
+            lock.lock();
+            try {
                 if (map.isEmpty()) return true;
                 for (K k : map.keySet()) {
                     if (get(k) != null) return false;
                 }
                 return true;
+            } finally {
+                lock.unlock();
             }
         }
 
@@ -510,13 +537,16 @@ public interface InternalCache<K, V> {
             if ((res = get(key)) != null) {
                 return res;
             }
-            synchronized (map) {
+            lock.lock();
+            try {
                 if ((res = get(key)) != null) {
                     return res;
                 }
                 if ((res = mappingFunction.apply(key)) != null) {
                     put(key, res);
                 }
+            } finally {
+                lock.unlock();
             }
             return res;
         }
@@ -524,7 +554,7 @@ public interface InternalCache<K, V> {
 
     /**
      * A {@code InternalCache} implementations that wraps the standard {@code Map}.
-     * It is partially synchronized: only read operations are not safe.
+     * It is partially synchronized (by a {@link ReentrantLock}): only read operations are not safe.
      *
      * @param <K> the type of keys maintained by this cache
      * @param <V> the type of mapped values
@@ -532,6 +562,7 @@ public interface InternalCache<K, V> {
     @SuppressWarnings("WeakerAccess")
     class MapWrapper<K, V> implements InternalCache<K, V> {
         protected final Map<K, V> map;
+        protected final Lock lock = new ReentrantLock();
 
         protected MapWrapper(Map<K, V> map) {
             this.map = Objects.requireNonNull(map);
@@ -539,8 +570,11 @@ public interface InternalCache<K, V> {
 
         @Override
         public void put(K key, V value) {
-            synchronized (map) {
+            lock.lock();
+            try {
                 map.put(key, value);
+            } finally {
+                lock.unlock();
             }
         }
 
@@ -551,15 +585,21 @@ public interface InternalCache<K, V> {
 
         @Override
         public void remove(K key) {
-            synchronized (map) {
+            lock.lock();
+            try {
                 map.remove(key);
+            } finally {
+                lock.unlock();
             }
         }
 
         @Override
         public void clear() {
-            synchronized (map) {
+            lock.lock();
+            try {
                 map.clear();
+            } finally {
+                lock.unlock();
             }
         }
 
@@ -580,13 +620,16 @@ public interface InternalCache<K, V> {
             if ((res = get(key)) != null) {
                 return res;
             }
-            synchronized (map) {
+            lock.lock();
+            try {
                 if ((res = get(key)) != null) {
                     return res;
                 }
                 if ((res = mappingFunction.apply(key)) != null) {
                     put(key, res);
                 }
+            } finally {
+                lock.unlock();
             }
             return res;
         }
@@ -41,6 +41,18 @@ public interface InternalConfig extends CacheSettings, AxiomsSettings {
         return false;
     }
 
+    /**
+     * Returns the manager-wide budget for the model content and component caches.
+     * If it is {@code null}, the caches are kept via {@link java.lang.ref.SoftReference soft references}.
+     *
+     * @return {@link CacheBudget} or {@code null}
+     * @see com.github.owlcs.ontapi.config.OntConfig#getManagerContentCacheBudget()
+     * @since 4.0.1
+     */
+    default CacheBudget getCacheBudget() {
+        return null;
+    }
+
     /**
      * Gets a fixed state of this config as immutable instance.
      *
@@ -56,9 +68,11 @@ public interface InternalConfig extends CacheSettings, AxiomsSettings {
     class Snapshot implements InternalConfig {
         private final EnumMap<Key, Object> map = new EnumMap<>(Key.class);
         private final boolean parallel;
+        private final CacheBudget budget;
 
         Snapshot(InternalConfig delegate) {
             parallel = Objects.requireNonNull(delegate, "Null config").concurrent();
+            budget = delegate.getCacheBudget();
             map.put(Key.LOAD_ANNOTATIONS, delegate.isLoadAnnotationAxioms());
             map.put(Key.ALLOW_DECLARATION_BULK_ANNOTATIONS, delegate.isAllowBulkAnnotationAssertions());
             map.put(Key.IGNORE_ANNOTATION_OVERLAPS, delegate.isIgnoreAnnotationAxiomOverlaps());
@@ -69,6 +83,10 @@ public interface InternalConfig extends CacheSettings, AxiomsSettings {
             map.put(Key.CACHE_OBJECTS_SIZE, delegate.getLoadObjectsCacheSize());
             map.put(Key.CONTENT_CACHE_LEVEL, delegate.getModelCacheLevel());
             map.put(Key.READ_ONT_OBJECTS, delegate.isReadONTObjects());
+            map.put(Key.USE_NODE_DICTIONARY, delegate.isUseNodeDictionary());
+            map.put(Key.COLD_CACHE_DIRECT_READS, delegate.isColdCacheDirectReads());
+            map.put(Key.USE_BLOOM_FILTER, delegate.isUseBloomFilter());
+            map.put(Key.USE_IMPORTS_CLOSURE_CACHE, delegate.isUseImportsClosureCache());
         }
 
         @SuppressWarnings("unchecked")
@@ -126,11 +144,36 @@ public interface InternalConfig extends CacheSettings, AxiomsSettings {
             return get(Key.CONTENT_CACHE_LEVEL);
         }
 
+        @Override
+        public boolean isUseNodeDictionary() {
+            return get(Key.USE_NODE_DICTIONARY);
+        }
+
+        @Override
+        public boolean isColdCacheDirectReads() {
+            return get(Key.COLD_CACHE_DIRECT_READS);
+        }
+
+        @Override
+        public boolean isUseBloomFilter() {
+            return get(Key.USE_BLOOM_FILTER);
+        }
+
+        @Override
+        public boolean isUseImportsClosureCache() {
+            return get(Key.USE_IMPORTS_CLOSURE_CACHE);
+        }
+
         @Override
         public boolean concurrent() {
             return parallel;
         }
 
+        @Override
+        public CacheBudget getCacheBudget() {
+            return budget;
+        }
+
         @Override
         public Snapshot snapshot() {
             return this;
@@ -140,12 +183,13 @@ public interface InternalConfig extends CacheSettings, AxiomsSettings {
         public boolean equals(Object o) {
             if (this == o) return true;
             if (o == null || getClass() != o.getClass()) return false;
-            return map.equals(((Snapshot) o).map);
+            Snapshot other = (Snapshot) o;
+            return parallel == other.parallel && Objects.equals(budget, other.budget) && map.equals(other.map);
         }
 
         @Override
         public int hashCode() {
-            return Objects.hash(map);
+            return Objects.hash(map, parallel, budget);
         }
 
         private enum Key {
@@ -159,6 +203,10 @@ public interface InternalConfig extends CacheSettings, AxiomsSettings {
             CACHE_NODES_SIZE,
             CACHE_OBJECTS_SIZE,
             CONTENT_CACHE_LEVEL,
+            USE_NODE_DICTIONARY,
+            COLD_CACHE_DIRECT_READS,
+            USE_BLOOM_FILTER,
+            USE_IMPORTS_CLOSURE_CACHE,
         }
     }
 
@@ -220,6 +268,26 @@ public interface InternalConfig extends CacheSettings, AxiomsSettings {
                 return conf.getModelCacheLevel();
             }
 
+            @Override
+            public boolean isUseNodeDictionary() {
+                return conf.isUseNodeDictionary();
+            }
+
+            @Override
+            public boolean isColdCacheDirectReads() {
+                return conf.isColdCacheDirectReads();
+            }
+
+            @Override
+            public boolean isUseBloomFilter() {
+                return conf.isUseBloomFilter();
+            }
+
+            @Override
+            public boolean isUseImportsClosureCache() {
+                return conf.isUseImportsClosureCache();
+            }
+
         };
     }
 }
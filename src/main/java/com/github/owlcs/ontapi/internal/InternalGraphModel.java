@@ -15,6 +15,7 @@
 package com.github.owlcs.ontapi.internal;
 
 import com.github.owlcs.ontapi.ID;
+import com.github.owlcs.ontapi.OntApiException;
 import org.apache.jena.ontapi.UnionGraph;
 import org.apache.jena.ontapi.common.OntEnhGraph;
 import org.apache.jena.ontapi.common.OntPersonality;
@@ -40,6 +41,8 @@ import org.semanticweb.owlapi.model.OWLObjectProperty;
 import org.semanticweb.owlapi.model.OWLOntologyID;
 import org.semanticweb.owlapi.model.OWLPrimitive;
 
+import java.util.Collection;
+import java.util.concurrent.locks.Lock;
 import java.util.stream.Stream;
 
 /**
@@ -279,6 +282,15 @@ public interface InternalGraphModel extends OntModel, OntEnhGraph, HasOntologyID
      */
     long getOWLAxiomCount();
 
+    /**
+     * Returns the number of axioms of the given type in this ontology.
+     *
+     * @param type {@link AxiomType}, not {@code null}
+     * @return {@code long}, the count
+     * @since 4.0.1
+     */
+    long getOWLAxiomCount(AxiomType<?> type);
+
     /**
      * Answers {@code true} if the given axiom is present within this buffer-model.
      * It is equivalent to the expression {@code this.listOWLAxioms().anyMatch(a::equals)}.
@@ -327,6 +339,21 @@ public interface InternalGraphModel extends OntModel, OntEnhGraph, HasOntologyID
      */
     boolean add(OWLAxiom axiom);
 
+    /**
+     * Adds all the specified axioms to the model at once.
+     * Unlike the {@link #add(OWLAxiom)} method, the axioms are partitioned by type
+     * and written into separate buffer graphs (in parallel, if there are several chunks),
+     * which are then merged into the model with dedup of shared triples (e.g. declarations),
+     * and the content cache is updated in one pass.
+     * The model is not changed if some axiom cannot be written.
+     *
+     * @param axioms a {@code Collection} of {@link OWLAxiom}s, not {@code null}
+     * @return {@code int} - the number of axioms that were not present in the model before
+     * @throws OntApiException in case some axiom cannot be added into the model
+     * @since 4.0.1
+     */
+    int addAll(Collection<? extends OWLAxiom> axioms);
+
     /**
      * Adds the given annotation to the ontology header of the model.
      *
@@ -360,6 +387,36 @@ public interface InternalGraphModel extends OntModel, OntEnhGraph, HasOntologyID
      */
     void clearCache();
 
+    /**
+     * Returns a counter that is changed on every modification of this model,
+     * both through the OWL-API interface and directly through the graph.
+     * It can be used by outer caches as a cheap validity stamp.
+     *
+     * @return {@code long}
+     * @since 4.0.1
+     */
+    long getModificationCount();
+
+    /**
+     * Sets the model, whose already loaded content cache can be reused by this model instead of reading the graph.
+     * This is intended for copy-on-write forks and for shared read-only graphs, which share the data with the source:
+     * the content is reused only while the base graph of this model is an unmodified
+     * {@link com.github.owlcs.ontapi.OverlayGraph} over the base graph of the source
+     * (or both base graphs are views over the same {@link com.github.owlcs.ontapi.SharedGraphRegistry shared graph}),
+     * the source has not been changed since the given {@code stamp}, and both models have equal configurations.
+     * The source caches are read under the given lock (which is the read lock of the source's manager);
+     * if the lock is busy, the content is read from the graph as usual, so that two managers never wait for each other.
+     * The reused objects are detached from the source model
+     * (see {@link com.github.owlcs.ontapi.internal.objects.ModelObject#eraseModel()}), so they do not retain the source and do not depend on its further changes.
+     *
+     * @param source {@link InternalGraphModel} or {@code null} to disable reusing
+     * @param stamp  {@code long}, the {@link #getModificationCount() modification count} of the source
+     *               at the moment its data was captured
+     * @param lock   {@link Lock} to guard reading the source caches, not {@code null}
+     * @since 4.0.1
+     */
+    void setContentSource(InternalGraphModel source, long stamp, Lock lock);
+
     /**
      * Forcibly loads the whole content cache.
      */
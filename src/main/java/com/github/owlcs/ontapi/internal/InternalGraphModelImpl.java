@@ -18,9 +18,14 @@ import com.github.owlcs.ontapi.DataFactory;
 import com.github.owlcs.ontapi.ID;
 import com.github.owlcs.ontapi.OntApiException;
 import com.github.owlcs.ontapi.Ontology;
+import com.github.owlcs.ontapi.OverlayGraph;
+import com.github.owlcs.ontapi.SharedGraphRegistry;
+import com.github.owlcs.ontapi.internal.objects.ModelObject;
 import javax.annotation.Nonnull;
 import org.apache.jena.graph.Graph;
 import org.apache.jena.graph.GraphEventManager;
+import org.apache.jena.graph.GraphEvents;
+import org.apache.jena.graph.GraphMemFactory;
 import org.apache.jena.graph.Node;
 import org.apache.jena.graph.Triple;
 import org.apache.jena.ontapi.UnionGraph;
@@ -44,10 +49,19 @@ import org.semanticweb.owlapi.model.OWLObject;
 import org.semanticweb.owlapi.model.OWLOntologyID;
 import org.semanticweb.owlapi.model.OWLPrimitive;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
+import java.util.stream.Collectors;
 
 /**
  * A Buffer Graph OWL model, which supports both listing OWL-API objects (OWL Axioms, Entities and Annotations)
@@ -80,10 +94,40 @@ import java.util.Set;
  */
 public class InternalGraphModelImpl extends InternalReadGraphModel implements InternalGraphModel {
 
+    /**
+     * The maximum number of axioms of the same type,
+     * that are written into a single buffer graph by the {@link #addAll(Collection)} method.
+     */
+    protected static final int BULK_CHUNK_SIZE = 4096;
+
     /**
      * The direct listener, it monitors changes that occur through the main (Jena) interface.
      */
     protected final DirectListener directListener;
+    /**
+     * A counter of modifications, it is incremented each time when the {@link #clearOtherCaches() other caches}
+     * are invalidated, i.e. on any change made through the OWL-API or directly through the graph.
+     */
+    protected final AtomicLong modifications = new AtomicLong();
+    /**
+     * Reference counters for the {@link #components} cache:
+     * for each loaded component type it holds the number of content containers (axioms and header annotations)
+     * that refer to the component.
+     * The counters are built lazily, on the first removal of a container,
+     * and then are kept up-to-date by the {@link #add(OWLTopObjectType, OWLObject)}
+     * and {@link #remove(OWLTopObjectType, OWLObject)} methods,
+     * also while the corresponding {@code ObjectMap} is unloaded (e.g. evicted),
+     * since the counters are derived from the content, not from the components cache.
+     * A component is dropped from its {@code ObjectMap} only when its counter drops to zero.
+     */
+    protected final Map<OWLComponentType, Map<OWLObject, int[]>> componentRefs = new EnumMap<>(OWLComponentType.class);
+    /**
+     * A model to reuse the loaded content from, together with its modification count at the moment of linking
+     * and the lock to read its caches; can be {@code null}.
+     *
+     * @see #setContentSource(InternalGraphModel, long, Lock)
+     */
+    protected volatile ContentSource contentSource;
 
     /**
      * Constructs a model instance.
@@ -202,6 +246,7 @@ public class InternalGraphModelImpl extends InternalReadGraphModel implements In
         GraphEventManager evm = getGraph().getEventManager();
         ObjectMap<OWLObject> map = getContentCache(key);
         map.load(); // before graph modification
+        boolean isNew = !map.contains(container);
         try {
             disableDirectListening();
             evm.register(listener);
@@ -220,14 +265,103 @@ public class InternalGraphModelImpl extends InternalReadGraphModel implements In
             LOGGER.warn("Attempt to add empty OWL object: {}", container);
             return false;
         }
+        listener.getTriples().forEach(t -> updateListIndex(t, true));
         map.add(value);
         // put new components into objects cache
-        cacheComponents(container);
+        cacheComponents(container, isNew);
         // clear search model and object factory
         clearOtherCaches();
         return true;
     }
 
+    @Override
+    public int addAll(Collection<? extends OWLAxiom> axioms) {
+        forceLoad(); // before graph modification
+        Map<OWLTopObjectType, List<OWLAxiom>> byType = new EnumMap<>(OWLTopObjectType.class);
+        axioms.stream().distinct().forEach(a -> {
+            OWLTopObjectType key = OWLTopObjectType.get(a.getAxiomType());
+            if (!getContentCache(key).contains(a)) {
+                byType.computeIfAbsent(key, k -> new ArrayList<>()).add(a);
+            }
+        });
+        List<BulkChunk> chunks = new ArrayList<>();
+        byType.forEach((key, list) -> {
+            for (int i = 0; i < list.size(); i += BULK_CHUNK_SIZE) {
+                chunks.add(new BulkChunk(key, list.subList(i, Math.min(list.size(), i + BULK_CHUNK_SIZE)),
+                        GraphMemFactory.createDefaultGraph(), new ArrayList<>()));
+            }
+        });
+        if (chunks.isEmpty()) {
+            return 0;
+        }
+        // the model is not touched while writing into the buffers
+        (chunks.size() > 1 ? chunks.parallelStream() : chunks.stream()).forEach(this::writeChunk);
+        try {
+            disableDirectListening();
+            Graph g = getGraph();
+            // shared triples (e.g. declarations) are added only once
+            Set<Triple> seen = new HashSet<>();
+            chunks.forEach(c -> c.graph().find().filterKeep(seen::add).forEachRemaining(t -> {
+                g.add(t);
+                updateListIndex(t, true);
+            }));
+        } finally {
+            enableDirectListening();
+        }
+        int res = 0;
+        for (BulkChunk c : chunks) {
+            ObjectMap<OWLObject> map = getContentCache(c.key());
+            for (ONTObject<OWLObject> value : c.values()) {
+                map.add(value);
+                // put new components into objects cache
+                cacheComponents(value.getOWLObject(), true);
+                res++;
+            }
+        }
+        // clear search model and object factory
+        clearOtherCaches();
+        return res;
+    }
+
+    /**
+     * Writes the axioms of the given chunk into its buffer graph
+     * and collects the containers with their triples (the triple sets are immutable and compact).
+     *
+     * @param chunk {@link BulkChunk}, not {@code null}
+     * @throws OntApiException in case some axiom cannot be written
+     */
+    protected void writeChunk(BulkChunk chunk) {
+        UnionGraph u = new UnionGraphImpl(chunk.graph(), false);
+        OntModel m = new OntGraphModelImpl(u, getOntPersonality());
+        Set<Triple> current = new HashSet<>();
+        u.getEventManager().register(new GraphListenerBase() {
+            @Override
+            protected void addTripleEvent(Graph g, Triple t) {
+                current.add(t);
+            }
+
+            @Override
+            protected void deleteTripleEvent(Graph g, Triple t) {
+                current.remove(t);
+            }
+        });
+        for (OWLAxiom axiom : chunk.axioms()) {
+            current.clear();
+            try {
+                chunk.key().write(m, axiom);
+            } catch (OntApiException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new OntApiException(String.format("OWLObject: %s, message: '%s'", axiom, e.getMessage()), e);
+            }
+            if (current.isEmpty()) {
+                LOGGER.warn("Attempt to add empty OWL object: {}", axiom);
+                continue;
+            }
+            chunk.values().add(new OWLTriples<OWLObject>(axiom, Set.copyOf(current)));
+        }
+    }
+
     /**
      * Removes the given {@code container} from the corresponding {@link ObjectMap cache} and the model.
      * In case some container's triple is associated with other object, it cannot be deleted from the graph.
@@ -239,7 +373,7 @@ public class InternalGraphModelImpl extends InternalReadGraphModel implements In
      * @param container either {@link OWLAxiom} or {@link OWLAnnotation},
      *                  that corresponds to the {@code key}, not {@code null}
      * @return {@code true} if the graph has been changed
-     * @see #clearComponentsCaches()
+     * @see #releaseComponents(OWLObject)
      */
     protected boolean remove(OWLTopObjectType key, OWLObject container) {
         try {
@@ -251,15 +385,16 @@ public class InternalGraphModelImpl extends InternalReadGraphModel implements In
                 // they, sometimes, do not be aware what they do
                 return false;
             }
-            map.remove(container);
             container = value.getOWLObject();
+            // release related components from the objects cache
+            // (even there is no graph changes);
+            // do it before content cache and graph modification
+            // since ONTObject's may rely on graph and reference counters rely on content
+            releaseComponents(container);
+            map.remove(container);
             OntModel m = toModel(value);
             // triples that are used by other content objects:
             Set<Triple> used = getUsedTriples(m, container);
-            // remove related components from the objects cache
-            // (even there is no graph changes);
-            // do it before graph modification since ONTObject's may rely on graph
-            clearComponents(container);
             // physically delete triples:
             Graph g = m.getBaseGraph();
             long size = g.size();
@@ -392,6 +527,27 @@ public class InternalGraphModelImpl extends InternalReadGraphModel implements In
      */
     protected void delete(Triple triple) {
         getBaseGraph().delete(triple);
+        updateListIndex(triple, false);
+    }
+
+    /**
+     * Reflects the given change of the base graph in the {@link ListMembershipIndex list-membership index},
+     * if the index is currently loaded; otherwise, it will be built from the graph on demand.
+     * Must be called after the graph is modified.
+     *
+     * @param triple {@link Triple}, not {@code null}
+     * @param added  {@code true} if the triple has been added, {@code false} if deleted
+     */
+    protected void updateListIndex(Triple triple, boolean added) {
+        if (listIndex.isEmpty()) {
+            return;
+        }
+        ListMembershipIndex index = listIndex.get(this);
+        if (added) {
+            index.add(triple);
+        } else {
+            index.delete(triple);
+        }
     }
 
     /**
@@ -417,48 +573,153 @@ public class InternalGraphModelImpl extends InternalReadGraphModel implements In
 
     @Override
     public void clearCache() {
+        listIndex.clear();
+        clearModelCaches();
+    }
+
+    /**
+     * Invalidates all caches except the {@link #listIndex list-membership index},
+     * which is maintained from the graph events.
+     * Auxiliary method.
+     */
+    protected void clearModelCaches() {
         cachedID = null;
         content.clear();
         config.clear();
+        dictionary.clear();
         clearComponentsCaches();
     }
 
+    @Override
+    public long getModificationCount() {
+        return modifications.get();
+    }
+
+    @Override
+    public void setContentSource(InternalGraphModel source, long stamp, Lock lock) {
+        contentSource = source instanceof InternalGraphModelImpl ?
+                new ContentSource((InternalGraphModelImpl) source, stamp, Objects.requireNonNull(lock)) : null;
+    }
+
+    @Override
+    protected Iterator<ONTObject<OWLObject>> findSharedContent(OWLTopObjectType key) {
+        ContentSource res = contentSource;
+        if (res == null) {
+            return null;
+        }
+        if (!res.lock().tryLock()) {
+            // the source manager is busy: do not wait for it, read the graph instead
+            return null;
+        }
+        try {
+            InternalGraphModelImpl source = res.model();
+            if (!hasSameData(source)
+                    || source.getModificationCount() != res.stamp() || !getConfig().equals(source.getConfig())) {
+                // the data has diverged, it will never be reused again
+                contentSource = null;
+                return null;
+            }
+            ObjectMap<OWLObject> map = source.getContentCache(key);
+            if (!map.isLoaded() || map.hasNew()) {
+                // manually added objects may differ from what is read from the graph
+                return null;
+            }
+            return map.values().map(InternalGraphModelImpl::detach).collect(Collectors.toList()).iterator();
+        } finally {
+            res.lock().unlock();
+        }
+    }
+
+    /**
+     * Makes a copy of the given content object, that is not attached to any model,
+     * so that it can be put into the cache of another model.
+     *
+     * @param value {@link ONTObject}
+     * @return {@link ONTObject} which holds an unattached {@code OWLObject} and its triples in memory
+     */
+    @SuppressWarnings("unchecked")
+    protected static ONTObject<OWLObject> detach(ONTObject<OWLObject> value) {
+        OWLObject key = value instanceof ModelObject ?
+                ((ModelObject<OWLObject>) value).eraseModel() : value.getOWLObject();
+        return new OWLTriples<>(key, value.triples().collect(Collectors.toUnmodifiableSet()));
+    }
+
+    /**
+     * Answers {@code true} if the base graph of this model still has the same data as the base graph of the source:
+     * either it is an unmodified {@link OverlayGraph} fork, or both are views over the same shared read-only graph.
+     *
+     * @param source {@link InternalGraphModelImpl}
+     * @return boolean
+     */
+    protected boolean hasSameData(InternalGraphModelImpl source) {
+        Graph base = getBaseGraph();
+        if (base instanceof OverlayGraph) {
+            return !((OverlayGraph) base).isModified();
+        }
+        return base instanceof SharedGraphRegistry.SharedGraph
+                && ((SharedGraphRegistry.SharedGraph) base).isSameData(source.getBaseGraph());
+    }
+
     /**
      * Invalidates {@link #components}, {@link #objectFactory} and {@link #searchModel} caches.
      * Auxiliary method.
      */
     protected void clearComponentsCaches() {
         components.clear();
+        componentRefs.clear();
         clearOtherCaches();
     }
 
     /**
-     * Invalidates search model and object factory caches.
+     * Invalidates search model and object factory caches
+     * and increments the {@link #modifications modification counter}.
+     * The list-membership index is not reset here, it is kept up to date by {@link #updateListIndex(Triple, boolean)}.
      * Auxiliary method.
      */
     protected void clearOtherCaches() {
         objectFactory.clear();
         searchModel.clear();
+        modifications.incrementAndGet();
     }
 
     /**
-     * Invalidates the {@link #components cache} for all components parsed from the given {@code container}.
-     * todo: is a smarter mechanism to invalidate the related components possible here?
+     * Releases all components of the given {@code container} in the {@link #components cache}.
+     * Each component's reference counter is decremented,
+     * and the component is removed from the cache only if no other content container refers to it.
+     * Must be called while the {@code container} is still present in the content cache.
      *
      * @param container {@link OWLObject}, not {@code null}
-     * @see #clearComponentsCaches()
+     * @see #cacheComponents(OWLObject, boolean)
      * @see OWLComponentType
      */
-    protected void clearComponents(OWLObject container) {
-        if (components.isEmpty()) return;
+    protected void releaseComponents(OWLObject container) {
+        if (components.isEmpty()) {
+            // the counters are rebuilt together with the components cache
+            componentRefs.clear();
+            return;
+        }
         Map<OWLComponentType, ObjectMap<OWLObject>> cache = components.get(this);
         OWLComponentType.keys().forEach(type -> {
             ObjectMap<OWLObject> map = cache.get(type);
-            if (!map.isLoaded()) {
+            boolean loaded = map.isLoaded();
+            if (!loaded && !componentRefs.containsKey(type)) {
+                return;
+            }
+            Set<OWLObject> selected = type.select(container).collect(Collectors.toSet());
+            if (selected.isEmpty()) {
                 return;
             }
-            if (type.select(container).findFirst().isEmpty()) return;
-            map.clear();
+            Map<OWLObject, int[]> refs = getComponentRefs(type);
+            selected.forEach(x -> {
+                int[] count = refs.get(x);
+                if (count != null && --count[0] > 0) {
+                    return;
+                }
+                refs.remove(x);
+                if (loaded) {
+                    map.remove(x);
+                }
+            });
         });
     }
 
@@ -466,28 +727,87 @@ public class InternalGraphModelImpl extends InternalReadGraphModel implements In
      * Extracts all components from the given {@code container} and puts them into the {@link #components} cache.
      *
      * @param container {@link OWLObject}, not {@code null}
-     * @see #clearComponentsCaches()
+     * @param isNew     if {@code true} the {@code container} has not been in the content cache before,
+     *                  and the reference counters of its components must be incremented
+     * @see #releaseComponents(OWLObject)
      * @see OWLComponentType
      */
-    protected void cacheComponents(OWLObject container) {
-        if (components.isEmpty()) return;
+    protected void cacheComponents(OWLObject container, boolean isNew) {
+        if (components.isEmpty()) {
+            componentRefs.clear();
+            return;
+        }
         Map<OWLComponentType, ObjectMap<OWLObject>> cache = components.get(this);
         ModelObjectFactory df = getObjectFactory();
         OntModel m = getSearchModel();
         OWLComponentType.keys().forEach(type -> {
             ObjectMap<OWLObject> map = cache.get(type);
+            Map<OWLObject, int[]> refs = isNew ? componentRefs.get(type) : null;
             if (!map.isLoaded()) {
+                // the components will be collected on reload, but the counters must be kept up-to-date
+                if (refs != null) {
+                    type.select(container).distinct().forEach(x -> refs.computeIfAbsent(x, k -> new int[1])[0]++);
+                }
                 return;
             }
-            type.select(container, m, df).forEach(map::add);
+            // each container is counted once per component, as in the getComponentRefs and releaseComponents
+            Set<OWLObject> seen = refs != null ? new HashSet<>() : null;
+            type.select(container, m, df).forEach(x -> {
+                map.add(x);
+                if (refs != null && seen.add(x.getOWLObject())) {
+                    refs.computeIfAbsent(x.getOWLObject(), k -> new int[1])[0]++;
+                }
+            });
         });
     }
 
+    /**
+     * Returns the reference counters for the given component {@code type},
+     * calculating them from the content cache if it is needed.
+     *
+     * @param type {@link OWLComponentType}, not {@code null}
+     * @return {@code Map} with components as keys and the number of referring containers as values
+     */
+    protected Map<OWLObject, int[]> getComponentRefs(OWLComponentType type) {
+        Map<OWLObject, int[]> res = componentRefs.get(type);
+        if (res != null) {
+            return res;
+        }
+        Map<OWLObject, int[]> refs = new HashMap<>();
+        selectContentObjects(type)
+                .forEach(c -> type.select(c).distinct().forEach(x -> refs.computeIfAbsent(x, k -> new int[1])[0]++));
+        componentRefs.put(type, refs);
+        return refs;
+    }
+
     @Override
     public void forceLoad() {
         contentCaches().forEach(ObjectMap::load);
     }
 
+    /**
+     * A link to the model, whose content can be reused.
+     *
+     * @param model {@link InternalGraphModelImpl} - the source
+     * @param stamp {@code long} - the {@link #getModificationCount() modification count} of the source
+     */
+    protected record ContentSource(InternalGraphModelImpl model, long stamp, Lock lock) {
+    }
+
+    /**
+     * A portion of axioms of the same type to write into a separate buffer graph.
+     *
+     * @param key    {@link OWLTopObjectType} - the type of axioms
+     * @param axioms a {@code List} of {@link OWLAxiom}s to write
+     * @param graph  {@link Graph} - the buffer
+     * @param values a {@code List} of written containers
+     */
+    protected record BulkChunk(OWLTopObjectType key,
+                               List<OWLAxiom> axioms,
+                               Graph graph,
+                               List<ONTObject<OWLObject>> values) {
+    }
+
     /**
      * The direct listener to synchronize caches while working through OWL-API and jena at the same time.
      *
@@ -497,11 +817,12 @@ public class InternalGraphModelImpl extends InternalReadGraphModel implements In
     public class DirectListener extends GraphListenerBase {
 
         protected void invalidate() {
-            clearCache();
+            clearModelCaches();
         }
 
         @Override
         protected void addTripleEvent(Graph g, Triple t) {
+            updateListIndex(t, true);
             // we don't know which axiom would own this triple, so we clear the whole cache.
             invalidate();
         }
@@ -512,9 +833,19 @@ public class InternalGraphModelImpl extends InternalReadGraphModel implements In
             // that are really affected by deleting the triple,
             // but such a calculation would be rather too complicated and time-consuming and (therefore) possibly buggy.
             // So it seems better to just release all caches.
+            updateListIndex(t, false);
             invalidate();
         }
 
+        @Override
+        public void notifyEvent(Graph source, Object value) {
+            // bulk removals are not always reported triple by triple
+            if (GraphEvents.removeAll.equals(value)
+                    || value instanceof GraphEvents && "remove".equals(((GraphEvents) value).getTitle())) {
+                clearCache();
+            }
+        }
+
         @Override
         public void notifyAddGraph(Graph g, Graph other) {
             invalidate();
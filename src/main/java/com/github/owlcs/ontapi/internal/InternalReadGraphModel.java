@@ -17,6 +17,7 @@ package com.github.owlcs.ontapi.internal;
 import com.github.owlcs.ontapi.DataFactory;
 import com.github.owlcs.ontapi.ID;
 import com.github.owlcs.ontapi.OntApiException;
+import com.github.owlcs.ontapi.OntGraphUtils;
 import com.github.owlcs.ontapi.internal.axioms.AbstractNaryTranslator;
 import com.github.owlcs.ontapi.internal.objects.ModelObject;
 import com.github.owlcs.ontapi.internal.searchers.axioms.AnnotationAssertionBySubject;
@@ -64,7 +65,6 @@ import org.apache.jena.ontapi.model.OntModel;
 import org.apache.jena.ontapi.model.OntObject;
 import org.apache.jena.ontapi.model.OntObjectProperty;
 import org.apache.jena.ontapi.model.OntStatement;
-import org.apache.jena.ontapi.utils.Graphs;
 import org.apache.jena.rdf.model.RDFNode;
 import org.apache.jena.rdf.model.Resource;
 import org.apache.jena.shared.Lock;
@@ -134,7 +134,8 @@ import java.util.stream.Stream;
  * <p>
  * Created by @ssz on 25.05.2020.
  */
-abstract class InternalReadGraphModel extends OntGraphModelImpl implements ListAxioms, HasObjectFactory, HasConfig {
+abstract class InternalReadGraphModel extends OntGraphModelImpl
+        implements ListAxioms, HasObjectFactory, HasConfig, HasNodeDictionary, HasListMembershipIndex {
     static final Logger LOGGER = LoggerFactory.getLogger(InternalGraphModel.class);
 
     /**
@@ -170,6 +171,25 @@ abstract class InternalReadGraphModel extends OntGraphModelImpl implements ListA
      * @see SearchModel
      */
     protected final InternalCache.Loading<InternalReadGraphModel, OntGraphModelImpl> searchModel;
+    /**
+     * A dictionary to encode the content of model-backed {@code OWLObject}s, if this option is enabled.
+     * It is append-only and must be reset together with the {@link #content} cache;
+     * objects, that have been already encoded, keep the reference to their own dictionary.
+     *
+     * @see InternalConfig#isUseNodeDictionary()
+     * @see NodeDictionary
+     */
+    protected final InternalCache.Loading<InternalReadGraphModel, NodeDictionary> dictionary;
+    /**
+     * A reverse index from {@code rdf:List} members to list heads over the base graph,
+     * used to find n-ary axioms by an operand without walking every []-list.
+     * Unlike other caches, it is not reset on changes: any change of the base graph is reported to the index
+     * (see {@link InternalGraphModelImpl#updateListIndex(org.apache.jena.graph.Triple, boolean)}).
+     * Designed as a {@link java.lang.ref.SoftReference} since it can always be rebuilt from the graph.
+     *
+     * @see ListMembershipIndex
+     */
+    protected final InternalCache.Loading<InternalReadGraphModel, ListMembershipIndex> listIndex;
     /**
      * The main cache, which contains all axioms and the ontology header.
      * It contains {@code 40} key-value pairs, {@code 39} for kinds of axioms and one for the ontology header.
@@ -240,6 +260,8 @@ abstract class InternalReadGraphModel extends OntGraphModelImpl implements ListA
         this.config = InternalCache.createSingleton(x -> config.snapshot());
         this.objectFactory = InternalCache.createSoftSingleton(x -> createObjectFactory(dataFactory, fromManager));
         this.searchModel = InternalCache.createSoftSingleton(x -> createSearchModel());
+        this.dictionary = InternalCache.createSingleton(x -> new NodeDictionary());
+        this.listIndex = InternalCache.createSoftSingleton(x -> ListMembershipIndex.create(getBaseGraph()));
         this.content = InternalCache.createSingleton(x -> createContentStore());
         this.components = InternalCache.createSingleton(x -> createComponentStore());
     }
@@ -273,6 +295,27 @@ abstract class InternalReadGraphModel extends OntGraphModelImpl implements ListA
         return objectFactory.get(this);
     }
 
+    /**
+     * Returns the {@link NodeDictionary} to encode the content of model-backed {@code OWLObject}s.
+     *
+     * @return {@link NodeDictionary} or {@code null} if this optimization is disabled
+     * @see InternalConfig#isUseNodeDictionary()
+     */
+    @Override
+    public NodeDictionary getNodeDictionary() {
+        return getConfig().isUseNodeDictionary() ? dictionary.get(this) : null;
+    }
+
+    /**
+     * Returns the {@link ListMembershipIndex} built over the base graph.
+     *
+     * @return {@link ListMembershipIndex}, not {@code null}
+     */
+    @Override
+    public ListMembershipIndex getListMembershipIndex() {
+        return listIndex.get(this);
+    }
+
     /**
      * Creates a fresh {@link ModelObjectFactory Object Factory} instance,
      * which is responsible for mapping {@link Node} (and {@link OntObject}) to {@link OWLObject}.
@@ -338,6 +381,16 @@ abstract class InternalReadGraphModel extends OntGraphModelImpl implements ListA
             public ModelObjectFactory getObjectFactory() {
                 return InternalReadGraphModel.this.getObjectFactory();
             }
+
+            @Override
+            public NodeDictionary getNodeDictionary() {
+                return InternalReadGraphModel.this.getNodeDictionary();
+            }
+
+            @Override
+            public ListMembershipIndex getListMembershipIndex() {
+                return InternalReadGraphModel.this.getListMembershipIndex();
+            }
         };
     }
 
@@ -402,7 +455,7 @@ abstract class InternalReadGraphModel extends OntGraphModelImpl implements ListA
 
     public boolean isOntologyEmpty() {
         Graph bg = getBaseGraph();
-        if (Graphs.isGraphMem(bg)) {
+        if (OntGraphUtils.isMemGraph(bg)) {
             if (bg.isEmpty()) {
                 // really empty:
                 return true;
@@ -415,7 +468,7 @@ abstract class InternalReadGraphModel extends OntGraphModelImpl implements ListA
         if (!components.isEmpty()) {
             return false;
         }
-        return Stream.concat(listOWLAnnotations(), listOWLAxioms()).findFirst().isEmpty();
+        return getContentStore().values().stream().allMatch(ObjectMap::isEmpty);
     }
 
     public Stream<OWLEntity> listOWLEntities(IRI iri) {
@@ -631,11 +684,9 @@ abstract class InternalReadGraphModel extends OntGraphModelImpl implements ListA
     @Override
     public Stream<OWLDisjointClassesAxiom> listOWLDisjointClassesAxioms(OWLClass clazz) {
         InternalConfig config = getConfig();
-        // bad performance of the graph-reading way if
-        // there is a []-list with many disjoint classes (i.e. owl:AllDisjointClasses) =>
-        // it is faster to use parsing of cached axioms (i.e. a classic way), if the cache is present
-        if (!config.useContentCache() ||
-                (!hasManuallyAddedAxioms() && !containsLocal(null, RDF.type, OWL.AllDisjointClasses))) {
+        // owl:AllDisjointClasses []-lists are resolved through the ListMembershipIndex,
+        // so the graph-reading way is no longer slow for them
+        if (!config.useContentCache() || !hasManuallyAddedAxioms()) {
             return listOWLAxioms(disjointClassesByClass, OWLDisjointClassesAxiom.class, clazz, config);
         }
         return listOWLNaryAxiomAxiomsByOperand(OWLDisjointClassesAxiom.class, clazz);
@@ -839,6 +890,10 @@ abstract class InternalReadGraphModel extends OntGraphModelImpl implements ListA
                 .mapToLong(x -> x.getValue().count()).sum();
     }
 
+    public long getOWLAxiomCount(AxiomType<?> type) {
+        return getAxiomsCache(OWLTopObjectType.get(type)).count();
+    }
+
     public boolean contains(OWLAxiom a) {
         return getAxiomsCache(OWLTopObjectType.get(a.getAxiomType())).contains(a);
     }
@@ -977,7 +1032,11 @@ abstract class InternalReadGraphModel extends OntGraphModelImpl implements ListA
         }
         boolean parallel = conf.concurrent();
         boolean fastIterator = conf.useIteratorCache();
-        return new CacheObjectMapImpl<>(loader, false, parallel, fastIterator);
+        ObjectsSearcher<OWLObject> searcher;
+        Predicate<OWLObject> tester = conf.isColdCacheDirectReads() && (searcher = getEntitySearcher(type)) != null ?
+                toTester(searcher) : null;
+        return new CacheObjectMapImpl<>(loader, tester, false, parallel, fastIterator,
+                conf.isUseBloomFilter(), conf.getCacheBudget());
     }
 
     /**
@@ -1179,11 +1238,17 @@ abstract class InternalReadGraphModel extends OntGraphModelImpl implements ListA
         boolean parallel = conf.concurrent();
         boolean fastIterator = conf.useIteratorCache();
         boolean withMerge = !key.isDistinct();
+        CacheBudget budget = conf.getCacheBudget();
+        Predicate<OWLObject> tester = conf.isColdCacheDirectReads() ? toTester(searcher) : null;
+        boolean bloomFilter = conf.isUseBloomFilter();
+        Supplier<Iterator<ONTObject<OWLObject>>> loader = toLoader(key, searcher);
         if (!LOGGER.isDebugEnabled()) {
-            return new CacheObjectMapImpl<>(toLoader(searcher), withMerge, parallel, fastIterator);
+            return new CacheObjectMapImpl<>(loader, tester, withMerge, parallel, fastIterator,
+                    bloomFilter, budget);
         }
         OntID id = getID();
-        return new CacheObjectMapImpl<>(toLoader(searcher), withMerge, parallel, fastIterator) {
+        return new CacheObjectMapImpl<>(loader, tester, withMerge, parallel, fastIterator,
+                bloomFilter, budget) {
             @Override
             protected CachedMap<OWLObject, ONTObject<OWLObject>> loadMap() {
                 Instant start = Instant.now();
@@ -1200,6 +1265,26 @@ abstract class InternalReadGraphModel extends OntGraphModelImpl implements ListA
         };
     }
 
+    /**
+     * Returns the already loaded content of the given type from another model, that has the same data,
+     * to be reused instead of reading the graph.
+     *
+     * @param key {@link OWLTopObjectType}, not {@code null}
+     * @return {@code Iterator} of {@link ONTObject}s or {@code null} if there is nothing to reuse
+     * @see InternalGraphModel#setContentSource(InternalGraphModel, long, java.util.concurrent.locks.Lock)
+     */
+    protected Iterator<ONTObject<OWLObject>> findSharedContent(OWLTopObjectType key) {
+        return null;
+    }
+
+    private Supplier<Iterator<ONTObject<OWLObject>>> toLoader(OWLTopObjectType key, ObjectsSearcher<OWLObject> searcher) {
+        Supplier<Iterator<ONTObject<OWLObject>>> loader = toLoader(searcher);
+        return () -> {
+            Iterator<ONTObject<OWLObject>> res = findSharedContent(key);
+            return res != null ? res : loader.get();
+        };
+    }
+
     private <X extends OWLObject> Supplier<Iterator<ONTObject<X>>> toLoader(ObjectsSearcher<X> searcher) {
         return () -> searcher.listONTObjects(getSearchModel(), getObjectFactory(), getConfig());
     }
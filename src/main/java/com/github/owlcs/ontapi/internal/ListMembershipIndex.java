@@ -0,0 +1,161 @@
+/*
+ * This file is part of the ONT API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright (c) 2023, owl.cs group.
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package com.github.owlcs.ontapi.internal;
+
+import org.apache.jena.graph.Graph;
+import org.apache.jena.graph.Node;
+import org.apache.jena.graph.Triple;
+import org.apache.jena.util.iterator.ExtendedIterator;
+import org.apache.jena.vocabulary.RDF;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * A reverse index from {@code rdf:List} members to the heads of the lists that contain them.
+ * It allows answering "which []-lists include this node?" without walking every list in the graph,
+ * e.g. to find {@code owl:AllDisjointClasses} axioms by a class operand.
+ * <p>
+ * The index stores two maps: a member to the cells that refer it via {@code rdf:first},
+ * and a cell to its predecessor via {@code rdf:rest}.
+ * A list head is found on demand by walking the predecessors back from a cell,
+ * so that adding or deleting a single {@code rdf:first}/{@code rdf:rest} triple is a constant-time update
+ * (see {@link #add(Triple)} and {@link #delete(Triple)}),
+ * and the index does not need to be rebuilt when the graph is changed.
+ * The owner must report every change of the base graph
+ * (see {@link InternalGraphModelImpl#updateListIndex(Triple, boolean)}).
+ * Broken or cyclic lists are tolerated: a cell with a cycle among its predecessors is treated as a head.
+ * <p>
+ * The index is not thread-safe: modifications must be guarded by the same lock as the graph.
+ *
+ * @since 4.0.1
+ */
+public class ListMembershipIndex {
+    // member -> cells (the subjects of rdf:first)
+    private final Map<Node, Set<Node>> cells;
+    // cell -> the previous cell (the subject of rdf:rest)
+    private final Map<Node, Node> previous;
+
+    protected ListMembershipIndex(Map<Node, Set<Node>> cells, Map<Node, Node> previous) {
+        this.cells = Objects.requireNonNull(cells);
+        this.previous = Objects.requireNonNull(previous);
+    }
+
+    /**
+     * Builds the index by a single scan over {@code rdf:first} and {@code rdf:rest} triples of the given graph.
+     *
+     * @param graph {@link Graph}, not {@code null}
+     * @return {@link ListMembershipIndex}
+     */
+    public static ListMembershipIndex create(Graph graph) {
+        ListMembershipIndex res = new ListMembershipIndex(new HashMap<>(), new HashMap<>());
+        ExtendedIterator<Triple> rest = graph.find(Node.ANY, RDF.Nodes.rest, Node.ANY);
+        try {
+            rest.forEachRemaining(res::add);
+        } finally {
+            rest.close();
+        }
+        ExtendedIterator<Triple> first = graph.find(Node.ANY, RDF.Nodes.first, Node.ANY);
+        try {
+            first.forEachRemaining(res::add);
+        } finally {
+            first.close();
+        }
+        return res;
+    }
+
+    /**
+     * Reflects the addition of the given triple to the graph.
+     * Triples other than {@code rdf:first} and {@code rdf:rest} are ignored.
+     *
+     * @param triple {@link Triple}, not {@code null}
+     */
+    public void add(Triple triple) {
+        Node p = triple.getPredicate();
+        if (RDF.Nodes.first.equals(p)) {
+            cells.computeIfAbsent(triple.getObject(), x -> new HashSet<>()).add(triple.getSubject());
+        } else if (RDF.Nodes.rest.equals(p) && !RDF.Nodes.nil.equals(triple.getObject())) {
+            previous.put(triple.getObject(), triple.getSubject());
+        }
+    }
+
+    /**
+     * Reflects the deletion of the given triple from the graph.
+     * Triples other than {@code rdf:first} and {@code rdf:rest} are ignored.
+     *
+     * @param triple {@link Triple}, not {@code null}
+     */
+    public void delete(Triple triple) {
+        Node p = triple.getPredicate();
+        if (RDF.Nodes.first.equals(p)) {
+            Set<Node> res = cells.get(triple.getObject());
+            if (res != null && res.remove(triple.getSubject()) && res.isEmpty()) {
+                cells.remove(triple.getObject());
+            }
+        } else if (RDF.Nodes.rest.equals(p)) {
+            previous.remove(triple.getObject(), triple.getSubject());
+        }
+    }
+
+    /**
+     * Finds the head of the list that contains the given cell, walking {@code rdf:rest} backwards.
+     *
+     * @param cell {@link Node} - the list cell
+     * @return {@link Node} - the head
+     */
+    private Node findHead(Node cell) {
+        Set<Node> path = new HashSet<>();
+        Node current = cell;
+        while (true) {
+            path.add(current);
+            Node prev = previous.get(current);
+            if (prev == null || path.contains(prev)) {
+                return current;
+            }
+            current = prev;
+        }
+    }
+
+    /**
+     * Lists the heads of all {@code rdf:List}s that have the given node as a member.
+     *
+     * @param member {@link Node}, not {@code null}
+     * @return unmodifiable {@code Set} of list-head {@link Node}s, possibly empty
+     */
+    public Set<Node> getHeads(Node member) {
+        Set<Node> res = cells.get(member);
+        if (res == null) {
+            return Collections.emptySet();
+        }
+        Set<Node> heads = new HashSet<>();
+        for (Node cell : res) {
+            heads.add(findHead(cell));
+        }
+        return Collections.unmodifiableSet(heads);
+    }
+
+    /**
+     * Answers the number of distinct indexed members.
+     *
+     * @return {@code int}
+     */
+    public int size() {
+        return cells.size();
+    }
+}
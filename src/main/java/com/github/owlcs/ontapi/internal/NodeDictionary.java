@@ -0,0 +1,186 @@
+/*
+ * This file is part of the ONT API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright (c) 2023, owl.cs group.
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package com.github.owlcs.ontapi.internal;
+
+import com.github.owlcs.ontapi.BlankNodeId;
+import com.github.owlcs.ontapi.OntApiException;
+import org.apache.jena.graph.impl.LiteralLabel;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A per-model dictionary of primitive node-items, that are used as the content of model-backed {@code OWLObject}s.
+ * A node-item is either URI {@code String}, or {@link BlankNodeId}, or {@link LiteralLabel}
+ * (see {@link com.github.owlcs.ontapi.internal.objects.ONTStatementImpl#strip(org.apache.jena.graph.Node)}).
+ * Each distinct item gets a non-negative {@code int} identifier, which is never changed,
+ * so that the objects' content can be stored in the form of packed {@code int}-arrays.
+ * The dictionary is append-only: its lifetime is the lifetime of the model's content caches,
+ * and it must be discarded together with them.
+ * <p>
+ * It is safe to use the dictionary in multithreading environment:
+ * the reading operations are lock-free, the writing operation is guarded by a {@link ReentrantLock}.
+ *
+ * @see com.github.owlcs.ontapi.config.CacheSettings#isUseNodeDictionary()
+ * @since 4.0.1
+ */
+public class NodeDictionary {
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private final Map<Object, Integer> ids = new ConcurrentHashMap<>(INITIAL_CAPACITY);
+    private volatile Object[] nodes = new Object[INITIAL_CAPACITY];
+    private int size;
+    private final Lock lock = new ReentrantLock();
+
+    /**
+     * Answers {@code true} if the given content item can be encoded by a dictionary.
+     *
+     * @param item {@code Object}
+     * @return boolean
+     */
+    public static boolean isNode(Object item) {
+        return item instanceof String || item instanceof BlankNodeId || item instanceof LiteralLabel;
+    }
+
+    /**
+     * Returns the identifier for the given node-item, registering it if it is absent.
+     *
+     * @param item {@code Object} - either {@code String}, {@link BlankNodeId} or {@link LiteralLabel}, not {@code null}
+     * @return non-negative {@code int}
+     */
+    public int encode(Object item) {
+        Integer res = ids.get(Objects.requireNonNull(item));
+        if (res != null) {
+            return res;
+        }
+        if (!isNode(item)) {
+            throw new OntApiException.IllegalArgument("Not a node: " + item);
+        }
+        lock.lock();
+        try {
+            if ((res = ids.get(item)) != null) {
+                return res;
+            }
+            Object[] array = nodes;
+            int id = size;
+            if (id == array.length) {
+                array = Arrays.copyOf(array, id + (id >> 1));
+            }
+            // the slot must be filled before the id becomes visible through the map
+            array[id] = item;
+            nodes = array;
+            size = id + 1;
+            ids.put(item, id);
+            return id;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the node-item by its identifier.
+     *
+     * @param id {@code int}, an identifier previously returned by {@link #encode(Object)}
+     * @return {@code Object} - either {@code String}, {@link BlankNodeId} or {@link LiteralLabel}
+     * @throws OntApiException.IllegalArgument if the id is unknown
+     */
+    public Object decode(int id) {
+        Object[] array = nodes;
+        Object res;
+        if (id < 0 || id >= array.length || (res = array[id]) == null) {
+            throw new OntApiException.IllegalArgument("Unknown id: " + id);
+        }
+        return res;
+    }
+
+    /**
+     * Answers the number of registered node-items.
+     *
+     * @return {@code int}
+     */
+    public int size() {
+        return ids.size();
+    }
+
+    /**
+     * Encodes the given content array.
+     * If all array items are nodes, then the result is an {@code int}-array, otherwise it is a {@link Packed} object,
+     * which contains {@code int}-array and an array with the rest items (e.g. nested {@code ONTObject}s),
+     * that are referred from the {@code int}-array by negative numbers.
+     *
+     * @param content {@code Array} of {@code Object}s, not {@code null}
+     * @return either {@code int[]} or {@link Packed}
+     * @see #decodeContent(Object)
+     */
+    public Object encodeContent(Object[] content) {
+        int[] res = new int[content.length];
+        int others = 0;
+        for (Object item : content) {
+            if (!isNode(item)) {
+                others++;
+            }
+        }
+        Object[] refs = others == 0 ? null : new Object[others];
+        int index = 0;
+        for (int i = 0; i < content.length; i++) {
+            Object item = content[i];
+            if (isNode(item)) {
+                res[i] = encode(item);
+            } else {
+                refs[index] = item;
+                res[i] = -(++index);
+            }
+        }
+        return refs == null ? res : new Packed(res, refs);
+    }
+
+    /**
+     * Decodes the content, which has been previously encoded by the method {@link #encodeContent(Object[])}.
+     *
+     * @param encoded either {@code int[]} or {@link Packed}, not {@code null}
+     * @return a fresh {@code Array} of {@code Object}s
+     */
+    public Object[] decodeContent(Object encoded) {
+        if (encoded instanceof int[] array) {
+            Object[] res = new Object[array.length];
+            for (int i = 0; i < array.length; i++) {
+                res[i] = decode(array[i]);
+            }
+            return res;
+        }
+        Packed packed = (Packed) encoded;
+        int[] array = packed.ids;
+        Object[] res = new Object[array.length];
+        for (int i = 0; i < array.length; i++) {
+            int id = array[i];
+            res[i] = id < 0 ? packed.refs[-id - 1] : decode(id);
+        }
+        return res;
+    }
+
+    /**
+     * A container for encoded content, which contains not only node-items.
+     *
+     * @param ids  {@code int}-array, non-negative numbers are dictionary identifiers,
+     *             negative numbers are (inverted and shifted) indexes in the {@code refs} array
+     * @param refs {@code Array} of {@code Object}s that are not nodes
+     */
+    public record Packed(int[] ids, Object[] refs) {
+    }
+}
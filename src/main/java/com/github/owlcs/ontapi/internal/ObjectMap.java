@@ -113,4 +113,14 @@ public interface ObjectMap<X extends OWLObject> {
         return values().count();
     }
 
+    /**
+     * Answers {@code true} if this map has no objects.
+     *
+     * @return boolean
+     * @since 4.0.1
+     */
+    default boolean isEmpty() {
+        return keys().findFirst().isEmpty();
+    }
+
 }
@@ -20,6 +20,7 @@ import org.apache.jena.enhanced.EnhGraph;
 import org.apache.jena.enhanced.EnhNode;
 import org.apache.jena.graph.Graph;
 import org.apache.jena.graph.Node;
+import org.apache.jena.graph.Triple;
 import org.apache.jena.ontapi.OntJenaException;
 import org.apache.jena.ontapi.UnionGraph;
 import org.apache.jena.ontapi.common.BaseEnhNodeFactoryImpl;
@@ -32,6 +33,7 @@ import org.apache.jena.ontapi.impl.UnionGraphImpl;
 import org.apache.jena.ontapi.model.OntModel;
 import org.apache.jena.ontapi.model.OntObject;
 import org.apache.jena.ontapi.model.OntSWRL;
+import org.apache.jena.ontapi.utils.Iterators;
 import org.apache.jena.rdf.model.Property;
 import org.apache.jena.rdf.model.RDFNode;
 import org.apache.jena.rdf.model.Resource;
@@ -43,7 +45,11 @@ import org.apache.jena.vocabulary.RDF;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -59,7 +65,8 @@ import java.util.stream.Stream;
  * @since 1.4.0
  */
 @SuppressWarnings("WeakerAccess")
-public abstract class SearchModel extends OntGraphModelImpl implements HasObjectFactory, HasConfig {
+public abstract class SearchModel extends OntGraphModelImpl implements HasObjectFactory, HasConfig, HasNodeDictionary,
+        HasListMembershipIndex {
     private static final Logger LOGGER = LoggerFactory.getLogger(SearchModel.class);
 
     // to control a searching process
@@ -70,6 +77,8 @@ public abstract class SearchModel extends OntGraphModelImpl implements HasObject
     // optimization flags for annotations:
     private Boolean hasAnnotations;
     private Boolean hasSubAnnotations;
+    // (source, property, target) -> owl:Axiom/owl:Annotation nodes, built on demand in a single pass
+    private volatile Map<Node, Map<Triple, List<Node>>> annotationIndex;
     // all URIs
     private Set<String> systemURIs;
 
@@ -133,6 +142,28 @@ public abstract class SearchModel extends OntGraphModelImpl implements HasObject
         return conf;
     }
 
+    /**
+     * Returns the node dictionary of the parent model.
+     * By default, there is no dictionary.
+     *
+     * @return {@link NodeDictionary} or {@code null}
+     */
+    @Override
+    public NodeDictionary getNodeDictionary() {
+        return null;
+    }
+
+    /**
+     * Returns the list-membership index of the parent model.
+     * By default, there is no index.
+     *
+     * @return {@link ListMembershipIndex} or {@code null}
+     */
+    @Override
+    public ListMembershipIndex getListMembershipIndex() {
+        return null;
+    }
+
     @Override
     public OntGraphModelImpl getTopModel() {
         if (independent()) {
@@ -151,6 +182,16 @@ public abstract class SearchModel extends OntGraphModelImpl implements HasObject
             public ModelObjectFactory getObjectFactory() {
                 return SearchModel.this.getObjectFactory();
             }
+
+            @Override
+            public NodeDictionary getNodeDictionary() {
+                return SearchModel.this.getNodeDictionary();
+            }
+
+            @Override
+            public ListMembershipIndex getListMembershipIndex() {
+                return SearchModel.this.getListMembershipIndex();
+            }
         };
     }
 
@@ -197,7 +238,66 @@ public abstract class SearchModel extends OntGraphModelImpl implements HasObject
         if (OWL.Annotation == t && !hasSubAnnotations()) {
             return NullIterator.instance();
         }
-        return super.listAnnotations(t, s, p, o);
+        if (s == null || p == null || o == null || (OWL.Axiom != t && OWL.Annotation != t)) {
+            return super.listAnnotations(t, s, p, o);
+        }
+        Map<Triple, List<Node>> index = getAnnotationIndex().get(t.asNode());
+        List<Node> res = index == null ? null : index.get(Triple.create(s.asNode(), p.asNode(), o.asNode()));
+        if (res == null) return NullIterator.instance();
+        return Iterators.create(res).mapWith(x -> asRDFNode(x).asResource());
+    }
+
+    /**
+     * Returns the index of reified annotations, building it if necessary.
+     * The index maps the {@code rdf:type} ({@link OWL#Axiom owl:Axiom} or {@link OWL#Annotation owl:Annotation})
+     * and the annotated triple ({@code owl:annotatedSource}, {@code owl:annotatedProperty}, {@code owl:annotatedTarget})
+     * to the list of bulk annotation nodes, so that each lookup is a single hash access
+     * instead of three graph searches per statement.
+     * Since the model is reset on any change, the index is never invalidated, only rebuilt with a new model.
+     *
+     * @return {@code Map}
+     */
+    protected Map<Node, Map<Triple, List<Node>>> getAnnotationIndex() {
+        Map<Node, Map<Triple, List<Node>>> res = annotationIndex;
+        if (res == null) {
+            annotationIndex = res = createAnnotationIndex(getGraph());
+        }
+        return res;
+    }
+
+    /**
+     * Builds the reified annotation index in one pass over {@code owl:annotatedSource} triples.
+     * A node with several types, properties or targets (i.e. a malformed or shared reification)
+     * is registered under every combination, exactly like a graph search would find it.
+     *
+     * @param graph {@link Graph}
+     * @return {@code Map}
+     */
+    protected static Map<Node, Map<Triple, List<Node>>> createAnnotationIndex(Graph graph) {
+        Map<Node, Map<Triple, List<Node>>> res = new HashMap<>();
+        Node axiom = OWL.Axiom.asNode();
+        Node annotation = OWL.Annotation.asNode();
+        graph.find(Node.ANY, OWL.annotatedSource.asNode(), Node.ANY).forEachRemaining(source -> {
+            Node x = source.getSubject();
+            List<Node> types = new ArrayList<>(2);
+            if (graph.contains(x, RDF.Nodes.type, axiom)) types.add(axiom);
+            if (graph.contains(x, RDF.Nodes.type, annotation)) types.add(annotation);
+            if (types.isEmpty()) return;
+            List<Node> properties = graph.find(x, OWL.annotatedProperty.asNode(), Node.ANY)
+                    .mapWith(Triple::getObject).toList();
+            List<Node> targets = graph.find(x, OWL.annotatedTarget.asNode(), Node.ANY)
+                    .mapWith(Triple::getObject).toList();
+            for (Node type : types) {
+                Map<Triple, List<Node>> byType = res.computeIfAbsent(type, k -> new HashMap<>());
+                for (Node property : properties) {
+                    for (Node target : targets) {
+                        byType.computeIfAbsent(Triple.create(source.getObject(), property, target),
+                                k -> new ArrayList<>(1)).add(x);
+                    }
+                }
+            }
+        });
+        return res;
     }
 
     @Override
@@ -0,0 +1,134 @@
+/*
+ * This file is part of the ONT API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright (c) 2023, owl.cs group.
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package com.github.owlcs.ontapi.internal.objects;
+
+import com.github.owlcs.ontapi.internal.HasNodeDictionary;
+import com.github.owlcs.ontapi.internal.InternalCache;
+import com.github.owlcs.ontapi.internal.NodeDictionary;
+import org.apache.jena.ontapi.model.OntModel;
+
+import java.lang.ref.SoftReference;
+import java.util.Objects;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * A content-cache-container for {@link WithContent} objects, that are attached to a model.
+ * Depending on the model settings, it stores the content either as a {@link SoftReference soft} {@code Array},
+ * or as a strongly reachable dictionary-encoded {@code int}-array.
+ * The mode is chosen at the moment when the content is put into the container.
+ * The decoded array of the encoded content is kept through a {@link SoftReference soft reference},
+ * so repeated reads do not decode the content again until the memory is needed.
+ * The encoded content keeps the reference to the {@link NodeDictionary} it was encoded with,
+ * so it is not affected if the model replaces its dictionary.
+ * For internal usage only.
+ *
+ * @param <X> the type of the object-owner
+ * @see WithContent#createContentCache()
+ * @see com.github.owlcs.ontapi.config.CacheSettings#isUseNodeDictionary()
+ * @since 4.0.1
+ */
+final class ContentCache<X> implements InternalCache.Loading<X, Object[]> {
+    private final Function<? super X, Object[]> loader;
+    private final Supplier<OntModel> model;
+    private final Lock lock = new ReentrantLock();
+    // either SoftReference<Object[]> or an encoded content (int[] or NodeDictionary.Packed)
+    private volatile Object value;
+    private volatile NodeDictionary dictionary;
+    // the decoded content, if the value is encoded
+    private volatile Decoded decoded;
+
+    ContentCache(Function<? super X, Object[]> loader, Supplier<OntModel> model) {
+        this.loader = Objects.requireNonNull(loader);
+        this.model = Objects.requireNonNull(model);
+    }
+
+    private Object[] fetch() {
+        Object res = value;
+        if (res == null) {
+            return null;
+        }
+        if (res instanceof SoftReference) {
+            return ((SoftReference<?>) res).get() instanceof Object[] array ? array : null;
+        }
+        Decoded ref = decoded;
+        Object[] array;
+        if (ref != null && ref.source == res && (array = ref.get()) != null) {
+            return array;
+        }
+        decoded = new Decoded(res, array = dictionary.decodeContent(res));
+        return array;
+    }
+
+    @Override
+    public Object[] get(X key) {
+        Object[] res;
+        if ((res = fetch()) != null) return res;
+        lock.lock();
+        try {
+            if ((res = fetch()) != null) return res;
+            put(key, res = loader.apply(key));
+            return res;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public InternalCache<X, Object[]> asCache() {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void clear() {
+        value = null;
+        decoded = null;
+    }
+
+    @Override
+    public void put(X key, Object[] value) {
+        Objects.requireNonNull(value);
+        NodeDictionary dictionary = HasNodeDictionary.getNodeDictionary(model.get());
+        if (dictionary == null) {
+            this.value = new SoftReference<>(value);
+            return;
+        }
+        Object encoded = dictionary.encodeContent(value);
+        // the dictionary must be visible before the value
+        this.dictionary = dictionary;
+        this.decoded = new Decoded(encoded, value);
+        this.value = encoded;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        Object res = value;
+        return res == null || (res instanceof SoftReference && ((SoftReference<?>) res).get() == null);
+    }
+
+    /**
+     * A decoded content, that is bound to the encoded value it has been produced from.
+     */
+    private static final class Decoded extends SoftReference<Object[]> {
+        private final Object source;
+
+        private Decoded(Object source, Object[] content) {
+            super(content);
+            this.source = source;
+        }
+    }
+}
@@ -85,11 +85,17 @@ public interface WithContent<X> {
      * Creates a content-cache-container, which is used to store content,
      * that can always be derived from the graph
      * using the primary {@code ONTObject}'s information (such as triple or node).
+     * For a model-backed object the container may keep the content in the dictionary-encoded form,
+     * if it is allowed by the model config.
      *
      * @return {@link InternalCache.Loading}
      * @see #getContentCache()
+     * @see com.github.owlcs.ontapi.config.CacheSettings#isUseNodeDictionary()
      */
     default InternalCache.Loading<X, Object[]> createContentCache() {
+        if (this instanceof ONTObjectImpl) {
+            return new ContentCache<>(x -> collectContent(), ((ONTObjectImpl) this).model);
+        }
         return InternalCache.createSoftSingleton(x -> collectContent());
     }
 
@@ -15,10 +15,16 @@
 package com.github.owlcs.ontapi.internal.searchers.axioms;
 
 import com.github.owlcs.ontapi.config.AxiomsSettings;
+import com.github.owlcs.ontapi.internal.HasListMembershipIndex;
+import com.github.owlcs.ontapi.internal.ListMembershipIndex;
 import com.github.owlcs.ontapi.internal.ONTObject;
 import com.github.owlcs.ontapi.internal.ONTObjectFactory;
 import com.github.owlcs.ontapi.internal.OWLTopObjectType;
 import com.github.owlcs.ontapi.internal.axioms.DisjointClassesTranslator;
+import org.apache.jena.graph.Graph;
+import org.apache.jena.graph.Node;
+import org.apache.jena.graph.Triple;
+import org.apache.jena.ontapi.common.OntEnhGraph;
 import org.apache.jena.ontapi.model.OntClass;
 import org.apache.jena.ontapi.model.OntDisjoint;
 import org.apache.jena.ontapi.model.OntModel;
@@ -28,9 +34,12 @@ import org.apache.jena.ontapi.utils.Iterators;
 import org.apache.jena.ontapi.utils.OntModels;
 import org.apache.jena.util.iterator.ExtendedIterator;
 import org.apache.jena.vocabulary.OWL;
+import org.apache.jena.vocabulary.RDF;
 import org.semanticweb.owlapi.model.OWLClass;
 import org.semanticweb.owlapi.model.OWLDisjointClassesAxiom;
 
+import java.util.Objects;
+
 /**
  * Created by @ssz on 09.05.2020.
  */
@@ -40,12 +49,40 @@ public class DisjointClassesByOperand extends BaseByObject<OWLDisjointClassesAxi
     protected ExtendedIterator<OntStatement> listStatements(OntModel model, OntClass clazz) {
         ExtendedIterator<OntStatement> simple = listBySubjectAndPredicate(model, clazz, OWL.disjointWith)
                 .andThen(listByPredicateAndObject(model, OWL.disjointWith, clazz));
-        ExtendedIterator<OntStatement> bulk = OntModels.listLocalObjects(model, OntDisjoint.Classes.class)
-                .filterKeep(x -> x.getList().contains(clazz))
-                .mapWith(OntObject::getMainStatement);
+        ListMembershipIndex index = HasListMembershipIndex.getListMembershipIndex(model);
+        ExtendedIterator<OntStatement> bulk;
+        if (index == null) {
+            bulk = OntModels.listLocalObjects(model, OntDisjoint.Classes.class)
+                    .filterKeep(x -> x.getList().contains(clazz))
+                    .mapWith(OntObject::getMainStatement);
+        } else {
+            bulk = listAllDisjointClassesByOperand(model, index, clazz.asNode());
+        }
         return Iterators.concat(simple, bulk);
     }
 
+    /**
+     * Lists local {@code owl:AllDisjointClasses} main statements whose {@code owl:members} list contains the operand,
+     * using the {@link ListMembershipIndex reverse index} instead of walking every []-list.
+     *
+     * @param model   {@link OntModel}
+     * @param index   {@link ListMembershipIndex} built over the base graph
+     * @param operand {@link Node} - the class
+     * @return {@link ExtendedIterator} of {@link OntStatement}s
+     */
+    protected static ExtendedIterator<OntStatement> listAllDisjointClassesByOperand(OntModel model,
+                                                                                    ListMembershipIndex index,
+                                                                                    Node operand) {
+        Graph base = model.getBaseGraph();
+        OntEnhGraph m = OntEnhGraph.asPersonalityModel(model);
+        return Iterators.flatMap(Iterators.create(index.getHeads(operand)),
+                        head -> base.find(Node.ANY, OWL.members.asNode(), head).mapWith(Triple::getSubject))
+                .filterKeep(s -> base.contains(s, RDF.Nodes.type, OWL.AllDisjointClasses.asNode()))
+                .mapWith(s -> m.findNodeAs(s, OntDisjoint.Classes.class))
+                .filterKeep(Objects::nonNull)
+                .mapWith(OntObject::getMainStatement);
+    }
+
     @Override
     public ExtendedIterator<ONTObject<OWLDisjointClassesAxiom>> listONTAxioms(OWLClass clazz,
                                                                               OntModel model,
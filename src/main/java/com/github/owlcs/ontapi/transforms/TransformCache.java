@@ -0,0 +1,229 @@
+/*
+ * This file is part of the ONT API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright (c) 2023, owl.cs group.
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package com.github.owlcs.ontapi.transforms;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.owlcs.ontapi.OntApiException;
+import com.github.owlcs.ontapi.OntFormat;
+import org.apache.jena.graph.Graph;
+import org.apache.jena.riot.Lang;
+import org.apache.jena.riot.RDFDataMgr;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Objects;
+
+/**
+ * A cache of graph transformation results.
+ * The transformations ({@link GraphTransformers}) are deterministic:
+ * the same source document processed by the same transformers always gives the same graph.
+ * So, if a document (e.g. a large upper ontology, which is imported by everything) is loaded many times,
+ * the transformed graph can be taken from this cache instead of running the whole transformation chain again.
+ * <p>
+ * The key consists of the document content hash (see {@link #newDigest()}),
+ * the {@link OntFormat format} the document is parsed with (the same bytes may mean different graphs in different syntaxes),
+ * and the {@link GraphTransformers} (compared by {@code equals}).
+ * The hash is computed either before parsing, if the document can be cheaply read twice
+ * (then a cache hit skips parsing altogether),
+ * or while reading the document.
+ * The value is the fully transformed graph in the compact binary form ({@link Lang#RDFTHRIFT RDF-Thrift}),
+ * so blank nodes are fresh for each {@link #apply(String, OntFormat, GraphTransformers, Graph) apply}.
+ * The cache is bounded by the total size of the stored values in bytes;
+ * a graph, whose binary form exceeds that limit, is not cached (its serialization is stopped as soon as it happens).
+ * Only a standalone graph (i.e. without {@code owl:imports}) can be cached,
+ * since the transformations of a graph with imports depend on the imported graphs.
+ * The cache is thread-safe and can be shared between managers.
+ *
+ * @see com.github.owlcs.ontapi.OntologyManager#setTransformCache(TransformCache)
+ * @since 4.0.1
+ */
+public class TransformCache {
+    public static final String DIGEST_ALGORITHM = "SHA-256";
+    protected static final Lang FORMAT = Lang.RDFTHRIFT;
+    // some VMs reserve header words in an array
+    private static final int MAX_ARRAY_SIZE = Integer.MAX_VALUE - 8;
+
+    protected final Cache<Key, byte[]> cache;
+    protected final long maxBytes;
+
+    protected TransformCache(Cache<Key, byte[]> cache, long maxBytes) {
+        this.cache = Objects.requireNonNull(cache);
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * Creates a cache bounded by the total size of the stored graphs.
+     *
+     * @param maxBytes {@code long}, the maximum number of bytes to store, positive
+     * @return {@link TransformCache}
+     */
+    public static TransformCache create(long maxBytes) {
+        if (maxBytes <= 0) {
+            throw new IllegalArgumentException("Wrong size: " + maxBytes);
+        }
+        return new TransformCache(Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .<Key, byte[]>weigher((k, v) -> v.length)
+                .build(), maxBytes);
+    }
+
+    /**
+     * Creates a fresh {@link MessageDigest} to compute the document hash while reading.
+     *
+     * @return {@link MessageDigest}
+     */
+    public static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance(DIGEST_ALGORITHM);
+        } catch (NoSuchAlgorithmException e) {
+            throw new OntApiException("No " + DIGEST_ALGORITHM + " algorithm", e);
+        }
+    }
+
+    /**
+     * Completes the hash computation and returns the result as a hex string.
+     *
+     * @param digest {@link MessageDigest}, not {@code null}
+     * @return {@code String}
+     */
+    public static String toHash(MessageDigest digest) {
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    /**
+     * Replaces the content of the {@code target} graph with the cached transformation result, if it is present.
+     *
+     * @param hash         {@code String} the source document hash, not {@code null}
+     * @param format       {@link OntFormat} the source document format, not {@code null}
+     * @param transformers {@link GraphTransformers}, not {@code null}
+     * @param target       {@link Graph} to fill, not {@code null}
+     * @return {@code true} if the cached result has been applied
+     */
+    public boolean apply(String hash, OntFormat format, GraphTransformers transformers, Graph target) {
+        byte[] data = cache.getIfPresent(new Key(hash, format, transformers));
+        if (data == null) {
+            return false;
+        }
+        target.clear();
+        RDFDataMgr.read(target, new ByteArrayInputStream(data), FORMAT);
+        return true;
+    }
+
+    /**
+     * Stores the transformed graph.
+     * If the binary form of the graph turns out to be larger than the cache capacity,
+     * the serialization is interrupted and nothing is stored.
+     *
+     * @param hash         {@code String} the source document hash, not {@code null}
+     * @param format       {@link OntFormat} the source document format, not {@code null}
+     * @param transformers {@link GraphTransformers}, not {@code null}
+     * @param transformed  {@link Graph} the transformation result, not {@code null}
+     * @return {@code true} if the graph has been stored
+     */
+    public boolean put(String hash, OntFormat format, GraphTransformers transformers, Graph transformed) {
+        Key key = new Key(hash, format, transformers);
+        long limit = Math.min(maxBytes, MAX_ARRAY_SIZE);
+        if (transformed.size() > limit) {
+            // each triple takes at least one byte
+            return false;
+        }
+        LimitedOutputStream out = new LimitedOutputStream(limit);
+        try {
+            RDFDataMgr.write(out, transformed, FORMAT);
+        } catch (RuntimeException ex) {
+            if (out.isOverflowed()) {
+                return false;
+            }
+            throw ex;
+        }
+        cache.put(key, out.toByteArray());
+        return true;
+    }
+
+    /**
+     * Answers {@code true} if there is a result for the given hash, format and transformers.
+     *
+     * @param hash         {@code String}
+     * @param format       {@link OntFormat}
+     * @param transformers {@link GraphTransformers}
+     * @return boolean
+     */
+    public boolean contains(String hash, OntFormat format, GraphTransformers transformers) {
+        return cache.getIfPresent(new Key(hash, format, transformers)) != null;
+    }
+
+    /**
+     * Returns the number of cached graphs.
+     *
+     * @return {@code long}
+     */
+    public long size() {
+        return cache.estimatedSize();
+    }
+
+    /**
+     * Invalidates all cached graphs.
+     */
+    public void clear() {
+        cache.invalidateAll();
+    }
+
+    protected record Key(String hash, OntFormat format, GraphTransformers transformers) {
+        protected Key {
+            Objects.requireNonNull(hash);
+            Objects.requireNonNull(format);
+            Objects.requireNonNull(transformers);
+        }
+    }
+
+    /**
+     * A {@link ByteArrayOutputStream} that refuses to grow beyond the given limit.
+     */
+    private static class LimitedOutputStream extends ByteArrayOutputStream {
+        private final long limit;
+        private boolean overflowed;
+
+        private LimitedOutputStream(long limit) {
+            this.limit = limit;
+        }
+
+        private void check(int length) {
+            if (count + (long) length > limit) {
+                overflowed = true;
+                throw new OntApiException("The graph is too large to be cached");
+            }
+        }
+
+        @Override
+        public void write(int b) {
+            check(1);
+            super.write(b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            check(len);
+            super.write(b, off, len);
+        }
+
+        private boolean isOverflowed() {
+            return overflowed;
+        }
+    }
+}
@@ -0,0 +1,78 @@
+/*
+ * This file is part of the ONT API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright (c) 2023, owl.cs group.
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package com.github.owlcs.ontapi.tests;
+
+import com.github.owlcs.ontapi.ABoxStreamReader;
+import com.github.owlcs.ontapi.DataFactory;
+import com.github.owlcs.ontapi.OntManagers;
+import com.github.owlcs.ontapi.Ontology;
+import com.github.owlcs.ontapi.OntologyManager;
+import org.apache.jena.graph.Triple;
+import org.apache.jena.ontapi.model.OntModel;
+import org.apache.jena.riot.Lang;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.semanticweb.owlapi.model.AxiomType;
+import org.semanticweb.owlapi.model.OWLIndividualAxiom;
+import org.semanticweb.owlapi.model.OWLNamedIndividual;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * To test {@link ABoxStreamReader}.
+ */
+public class ABoxStreamReaderTest {
+
+    @Test
+    public void testReadAssertions() {
+        String ns = "http://x#";
+        OntologyManager m = OntManagers.createManager();
+        Ontology tbox = m.createOntology();
+        OntModel model = tbox.asGraphModel();
+        model.createOntClass(ns + "A");
+        model.createObjectProperty(ns + "p");
+        model.createDataProperty(ns + "d");
+
+        String abox = String.join("\n",
+                "<http://x#i1> <http://www.w3.org/1999/02/22-rdf-syntax-ns#type> <http://x#A> .",
+                "<http://x#i1> <http://x#p> <http://x#i2> .",
+                "<http://x#i1> <http://x#d> \"v\"@en .",
+                "_:b1 <http://www.w3.org/1999/02/22-rdf-syntax-ns#type> <http://x#A> .",
+                "<http://x#i2> <http://www.w3.org/1999/02/22-rdf-syntax-ns#type> <http://x#B> .",
+                "<http://x#i2> <http://x#q> \"z\" .");
+        List<Triple> unrecognized = new ArrayList<>();
+        List<OWLIndividualAxiom> res = new ArrayList<>();
+        new ABoxStreamReader(tbox, unrecognized::add)
+                .read(new ByteArrayInputStream(abox.getBytes(StandardCharsets.UTF_8)), Lang.NTRIPLES, res::add);
+
+        Assertions.assertEquals(4, res.size());
+        Assertions.assertEquals(2, unrecognized.size());
+        DataFactory df = m.getOWLDataFactory();
+        OWLNamedIndividual i1 = df.getOWLNamedIndividual(ns + "i1");
+        Assertions.assertTrue(res.containsAll(Set.of(
+                df.getOWLClassAssertionAxiom(df.getOWLClass(ns + "A"), i1),
+                df.getOWLObjectPropertyAssertionAxiom(df.getOWLObjectProperty(ns + "p"), i1,
+                        df.getOWLNamedIndividual(ns + "i2")),
+                df.getOWLDataPropertyAssertionAxiom(df.getOWLDataProperty(ns + "d"), i1,
+                        df.getOWLLiteral("v", "en")))));
+        Assertions.assertEquals(2, res.stream().filter(x -> x.isOfType(AxiomType.CLASS_ASSERTION)).count());
+        // the TBox is not changed
+        Assertions.assertEquals(3, tbox.getAxiomCount());
+    }
+}
@@ -0,0 +1,178 @@
+/*
+ * This file is part of the ONT API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright (c) 2023, owl.cs group.
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package com.github.owlcs.ontapi.tests;
+
+import com.github.owlcs.ontapi.CompactGraph;
+import com.github.owlcs.ontapi.OntFormat;
+import com.github.owlcs.ontapi.OntGraphUtils;
+import com.github.owlcs.ontapi.OntManagers;
+import com.github.owlcs.ontapi.Ontology;
+import com.github.owlcs.ontapi.OntologyManager;
+import com.github.owlcs.ontapi.testutils.OWLIOUtils;
+import org.apache.jena.graph.Graph;
+import org.apache.jena.graph.GraphEvents;
+import org.apache.jena.graph.GraphListener;
+import org.apache.jena.graph.GraphMemFactory;
+import org.apache.jena.graph.GraphUtil;
+import org.apache.jena.graph.Node;
+import org.apache.jena.graph.NodeFactory;
+import org.apache.jena.graph.Triple;
+import org.apache.jena.ontapi.UnionGraph;
+import org.apache.jena.ontapi.impl.GraphListenerBase;
+import org.apache.jena.riot.RDFDataMgr;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLOntologyCreationException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * To test {@link CompactGraph}.
+ */
+public class CompactGraphTest {
+
+    private static Graph loadPizza(Graph g) {
+        RDFDataMgr.read(g, OWLIOUtils.getResourceURI("/ontapi/pizza.ttl").toString());
+        return g;
+    }
+
+    private static void assertSameFind(Graph expected, Graph actual) {
+        Assertions.assertEquals(expected.size(), actual.size());
+        Assertions.assertEquals(expected.find().toSet(), actual.find().toSet());
+        List<Triple> triples = expected.find().toList();
+        for (Triple t : triples.subList(0, Math.min(200, triples.size()))) {
+            Assertions.assertTrue(actual.contains(t));
+            for (Triple p : List.of(
+                    Triple.create(t.getSubject(), Node.ANY, Node.ANY),
+                    Triple.create(Node.ANY, t.getPredicate(), Node.ANY),
+                    Triple.create(Node.ANY, Node.ANY, t.getObject()),
+                    Triple.create(t.getSubject(), t.getPredicate(), Node.ANY),
+                    Triple.create(Node.ANY, t.getPredicate(), t.getObject()),
+                    Triple.create(t.getSubject(), Node.ANY, t.getObject()))) {
+                Assertions.assertEquals(expected.find(p).toSet(), actual.find(p).toSet(), "Pattern " + p);
+            }
+        }
+    }
+
+    @Test
+    public void testFindAfterLoad() {
+        Graph expected = loadPizza(GraphMemFactory.createDefaultGraph());
+        CompactGraph actual = (CompactGraph) loadPizza(new CompactGraph());
+        assertSameFind(expected, actual);
+        actual.compact();
+        assertSameFind(expected, actual);
+        Assertions.assertTrue(actual.getDictionarySize() > 0);
+        Node x = NodeFactory.createURI("http://x");
+        Assertions.assertFalse(actual.contains(x, Node.ANY, Node.ANY));
+        Assertions.assertEquals(0, actual.find(Node.ANY, x, Node.ANY).toList().size());
+    }
+
+    @Test
+    public void testModify() {
+        Graph expected = loadPizza(GraphMemFactory.createDefaultGraph());
+        CompactGraph actual = (CompactGraph) loadPizza(new CompactGraph());
+        actual.compact();
+        List<Triple> triples = expected.find().toList();
+        // delete from the sorted part
+        for (Triple t : triples.subList(0, 50)) {
+            expected.delete(t);
+            actual.delete(t);
+        }
+        assertSameFind(expected, actual);
+        // restore some deleted triples and add new
+        Node s = NodeFactory.createURI("http://x#s");
+        Node p = NodeFactory.createURI("http://x#p");
+        for (Triple t : triples.subList(0, 10)) {
+            expected.add(t);
+            actual.add(t);
+        }
+        for (int i = 0; i < 10; i++) {
+            Triple t = Triple.create(s, p, NodeFactory.createLiteralString("v" + i));
+            expected.add(t);
+            actual.add(t);
+        }
+        assertSameFind(expected, actual);
+        actual.compact();
+        assertSameFind(expected, actual);
+        actual.clear();
+        Assertions.assertTrue(actual.isEmpty());
+        Assertions.assertEquals(0, actual.find().toList().size());
+    }
+
+    @Test
+    public void testEvents() {
+        List<Object> events = new ArrayList<>();
+        GraphListener listener = new GraphListenerBase() {
+            @Override
+            protected void addTripleEvent(Graph g, Triple t) {
+                events.add("add:" + t);
+            }
+
+            @Override
+            protected void deleteTripleEvent(Graph g, Triple t) {
+                events.add("delete:" + t);
+            }
+
+            @Override
+            public void notifyEvent(Graph source, Object value) {
+                events.add(value);
+            }
+        };
+        CompactGraph g = new CompactGraph();
+        g.getEventManager().register(listener);
+        Triple t = Triple.create(NodeFactory.createURI("s"), NodeFactory.createURI("p"), NodeFactory.createURI("o"));
+        g.add(t);
+        g.compact();
+        g.delete(t);
+        g.clear();
+        Assertions.assertEquals(List.of("add:" + t, "delete:" + t, GraphEvents.removeAll), events);
+    }
+
+    @Test
+    public void testLoadOntology() throws OWLOntologyCreationException {
+        OntologyManager m1 = OntManagers.createManager();
+        OntologyManager m2 = OntManagers.createManager();
+        m2.getOntologyConfigurator().setUseCompactDataGraph(true);
+        Ontology o1 = m1.loadOntologyFromOntologyDocument(
+                OWLIOUtils.getFileDocumentSource("/ontapi/pizza.ttl", OntFormat.TURTLE));
+        Ontology o2 = m2.loadOntologyFromOntologyDocument(
+                OWLIOUtils.getFileDocumentSource("/ontapi/pizza.ttl", OntFormat.TURTLE));
+        Assertions.assertInstanceOf(CompactGraph.class, ((UnionGraph) o2.asGraphModel().getGraph()).getBaseGraph());
+        Set<OWLAxiom> expected = o1.axioms().collect(Collectors.toSet());
+        Assertions.assertEquals(expected, o2.axioms().collect(Collectors.toSet()));
+        Assertions.assertEquals(o1.getAxiomCount(), o2.getAxiomCount());
+
+        Ontology o3 = m2.createOntology();
+        Assertions.assertInstanceOf(CompactGraph.class, ((UnionGraph) o3.asGraphModel().getGraph()).getBaseGraph());
+        o3.add(expected);
+        Assertions.assertEquals(expected.size(), o3.getAxiomCount());
+    }
+
+    @Test
+    public void testHasCheapSnapshot() {
+        Graph mem = loadPizza(GraphMemFactory.createDefaultGraph());
+        CompactGraph compact = new CompactGraph();
+        GraphUtil.addInto(compact, mem);
+        Assertions.assertFalse(OntGraphUtils.hasCheapSnapshot(mem));
+        Assertions.assertTrue(OntGraphUtils.hasCheapSnapshot(compact));
+        Graph snapshot = OntGraphUtils.snapshot(compact);
+        compact.add(Triple.create(NodeFactory.createURI("x"), NodeFactory.createURI("p"), NodeFactory.createURI("y")));
+        Assertions.assertTrue(snapshot.isIsomorphicWith(mem));
+    }
+}
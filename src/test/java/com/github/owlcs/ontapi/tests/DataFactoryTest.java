@@ -15,6 +15,7 @@
 package com.github.owlcs.ontapi.tests;
 
 import com.github.owlcs.ontapi.DataFactory;
+import com.github.owlcs.ontapi.InterningDataFactoryImpl;
 import com.github.owlcs.ontapi.OntManagers;
 import com.github.owlcs.ontapi.TestDataCollection;
 import com.github.owlcs.ontapi.TestDataCollection.AxiomData;
@@ -174,4 +175,23 @@ public class DataFactoryTest {
         data.testCompare(object, copy);
     }
 
+    @ParameterizedTest
+    @MethodSource("getObjects")
+    public void testInterning(Data data) {
+        DataFactory df = new InterningDataFactoryImpl();
+        OWLObject ont1 = data.create(df);
+        OWLObject ont2 = data.create(df);
+        data.testCompare(data.create(ONT_DATA_FACTORY), ont1);
+        if (data.shouldBeSame()) {
+            Assertions.assertSame(ont1, ont2);
+            return;
+        }
+        if (data.isEntity() || data.isLiteral() || data.isAnonymousIndividual() || data.isSWRLVariable()
+                || !ont1.equals(ont2)) {
+            // not interned or contains fresh anonymous individuals
+            return;
+        }
+        Assertions.assertSame(ont1, ont2);
+    }
+
 }
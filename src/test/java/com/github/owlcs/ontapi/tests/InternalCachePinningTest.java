@@ -0,0 +1,146 @@
+/*
+ * This file is part of the ONT API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright (c) 2023, owl.cs group.
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package com.github.owlcs.ontapi.tests;
+
+import com.github.owlcs.ontapi.OntFormat;
+import com.github.owlcs.ontapi.OntManagers;
+import com.github.owlcs.ontapi.Ontology;
+import com.github.owlcs.ontapi.OntologyManager;
+import com.github.owlcs.ontapi.internal.InternalCache;
+import com.github.owlcs.ontapi.testutils.OWLIOUtils;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Stress-test for the {@link InternalCache} loading primitives:
+ * no monitor must be entered while a value is being loaded.
+ * The test records JFR events and fails if there is
+ * either {@code jdk.VirtualThreadPinned} (JDK 21+, virtual threads are used if they are available)
+ * or contended {@code jdk.JavaMonitorEnter} event with an {@code InternalCache} frame in the stack.
+ */
+public class InternalCachePinningTest {
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final String MONITOR_EVENT = "jdk.JavaMonitorEnter";
+    private static final int TASKS = 64;
+    private static final int ROUNDS = 10;
+
+    private static ExecutorService createExecutor() {
+        try {
+            // Java 21+
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return Executors.newFixedThreadPool(16);
+        }
+    }
+
+    private static <V> Function<String, V> slowLoader(Supplier<V> value) {
+        return k -> {
+            try {
+                Thread.sleep(5);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return value.get();
+        };
+    }
+
+    private static void runAll(ExecutorService service, Runnable task) throws Exception {
+        List<Future<?>> res = new ArrayList<>();
+        for (int i = 0; i < TASKS; i++) {
+            res.add(service.submit(task));
+        }
+        for (Future<?> f : res) {
+            f.get(1, TimeUnit.MINUTES);
+        }
+    }
+
+    private static boolean hasCacheFrame(RecordedEvent event) {
+        return event.getStackTrace() != null && event.getStackTrace().getFrames().stream()
+                .map(RecordedFrame::getMethod)
+                .anyMatch(m -> m.getType().getName().startsWith(InternalCache.class.getName()));
+    }
+
+    @Test
+    public void testNoMonitorsWhileLoading() throws Exception {
+        OntologyManager m = OntManagers.createConcurrentManager();
+        Ontology o = m.loadOntologyFromOntologyDocument(
+                OWLIOUtils.getFileDocumentSource("/ontapi/pizza.ttl", OntFormat.TURTLE));
+        long expected = o.axioms().count();
+
+        Path file = Files.createTempFile("cache-pinning-", ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable(PINNED_EVENT).withStackTrace().withThreshold(Duration.ZERO);
+            recording.enable(MONITOR_EVENT).withStackTrace().withThreshold(Duration.ZERO);
+            recording.start();
+
+            ExecutorService service = createExecutor();
+            try {
+                for (int i = 0; i < ROUNDS; i++) {
+                    InternalCache.Loading<String, Object> singleton =
+                            InternalCache.createSingleton(slowLoader(Object::new));
+                    InternalCache.Loading<String, Object> softSingleton =
+                            InternalCache.createSoftSingleton(slowLoader(Object::new));
+                    InternalCache<String, Object> map = InternalCache.fromMap(new HashMap<>());
+                    InternalCache<String, Object> soft = InternalCache.createSoft(false);
+                    Function<String, Object> loader = slowLoader(Object::new);
+                    runAll(service, () -> {
+                        Assertions.assertNotNull(singleton.get("x"));
+                        Assertions.assertNotNull(softSingleton.get("x"));
+                        Assertions.assertNotNull(map.get("x", loader));
+                        Assertions.assertNotNull(soft.get("x", loader));
+                    });
+                    Assertions.assertSame(singleton.get("x"), singleton.get("y"));
+                    Assertions.assertEquals(1, map.size());
+                }
+                // cold ontology:
+                o.clearCache();
+                runAll(service, () -> Assertions.assertEquals(expected, o.axioms().count()));
+            } finally {
+                service.shutdown();
+            }
+            recording.stop();
+            recording.dump(file);
+
+            List<RecordedEvent> events = RecordingFile.readAllEvents(file).stream()
+                    .filter(e -> {
+                        String name = e.getEventType().getName();
+                        return PINNED_EVENT.equals(name) || MONITOR_EVENT.equals(name);
+                    })
+                    .filter(InternalCachePinningTest::hasCacheFrame)
+                    .collect(Collectors.toList());
+            Assertions.assertEquals(List.of(), events);
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+}
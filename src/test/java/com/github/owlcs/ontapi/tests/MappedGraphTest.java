@@ -0,0 +1,317 @@
+/*
+ * This file is part of the ONT API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright (c) 2023, owl.cs group.
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package com.github.owlcs.ontapi.tests;
+
+import com.github.owlcs.TempDirectory;
+import com.github.owlcs.ontapi.MappedGraph;
+import com.github.owlcs.ontapi.OntFormat;
+import com.github.owlcs.ontapi.OntManagers;
+import com.github.owlcs.ontapi.Ontology;
+import com.github.owlcs.ontapi.OntologyManager;
+import com.github.owlcs.ontapi.testutils.OWLIOUtils;
+import org.apache.jena.graph.Graph;
+import org.apache.jena.graph.GraphMemFactory;
+import org.apache.jena.graph.Node;
+import org.apache.jena.graph.NodeFactory;
+import org.apache.jena.graph.Triple;
+import org.apache.jena.ontapi.UnionGraph;
+import org.apache.jena.riot.RDFDataMgr;
+import org.apache.jena.vocabulary.RDF;
+import org.apache.jena.vocabulary.RDFS;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLOntologyCreationException;
+import org.semanticweb.owlapi.model.parameters.OntologyCopy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ConcurrentModificationException;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * To test {@link MappedGraph}.
+ */
+@ExtendWith(TempDirectory.class)
+public class MappedGraphTest {
+    private static final Logger LOGGER = LoggerFactory.getLogger(MappedGraphTest.class);
+
+    private static Path createDirectory() throws IOException {
+        return Files.createTempDirectory(TempDirectory.DIR, "mapped-graph-");
+    }
+
+    private static Graph loadPizza(Graph g) {
+        RDFDataMgr.read(g, OWLIOUtils.getResourceURI("/ontapi/pizza.ttl").toString());
+        return g;
+    }
+
+    private static void assertSameFind(Graph expected, Graph actual) {
+        Assertions.assertEquals(expected.size(), actual.size());
+        Assertions.assertEquals(expected.find().toSet(), actual.find().toSet());
+        List<Triple> triples = expected.find().toList();
+        for (Triple t : triples.subList(0, Math.min(100, triples.size()))) {
+            Assertions.assertTrue(actual.contains(t));
+            for (Triple p : List.of(
+                    Triple.create(t.getSubject(), Node.ANY, Node.ANY),
+                    Triple.create(Node.ANY, t.getPredicate(), Node.ANY),
+                    Triple.create(Node.ANY, Node.ANY, t.getObject()),
+                    Triple.create(t.getSubject(), t.getPredicate(), Node.ANY),
+                    Triple.create(Node.ANY, t.getPredicate(), t.getObject()),
+                    Triple.create(t.getSubject(), Node.ANY, t.getObject()))) {
+                Assertions.assertEquals(expected.find(p).toSet(), actual.find(p).toSet(), "Pattern " + p);
+            }
+        }
+    }
+
+    @Test
+    public void testFindAndReopen() throws IOException {
+        Path dir = createDirectory();
+        Graph expected = loadPizza(GraphMemFactory.createDefaultGraph());
+        MappedGraph actual = MappedGraph.open(dir);
+        loadPizza(actual);
+        // unmerged tail
+        assertSameFind(expected, actual);
+        actual.flush();
+        assertSameFind(expected, actual);
+
+        Node s = NodeFactory.createURI("http://x#s");
+        Triple t1 = Triple.create(s, RDFS.label.asNode(), NodeFactory.createLiteralLang("x", "en"));
+        Triple t2 = expected.find().next();
+        expected.add(t1);
+        actual.add(t1);
+        expected.delete(t2);
+        actual.delete(t2);
+        assertSameFind(expected, actual);
+        actual.close();
+
+        MappedGraph reopened = MappedGraph.open(dir);
+        try {
+            assertSameFind(expected, reopened);
+            reopened.compact();
+            assertSameFind(expected, reopened);
+            reopened.clear();
+            Assertions.assertTrue(reopened.isEmpty());
+            Assertions.assertFalse(reopened.contains(t1));
+        } finally {
+            reopened.close();
+        }
+    }
+
+    @Test
+    public void testRecoverAfterCrash() throws IOException {
+        Path dir = createDirectory();
+        Graph expected = loadPizza(GraphMemFactory.createDefaultGraph());
+        MappedGraph g = MappedGraph.open(dir);
+        loadPizza(g);
+        g.flush();
+        // the changes after flush are lost, since the graph is not closed
+        g.add(NodeFactory.createURI("http://x#a"), RDF.type.asNode(), NodeFactory.createURI("http://x#B"));
+        g.delete(expected.find().next());
+
+        MappedGraph recovered = MappedGraph.open(dir);
+        try {
+            Assertions.assertEquals(expected.size(), recovered.size());
+            Assertions.assertEquals(expected.find().toSet(), recovered.find().toSet());
+        } finally {
+            recovered.close();
+        }
+    }
+
+    @Test
+    public void testRecoverAfterClear() throws IOException {
+        Path dir = createDirectory();
+        MappedGraph g = MappedGraph.open(dir);
+        loadPizza(g);
+        g.flush();
+        g.clear();
+        // the graph is not closed, so the addition is lost, but the cleared triples must not come back
+        Triple t = Triple.create(NodeFactory.createURI("http://x#a"),
+                RDF.type.asNode(), NodeFactory.createURI("http://x#B"));
+        g.add(t);
+
+        MappedGraph recovered = MappedGraph.open(dir);
+        try {
+            Assertions.assertTrue(recovered.isEmpty());
+            Assertions.assertEquals(0, recovered.find().toList().size());
+            recovered.add(t);
+            Assertions.assertEquals(List.of(t), recovered.find().toList());
+        } finally {
+            recovered.close();
+        }
+    }
+
+    @Test
+    public void testConcurrentModification() throws IOException {
+        MappedGraph g = MappedGraph.createTemporary(createDirectory());
+        try {
+            loadPizza(g);
+            g.flush();
+            var it = g.find();
+            Assertions.assertTrue(it.hasNext());
+            it.next();
+            // fill the tail, so that it is merged into the indexes
+            for (int i = 0; i < 2000; i++) {
+                g.add(NodeFactory.createURI("http://x#s" + i),
+                        RDFS.label.asNode(), NodeFactory.createLiteralString("s" + i));
+            }
+            Assertions.assertThrows(ConcurrentModificationException.class, it::hasNext);
+        } finally {
+            g.close();
+        }
+    }
+
+    @Test
+    public void testTemporaryGraph() throws IOException {
+        Path parent = createDirectory();
+        MappedGraph g = MappedGraph.createTemporary(parent);
+        Assertions.assertTrue(g.isTemporary());
+        loadPizza(g);
+        Path dir = g.getDirectory();
+        Assertions.assertTrue(Files.exists(dir));
+        g.close();
+        Assertions.assertFalse(Files.exists(dir));
+    }
+
+    @Test
+    public void testFindInTail() throws IOException {
+        Graph expected = loadPizza(GraphMemFactory.createDefaultGraph());
+        MappedGraph actual = MappedGraph.createTemporary(createDirectory());
+        try {
+            loadPizza(actual);
+            actual.flush();
+            // the following changes stay in the in-heap tail:
+            List<Triple> triples = expected.find().toList();
+            for (int i = 0; i < 300; i++) {
+                Node s = NodeFactory.createURI("http://tail#s" + (i % 30));
+                Triple t = Triple.create(s, RDFS.comment.asNode(), NodeFactory.createLiteralString("c" + i));
+                expected.add(t);
+                actual.add(t);
+                Triple d = Triple.create(s, RDF.type.asNode(), triples.get(i).getObject());
+                expected.add(d);
+                actual.add(d);
+                if (i % 3 == 0) {
+                    expected.delete(t);
+                    actual.delete(t);
+                }
+            }
+            assertSameFind(expected, actual);
+            for (int i = 0; i < 30; i++) {
+                Triple p = Triple.create(NodeFactory.createURI("http://tail#s" + i), Node.ANY, Node.ANY);
+                Assertions.assertEquals(expected.find(p).toSet(), actual.find(p).toSet());
+            }
+        } finally {
+            actual.close();
+        }
+    }
+
+    @Test
+    public void testRemoveOntologyClosesTemporaryGraph() throws OWLOntologyCreationException, IOException {
+        OntologyManager m1 = OntManagers.createManager();
+        m1.getOntologyConfigurator().setDataGraphDirectory(createDirectory().toString());
+        Ontology o1 = m1.loadOntologyFromOntologyDocument(
+                OWLIOUtils.getFileDocumentSource("/ontapi/pizza.ttl", OntFormat.TURTLE));
+        MappedGraph g = (MappedGraph) o1.asGraphModel().getBaseGraph();
+        Path dir = g.getDirectory();
+        Assertions.assertTrue(Files.exists(dir));
+
+        // a shallow copy shares the graph
+        OntologyManager m2 = OntManagers.createManager();
+        Ontology o2 = m2.copyOntology(o1, OntologyCopy.SHALLOW);
+        Assertions.assertSame(g, o2.asGraphModel().getBaseGraph());
+        long count = o2.getAxiomCount();
+
+        m1.removeOntology(o1);
+        Assertions.assertFalse(g.isClosed());
+        Assertions.assertEquals(count, o2.getAxiomCount());
+
+        m2.clearOntologies();
+        Assertions.assertTrue(g.isClosed());
+        Assertions.assertFalse(Files.exists(dir));
+    }
+
+    @Test
+    public void testLoadOntologyWithoutCaches() throws OWLOntologyCreationException, IOException {
+        OntologyManager m1 = OntManagers.createManager();
+        OntologyManager m2 = OntManagers.createManager();
+        m2.getOntologyConfigurator().setDataGraphDirectory(createDirectory().toString()).setModelCacheLevel(0);
+        Ontology o1 = m1.loadOntologyFromOntologyDocument(
+                OWLIOUtils.getFileDocumentSource("/ontapi/pizza.ttl", OntFormat.TURTLE));
+        Ontology o2 = m2.loadOntologyFromOntologyDocument(
+                OWLIOUtils.getFileDocumentSource("/ontapi/pizza.ttl", OntFormat.TURTLE));
+        Graph g = ((UnionGraph) o2.asGraphModel().getGraph()).getBaseGraph();
+        Assertions.assertInstanceOf(MappedGraph.class, g);
+        try {
+            Set<OWLAxiom> expected = o1.axioms().collect(Collectors.toSet());
+            Assertions.assertEquals(expected, o2.axioms().collect(Collectors.toSet()));
+            for (OWLClass c : o1.classesInSignature().collect(Collectors.toList())) {
+                Assertions.assertEquals(o1.subClassAxiomsForSubClass(c).collect(Collectors.toSet()),
+                        o2.subClassAxiomsForSubClass(c).collect(Collectors.toSet()));
+            }
+        } finally {
+            g.close();
+        }
+    }
+
+    /**
+     * A scaled-down benchmark: by-object searches over a generated class hierarchy
+     * with disabled content caches, i.e. directly against the mapped indexes.
+     */
+    @Test
+    public void testSearchBenchmark() throws OWLOntologyCreationException, IOException {
+        int count = 20_000;
+        String ns = "http://bench#";
+        OntologyManager mem = OntManagers.createManager();
+        OntologyManager disk = OntManagers.createManager();
+        mem.getOntologyConfigurator().setModelCacheLevel(0);
+        disk.getOntologyConfigurator().setDataGraphDirectory(createDirectory().toString()).setModelCacheLevel(0);
+        Ontology o1 = mem.createOntology();
+        Ontology o2 = disk.createOntology();
+        for (Ontology o : List.of(o1, o2)) {
+            Graph g = o.asGraphModel().getBaseGraph();
+            for (int i = 0; i < count; i++) {
+                Node c = NodeFactory.createURI(ns + "C" + i);
+                g.add(c, RDF.type.asNode(), org.apache.jena.vocabulary.OWL.Class.asNode());
+                g.add(c, RDFS.subClassOf.asNode(), NodeFactory.createURI(ns + "C" + (i / 2)));
+            }
+        }
+        MappedGraph g = (MappedGraph) o2.asGraphModel().getBaseGraph();
+        g.flush();
+        try {
+            long mTime = searchAll(o1, ns, count);
+            long dTime = searchAll(o2, ns, count);
+            LOGGER.debug("SubClassOf by subject, {} queries: memory={}ms, mapped={}ms", count, mTime, dTime);
+        } finally {
+            g.close();
+        }
+    }
+
+    private static long searchAll(Ontology o, String ns, int count) {
+        long start = System.currentTimeMillis();
+        int res = 0;
+        for (int i = 0; i < count; i++) {
+            OWLClass c = o.getOWLOntologyManager().getOWLDataFactory().getOWLClass(ns + "C" + i);
+            res += (int) o.subClassAxiomsForSubClass(c).count();
+        }
+        Assertions.assertEquals(count, res);
+        return System.currentTimeMillis() - start;
+    }
+}
@@ -0,0 +1,128 @@
+/*
+ * This file is part of the ONT API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright (c) 2023, owl.cs group.
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package com.github.owlcs.ontapi.tests.internal;
+
+import com.github.owlcs.ontapi.DataFactory;
+import com.github.owlcs.ontapi.OntFormat;
+import com.github.owlcs.ontapi.OntManagers;
+import com.github.owlcs.ontapi.Ontology;
+import com.github.owlcs.ontapi.OntologyManager;
+import com.github.owlcs.ontapi.internal.BlockedBloomFilter;
+import com.github.owlcs.ontapi.testutils.OWLIOUtils;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLOntologyCreationException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * @see BlockedBloomFilter
+ */
+public class BlockedBloomFilterTest {
+    private static final Logger LOGGER = LoggerFactory.getLogger(BlockedBloomFilterTest.class);
+
+    @Test
+    public void testNoFalseNegativesAndFalsePositiveRate() {
+        int size = 100_000;
+        DataFactory df = OntManagers.getDataFactory();
+        List<OWLClass> present = IntStream.range(0, size)
+                .mapToObj(i -> df.getOWLClass("http://x#C" + i)).collect(Collectors.toList());
+        BlockedBloomFilter filter = BlockedBloomFilter.create(present);
+        present.forEach(x -> Assertions.assertTrue(filter.mightContain(x), "False negative: " + x));
+
+        int misses = 0;
+        int total = size * 10;
+        for (int i = 0; i < total; i++) {
+            if (filter.mightContain(df.getOWLClass("http://y#D" + i))) {
+                misses++;
+            }
+        }
+        double rate = misses * 1.0 / total;
+        LOGGER.debug("False positive rate: {}", rate);
+        Assertions.assertTrue(rate < 0.03, "Too many false positives: " + rate);
+    }
+
+    @Test
+    public void testGrowing() {
+        BlockedBloomFilter filter = new BlockedBloomFilter(10);
+        Assertions.assertFalse(filter.isOverloaded(10));
+        IntStream.range(0, 1000).forEach(filter::add);
+        IntStream.range(0, 1000).forEach(i -> Assertions.assertTrue(filter.mightContain(i)));
+        Assertions.assertTrue(filter.isOverloaded(1000));
+    }
+
+    /**
+     * A micro-benchmark of contains-style queries with {@code 99%} of misses,
+     * compares the lookups with and without Bloom filter.
+     * The numbers are logged, the assertions are only about correctness.
+     *
+     * @throws OWLOntologyCreationException unexpected
+     */
+    @Test
+    public void testContainsWithMissRatio99() throws OWLOntologyCreationException {
+        Ontology plain = load(false);
+        Ontology filtered = load(true);
+        List<OWLAxiom> axioms = plain.axioms().collect(Collectors.toList());
+        DataFactory df = plain.getOWLOntologyManager().getOWLDataFactory();
+        // 1 hit per 99 misses:
+        List<OWLAxiom> queries = IntStream.range(0, axioms.size() * 100)
+                .mapToObj(i -> i % 100 == 0 ? axioms.get(i / 100) :
+                        df.getOWLSubClassOfAxiom(df.getOWLClass(IRI.create("http://miss#A" + i)),
+                                df.getOWLClass(IRI.create("http://miss#B" + i))))
+                .collect(Collectors.toList());
+        long expected = axioms.size();
+        for (int i = 0; i < 3; i++) {
+            Assertions.assertEquals(expected, run(plain, queries, "plain"));
+            Assertions.assertEquals(expected, run(filtered, queries, "bloom"));
+        }
+        // components:
+        plain.classesInSignature().forEach(x -> Assertions.assertTrue(filtered.containsClassInSignature(x.getIRI())));
+        Assertions.assertFalse(filtered.containsEntityInSignature(df.getOWLClass(IRI.create("http://miss#C"))));
+    }
+
+    @Test
+    public void testAddWithBloomFilter() throws OWLOntologyCreationException {
+        Ontology o = load(true);
+        DataFactory df = o.getOWLOntologyManager().getOWLDataFactory();
+        OWLAxiom a = df.getOWLSubClassOfAxiom(df.getOWLClass(IRI.create("http://new#A")), df.getOWLThing());
+        Assertions.assertFalse(o.containsAxiom(a));
+        o.add(a);
+        Assertions.assertTrue(o.containsAxiom(a));
+        Assertions.assertTrue(o.containsClassInSignature(IRI.create("http://new#A")));
+        o.remove(a);
+        Assertions.assertFalse(o.containsAxiom(a));
+    }
+
+    private static long run(Ontology o, List<OWLAxiom> queries, String name) {
+        long start = System.nanoTime();
+        long res = queries.stream().filter(o::containsAxiom).count();
+        LOGGER.debug("{}: {} queries in {} ms", name, queries.size(), (System.nanoTime() - start) / 1_000_000);
+        return res;
+    }
+
+    private static Ontology load(boolean bloom) throws OWLOntologyCreationException {
+        OntologyManager m = OntManagers.createManager();
+        return m.loadOntologyFromOntologyDocument(
+                OWLIOUtils.getFileDocumentSource("/ontapi/family.ttl", OntFormat.TURTLE),
+                m.getOntologyLoaderConfiguration().setUseBloomFilter(bloom));
+    }
+}
@@ -19,13 +19,17 @@ import com.github.owlcs.ontapi.OntFormat;
 import com.github.owlcs.ontapi.OntManagers;
 import com.github.owlcs.ontapi.TestOntSpecifications;
 import com.github.owlcs.ontapi.internal.AxiomTranslator;
+import com.github.owlcs.ontapi.internal.InternalCache;
 import com.github.owlcs.ontapi.internal.InternalConfig;
 import com.github.owlcs.ontapi.internal.InternalGraphModel;
 import com.github.owlcs.ontapi.internal.ONTObject;
+import com.github.owlcs.ontapi.internal.OWLComponentType;
+import com.github.owlcs.ontapi.internal.ObjectMap;
 import com.github.owlcs.ontapi.testutils.MiscTestUtils;
 import com.github.owlcs.ontapi.testutils.OWLIOUtils;
 import com.github.owlcs.ontapi.transforms.GraphTransformers;
 import org.apache.jena.graph.Graph;
+import org.apache.jena.graph.GraphMemFactory;
 import org.apache.jena.graph.Triple;
 import org.apache.jena.ontapi.OntModelFactory;
 import org.apache.jena.ontapi.common.OntPersonality;
@@ -59,7 +63,9 @@ import org.semanticweb.owlapi.model.OWLOntologyManager;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.lang.reflect.Field;
 import java.net.URI;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -149,6 +155,100 @@ public class InternalGraphModelTest {
         Assertions.assertEquals(4, annotations.size());
     }
 
+    @Test
+    public void testComponentsRefCountingOnRemove() {
+        OWLDataFactory df = OntManagers.getDataFactory();
+        OWLClass a = df.getOWLClass("A");
+        OWLClass b = df.getOWLClass("B");
+        OWLClass c = df.getOWLClass("C");
+        OWLAnnotationProperty p = df.getOWLAnnotationProperty("P");
+        OWLAxiom ab = df.getOWLSubClassOfAxiom(a, b, List.of(df.getOWLAnnotation(p, df.getOWLLiteral("x"))));
+        OWLAxiom ac = df.getOWLSubClassOfAxiom(a, c);
+        OWLAxiom cb = df.getOWLSubClassOfAxiom(c, b);
+
+        InternalGraphModel model = BaseOntologyModel.createInternalGraphModel(GraphMemFactory.createDefaultGraph());
+        model.add(ab);
+        model.add(ac);
+        Assertions.assertEquals(Set.of(a, b, c), model.listOWLClasses().collect(Collectors.toSet()));
+        Assertions.assertEquals(Set.of(p), model.listOWLAnnotationProperties().collect(Collectors.toSet()));
+
+        model.remove(ab);
+        Assertions.assertTrue(model.containsOWLEntity(a));
+        Assertions.assertTrue(model.containsOWLEntity(c));
+        assertSameSignature(model);
+
+        model.add(cb);
+        model.add(ab);
+        model.add(ab);
+        model.remove(ab);
+        Assertions.assertTrue(model.containsOWLEntity(b));
+        assertSameSignature(model);
+
+        model.remove(cb);
+        model.remove(ac);
+        assertSameSignature(model);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testComponentsRefCountingAfterEviction() throws Exception {
+        OWLDataFactory df = OntManagers.getDataFactory();
+        OWLClass a = df.getOWLClass("A");
+        OWLClass b = df.getOWLClass("B");
+        OWLClass c = df.getOWLClass("C");
+        OWLAxiom ab = df.getOWLSubClassOfAxiom(a, b);
+        OWLAxiom ac = df.getOWLSubClassOfAxiom(a, c);
+        OWLAxiom cb = df.getOWLSubClassOfAxiom(c, b);
+        // an axiom with a duplicated component:
+        OWLAxiom aa = df.getOWLSubClassOfAxiom(a, df.getOWLObjectIntersectionOf(a, c));
+
+        InternalGraphModel model = BaseOntologyModel.createInternalGraphModel(GraphMemFactory.createDefaultGraph());
+        model.add(ab);
+        model.add(ac);
+        Assertions.assertEquals(Set.of(a, b, c), model.listOWLClasses().collect(Collectors.toSet()));
+        // the counters are built:
+        model.remove(ab);
+        model.add(aa);
+
+        // evict the classes map, and change the content while it is unloaded:
+        Class<?> type = model.getClass();
+        while (Arrays.stream(type.getDeclaredFields()).noneMatch(f -> f.getName().equals("components"))) {
+            type = type.getSuperclass();
+        }
+        Field field = type.getDeclaredField("components");
+        field.setAccessible(true);
+        Map<OWLComponentType, ObjectMap<OWLObject>> components =
+                ((InternalCache.Loading<Object, Map<OWLComponentType, ObjectMap<OWLObject>>>) field.get(model)).get(model);
+        components.get(OWLComponentType.CLASS).clear();
+        Assertions.assertFalse(components.get(OWLComponentType.CLASS).isLoaded());
+        model.add(cb);
+        assertSameSignature(model);
+
+        model.remove(ac);
+        Assertions.assertTrue(model.containsOWLEntity(c));
+        assertSameSignature(model);
+
+        model.remove(aa);
+        Assertions.assertFalse(model.containsOWLEntity(a));
+        assertSameSignature(model);
+
+        components.get(OWLComponentType.CLASS).clear();
+        model.remove(cb);
+        assertSameSignature(model);
+        Assertions.assertEquals(Set.of(), model.listOWLClasses().collect(Collectors.toSet()));
+    }
+
+    private static void assertSameSignature(InternalGraphModel actual) {
+        Graph copy = GraphMemFactory.createDefaultGraph();
+        actual.getBaseGraph().find().forEachRemaining(copy::add);
+        InternalGraphModel expected = BaseOntologyModel.createInternalGraphModel(copy);
+        expected.forceLoad();
+        Assertions.assertEquals(expected.listOWLClasses().collect(Collectors.toSet()),
+                actual.listOWLClasses().collect(Collectors.toSet()));
+        Assertions.assertEquals(expected.listOWLAnnotationProperties().collect(Collectors.toSet()),
+                actual.listOWLAnnotationProperties().collect(Collectors.toSet()));
+    }
+
     @Test
     public void testPizzaEntities() {
         testEntities("/ontapi/pizza.ttl", OntFormat.TURTLE);
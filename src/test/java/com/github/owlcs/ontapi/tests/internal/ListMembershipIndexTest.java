@@ -0,0 +1,130 @@
+/*
+ * This file is part of the ONT API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright (c) 2023, owl.cs group.
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package com.github.owlcs.ontapi.tests.internal;
+
+import com.github.owlcs.ontapi.DataFactory;
+import com.github.owlcs.ontapi.OntManagers;
+import com.github.owlcs.ontapi.Ontology;
+import com.github.owlcs.ontapi.OntologyManager;
+import com.github.owlcs.ontapi.internal.ListMembershipIndex;
+import org.apache.jena.graph.Graph;
+import org.apache.jena.graph.Node;
+import org.apache.jena.graph.Triple;
+import org.apache.jena.ontapi.OntModelFactory;
+import org.apache.jena.ontapi.impl.GraphListenerBase;
+import org.apache.jena.ontapi.model.OntClass;
+import org.apache.jena.ontapi.model.OntModel;
+import org.apache.jena.vocabulary.RDF;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLDisjointClassesAxiom;
+
+import java.util.Set;
+
+/**
+ * @see ListMembershipIndex
+ */
+public class ListMembershipIndexTest {
+    private static final String NS = "http://ex.com#";
+
+    @Test
+    public void testIndexHeads() {
+        OntModel m = OntModelFactory.createModel();
+        OntClass a = m.createOntClass(NS + "A");
+        OntClass b = m.createOntClass(NS + "B");
+        OntClass c = m.createOntClass(NS + "C");
+        OntClass d = m.createOntClass(NS + "D");
+        Node h1 = m.createDisjointClasses(a, b, c).getList().asNode();
+        Node h2 = m.createDisjointClasses(b, d).getList().asNode();
+
+        ListMembershipIndex index = ListMembershipIndex.create(m.getBaseGraph());
+        Assertions.assertEquals(4, index.size());
+        Assertions.assertEquals(Set.of(h1), index.getHeads(a.asNode()));
+        Assertions.assertEquals(Set.of(h1, h2), index.getHeads(b.asNode()));
+        Assertions.assertEquals(Set.of(h1), index.getHeads(c.asNode()));
+        Assertions.assertEquals(Set.of(h2), index.getHeads(d.asNode()));
+        Assertions.assertTrue(index.getHeads(m.createOntClass(NS + "E").asNode()).isEmpty());
+    }
+
+    @Test
+    public void testIndexUpdates() {
+        OntModel m = OntModelFactory.createModel();
+        OntClass a = m.createOntClass(NS + "A");
+        OntClass b = m.createOntClass(NS + "B");
+        OntClass c = m.createOntClass(NS + "C");
+        ListMembershipIndex index = ListMembershipIndex.create(m.getBaseGraph());
+        Assertions.assertEquals(0, index.size());
+
+        Graph g = m.getBaseGraph();
+        g.getEventManager().register(new GraphListenerBase() {
+            @Override
+            protected void addTripleEvent(Graph g, Triple t) {
+                index.add(t);
+            }
+
+            @Override
+            protected void deleteTripleEvent(Graph g, Triple t) {
+                index.delete(t);
+            }
+        });
+        Node h = m.createDisjointClasses(a, b, c).getList().asNode();
+        Assertions.assertEquals(3, index.size());
+        Assertions.assertEquals(Set.of(h), index.getHeads(c.asNode()));
+
+        // cut the list after the first cell: the tail becomes a separate list
+        Triple rest = g.find(h, RDF.Nodes.rest, Node.ANY).next();
+        g.delete(rest);
+        Assertions.assertEquals(Set.of(h), index.getHeads(a.asNode()));
+        Assertions.assertEquals(Set.of(rest.getObject()), index.getHeads(c.asNode()));
+        g.add(rest);
+        Assertions.assertEquals(Set.of(h), index.getHeads(c.asNode()));
+
+        g.find(Node.ANY, RDF.Nodes.first, b.asNode()).toList().forEach(g::delete);
+        Assertions.assertTrue(index.getHeads(b.asNode()).isEmpty());
+        Assertions.assertEquals(2, index.size());
+        Assertions.assertEquals(index.size(), ListMembershipIndex.create(g).size());
+    }
+
+    @Test
+    public void testDisjointClassesByOperand() {
+        OntologyManager manager = OntManagers.createManager();
+        DataFactory df = manager.getOWLDataFactory();
+        Ontology o = manager.createOntology();
+        OWLClass a = df.getOWLClass(NS + "A");
+        OWLClass b = df.getOWLClass(NS + "B");
+        OWLClass c = df.getOWLClass(NS + "C");
+        OWLClass d = df.getOWLClass(NS + "D");
+        OWLDisjointClassesAxiom abc = df.getOWLDisjointClassesAxiom(a, b, c);
+        o.add(abc);
+        o.add(df.getOWLDisjointClassesAxiom(a, d));
+
+        Assertions.assertEquals(2, o.disjointClassesAxioms(a).count());
+        Assertions.assertEquals(1, o.disjointClassesAxioms(b).count());
+        Assertions.assertEquals(1, o.disjointClassesAxioms(d).count());
+
+        // direct graph changes must be seen by the index
+        OntModel m = o.asGraphModel();
+        m.createDisjointClasses(m.getOntClass(NS + "B"), m.getOntClass(NS + "D"), m.createOntClass(NS + "E"));
+        Assertions.assertEquals(2, o.disjointClassesAxioms(b).count());
+        Assertions.assertEquals(2, o.disjointClassesAxioms(d).count());
+
+        // OWL-API changes too
+        o.remove(abc);
+        Assertions.assertEquals(1, o.disjointClassesAxioms(a).count());
+        Assertions.assertEquals(1, o.disjointClassesAxioms(b).count());
+        Assertions.assertEquals(0, o.disjointClassesAxioms(c).count());
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ * This file is part of the ONT API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright (c) 2023, owl.cs group.
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package com.github.owlcs.ontapi.tests.internal;
+
+import com.github.owlcs.ontapi.BlankNodeId;
+import com.github.owlcs.ontapi.OntApiException;
+import com.github.owlcs.ontapi.OntFormat;
+import com.github.owlcs.ontapi.OntManagers;
+import com.github.owlcs.ontapi.Ontology;
+import com.github.owlcs.ontapi.OntologyManager;
+import com.github.owlcs.ontapi.internal.NodeDictionary;
+import com.github.owlcs.ontapi.testutils.OWLIOUtils;
+import org.apache.jena.graph.NodeFactory;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLOntologyCreationException;
+
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * @see NodeDictionary
+ */
+public class NodeDictionaryTest {
+
+    @Test
+    public void testEncodeDecode() {
+        NodeDictionary d = new NodeDictionary();
+        Object uri = "http://x#A";
+        Object blank = BlankNodeId.of();
+        Object literal = NodeFactory.createLiteralString("x").getLiteral();
+        Object other = 42;
+
+        int a = d.encode(uri);
+        Assertions.assertEquals(a, d.encode("http://x#A"));
+        Assertions.assertEquals(1, d.size());
+
+        Object[] content = new Object[]{uri, blank, other, literal, uri};
+        Object encoded = d.encodeContent(content);
+        Assertions.assertInstanceOf(NodeDictionary.Packed.class, encoded);
+        Assertions.assertArrayEquals(content, d.decodeContent(encoded));
+        Assertions.assertEquals(3, d.size());
+
+        Object[] nodes = new Object[]{literal, blank};
+        encoded = d.encodeContent(nodes);
+        Assertions.assertInstanceOf(int[].class, encoded);
+        Assertions.assertArrayEquals(nodes, d.decodeContent(encoded));
+
+        Assertions.assertThrows(OntApiException.IllegalArgument.class, () -> d.decode(42));
+        Assertions.assertThrows(OntApiException.IllegalArgument.class, () -> d.encode(other));
+    }
+
+    @Test
+    public void testReadWithDictionary() throws OWLOntologyCreationException {
+        Set<OWLAxiom> expected = load(OntManagers.createManager()).axioms().collect(Collectors.toSet());
+
+        OntologyManager m = OntManagers.createManager();
+        m.getOntologyConfigurator().setUseNodeDictionary(true).setReadONTObjects(true);
+        Ontology o = load(m);
+        Assertions.assertTrue(m.getOntologyLoaderConfiguration().isUseNodeDictionary());
+
+        Set<OWLAxiom> actual = o.axioms().collect(Collectors.toSet());
+        Assertions.assertEquals(expected.size(), actual.size());
+        Assertions.assertEquals(expected, actual);
+        actual.forEach(a -> Assertions.assertTrue(expected.contains(a), "Can't find " + a));
+        // components are restored from the encoded content
+        Assertions.assertEquals(load(OntManagers.createManager()).getClassesInSignature(), o.getClassesInSignature());
+    }
+
+    private static Ontology load(OntologyManager m) throws OWLOntologyCreationException {
+        return m.loadOntologyFromOntologyDocument(OWLIOUtils.getFileDocumentSource("/ontapi/pizza.ttl", OntFormat.TURTLE));
+    }
+}
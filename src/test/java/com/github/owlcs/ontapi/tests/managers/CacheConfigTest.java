@@ -26,10 +26,12 @@ import com.github.owlcs.ontapi.config.CacheSettings;
 import com.github.owlcs.ontapi.config.OntConfig;
 import com.github.owlcs.ontapi.config.OntLoaderConfiguration;
 import com.github.owlcs.ontapi.config.OntSettings;
+import com.github.owlcs.ontapi.internal.CacheBudget;
 import com.github.owlcs.ontapi.internal.CacheObjectFactory;
 import com.github.owlcs.ontapi.internal.InternalCache;
 import com.github.owlcs.ontapi.internal.InternalGraphModelImpl;
 import com.github.owlcs.ontapi.internal.InternalObjectFactory;
+import com.github.owlcs.ontapi.internal.ONTObject;
 import com.github.owlcs.ontapi.internal.ONTObjectFactory;
 import com.github.owlcs.ontapi.internal.OWLComponentType;
 import com.github.owlcs.ontapi.internal.OWLTopObjectType;
@@ -41,20 +43,28 @@ import org.apache.jena.graph.Node;
 import org.apache.jena.graph.Triple;
 import org.apache.jena.graph.impl.WrappedGraph;
 import org.apache.jena.ontapi.impl.OntGraphModelImpl;
+import org.apache.jena.ontapi.model.OntClass;
+import org.apache.jena.ontapi.model.OntModel;
+import org.apache.jena.rdf.model.Literal;
 import org.apache.jena.riot.Lang;
 import org.apache.jena.util.iterator.ExtendedIterator;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.semanticweb.owlapi.io.OWLOntologyDocumentSource;
+import org.semanticweb.owlapi.model.AddImport;
+import org.semanticweb.owlapi.model.AxiomType;
+import org.semanticweb.owlapi.model.IRI;
 import org.semanticweb.owlapi.model.OWLAnnotationProperty;
 import org.semanticweb.owlapi.model.OWLAxiom;
 import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLClassExpression;
 import org.semanticweb.owlapi.model.OWLDataProperty;
 import org.semanticweb.owlapi.model.OWLDatatype;
 import org.semanticweb.owlapi.model.OWLEntity;
 import org.semanticweb.owlapi.model.OWLNamedIndividual;
 import org.semanticweb.owlapi.model.OWLObjectProperty;
 import org.semanticweb.owlapi.model.OWLOntologyCreationException;
+import org.semanticweb.owlapi.model.parameters.Imports;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -68,8 +78,10 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Function;
 import java.util.function.Predicate;
+import java.util.stream.Collectors;
 
 /**
  * Created by @ssz on 04.03.2019.
@@ -183,6 +195,114 @@ public class CacheConfigTest {
         Assertions.assertInstanceOf(SearchModel.class, m2);
     }
 
+    @Test
+    public void testImportsClosureCache() throws Exception {
+        OntologyManager m = OntManagers.createManager();
+        Assertions.assertFalse(m.getOntologyConfigurator().isUseImportsClosureCache());
+        m.getOntologyConfigurator().setUseImportsClosureCache(true);
+        DataFactory df = m.getOWLDataFactory();
+        OWLClass a = df.getOWLClass("http://x#A");
+        OWLClass b = df.getOWLClass("http://x#B");
+        OWLClass c = df.getOWLClass("http://x#C");
+        Ontology ob = m.createOntology(IRI.create("http://b"));
+        ob.add(df.getOWLDeclarationAxiom(a));
+        ob.add(df.getOWLDeclarationAxiom(b));
+        Ontology oa = m.createOntology(IRI.create("http://a"));
+        oa.add(df.getOWLDeclarationAxiom(a));
+        oa.add(df.getOWLDeclarationAxiom(c));
+        m.applyChange(new AddImport(oa, df.getOWLImportsDeclaration(IRI.create("http://b"))));
+
+        // the shared declaration is counted once
+        Assertions.assertEquals(3, oa.axioms(Imports.INCLUDED).count());
+        Assertions.assertEquals(3, oa.getAxiomCount(Imports.INCLUDED));
+        Assertions.assertEquals(3, oa.getAxiomCount(AxiomType.DECLARATION, Imports.INCLUDED));
+        Assertions.assertEquals(0, oa.getLogicalAxiomCount(Imports.INCLUDED));
+        Assertions.assertEquals(List.of(a, b, c), oa.classesInSignature(Imports.INCLUDED).collect(Collectors.toList()));
+
+        // change in the imported ontology
+        OWLClass d = df.getOWLClass("http://x#D");
+        ob.add(df.getOWLDeclarationAxiom(d));
+        Assertions.assertEquals(4, oa.getAxiomCount(Imports.INCLUDED));
+        Assertions.assertTrue(oa.containsClassInSignature(d.getIRI(), Imports.INCLUDED));
+        Assertions.assertEquals(List.of(a, b, c, d),
+                oa.classesInSignature(Imports.INCLUDED).collect(Collectors.toList()));
+
+        // direct graph change in the importing ontology
+        oa.asGraphModel().createOntClass("http://x#E");
+        Assertions.assertEquals(5, oa.getAxiomCount(Imports.INCLUDED));
+
+        // a logical axiom shared by both members
+        OWLAxiom ab = df.getOWLSubClassOfAxiom(a, b);
+        oa.add(ab);
+        ob.add(ab);
+        Assertions.assertEquals(1, oa.getLogicalAxiomCount(Imports.INCLUDED));
+        Assertions.assertEquals(1, oa.getAxiomCount(AxiomType.SUBCLASS_OF, Imports.INCLUDED));
+        Assertions.assertEquals(6, oa.getAxiomCount(Imports.INCLUDED));
+        List<OWLAxiom> axioms = oa.axioms(Imports.INCLUDED).collect(Collectors.toList());
+        Assertions.assertEquals(6, axioms.size());
+        Assertions.assertEquals(6, new HashSet<>(axioms).size());
+
+        // the imported ontology is removed from the manager
+        m.removeOntology(ob);
+        Assertions.assertEquals(4, oa.getAxiomCount(Imports.INCLUDED));
+        Assertions.assertFalse(oa.containsClassInSignature(d.getIRI(), Imports.INCLUDED));
+    }
+
+    @Test
+    public void testObjectsCacheForAnonymousExpressionsAndLiterals() throws Exception {
+        OntologyManager m = OntManagers.createManager();
+        m.getOntologyConfigurator().setLoadObjectsCacheSize(10_000);
+        Ontology o = m.loadOntologyFromOntologyDocument(OWLIOUtils.getFileDocumentSource("/ontapi/pizza.ttl",
+                OntFormat.TURTLE));
+        ONTObjectFactory of = getBase(o).getObjectFactory();
+        Assertions.assertInstanceOf(CacheObjectFactory.class, of);
+
+        OntModel g = o.asGraphModel();
+        OntClass ce = g.ontObjects(OntClass.ObjectSomeValuesFrom.class).findFirst().orElseThrow(AssertionError::new);
+        ONTObject<? extends OWLClassExpression> c1 = of.getClass(ce);
+        ONTObject<? extends OWLClassExpression> c2 = of.getClass(ce);
+        Assertions.assertSame(c1, c2);
+
+        Literal literal = g.createTypedLiteral(true);
+        Assertions.assertSame(of.getLiteral(literal), of.getLiteral(g.createTypedLiteral(true)));
+
+        // any change resets the object factory
+        o.add(m.getOWLDataFactory().getOWLDeclarationAxiom(m.getOWLDataFactory().getOWLClass("http://x#X")));
+        ONTObjectFactory of2 = getBase(o).getObjectFactory();
+        Assertions.assertNotSame(of, of2);
+        Assertions.assertNotSame(c1, of2.getClass(ce));
+        Assertions.assertEquals(c1.getOWLObject(), of2.getClass(ce).getOWLObject());
+    }
+
+    @Test
+    public void testSearchModelAnnotationIndex() {
+        DataFactory df = OntManagers.getDataFactory();
+        OWLAnnotationProperty p = df.getOWLAnnotationProperty("http://x#p");
+        OWLAnnotationProperty q = df.getOWLAnnotationProperty("http://x#q");
+        Ontology src = OntManagers.createManager().createOntology();
+        for (int i = 0; i < 50; i++) {
+            OWLClass a = df.getOWLClass("http://x#A" + i);
+            OWLClass b = df.getOWLClass("http://x#B" + i);
+            src.add(df.getOWLSubClassOfAxiom(a, b, List.of(df.getOWLAnnotation(p, df.getOWLLiteral("s" + i),
+                    df.getOWLAnnotation(q, df.getOWLLiteral("n" + i))))));
+            src.add(df.getOWLSubClassOfAxiom(b, a, List.of(df.getOWLAnnotation(q, df.getOWLLiteral(i)))));
+            src.add(df.getOWLDeclarationAxiom(a));
+        }
+        Set<OWLAxiom> expected = src.axioms().collect(Collectors.toSet());
+
+        OntologyManager m1 = OntManagers.createManager();
+        m1.getOntologyConfigurator().setLoadNodesCacheSize(-1);
+        Ontology o1 = m1.addOntology(src.asGraphModel().getGraph());
+        Assertions.assertInstanceOf(InternalGraphModelImpl.class, getBase(o1).getSearchModel());
+        Assertions.assertEquals(expected, o1.axioms().collect(Collectors.toSet()));
+
+        OntologyManager m2 = OntManagers.createManager();
+        m2.getOntologyConfigurator().setLoadNodesCacheSize(10_000);
+        Ontology o2 = m2.addOntology(src.asGraphModel().getGraph());
+        Assertions.assertInstanceOf(SearchModel.class, getBase(o2).getSearchModel());
+        Assertions.assertEquals(expected, o2.axioms().collect(Collectors.toSet()));
+    }
+
     @Test
     public void testObjectsCacheSize() throws Exception {
         long axioms = 945;
@@ -335,6 +455,110 @@ public class CacheConfigTest {
         });
     }
 
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    @Test
+    public void testManagerContentCacheBudget() throws Exception {
+        Assertions.assertEquals(0L, new OntConfig().getManagerContentCacheBudget());
+        OWLOntologyDocumentSource pizza = OWLIOUtils.getFileDocumentSource("/ontapi/pizza.ttl", OntFormat.TURTLE);
+        OWLOntologyDocumentSource family = OWLIOUtils.getFileDocumentSource("/ontapi/family.ttl", OntFormat.TURTLE);
+        long familyAxioms = OntManagers.createManager().loadOntologyFromOntologyDocument(family).getAxiomCount();
+        Assertions.assertTrue(familyAxioms > 1000);
+
+        OntologyManager m = OntManagers.createManager();
+        m.getOntologyConfigurator().setManagerContentCacheBudget(1000);
+        Ontology o1 = m.loadOntologyFromOntologyDocument(pizza);
+        Ontology o2 = m.loadOntologyFromOntologyDocument(family);
+        InternalGraphModelImpl im1 = getBase(o1);
+        Map map1 = (Map) getInternalCache(im1, OWLTopObjectType.class).get(im1);
+
+        Assertions.assertEquals(945, o1.getAxiomCount());
+        OWLTopObjectType.all().filter(k -> !OWLTopObjectType.ANNOTATION.equals(k))
+                .forEach(k -> Assertions.assertTrue(((ObjectMap) map1.get(k)).isLoaded(), "Not loaded: " + k));
+
+        // the family content alone exceeds the budget, the pizza caches are the least recently used:
+        Assertions.assertEquals(familyAxioms, o2.getAxiomCount());
+        Assertions.assertTrue(OWLTopObjectType.all()
+                .anyMatch(k -> !((ObjectMap) map1.get(k)).isLoaded()));
+        // reload:
+        Assertions.assertEquals(945, o1.getAxiomCount());
+        Assertions.assertEquals(familyAxioms, o2.getAxiomCount());
+
+        // soft references:
+        m.getOntologyConfigurator().setManagerContentCacheBudget(0);
+        m.removeOntology(o1);
+        Ontology o3 = m.loadOntologyFromOntologyDocument(pizza);
+        Assertions.assertEquals(945, o3.getAxiomCount());
+        Assertions.assertEquals(familyAxioms, o2.getAxiomCount());
+        InternalGraphModelImpl im3 = getBase(o3);
+        Map map3 = (Map) getInternalCache(im3, OWLTopObjectType.class).get(im3);
+        OWLTopObjectType.all().filter(k -> !OWLTopObjectType.ANNOTATION.equals(k))
+                .forEach(k -> Assertions.assertTrue(((ObjectMap) map3.get(k)).isLoaded(), "Not loaded: " + k));
+    }
+
+    @Test
+    public void testCacheBudgetGrowthAndRelease() {
+        AtomicLong limit = new AtomicLong(10);
+        CacheBudget budget = new CacheBudget(limit::get);
+        InternalCache.Loading<String, List<String>> a = budget.createSingleton(k -> new ArrayList<>(), List::size);
+        InternalCache.Loading<String, List<String>> b = budget.createSingleton(k -> new ArrayList<>(), List::size);
+        for (int i = 0; i < 8; i++) {
+            a.get("a").add("x" + i);
+            CacheBudget.grown(a);
+        }
+        Assertions.assertEquals(8, budget.getWeight());
+        for (int i = 0; i < 8; i++) {
+            b.get("b").add("y" + i);
+            CacheBudget.grown(b);
+        }
+        // the growth of b pushes the least recently used a out:
+        Assertions.assertTrue(a.isEmpty());
+        Assertions.assertFalse(b.isEmpty());
+        Assertions.assertEquals(8, budget.getWeight());
+
+        // disabled budget: the values are not pinned anymore
+        limit.set(0);
+        Assertions.assertEquals(0, a.get("a").size());
+        Assertions.assertEquals(0, budget.getWeight());
+        Assertions.assertFalse(b.isEmpty());
+        Assertions.assertEquals(8, b.get("b").size());
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    @Test
+    public void testColdCacheDirectReads() throws Exception {
+        OWLOntologyDocumentSource src = OWLIOUtils.getFileDocumentSource("/ontapi/pizza.ttl", OntFormat.TURTLE);
+        Ontology expected = OntManagers.createManager().loadOntologyFromOntologyDocument(src);
+
+        OntologyManager m = OntManagers.createManager();
+        Ontology actual = m.loadOntologyFromOntologyDocument(src,
+                m.getOntologyLoaderConfiguration().setColdCacheDirectReads(true));
+        InternalGraphModelImpl im = getBase(actual);
+        Map map = (Map) getInternalCache(im, OWLTopObjectType.class).get(im);
+
+        Assertions.assertFalse(actual.isEmpty());
+        AxiomType.AXIOM_TYPES.forEach(t -> {
+            Assertions.assertEquals(expected.getAxiomCount(t), actual.getAxiomCount(t), "Wrong count: " + t);
+            expected.axioms(t).forEach(a -> Assertions.assertTrue(actual.containsAxiom(a), "Can't find " + a));
+        });
+        DataFactory df = m.getOWLDataFactory();
+        Assertions.assertFalse(actual.containsAxiom(df.getOWLSubClassOfAxiom(df.getOWLThing(), df.getOWLNothing())));
+        // distinct caches are not loaded:
+        OWLTopObjectType.all().forEach(k -> {
+            if (k.isDistinct()) {
+                Assertions.assertFalse(((ObjectMap) map.get(k)).isLoaded(), "Loaded: " + k);
+            }
+        });
+
+        // load caches:
+        Assertions.assertEquals(expected.axioms().collect(Collectors.toSet()),
+                actual.axioms().collect(Collectors.toSet()));
+        OWLTopObjectType.all().filter(OWLTopObjectType::isAxiom)
+                .forEach(k -> Assertions.assertTrue(((ObjectMap) map.get(k)).isLoaded(), "Not loaded: " + k));
+        AxiomType.AXIOM_TYPES.forEach(t ->
+                Assertions.assertEquals(expected.getAxiomCount(t), actual.getAxiomCount(t), "Wrong count: " + t));
+        Assertions.assertEquals(expected.getAxiomCount(), actual.getAxiomCount());
+    }
+
     @Test
     public void testComponentCacheOption() {
         Graph g = OWLIOUtils.loadResourceAsModel("/ontapi/pizza.ttl", Lang.TURTLE).getGraph();
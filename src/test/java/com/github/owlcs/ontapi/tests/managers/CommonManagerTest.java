@@ -14,8 +14,11 @@
 
 package com.github.owlcs.ontapi.tests.managers;
 
+import com.github.owlcs.ontapi.AnnotationLiteralIndex;
 import com.github.owlcs.ontapi.CommonOntologies;
+import com.github.owlcs.ontapi.EntityUsageIndex;
 import com.github.owlcs.ontapi.OntApiException;
+import com.github.owlcs.ontapi.OntFormat;
 import com.github.owlcs.ontapi.OntManagers;
 import com.github.owlcs.ontapi.Ontology;
 import com.github.owlcs.ontapi.OntologyManager;
@@ -38,8 +41,10 @@ import org.apache.jena.ontapi.model.OntEntity;
 import org.apache.jena.ontapi.model.OntModel;
 import org.apache.jena.ontapi.utils.Graphs;
 import org.apache.jena.ontology.OntModelSpec;
+import org.apache.jena.rdf.model.Model;
 import org.apache.jena.rdf.model.ModelFactory;
 import org.apache.jena.util.FileManager;
+import org.apache.jena.vocabulary.RDFS;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
@@ -47,9 +52,11 @@ import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
 import org.junit.jupiter.params.provider.ValueSource;
 import org.semanticweb.owlapi.model.AddImport;
+import org.semanticweb.owlapi.model.AddOntologyAnnotation;
 import org.semanticweb.owlapi.model.AsOWLClass;
 import org.semanticweb.owlapi.model.AxiomType;
 import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLAnnotationProperty;
 import org.semanticweb.owlapi.model.OWLAxiom;
 import org.semanticweb.owlapi.model.OWLClass;
 import org.semanticweb.owlapi.model.OWLDataFactory;
@@ -61,6 +68,7 @@ import org.semanticweb.owlapi.model.OWLOntology;
 import org.semanticweb.owlapi.model.OWLOntologyCreationException;
 import org.semanticweb.owlapi.model.OWLOntologyID;
 import org.semanticweb.owlapi.model.OWLOntologyManager;
+import org.semanticweb.owlapi.model.OWLSubClassOfAxiom;
 import org.semanticweb.owlapi.model.parameters.Imports;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -71,15 +79,21 @@ import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
 import java.io.OutputStream;
 import java.io.Writer;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -503,4 +517,194 @@ public class CommonManagerTest {
         Assertions.assertFalse(bareOutputStreamIsClosed.get());
     }
 
+    @Test
+    public void testCreateOntologyFromAxiomsInBulk() throws Exception {
+        Ontology src = OntManagers.createManager().loadOntologyFromOntologyDocument(
+                OWLIOUtils.getFileDocumentSource("/ontapi/pizza.ttl", OntFormat.TURTLE));
+        Set<OWLAxiom> axioms = src.axioms().collect(Collectors.toSet());
+        IRI iri = IRI.create("http://bulk");
+
+        OntologyManager m1 = OntManagers.createManager();
+        Ontology o1 = m1.createOntology(axioms.stream(), iri);
+        // a change listener switches off the bulk mode
+        OntologyManager m2 = OntManagers.createManager();
+        List<OWLAxiom> changes = new ArrayList<>();
+        m2.addOntologyChangeListener(list -> list.forEach(c -> changes.add(c.getAxiom())));
+        Ontology o2 = m2.createOntology(axioms.stream(), iri);
+        Assertions.assertEquals(axioms.size(), changes.size());
+
+        Assertions.assertEquals(axioms, o1.axioms().collect(Collectors.toSet()));
+        Assertions.assertEquals(axioms, o2.axioms().collect(Collectors.toSet()));
+        Model g1 = ModelFactory.createModelForGraph(o1.asGraphModel().getBaseGraph());
+        Model g2 = ModelFactory.createModelForGraph(o2.asGraphModel().getBaseGraph());
+        Assertions.assertTrue(g1.isIsomorphicWith(g2));
+
+        // the triples of each axiom are tracked
+        OWLAxiom axiom = axioms.stream().filter(x -> x.isOfType(AxiomType.SUBCLASS_OF))
+                .filter(x -> ((OWLSubClassOfAxiom) x).getSuperClass().isAnonymous()).findFirst().orElseThrow();
+        o1.remove(axiom);
+        o2.remove(axiom);
+        Assertions.assertTrue(g1.isIsomorphicWith(g2));
+        o1.clearCache();
+        o2.clearCache();
+        Assertions.assertEquals(o2.axioms().collect(Collectors.toSet()), o1.axioms().collect(Collectors.toSet()));
+    }
+
+    @Test
+    public void testSaveOntologyAsync() throws Exception {
+        OntologyManager m = OntManagers.createConcurrentManager();
+        Ontology o = m.loadOntologyFromOntologyDocument(
+                OWLIOUtils.getFileDocumentSource("/ontapi/pizza.ttl", OntFormat.TURTLE));
+        ByteArrayOutputStream expected = new ByteArrayOutputStream();
+        m.saveOntology(o, OntFormat.NTRIPLES.createOwlFormat(), expected);
+
+        ByteArrayOutputStream actual = new ByteArrayOutputStream();
+        CompletableFuture<Void> res = m.saveOntologyAsync(o, OntFormat.NTRIPLES.createOwlFormat(),
+                OWLIOUtils.newOWLOntologyDocumentTarget(actual, null));
+        // the change is not visible for the background writer, since the snapshot is already taken
+        o.add(m.getOWLDataFactory().getOWLDeclarationAxiom(m.getOWLDataFactory().getOWLClass("http://x#X")));
+        res.get();
+
+        Model a = ModelFactory.createDefaultModel().read(new ByteArrayInputStream(actual.toByteArray()), null, "nt");
+        Model e = ModelFactory.createDefaultModel().read(new ByteArrayInputStream(expected.toByteArray()), null, "nt");
+        Assertions.assertTrue(e.isIsomorphicWith(a));
+        Assertions.assertEquals(o.asGraphModel().getBaseGraph().size() - 1, a.size());
+    }
+
+    @Test
+    public void testLoadAndSaveOntologyAsyncWithExecutor() throws Exception {
+        OntologyManager expectedManager = OntManagers.createManager();
+        Ontology expected = expectedManager.loadOntologyFromOntologyDocument(
+                OWLIOUtils.getFileDocumentSource("/ontapi/pizza.ttl", OntFormat.TURTLE));
+
+        OntologyManager m = OntManagers.createConcurrentManager();
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            CompletableFuture<Ontology> res = m.loadOntologyAsync(
+                    OWLIOUtils.getFileDocumentSource("/ontapi/pizza.ttl", OntFormat.TURTLE), executor);
+            // the manager is available while the document is being parsed
+            m.createOntology(IRI.create("http://x"));
+            Ontology actual = res.get();
+
+            Assertions.assertEquals(2, m.ontologies().count());
+            Assertions.assertSame(actual, m.getOntology(expected.getOntologyID()));
+            Assertions.assertEquals(945, actual.getAxiomCount());
+            Assertions.assertEquals(expected.axioms().collect(Collectors.toSet()),
+                    actual.axioms().collect(Collectors.toSet()));
+
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            m.saveOntologyAsync(actual, OntFormat.NTRIPLES.createOwlFormat(),
+                    OWLIOUtils.newOWLOntologyDocumentTarget(out, null), executor).get();
+            Model a = ModelFactory.createDefaultModel().read(new ByteArrayInputStream(out.toByteArray()), null, "nt");
+            Assertions.assertTrue(a.getGraph().isIsomorphicWith(actual.asGraphModel().getBaseGraph()));
+
+            ExecutionException ex = Assertions.assertThrows(ExecutionException.class,
+                    () -> m.loadOntologyAsync(
+                            OWLIOUtils.getFileDocumentSource("/ontapi/pizza.ttl", OntFormat.TURTLE), executor).get());
+            Assertions.assertInstanceOf(OWLOntologyCreationException.class, ex.getCause());
+            Assertions.assertEquals(2, m.ontologies().count());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {true, false})
+    public void testFindEntityUsages(boolean withIndex) throws Exception {
+        OntologyManager m = OntManagers.createManager();
+        m.setEntityUsageIndexEnabled(withIndex);
+        Assertions.assertEquals(withIndex, m.isEntityUsageIndexEnabled());
+        OWLDataFactory df = m.getOWLDataFactory();
+        OWLClass a = df.getOWLClass("http://x#A");
+        OWLClass b = df.getOWLClass("http://x#B");
+        OWLAnnotationProperty p = df.getOWLAnnotationProperty("http://x#p");
+
+        Ontology o1 = m.createOntology(IRI.create("http://o1"));
+        Ontology o2 = m.createOntology(IRI.create("http://o2"));
+        o1.add(df.getOWLDeclarationAxiom(a));
+        o1.add(df.getOWLSubClassOfAxiom(a, b));
+        o2.add(df.getOWLAnnotationAssertionAxiom(a.getIRI(), df.getRDFSComment("c")));
+        o2.applyChange(new AddOntologyAnnotation(o2, df.getOWLAnnotation(p, df.getOWLLiteral("x"))));
+
+        Assertions.assertEquals(Map.of(o1, Set.of(EntityUsageIndex.Usage.DECLARED, EntityUsageIndex.Usage.REFERENCED),
+                o2, Set.of(EntityUsageIndex.Usage.ANNOTATED)), m.findEntityUsages(a.getIRI()));
+        Assertions.assertEquals(Map.of(o1, Set.of(EntityUsageIndex.Usage.REFERENCED)), m.findEntityUsages(b.getIRI()));
+        Assertions.assertEquals(Map.of(o2, Set.of(EntityUsageIndex.Usage.REFERENCED)), m.findEntityUsages(p.getIRI()));
+        Assertions.assertTrue(m.findEntityUsages(IRI.create("http://x#C")).isEmpty());
+
+        // incremental changes:
+        o1.remove(df.getOWLSubClassOfAxiom(a, b));
+        o2.add(df.getOWLDeclarationAxiom(b));
+        Assertions.assertEquals(Map.of(o1, Set.of(EntityUsageIndex.Usage.DECLARED),
+                o2, Set.of(EntityUsageIndex.Usage.ANNOTATED)), m.findEntityUsages(a.getIRI()));
+        Assertions.assertEquals(Map.of(o2, Set.of(EntityUsageIndex.Usage.DECLARED)), m.findEntityUsages(b.getIRI()));
+
+        // direct graph change:
+        o1.asGraphModel().createOntClass(b.getIRI().getIRIString());
+        Assertions.assertEquals(Map.of(o1, Set.of(EntityUsageIndex.Usage.DECLARED),
+                o2, Set.of(EntityUsageIndex.Usage.DECLARED)), m.findEntityUsages(b.getIRI()));
+
+        // new and removed ontologies:
+        Ontology o3 = m.createOntology(IRI.create("http://o3"));
+        o3.add(df.getOWLSubClassOfAxiom(b, a));
+        m.removeOntology(o2);
+        Assertions.assertEquals(Map.of(o1, Set.of(EntityUsageIndex.Usage.DECLARED),
+                o3, Set.of(EntityUsageIndex.Usage.REFERENCED)), m.findEntityUsages(b.getIRI()));
+        m.clearOntologies();
+        Assertions.assertTrue(m.findEntityUsages(b.getIRI()).isEmpty());
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {true, false})
+    public void testFindAnnotationLiterals(boolean withIndex) throws Exception {
+        OntologyManager m = OntManagers.createManager();
+        OWLDataFactory df = m.getOWLDataFactory();
+        IRI label = df.getRDFSLabel().getIRI();
+        if (withIndex) {
+            m.setAnnotationLiteralIndexProperties(List.of(label));
+            Assertions.assertEquals(Set.of(label), m.getAnnotationLiteralIndexProperties());
+        } else {
+            Assertions.assertTrue(m.getAnnotationLiteralIndexProperties().isEmpty());
+        }
+        IRI a = IRI.create("http://x#A");
+        IRI b = IRI.create("http://x#B");
+        Ontology o1 = m.createOntology(IRI.create("http://o1"));
+        Ontology o2 = m.createOntology(IRI.create("http://o2"));
+        o1.add(df.getOWLAnnotationAssertionAxiom(a, df.getRDFSLabel("Pizza", "en")));
+        o1.add(df.getOWLAnnotationAssertionAxiom(b, df.getRDFSLabel("Pizzeria", "it")));
+        o2.add(df.getOWLAnnotationAssertionAxiom(a, df.getRDFSLabel("pizza")));
+
+        Function<List<AnnotationLiteralIndex.Hit>, Set<String>> toStrings = hits -> hits.stream()
+                .map(x -> ((IRI) x.subject()).getIRIString() + "@" + x.ontology().getOntologyID().getOntologyIRI().orElseThrow())
+                .collect(Collectors.toSet());
+        Assertions.assertEquals(Set.of("http://x#A@http://o1"),
+                toStrings.apply(m.findAnnotationLiterals("Pizza", null, AnnotationLiteralIndex.Match.EXACT)));
+        Assertions.assertEquals(Set.of("http://x#A@http://o1", "http://x#A@http://o2"),
+                toStrings.apply(m.findAnnotationLiterals("PIZZA", null, AnnotationLiteralIndex.Match.IGNORE_CASE)));
+        Assertions.assertEquals(Set.of("http://x#A@http://o1", "http://x#B@http://o1", "http://x#A@http://o2"),
+                toStrings.apply(m.findAnnotationLiterals("piz", null, AnnotationLiteralIndex.Match.PREFIX)));
+        Assertions.assertEquals(Set.of("http://x#B@http://o1"),
+                toStrings.apply(m.findAnnotationLiterals("piz", "IT", AnnotationLiteralIndex.Match.PREFIX)));
+        Assertions.assertEquals(Set.of("http://x#A@http://o2"),
+                toStrings.apply(m.findAnnotationLiterals("piz", "", AnnotationLiteralIndex.Match.PREFIX)));
+
+        // incremental changes:
+        o1.remove(df.getOWLAnnotationAssertionAxiom(a, df.getRDFSLabel("Pizza", "en")));
+        o2.add(df.getOWLAnnotationAssertionAxiom(b, df.getRDFSLabel("Pizza Napoletana", "en")));
+        Assertions.assertEquals(Set.of("http://x#B@http://o1", "http://x#A@http://o2", "http://x#B@http://o2"),
+                toStrings.apply(m.findAnnotationLiterals("pizz", null, AnnotationLiteralIndex.Match.PREFIX)));
+
+        // direct graph change:
+        o2.asGraphModel().removeAll(null, RDFS.label, null);
+        Assertions.assertEquals(Set.of("http://x#B@http://o1"),
+                toStrings.apply(m.findAnnotationLiterals("pizz", null, AnnotationLiteralIndex.Match.PREFIX)));
+
+        // an annotation with another property:
+        o1.add(df.getOWLAnnotationAssertionAxiom(a, df.getRDFSComment("Pizza")));
+        Assertions.assertEquals(withIndex ? Set.of() : Set.of("http://x#A@http://o1"),
+                toStrings.apply(m.findAnnotationLiterals("Pizza", null, AnnotationLiteralIndex.Match.EXACT)));
+
+        m.removeOntology(o1);
+        Assertions.assertTrue(m.findAnnotationLiterals("p", null, AnnotationLiteralIndex.Match.PREFIX).isEmpty());
+    }
 }
@@ -20,8 +20,11 @@ import com.github.owlcs.ontapi.OntGraphDocumentSource;
 import com.github.owlcs.ontapi.OntManagers;
 import com.github.owlcs.ontapi.Ontology;
 import com.github.owlcs.ontapi.OntologyManager;
+import com.github.owlcs.ontapi.OverlayGraph;
+import com.github.owlcs.ontapi.internal.objects.ModelObject;
 import com.github.owlcs.ontapi.testutils.FileMap;
 import com.github.owlcs.ontapi.testutils.OWLIOUtils;
+import org.apache.jena.graph.Graph;
 import org.apache.jena.ontapi.UnionGraph;
 import org.apache.jena.ontapi.model.OntModel;
 import org.apache.jena.ontapi.utils.Graphs;
@@ -154,6 +157,54 @@ public class CopyManagerTest {
         Assertions.assertTrue(classes.contains(clazz), "Can't find " + clazz);
     }
 
+    @Test
+    public void testForkOntology() throws Exception {
+        OntologyManager m1 = OntManagers.createManager();
+        Ontology src = m1.loadOntologyFromOntologyDocument(OWLIOUtils.getFileDocumentSource("/ontapi/pizza.ttl",
+                OntFormat.TURTLE));
+        Set<OWLAxiom> expected = src.axioms().collect(Collectors.toSet());
+        long triples = src.asGraphModel().getBaseGraph().size();
+        Assertions.assertEquals(945, expected.size());
+
+        OntologyManager m2 = OntManagers.createConcurrentManager();
+        Ontology fork = m2.forkOntology(src);
+        Assertions.assertEquals(src.getOntologyID(), fork.getOntologyID());
+        OverlayGraph g = (OverlayGraph) fork.asGraphModel().getBaseGraph();
+        Graph srcGraph = src.asGraphModel().getBaseGraph();
+        // the base of the fork is frozen
+        Assertions.assertNotSame(srcGraph, g.getBase());
+        Assertions.assertFalse(g.isModified());
+        Assertions.assertEquals(expected, fork.axioms().collect(Collectors.toSet()));
+        // the reused content is not bound to the source
+        Assertions.assertTrue(fork.axioms().noneMatch(x -> x instanceof ModelObject
+                && ((ModelObject<?>) x).getModel().getBaseGraph() == srcGraph));
+        // the fork has the same id, so it cannot be created in the same manager
+        Assertions.assertThrows(OntApiException.class, () -> m1.forkOntology(src));
+
+        OWLDataFactory df = m2.getOWLDataFactory();
+        OWLAxiom added = df.getOWLDeclarationAxiom(df.getOWLClass("http://x#NewClass"));
+        OWLAxiom removed = expected.stream().filter(x -> x.isOfType(AxiomType.SUBCLASS_OF)).findFirst().orElseThrow();
+        fork.add(added);
+        fork.remove(removed);
+        Assertions.assertTrue(g.isModified());
+        Assertions.assertTrue(fork.containsAxiom(added));
+        Assertions.assertFalse(fork.containsAxiom(removed));
+        Assertions.assertEquals(expected.size(), fork.getAxiomCount());
+
+        // the source is not affected
+        Assertions.assertEquals(triples, src.asGraphModel().getBaseGraph().size());
+        Assertions.assertEquals(expected, src.axioms().collect(Collectors.toSet()));
+        // and vice versa
+        OWLAxiom other = df.getOWLDeclarationAxiom(df.getOWLClass("http://x#OtherClass"));
+        src.add(other);
+        Assertions.assertFalse(fork.containsAxiom(other));
+        src.remove(other);
+        fork.clearCache();
+        Assertions.assertTrue(fork.containsAxiom(added));
+        Assertions.assertFalse(fork.containsAxiom(removed));
+        Assertions.assertEquals(expected.size(), fork.getAxiomCount());
+    }
+
     @Test
     public void testMoveFromDefaultOWLAPIManager() {
         Assertions.assertThrows(OntApiException.Unsupported.class, this::moveFromDefaultOWLAPIManager);
@@ -16,8 +16,11 @@ package com.github.owlcs.ontapi.tests.managers;
 
 import com.github.owlcs.ontapi.ID;
 import com.github.owlcs.ontapi.NoOpReadWriteLock;
+import com.github.owlcs.ontapi.OntManagers;
+import com.github.owlcs.ontapi.Ontology;
 import com.github.owlcs.ontapi.OntologyCollection;
 import com.github.owlcs.ontapi.OntologyCollectionImpl;
+import com.github.owlcs.ontapi.OntologyManager;
 import com.github.owlcs.ontapi.testutils.OWLIOUtils;
 import org.apache.jena.graph.Node;
 import org.junit.jupiter.api.Assertions;
@@ -25,6 +28,7 @@ import org.junit.jupiter.api.Test;
 import org.semanticweb.owlapi.model.HasOntologyID;
 import org.semanticweb.owlapi.model.IRI;
 import org.semanticweb.owlapi.model.OWLOntologyID;
+import org.semanticweb.owlapi.model.SetOntologyID;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -172,6 +176,93 @@ public class InternalManagerTest {
         Assertions.assertSame(a, list2.get(ID.create("y", null)).orElseThrow(AssertionError::new));
     }
 
+    @Test
+    public void testTrackedOntologyCollectionIndexes() {
+        OntologyCollectionImpl<IDHolder> list = new OntologyCollectionImpl<>(NoOpReadWriteLock.NO_OP_RW_LOCK, true);
+        OntologyCollectionImpl<IDHolder>.Index<String> byName = list.createIndex(IDHolder::getOntologyIRI);
+        IDHolder a = IDHolder.of("a", "v1");
+        IDHolder b = IDHolder.of("b", "v1");
+        list.add(a).add(b);
+        Assertions.assertEquals(List.of(a), list.findByOntologyIRI(IRI.create("a")).collect(Collectors.toList()));
+        Assertions.assertEquals(Set.of(a, b), list.findByVersionIRI(IRI.create("v1")).collect(Collectors.toSet()));
+        Assertions.assertSame(b, byName.get("b").orElseThrow(AssertionError::new));
+
+        // reported change:
+        a.setOntologyID(ID.create("c", "v2"));
+        list.markChanged(a);
+        Assertions.assertFalse(list.findByOntologyIRI(IRI.create("a")).findFirst().isPresent());
+        Assertions.assertFalse(list.get(ID.create("a", "v1")).isPresent());
+        Assertions.assertSame(a, list.get(ID.create("c", "v2")).orElseThrow(AssertionError::new));
+        Assertions.assertSame(a, byName.get("c").orElseThrow(AssertionError::new));
+        Assertions.assertEquals(List.of(b), list.findByVersionIRI(IRI.create("v1")).collect(Collectors.toList()));
+
+        list.delete(b);
+        Assertions.assertFalse(byName.get("b").isPresent());
+        Assertions.assertFalse(list.findByVersionIRI(IRI.create("v1")).findFirst().isPresent());
+        Assertions.assertEquals(1, list.size());
+
+        // not tracked collection finds unreported changes:
+        OntologyCollectionImpl<IDHolder> list2 = new OntologyCollectionImpl<>(NoOpReadWriteLock.NO_OP_RW_LOCK);
+        list2.add(b);
+        b.setOntologyID(ID.create("d", null));
+        Assertions.assertSame(b, list2.findByOntologyIRI(IRI.create("d")).findFirst().orElseThrow(AssertionError::new));
+        Assertions.assertFalse(list2.findByOntologyIRI(IRI.create("b")).findFirst().isPresent());
+    }
+
+    @Test
+    public void testManagerLookupAfterIDChanges() {
+        OntologyManager m = OntManagers.createManager();
+        Ontology a = m.createOntology(IRI.create("http://a"));
+        Ontology b = m.createOntology(new OWLOntologyID(IRI.create("http://b"), IRI.create("http://b/v1")));
+        Assertions.assertSame(a, m.getOntology(IRI.create("http://a")));
+        Assertions.assertSame(b, m.getOntology(IRI.create("http://b/v1")));
+        Assertions.assertTrue(m.containsVersion(IRI.create("http://b/v1")));
+
+        m.applyChange(new SetOntologyID(a, IRI.create("http://c")));
+        Assertions.assertNull(m.getOntology(IRI.create("http://a")));
+        Assertions.assertFalse(m.contains(IRI.create("http://a")));
+        Assertions.assertSame(a, m.getOntology(IRI.create("http://c")));
+
+        // change through jena:
+        b.asGraphModel().setID("http://d").setVersionIRI("http://d/v2");
+        Assertions.assertNull(m.getOntology(IRI.create("http://b")));
+        Assertions.assertFalse(m.containsVersion(IRI.create("http://b/v1")));
+        Assertions.assertSame(b, m.getOntology(IRI.create("http://d")));
+        Assertions.assertSame(b, m.getOntology(IRI.create("http://d/v2")));
+        Assertions.assertSame(b, m.getImportedOntology(m.getOWLDataFactory().getOWLImportsDeclaration(IRI.create("http://d/v2"))));
+
+        m.removeOntology(b);
+        Assertions.assertNull(m.getOntology(IRI.create("http://d")));
+        Assertions.assertEquals(1, m.ontologies().count());
+    }
+
+    @Test
+    public void testConcurrentReindexingOfTrackedList() throws Exception {
+        OntologyCollectionImpl<IDHolder> list = new OntologyCollectionImpl<>(new ReentrantReadWriteLock(), true);
+        IDHolder a = IDHolder.of("a");
+        list.add(a).add(IDHolder.of("b"));
+        ExecutorService service = Executors.newFixedThreadPool(4);
+        try {
+            for (int i = 0; i < 500; i++) {
+                ID id = ID.create("a" + i, null);
+                a.setOntologyID(id);
+                list.markChanged(a);
+                // the readers race to re-index the element, each must see it
+                List<Future<Boolean>> res = new ArrayList<>();
+                for (int j = 0; j < 4; j++) {
+                    res.add(service.submit(() -> list.get(id).isPresent()
+                            && list.findByOntologyIRI(id.getOntologyIRI().orElseThrow()).count() == 1));
+                }
+                for (Future<Boolean> f : res) {
+                    Assertions.assertTrue(f.get(), "Round " + i);
+                }
+            }
+        } finally {
+            service.shutdown();
+        }
+        Assertions.assertEquals(2, list.size());
+    }
+
     @Test
     public void testConcurrentModificationOfNonSynchronizedList() {
         Assertions.assertThrows(Exception.class,
@@ -14,6 +14,8 @@
 
 package com.github.owlcs.ontapi.tests.managers;
 
+import com.github.owlcs.TempDirectory;
+import com.github.owlcs.ontapi.OntFormat;
 import com.github.owlcs.ontapi.OntManagers;
 import com.github.owlcs.ontapi.Ontology;
 import com.github.owlcs.ontapi.OntologyManager;
@@ -25,8 +27,12 @@ import org.apache.jena.ontapi.common.PunningsMode;
 import org.apache.jena.ontapi.model.OntEntity;
 import org.apache.jena.ontapi.model.OntModel;
 import org.apache.jena.rdf.model.Resource;
+import org.apache.jena.riot.Lang;
+import org.apache.jena.riot.RDFDataMgr;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
+import org.semanticweb.owlapi.io.FileDocumentSource;
+import org.semanticweb.owlapi.io.StreamDocumentSource;
 import org.semanticweb.owlapi.model.AxiomType;
 import org.semanticweb.owlapi.model.IRI;
 import org.semanticweb.owlapi.model.OWLAxiom;
@@ -39,6 +45,9 @@ import org.semanticweb.owlapi.model.OWLOntology;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.List;
 import java.util.Objects;
 import java.util.Set;
@@ -200,4 +209,30 @@ public class SimpleLoadTest {
         });
     }
 
+    @Test
+    public void testParallelReadNTriples() throws Exception {
+        OntModel source = OntManagers.createManager().loadOntologyFromOntologyDocument(
+                OWLIOUtils.getFileDocumentSource("/ontapi/family.ttl", OntFormat.TURTLE)).asGraphModel();
+        Path file = TempDirectory.createFile("parallel-read-", ".nt");
+        try (OutputStream out = Files.newOutputStream(file)) {
+            RDFDataMgr.write(out, source.getBaseGraph(), Lang.NTRIPLES);
+        }
+        Set<OWLAxiom> expected = OntManagers.createManager().loadOntologyFromOntologyDocument(
+                new FileDocumentSource(file.toFile(), OntFormat.NTRIPLES.createOwlFormat())).axioms().collect(Collectors.toSet());
+
+        OntologyManager m1 = OntManagers.createManager();
+        m1.getOntologyConfigurator().setParallelReadThreads(4).setParallelReadChunkSize(1024);
+        Ontology o1 = m1.loadOntologyFromOntologyDocument(
+                new FileDocumentSource(file.toFile(), OntFormat.NTRIPLES.createOwlFormat()));
+        Assertions.assertTrue(source.getBaseGraph().isIsomorphicWith(o1.asGraphModel().getBaseGraph()));
+        Assertions.assertEquals(expected, o1.axioms().collect(Collectors.toSet()));
+
+        OntologyManager m2 = OntManagers.createManager();
+        m2.getOntologyConfigurator().setParallelReadThreads(3).setParallelReadChunkSize(512);
+        Ontology o2 = m2.loadOntologyFromOntologyDocument(new StreamDocumentSource(Files.newInputStream(file),
+                IRI.create("http://parallel-read-test"), OntFormat.NTRIPLES.createOwlFormat(), null));
+        Assertions.assertTrue(source.getBaseGraph().isIsomorphicWith(o2.asGraphModel().getBaseGraph()));
+        Assertions.assertEquals(expected, o2.axioms().collect(Collectors.toSet()));
+    }
+
 }
@@ -17,10 +17,12 @@ package com.github.owlcs.ontapi.tests.model;
 import com.github.owlcs.ontapi.BaseOntologyModel;
 import com.github.owlcs.ontapi.DataFactory;
 import com.github.owlcs.ontapi.OWLAdapter;
+import com.github.owlcs.ontapi.OntFormat;
 import com.github.owlcs.ontapi.OntGraphDocumentSource;
 import com.github.owlcs.ontapi.OntManagers;
 import com.github.owlcs.ontapi.Ontology;
 import com.github.owlcs.ontapi.OntologyManager;
+import com.github.owlcs.ontapi.SharedGraphRegistry;
 import com.github.owlcs.ontapi.testutils.MiscTestUtils;
 import com.github.owlcs.ontapi.testutils.OWLIOUtils;
 import com.github.owlcs.ontapi.testutils.OntIRI;
@@ -34,6 +36,7 @@ import org.apache.jena.ontapi.model.OntModel;
 import org.apache.jena.ontapi.utils.Graphs;
 import org.apache.jena.rdf.model.RDFNode;
 import org.apache.jena.rdf.model.Resource;
+import org.apache.jena.shared.AddDeniedException;
 import org.apache.jena.vocabulary.OWL;
 import org.apache.jena.vocabulary.RDF;
 import org.apache.jena.vocabulary.RDFS;
@@ -43,6 +46,7 @@ import org.semanticweb.owlapi.io.OWLOntologyDocumentSource;
 import org.semanticweb.owlapi.model.AddAxiom;
 import org.semanticweb.owlapi.model.AddImport;
 import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.ImmutableOWLOntologyChangeException;
 import org.semanticweb.owlapi.model.OWLAnnotationProperty;
 import org.semanticweb.owlapi.model.OWLAxiom;
 import org.semanticweb.owlapi.model.OWLClass;
@@ -58,13 +62,18 @@ import org.semanticweb.owlapi.model.OWLOntology;
 import org.semanticweb.owlapi.model.OWLOntologyID;
 import org.semanticweb.owlapi.model.OWLOntologyManager;
 import org.semanticweb.owlapi.model.RemoveImport;
+import org.semanticweb.owlapi.model.parameters.AxiomAnnotations;
 import org.semanticweb.owlapi.model.parameters.Imports;
+import org.semanticweb.owlapi.search.Filters;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -117,6 +126,70 @@ public class ImportsOntModelTest extends OntModelTestBase {
         Assertions.assertEquals(expectedAxiomsCount, o.axioms(Imports.INCLUDED).count());
     }
 
+    @Test
+    public void testSharedImportGraphs() throws Exception {
+        String ref = "http://ref";
+        OntModel m = OntModelFactory.createModel().setNsPrefixes(OntModelFactory.STANDARD);
+        m.setID(ref);
+        m.createOntClass(ref + "#A").addSuperClass(m.createOntClass(ref + "#B"));
+        String txt = OWLIOUtils.asString(m, OntFormat.TURTLE);
+        SharedGraphRegistry registry = new SharedGraphRegistry().share(ref);
+        OntologyManager.DocumentSourceMapping mapping = id -> id.matchOntology(IRI.create(ref)) ?
+                OWLIOUtils.getStringDocumentSource(txt, OntFormat.TURTLE) : null;
+
+        OntologyManager m1 = OntManagers.createManager();
+        OntologyManager m2 = OntManagers.createManager();
+        List.of(m1, m2).forEach(x -> {
+            x.setSharedGraphRegistry(registry);
+            x.getDocumentSourceMappers().add(mapping);
+        });
+        Ontology t1 = m1.loadOntologyFromOntologyDocument(
+                OntGraphDocumentSource.of(createGraph("http://t1", ref, "http://t1#C")));
+        Ontology t2 = m2.loadOntologyFromOntologyDocument(
+                OntGraphDocumentSource.of(createGraph("http://t2", ref, "http://t2#C")));
+        Assertions.assertEquals(2, registry.getReferenceCount(ref));
+
+        Ontology r1 = m1.getOntology(IRI.create(ref));
+        Ontology r2 = m2.getOntology(IRI.create(ref));
+        Assertions.assertNotNull(r1);
+        Assertions.assertNotNull(r2);
+        SharedGraphRegistry.SharedGraph g1 = (SharedGraphRegistry.SharedGraph) r1.asGraphModel().getBaseGraph();
+        SharedGraphRegistry.SharedGraph g2 = (SharedGraphRegistry.SharedGraph) r2.asGraphModel().getBaseGraph();
+        Assertions.assertNotSame(g1, g2);
+        Assertions.assertTrue(g1.isSameData(g2));
+        Assertions.assertEquals(r1.axioms().collect(Collectors.toSet()), r2.axioms().collect(Collectors.toSet()));
+        Assertions.assertEquals(3, r2.getAxiomCount());
+        Assertions.assertEquals(4, t1.axioms(Imports.INCLUDED).count());
+        Assertions.assertEquals(4, t2.axioms(Imports.INCLUDED).count());
+
+        // the shared data cannot be changed
+        OWLDataFactory df = m2.getOWLDataFactory();
+        Assertions.assertThrows(ImmutableOWLOntologyChangeException.class,
+                () -> r2.add(df.getOWLDeclarationAxiom(df.getOWLClass(ref + "#X"))));
+        Assertions.assertThrows(AddDeniedException.class, () -> g2.add(Triple.create(OWL.Thing.asNode(),
+                RDF.type.asNode(), OWL.Class.asNode())));
+        Assertions.assertEquals(3, r2.getAxiomCount());
+        // while the importing ontology can be changed
+        t2.add(df.getOWLDeclarationAxiom(df.getOWLClass("http://t2#X")));
+        Assertions.assertEquals(5, t2.axioms(Imports.INCLUDED).count());
+
+        m1.removeOntology(r1);
+        Assertions.assertEquals(1, registry.getReferenceCount(ref));
+        Assertions.assertTrue(g1.isReleased());
+        // the remaining ontology takes over the warm content
+        OntologyManager m3 = OntManagers.createManager();
+        m3.setSharedGraphRegistry(registry);
+        m3.getDocumentSourceMappers().add(mapping);
+        m3.loadOntologyFromOntologyDocument(OntGraphDocumentSource.of(createGraph("http://t3", ref, "http://t3#C")));
+        Assertions.assertEquals(2, registry.getReferenceCount(ref));
+        Ontology r3 = m3.getOntology(IRI.create(ref));
+        Assertions.assertNotNull(r3);
+        Assertions.assertEquals(r2.axioms().collect(Collectors.toSet()), r3.axioms().collect(Collectors.toSet()));
+        m3.clearOntologies();
+        m2.clearOntologies();
+        Assertions.assertEquals(0, registry.getReferenceCount(ref));
+    }
+
     private static void testMutualImportsWhileLoading(OntologyManager m) throws Exception {
         IRI a_iri = IRI.create("http://a");
         IRI b_iri = IRI.create("http://b");
@@ -606,6 +679,62 @@ public class ImportsOntModelTest extends OntModelTestBase {
         Assertions.assertEquals(1, a.asGraphModel().classes().count());
     }
 
+    @Test
+    public void testParallelImportsClosureQueries() throws Exception {
+        OntologyManager m = OntManagers.createConcurrentManager();
+        DataFactory df = m.getOWLDataFactory();
+        Ontology a = m.createOntology(IRI.create("http://a"));
+        List<OWLAxiom> axioms = new ArrayList<>();
+        for (String name : List.of("b", "c", "d")) {
+            Ontology o = m.createOntology(IRI.create("http://" + name));
+            for (int i = 0; i < 10; i++) {
+                OWLClass x = df.getOWLClass("http://" + name + "#C" + i);
+                OWLAxiom ax = df.getOWLSubClassOfAxiom(x, df.getOWLThing());
+                o.add(df.getOWLDeclarationAxiom(x));
+                o.add(ax);
+                axioms.add(ax);
+            }
+            m.applyChange(new AddImport(a, df.getOWLImportsDeclaration(IRI.create("http://" + name))));
+        }
+        OWLClass probe = df.getOWLClass("http://c#C5");
+        int count = a.getAxiomCount(Imports.INCLUDED);
+        int logical = a.getLogicalAxiomCount(Imports.INCLUDED);
+        List<OWLAxiom> byFilter = a.axioms(Filters.subClassWithSub, probe, Imports.INCLUDED).collect(Collectors.toList());
+        Assertions.assertEquals(60, count);
+        Assertions.assertEquals(30, logical);
+        Assertions.assertEquals(1, byFilter.size());
+
+        ExecutorService executor = Executors.newFixedThreadPool(3);
+        try {
+            m.setImportsClosureExecutor(executor);
+            Assertions.assertSame(executor, m.getImportsClosureExecutor());
+            a.clearCache();
+            m.ontologies().map(Ontology.class::cast).forEach(Ontology::clearCache);
+            Assertions.assertEquals(count, a.getAxiomCount(Imports.INCLUDED));
+            Assertions.assertEquals(logical, a.getLogicalAxiomCount(Imports.INCLUDED));
+            Assertions.assertEquals(byFilter,
+                    a.axioms(Filters.subClassWithSub, probe, Imports.INCLUDED).collect(Collectors.toList()));
+            axioms.forEach(x -> Assertions.assertTrue(a.containsAxiom(x, Imports.INCLUDED, AxiomAnnotations.CONSIDER_AXIOM_ANNOTATIONS)));
+
+            // readers with fan-out and a writer at the same time must not deadlock
+            Assertions.assertTimeoutPreemptively(Duration.ofSeconds(60), () -> {
+                Thread writer = new Thread(() -> {
+                    for (int i = 0; i < 100; i++) {
+                        a.add(df.getOWLDeclarationAxiom(df.getOWLClass("http://a#W" + i)));
+                    }
+                });
+                writer.start();
+                for (int i = 0; i < 100; i++) {
+                    Assertions.assertTrue(a.getAxiomCount(Imports.INCLUDED) >= count);
+                }
+                writer.join();
+            });
+            Assertions.assertEquals(count + 100, a.getAxiomCount(Imports.INCLUDED));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
     @Test
     public void testCommonDifferentImportsStrategies() {
         oneMoreImportsTest(OntManagers.createManager());
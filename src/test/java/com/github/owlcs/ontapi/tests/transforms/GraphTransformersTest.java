@@ -27,6 +27,7 @@ import com.github.owlcs.ontapi.transforms.OWLCommonTransform;
 import com.github.owlcs.ontapi.transforms.OWLIDTransform;
 import com.github.owlcs.ontapi.transforms.SWRLTransform;
 import com.github.owlcs.ontapi.transforms.Transform;
+import com.github.owlcs.ontapi.transforms.TransformCache;
 import com.github.owlcs.ontapi.transforms.TransformException;
 import com.github.owlcs.ontapi.transforms.TransformationModel;
 import org.apache.jena.graph.Graph;
@@ -69,6 +70,7 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -321,6 +323,65 @@ public class GraphTransformersTest {
         iris.forEach(i -> Assertions.assertNotNull(m.getGraphModel(i)));
     }
 
+    @Test
+    public void testTransformCache() throws OWLOntologyCreationException {
+        AtomicInteger count = new AtomicInteger();
+        GraphTransformers st = GraphTransformers.get().addFirst(new Transform() {
+            @Override
+            public Stream<Triple> apply(Graph g) {
+                count.incrementAndGet();
+                return Stream.empty();
+            }
+
+            @Override
+            public String id() {
+                return "Test Counter";
+            }
+        });
+        String txt = "@prefix rdfs: <http://www.w3.org/2000/01/rdf-schema#> .\n" +
+                "@prefix owl: <http://www.w3.org/2002/07/owl#> .\n" +
+                "<http://t> a owl:Ontology .\n" +
+                "<http://t#A> a rdfs:Class .\n" +
+                "<http://t#B> rdfs:subClassOf <http://t#A> ; rdfs:label \"b\" .\n" +
+                "[ a rdfs:Class ; rdfs:subClassOf <http://t#B> ] .\n";
+        TransformCache cache = TransformCache.create(1 << 20);
+
+        OntologyManager m1 = OntManagers.createManager();
+        m1.setTransformCache(cache);
+        Ontology o1 = m1.loadOntologyFromOntologyDocument(OWLIOUtils.getStringDocumentSource(txt, OntFormat.TURTLE),
+                m1.getOntologyLoaderConfiguration().setGraphTransformers(st));
+        Assertions.assertEquals(1, count.get());
+        Assertions.assertEquals(1, cache.size());
+
+        OntologyManager m2 = OntManagers.createManager();
+        m2.setTransformCache(cache);
+        Ontology o2 = m2.loadOntologyFromOntologyDocument(OWLIOUtils.getStringDocumentSource(txt, OntFormat.TURTLE),
+                m2.getOntologyLoaderConfiguration().setGraphTransformers(st));
+        Assertions.assertEquals(1, count.get());
+        Assertions.assertTrue(o1.asGraphModel().getBaseGraph().isIsomorphicWith(o2.asGraphModel().getBaseGraph()));
+        Assertions.assertEquals(o1.axioms().collect(Collectors.toSet()), o2.axioms().collect(Collectors.toSet()));
+        Assertions.assertEquals(2, o2.axioms(AxiomType.DECLARATION).count());
+
+        // other transformers or other content => no cached result
+        OntologyManager m3 = OntManagers.createManager();
+        m3.setTransformCache(cache);
+        m3.loadOntologyFromOntologyDocument(OWLIOUtils.getStringDocumentSource(txt, OntFormat.TURTLE));
+        m3.loadOntologyFromOntologyDocument(OWLIOUtils.getStringDocumentSource(txt.replace("http://t", "http://q"),
+                OntFormat.TURTLE), m3.getOntologyLoaderConfiguration().setGraphTransformers(st));
+        Assertions.assertEquals(2, count.get());
+        Assertions.assertEquals(3, cache.size());
+
+        // the graph does not fit into the cache => it is not stored, but loaded as usual
+        TransformCache small = TransformCache.create(16);
+        OntologyManager m4 = OntManagers.createManager();
+        m4.setTransformCache(small);
+        Ontology o4 = m4.loadOntologyFromOntologyDocument(OWLIOUtils.getStringDocumentSource(txt, OntFormat.TURTLE),
+                m4.getOntologyLoaderConfiguration().setGraphTransformers(st));
+        Assertions.assertEquals(3, count.get());
+        Assertions.assertEquals(0, small.size());
+        Assertions.assertEquals(o1.axioms().collect(Collectors.toSet()), o4.axioms().collect(Collectors.toSet()));
+    }
+
     @SuppressWarnings("unused")
     private static void signatureTest(OWLOntology owl, OntModel jena) {
         List<String> expectedClasses = owlToList(owl.classesInSignature(Imports.INCLUDED));